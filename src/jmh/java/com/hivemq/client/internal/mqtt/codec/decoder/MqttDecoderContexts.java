@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Creates decoder contexts for benchmarks of single message decoders.
+ *
+ * @author agent
+ */
+public final class MqttDecoderContexts {
+
+    public static @NotNull MqttDecoderContext mqtt3() {
+        return new MqttDecoderContext(
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, false, false, false, false, false, false);
+    }
+
+    private MqttDecoderContexts() {}
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder.mqtt3;
+
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderContext;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderContexts;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoderException;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures decoding MQTT 3 QoS 0 PUBLISH packets with recurring topics.
+ * <p>
+ * With 1 topic every lookup in the topic cache hits, with 256 topics nearly every lookup misses. The topic benchmarks
+ * compare only the decoding of the Topic Name with and without the topic cache.
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Mqtt3PublishDecoderBenchmark {
+
+    private static final int QOS_0_FLAGS = 0;
+
+    @Param({"1", "8", "256"})
+    public int topicCount;
+
+    @Param({"64"})
+    public int payloadLength;
+
+    private final @NotNull Mqtt3PublishDecoder decoder = new Mqtt3PublishDecoder();
+    private @NotNull MqttDecoderContext context;
+    private @NotNull ByteBuf @NotNull [] packets;
+    private int index;
+
+    @Setup
+    public void setup() {
+        context = MqttDecoderContexts.mqtt3();
+        packets = new ByteBuf[topicCount];
+        for (int i = 0; i < topicCount; i++) {
+            final byte[] topic = ("devices/device-" + i + "/telemetry").getBytes(StandardCharsets.UTF_8);
+            final ByteBuf packet = Unpooled.buffer();
+            packet.writeShort(topic.length);
+            packet.writeBytes(topic);
+            packet.writeZero(payloadLength);
+            packets[i] = packet;
+        }
+    }
+
+    @Benchmark
+    public @NotNull MqttStatefulPublish decodePublish() throws MqttDecoderException {
+        return decoder.decode(QOS_0_FLAGS, nextPacket(), context);
+    }
+
+    @Benchmark
+    public @Nullable MqttTopicImpl decodeTopic() {
+        return MqttTopicImpl.decode(nextPacket());
+    }
+
+    @Benchmark
+    public @Nullable MqttTopicImpl decodeTopicCached() {
+        return MqttTopicImpl.decode(nextPacket(), context.getTopicCache());
+    }
+
+    private @NotNull ByteBuf nextPacket() {
+        final ByteBuf packet = packets[index];
+        index = (index + 1) % packets.length;
+        packet.readerIndex(0);
+        return packet;
+    }
+}
@@ -31,4 +31,6 @@ public interface InternalLogger {
     void warn(@NotNull String message);
 
     void warn(@NotNull String format, @NotNull Object... args);
+
+    void info(@NotNull String format, @NotNull Object... args);
 }
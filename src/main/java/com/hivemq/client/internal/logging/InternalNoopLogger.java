@@ -37,4 +37,7 @@ class InternalNoopLogger implements InternalLogger {
 
     @Override
     public void warn(final @NotNull String format, final @NotNull Object... args) {}
+
+    @Override
+    public void info(final @NotNull String format, final @NotNull Object... args) {}
 }
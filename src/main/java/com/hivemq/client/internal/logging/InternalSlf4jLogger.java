@@ -51,4 +51,9 @@ class InternalSlf4jLogger implements InternalLogger {
     public void warn(final @NotNull String format, final @NotNull Object... args) {
         delegate.warn(format, args);
     }
+
+    @Override
+    public void info(final @NotNull String format, final @NotNull Object... args) {
+        delegate.info(format, args);
+    }
 }
@@ -17,15 +17,18 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubscriptionSnapshot;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.disconnect.MqttDisconnect;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribeBuilder;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.rx.RxFutureConverter;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5AsyncClient;
 import com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect;
@@ -34,6 +37,7 @@ import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5Disconnect;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscribe;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscription;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5Unsubscribe;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
@@ -43,6 +47,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
@@ -174,6 +180,28 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         return handleUnsubAck(RxFutureConverter.toFuture(delegate.unsubscribe(mqttUnsubscribe)), mqttUnsubscribe);
     }
 
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull ? extends Mqtt5Subscription>> exportSubscriptions() {
+        final MqttClientConfig clientConfig = delegate.getConfig();
+
+        return RxFutureConverter.toFuture(MqttSubscriptionSnapshot.exportSubscriptions(clientConfig)
+                .<List<? extends Mqtt5Subscription>>map(subscriptions -> subscriptions)
+                .observeOn(clientConfig.getExecutorConfig().getApplicationScheduler()));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull List<@NotNull Mqtt5SubAck>> importSubscriptions(
+            final @Nullable Collection<@Nullable ? extends Mqtt5Subscription> subscriptions,
+            final boolean skipIfSessionPresent) {
+
+        final ImmutableList<MqttSubscription> mqttSubscriptions = MqttChecks.subscriptions(subscriptions);
+        final MqttClientConfig clientConfig = delegate.getConfig();
+
+        return RxFutureConverter.toFuture(
+                MqttSubscriptionSnapshot.importSubscriptions(clientConfig, mqttSubscriptions, skipIfSessionPresent)
+                        .observeOn(clientConfig.getExecutorConfig().getApplicationScheduler()));
+    }
+
     @Override
     public @NotNull CompletableFuture<@NotNull Mqtt5PublishResult> publish(final @Nullable Mqtt5Publish publish) {
         final MqttPublish mqttPublish = MqttChecks.publish(publish);
@@ -27,6 +27,8 @@ import com.hivemq.client.internal.netty.NettyEventLoopProvider;
 import com.hivemq.client.internal.util.ExecutorUtil;
 import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.MqttEventLoopPlacement;
+import com.hivemq.client.mqtt.MqttNettyTransport;
 import com.hivemq.client.mqtt.MqttVersion;
 import com.hivemq.client.mqtt.datatypes.MqttClientIdentifier;
 import com.hivemq.client.mqtt.lifecycle.MqttClientAutoReconnect;
@@ -60,6 +62,8 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
 
     private final @NotNull ClientComponent clientComponent;
 
+    private final @NotNull NettyEventLoopProvider eventLoopProvider;
+
     private volatile @Nullable EventLoop eventLoop;
     private int eventLoopAcquires;
     private long eventLoopAcquireCount;
@@ -84,6 +88,8 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         this.connectedListeners = connectedListeners;
         this.disconnectedListeners = disconnectedListeners;
 
+        eventLoopProvider = NettyEventLoopProvider.get(executorConfig.getRawNettyTransport());
+
         clientComponent = SingletonComponent.INSTANCE.clientComponentBuilder().clientConfig(this).build();
 
         state = new AtomicReference<>(MqttClientState.DISCONNECTED);
@@ -118,6 +124,15 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         return executorConfig;
     }
 
+    @Override
+    public @NotNull MqttNettyTransport getNettyTransport() {
+        return eventLoopProvider.getTransport();
+    }
+
+    public @NotNull NettyEventLoopProvider getEventLoopProvider() {
+        return eventLoopProvider;
+    }
+
     @Override
     public @NotNull MqttClientAdvancedConfig getAdvancedConfig() {
         return advancedConfig;
@@ -172,9 +187,9 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
             eventLoopAcquireCount++;
             EventLoop eventLoop = this.eventLoop;
             if (eventLoop == null) {
-                this.eventLoop = eventLoop =
-                        NettyEventLoopProvider.INSTANCE.acquireEventLoop(executorConfig.getRawNettyExecutor(),
-                                executorConfig.getRawNettyThreads());
+                this.eventLoop = eventLoop = eventLoopProvider.acquireEventLoop(executorConfig.getRawNettyExecutor(),
+                        executorConfig.getRawNettyThreads(), getEffectiveEventLoopPlacement(),
+                        getEventLoopPlacementKey());
             }
             return eventLoop;
         }
@@ -190,7 +205,7 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
                     synchronized (state) {
                         if (eventLoopAcquireCount == this.eventLoopAcquireCount) { // eventLoop has not been reacquired
                             this.eventLoop = null;
-                            NettyEventLoopProvider.INSTANCE.releaseEventLoop(executorConfig.getRawNettyExecutor());
+                            eventLoopProvider.releaseEventLoop(executorConfig.getRawNettyExecutor(), eventLoop);
                         }
                     }
                 });
@@ -198,6 +213,26 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         }
     }
 
+    private @NotNull MqttEventLoopPlacement getEffectiveEventLoopPlacement() {
+        final MqttEventLoopPlacement placement = executorConfig.getEventLoopPlacement();
+        if ((placement == MqttEventLoopPlacement.CLIENT_IDENTIFIER_HASH) &&
+                (clientIdentifier == MqttClientIdentifierImpl.REQUEST_CLIENT_IDENTIFIER_FROM_SERVER)) {
+            return MqttEventLoopPlacement.LEAST_LOADED;
+        }
+        return placement;
+    }
+
+    private int getEventLoopPlacementKey() {
+        switch (executorConfig.getEventLoopPlacement()) {
+            case CLIENT_IDENTIFIER_HASH:
+                return clientIdentifier.hashCode();
+            case PINNED:
+                return executorConfig.getRawPinnedEventLoopIndex();
+            default:
+                return 0;
+        }
+    }
+
     public boolean executeInEventLoop(final @NotNull Runnable runnable) {
         final EventLoop eventLoop = this.eventLoop;
         if (eventLoop == null) {
@@ -211,6 +246,26 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         return state.get();
     }
 
+    /**
+     * @return whether messages are accepted, which is the case if the client is connected or will reconnect, or if
+     *         the client is connecting and {@link MqttClientAdvancedConfig#isEarlySend() early send} is enabled.
+     */
+    public boolean isConnectedOrEarlySend() {
+        final MqttClientState state = getState();
+        return state.isConnectedOrReconnect() ||
+                ((state == MqttClientState.CONNECTING) && advancedConfig.isEarlySend());
+    }
+
+    /**
+     * @return whether messages should be kept queued while no session is present yet, which is the case if the
+     *         client is connecting and {@link MqttClientAdvancedConfig#isEarlySend() early send} is enabled.
+     */
+    public boolean isEarlySendPending() {
+        final MqttClientState state = getState();
+        return ((state == MqttClientState.CONNECTING) || (state == MqttClientState.CONNECTING_RECONNECT)) &&
+                advancedConfig.isEarlySend();
+    }
+
     public @NotNull AtomicReference<@NotNull MqttClientState> getRawState() {
         return state;
     }
@@ -237,6 +237,16 @@ public class MqttClientConnectionConfig
         return sendTopicAliasMapping;
     }
 
+    @Override
+    public long getSendTopicAliasHitCount() {
+        return (sendTopicAliasMapping == null) ? 0 : sendTopicAliasMapping.getHitCount();
+    }
+
+    @Override
+    public long getSendTopicAliasEvictionCount() {
+        return (sendTopicAliasMapping == null) ? 0 : sendTopicAliasMapping.getEvictionCount();
+    }
+
     @Override
     public @NotNull MqttQos getMaximumQos() {
         return maximumQos;
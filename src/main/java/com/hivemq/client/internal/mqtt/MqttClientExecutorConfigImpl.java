@@ -18,6 +18,8 @@
 package com.hivemq.client.internal.mqtt;
 
 import com.hivemq.client.mqtt.MqttClientExecutorConfig;
+import com.hivemq.client.mqtt.MqttEventLoopPlacement;
+import com.hivemq.client.mqtt.MqttNettyTransport;
 import io.reactivex.Scheduler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -33,19 +35,30 @@ import java.util.concurrent.Executor;
 public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
 
     public static final int DEFAULT_NETTY_THREADS = 0;
+    public static final @NotNull MqttEventLoopPlacement DEFAULT_EVENT_LOOP_PLACEMENT =
+            MqttEventLoopPlacement.ROUND_ROBIN;
     public static final @NotNull MqttClientExecutorConfigImpl DEFAULT =
-            new MqttClientExecutorConfigImpl(null, DEFAULT_NETTY_THREADS, DEFAULT_APPLICATION_SCHEDULER);
+            new MqttClientExecutorConfigImpl(null, DEFAULT_NETTY_THREADS, null, DEFAULT_EVENT_LOOP_PLACEMENT, 0,
+                    DEFAULT_APPLICATION_SCHEDULER);
 
     private final @Nullable Executor nettyExecutor;
     private final int nettyThreads;
+    private final @Nullable MqttNettyTransport nettyTransport;
+    private final @NotNull MqttEventLoopPlacement eventLoopPlacement;
+    private final int pinnedEventLoopIndex;
     private final @NotNull Scheduler applicationScheduler;
 
     MqttClientExecutorConfigImpl(
             final @Nullable Executor nettyExecutor, final int nettyThreads,
+            final @Nullable MqttNettyTransport nettyTransport,
+            final @NotNull MqttEventLoopPlacement eventLoopPlacement, final int pinnedEventLoopIndex,
             final @NotNull Scheduler applicationScheduler) {
 
         this.nettyExecutor = nettyExecutor;
         this.nettyThreads = nettyThreads;
+        this.nettyTransport = nettyTransport;
+        this.eventLoopPlacement = eventLoopPlacement;
+        this.pinnedEventLoopIndex = pinnedEventLoopIndex;
         this.applicationScheduler = applicationScheduler;
     }
 
@@ -67,6 +80,30 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
         return nettyThreads;
     }
 
+    @Override
+    public @NotNull Optional<MqttNettyTransport> getNettyTransport() {
+        return Optional.ofNullable(nettyTransport);
+    }
+
+    public @Nullable MqttNettyTransport getRawNettyTransport() {
+        return nettyTransport;
+    }
+
+    @Override
+    public @NotNull MqttEventLoopPlacement getEventLoopPlacement() {
+        return eventLoopPlacement;
+    }
+
+    @Override
+    public @NotNull OptionalInt getPinnedEventLoopIndex() {
+        return (eventLoopPlacement == MqttEventLoopPlacement.PINNED) ? OptionalInt.of(pinnedEventLoopIndex) :
+                OptionalInt.empty();
+    }
+
+    public int getRawPinnedEventLoopIndex() {
+        return pinnedEventLoopIndex;
+    }
+
     @Override
     public @NotNull Scheduler getApplicationScheduler() {
         return applicationScheduler;
@@ -88,6 +125,8 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
         final MqttClientExecutorConfigImpl that = (MqttClientExecutorConfigImpl) o;
 
         return Objects.equals(nettyExecutor, that.nettyExecutor) && (nettyThreads == that.nettyThreads) &&
+                (nettyTransport == that.nettyTransport) && (eventLoopPlacement == that.eventLoopPlacement) &&
+                (pinnedEventLoopIndex == that.pinnedEventLoopIndex) &&
                 applicationScheduler.equals(that.applicationScheduler);
     }
 
@@ -95,6 +134,9 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
     public int hashCode() {
         int result = Objects.hashCode(nettyExecutor);
         result = 31 * result + nettyThreads;
+        result = 31 * result + Objects.hashCode(nettyTransport);
+        result = 31 * result + eventLoopPlacement.hashCode();
+        result = 31 * result + pinnedEventLoopIndex;
         result = 31 * result + applicationScheduler.hashCode();
         return result;
     }
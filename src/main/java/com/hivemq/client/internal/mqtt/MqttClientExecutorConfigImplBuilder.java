@@ -19,6 +19,8 @@ package com.hivemq.client.internal.mqtt;
 
 import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.mqtt.MqttClientExecutorConfigBuilder;
+import com.hivemq.client.mqtt.MqttEventLoopPlacement;
+import com.hivemq.client.mqtt.MqttNettyTransport;
 import io.reactivex.Scheduler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -33,6 +35,10 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
 
     private @Nullable Executor nettyExecutor;
     private int nettyThreads = MqttClientExecutorConfigImpl.DEFAULT_NETTY_THREADS;
+    private @Nullable MqttNettyTransport nettyTransport;
+    private @NotNull MqttEventLoopPlacement eventLoopPlacement =
+            MqttClientExecutorConfigImpl.DEFAULT_EVENT_LOOP_PLACEMENT;
+    private int pinnedEventLoopIndex;
     private @NotNull Scheduler applicationScheduler = MqttClientExecutorConfigImpl.DEFAULT_APPLICATION_SCHEDULER;
 
     MqttClientExecutorConfigImplBuilder() {}
@@ -40,6 +46,9 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
     MqttClientExecutorConfigImplBuilder(final @NotNull MqttClientExecutorConfigImpl executorConfig) {
         nettyExecutor = executorConfig.getRawNettyExecutor();
         nettyThreads = executorConfig.getRawNettyThreads();
+        nettyTransport = executorConfig.getRawNettyTransport();
+        eventLoopPlacement = executorConfig.getEventLoopPlacement();
+        pinnedEventLoopIndex = executorConfig.getRawPinnedEventLoopIndex();
         applicationScheduler = executorConfig.getApplicationScheduler();
     }
 
@@ -59,13 +68,34 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
         return self();
     }
 
+    public @NotNull B nettyTransport(final @Nullable MqttNettyTransport nettyTransport) {
+        this.nettyTransport = nettyTransport;
+        return self();
+    }
+
+    public @NotNull B eventLoopPlacement(final @Nullable MqttEventLoopPlacement eventLoopPlacement) {
+        this.eventLoopPlacement = Checks.notNull(eventLoopPlacement, "Event loop placement");
+        return self();
+    }
+
+    public @NotNull B pinnedEventLoopIndex(final int pinnedEventLoopIndex) {
+        if (pinnedEventLoopIndex < 0) {
+            throw new IllegalArgumentException(
+                    "Pinned event loop index must not be negative. Found: " + pinnedEventLoopIndex);
+        }
+        this.pinnedEventLoopIndex = pinnedEventLoopIndex;
+        eventLoopPlacement = MqttEventLoopPlacement.PINNED;
+        return self();
+    }
+
     public @NotNull B applicationScheduler(final @Nullable Scheduler applicationScheduler) {
         this.applicationScheduler = Checks.notNull(applicationScheduler, "Application scheduler");
         return self();
     }
 
     public @NotNull MqttClientExecutorConfigImpl build() {
-        return new MqttClientExecutorConfigImpl(nettyExecutor, nettyThreads, applicationScheduler);
+        return new MqttClientExecutorConfigImpl(nettyExecutor, nettyThreads, nettyTransport, eventLoopPlacement,
+                pinnedEventLoopIndex, applicationScheduler);
     }
 
     public static class Default extends MqttClientExecutorConfigImplBuilder<Default>
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.MqttClientSocketConfig;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author agent
+ */
+public class MqttClientSocketConfigImpl implements MqttClientSocketConfig {
+
+    public static final @NotNull MqttClientSocketConfigImpl DEFAULT =
+            new MqttClientSocketConfigImpl(DEFAULT_TCP_NO_DELAY, DEFAULT_KEEP_ALIVE, DEFAULT_SEND_BUFFER_SIZE,
+                    DEFAULT_RECEIVE_BUFFER_SIZE, DEFAULT_WRITE_BUFFER_LOW_WATER_MARK,
+                    DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK, DEFAULT_TCP_QUICK_ACK, DEFAULT_TCP_USER_TIMEOUT_MS);
+
+    private final boolean tcpNoDelay;
+    private final boolean keepAlive;
+    private final int sendBufferSize;
+    private final int receiveBufferSize;
+    private final int writeBufferLowWaterMark;
+    private final int writeBufferHighWaterMark;
+    private final boolean tcpQuickAck;
+    private final int tcpUserTimeoutMs;
+
+    MqttClientSocketConfigImpl(
+            final boolean tcpNoDelay, final boolean keepAlive, final int sendBufferSize, final int receiveBufferSize,
+            final int writeBufferLowWaterMark, final int writeBufferHighWaterMark, final boolean tcpQuickAck,
+            final int tcpUserTimeoutMs) {
+
+        this.tcpNoDelay = tcpNoDelay;
+        this.keepAlive = keepAlive;
+        this.sendBufferSize = sendBufferSize;
+        this.receiveBufferSize = receiveBufferSize;
+        this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+        this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+        this.tcpQuickAck = tcpQuickAck;
+        this.tcpUserTimeoutMs = tcpUserTimeoutMs;
+    }
+
+    @Override
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    @Override
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    @Override
+    public int getSendBufferSize() {
+        return sendBufferSize;
+    }
+
+    @Override
+    public int getReceiveBufferSize() {
+        return receiveBufferSize;
+    }
+
+    @Override
+    public int getWriteBufferLowWaterMark() {
+        return writeBufferLowWaterMark;
+    }
+
+    @Override
+    public int getWriteBufferHighWaterMark() {
+        return writeBufferHighWaterMark;
+    }
+
+    @Override
+    public boolean isTcpQuickAck() {
+        return tcpQuickAck;
+    }
+
+    @Override
+    public int getTcpUserTimeoutMs() {
+        return tcpUserTimeoutMs;
+    }
+
+    @Override
+    public @NotNull MqttClientSocketConfigImplBuilder.Default extend() {
+        return new MqttClientSocketConfigImplBuilder.Default(this);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttClientSocketConfigImpl)) {
+            return false;
+        }
+        final MqttClientSocketConfigImpl that = (MqttClientSocketConfigImpl) o;
+
+        return (tcpNoDelay == that.tcpNoDelay) && (keepAlive == that.keepAlive) &&
+                (sendBufferSize == that.sendBufferSize) && (receiveBufferSize == that.receiveBufferSize) &&
+                (writeBufferLowWaterMark == that.writeBufferLowWaterMark) &&
+                (writeBufferHighWaterMark == that.writeBufferHighWaterMark) && (tcpQuickAck == that.tcpQuickAck) &&
+                (tcpUserTimeoutMs == that.tcpUserTimeoutMs);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Boolean.hashCode(tcpNoDelay);
+        result = 31 * result + Boolean.hashCode(keepAlive);
+        result = 31 * result + sendBufferSize;
+        result = 31 * result + receiveBufferSize;
+        result = 31 * result + writeBufferLowWaterMark;
+        result = 31 * result + writeBufferHighWaterMark;
+        result = 31 * result + Boolean.hashCode(tcpQuickAck);
+        result = 31 * result + tcpUserTimeoutMs;
+        return result;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.MqttClientSocketConfig;
+import com.hivemq.client.mqtt.MqttClientSocketConfigBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * @author agent
+ */
+public abstract class MqttClientSocketConfigImplBuilder<B extends MqttClientSocketConfigImplBuilder<B>> {
+
+    private boolean tcpNoDelay = MqttClientSocketConfig.DEFAULT_TCP_NO_DELAY;
+    private boolean keepAlive = MqttClientSocketConfig.DEFAULT_KEEP_ALIVE;
+    private int sendBufferSize = MqttClientSocketConfig.DEFAULT_SEND_BUFFER_SIZE;
+    private int receiveBufferSize = MqttClientSocketConfig.DEFAULT_RECEIVE_BUFFER_SIZE;
+    private int writeBufferLowWaterMark = MqttClientSocketConfig.DEFAULT_WRITE_BUFFER_LOW_WATER_MARK;
+    private int writeBufferHighWaterMark = MqttClientSocketConfig.DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK;
+    private boolean tcpQuickAck = MqttClientSocketConfig.DEFAULT_TCP_QUICK_ACK;
+    private int tcpUserTimeoutMs = MqttClientSocketConfig.DEFAULT_TCP_USER_TIMEOUT_MS;
+
+    MqttClientSocketConfigImplBuilder() {}
+
+    MqttClientSocketConfigImplBuilder(final @NotNull MqttClientSocketConfigImpl socketConfig) {
+        tcpNoDelay = socketConfig.isTcpNoDelay();
+        keepAlive = socketConfig.isKeepAlive();
+        sendBufferSize = socketConfig.getSendBufferSize();
+        receiveBufferSize = socketConfig.getReceiveBufferSize();
+        writeBufferLowWaterMark = socketConfig.getWriteBufferLowWaterMark();
+        writeBufferHighWaterMark = socketConfig.getWriteBufferHighWaterMark();
+        tcpQuickAck = socketConfig.isTcpQuickAck();
+        tcpUserTimeoutMs = socketConfig.getTcpUserTimeoutMs();
+    }
+
+    abstract @NotNull B self();
+
+    public @NotNull B tcpNoDelay(final boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+        return self();
+    }
+
+    public @NotNull B keepAlive(final boolean keepAlive) {
+        this.keepAlive = keepAlive;
+        return self();
+    }
+
+    public @NotNull B sendBufferSize(final int sendBufferSize) {
+        if (sendBufferSize < 0) {
+            throw new IllegalArgumentException("Send buffer size must not be negative. Found: " + sendBufferSize);
+        }
+        this.sendBufferSize = sendBufferSize;
+        return self();
+    }
+
+    public @NotNull B receiveBufferSize(final int receiveBufferSize) {
+        if (receiveBufferSize < 0) {
+            throw new IllegalArgumentException(
+                    "Receive buffer size must not be negative. Found: " + receiveBufferSize);
+        }
+        this.receiveBufferSize = receiveBufferSize;
+        return self();
+    }
+
+    public @NotNull B writeBufferWaterMark(final int lowWaterMark, final int highWaterMark) {
+        if (lowWaterMark < 0) {
+            throw new IllegalArgumentException(
+                    "Write buffer low water mark must not be negative. Found: " + lowWaterMark);
+        }
+        if (highWaterMark < lowWaterMark) {
+            throw new IllegalArgumentException("Write buffer high water mark must not be less than the low water " +
+                    "mark (" + lowWaterMark + "). Found: " + highWaterMark);
+        }
+        this.writeBufferLowWaterMark = lowWaterMark;
+        this.writeBufferHighWaterMark = highWaterMark;
+        return self();
+    }
+
+    public @NotNull B tcpQuickAck(final boolean tcpQuickAck) {
+        this.tcpQuickAck = tcpQuickAck;
+        return self();
+    }
+
+    public @NotNull B tcpUserTimeout(final long timeout, final @Nullable TimeUnit timeUnit) {
+        Checks.notNull(timeUnit, "Time unit");
+        final long timeoutMs = TimeUnit.MILLISECONDS.convert(timeout, timeUnit);
+        if ((timeoutMs < 0) || (timeoutMs > Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException(
+                    "TCP user timeout must be in the range [0, " + Integer.MAX_VALUE + "] ms. Found: " + timeoutMs);
+        }
+        this.tcpUserTimeoutMs = (int) timeoutMs;
+        return self();
+    }
+
+    public @NotNull MqttClientSocketConfigImpl build() {
+        return new MqttClientSocketConfigImpl(tcpNoDelay, keepAlive, sendBufferSize, receiveBufferSize,
+                writeBufferLowWaterMark, writeBufferHighWaterMark, tcpQuickAck, tcpUserTimeoutMs);
+    }
+
+    public static class Default extends MqttClientSocketConfigImplBuilder<Default>
+            implements MqttClientSocketConfigBuilder {
+
+        public Default() {}
+
+        Default(final @NotNull MqttClientSocketConfigImpl socketConfig) {
+            super(socketConfig);
+        }
+
+        @Override
+        @NotNull Default self() {
+            return this;
+        }
+    }
+
+    public static class Nested<P> extends MqttClientSocketConfigImplBuilder<Nested<P>>
+            implements MqttClientSocketConfigBuilder.Nested<P> {
+
+        private final @NotNull Function<? super MqttClientSocketConfigImpl, P> parentConsumer;
+
+        public Nested(
+                final @NotNull MqttClientSocketConfigImpl socketConfig,
+                final @NotNull Function<? super MqttClientSocketConfigImpl, P> parentConsumer) {
+
+            super(socketConfig);
+            this.parentConsumer = parentConsumer;
+        }
+
+        @Override
+        @NotNull Nested<P> self() {
+            return this;
+        }
+
+        @Override
+        public @NotNull P applySocketConfig() {
+            return parentConsumer.apply(build());
+        }
+    }
+}
@@ -34,24 +34,32 @@ import java.util.Optional;
 public class MqttClientSslConfigImpl implements MqttClientSslConfig {
 
     static final @NotNull MqttClientSslConfigImpl DEFAULT =
-            new MqttClientSslConfigImpl(null, null, null, null, DEFAULT_HANDSHAKE_TIMEOUT_MS);
+            new MqttClientSslConfigImpl(null, null, null, null, DEFAULT_HANDSHAKE_TIMEOUT_MS,
+                    DEFAULT_SESSION_CACHE_SIZE, DEFAULT_SESSION_TIMEOUT_S, DEFAULT_PREFER_OPEN_SSL);
 
     private final @Nullable KeyManagerFactory keyManagerFactory;
     private final @Nullable TrustManagerFactory trustManagerFactory;
     private final @Nullable ImmutableList<String> cipherSuites;
     private final @Nullable ImmutableList<String> protocols;
     private final long handshakeTimeoutMs;
+    private final long sessionCacheSize;
+    private final long sessionTimeoutS;
+    private final boolean preferOpenSsl;
 
     MqttClientSslConfigImpl(
             final @Nullable KeyManagerFactory keyManagerFactory,
             final @Nullable TrustManagerFactory trustManagerFactory, final @Nullable ImmutableList<String> cipherSuites,
-            final @Nullable ImmutableList<String> protocols, final long handshakeTimeoutMs) {
+            final @Nullable ImmutableList<String> protocols, final long handshakeTimeoutMs,
+            final long sessionCacheSize, final long sessionTimeoutS, final boolean preferOpenSsl) {
 
         this.keyManagerFactory = keyManagerFactory;
         this.trustManagerFactory = trustManagerFactory;
         this.cipherSuites = cipherSuites;
         this.protocols = protocols;
         this.handshakeTimeoutMs = handshakeTimeoutMs;
+        this.sessionCacheSize = sessionCacheSize;
+        this.sessionTimeoutS = sessionTimeoutS;
+        this.preferOpenSsl = preferOpenSsl;
     }
 
     @Override
@@ -95,6 +103,21 @@ public class MqttClientSslConfigImpl implements MqttClientSslConfig {
         return handshakeTimeoutMs;
     }
 
+    @Override
+    public long getSessionCacheSize() {
+        return sessionCacheSize;
+    }
+
+    @Override
+    public long getSessionTimeoutS() {
+        return sessionTimeoutS;
+    }
+
+    @Override
+    public boolean isPreferOpenSsl() {
+        return preferOpenSsl;
+    }
+
     @Override
     public @NotNull MqttClientSslConfigImplBuilder.Default extend() {
         return new MqttClientSslConfigImplBuilder.Default(this);
@@ -113,7 +136,8 @@ public class MqttClientSslConfigImpl implements MqttClientSslConfig {
         return Objects.equals(keyManagerFactory, that.keyManagerFactory) &&
                 Objects.equals(trustManagerFactory, that.trustManagerFactory) &&
                 Objects.equals(cipherSuites, that.cipherSuites) && Objects.equals(protocols, that.protocols) &&
-                (handshakeTimeoutMs == that.handshakeTimeoutMs);
+                (handshakeTimeoutMs == that.handshakeTimeoutMs) && (sessionCacheSize == that.sessionCacheSize) &&
+                (sessionTimeoutS == that.sessionTimeoutS) && (preferOpenSsl == that.preferOpenSsl);
     }
 
     @Override
@@ -123,6 +147,9 @@ public class MqttClientSslConfigImpl implements MqttClientSslConfig {
         result = 31 * result + Objects.hashCode(cipherSuites);
         result = 31 * result + Objects.hashCode(protocols);
         result = 31 * result + Long.hashCode(handshakeTimeoutMs);
+        result = 31 * result + Long.hashCode(sessionCacheSize);
+        result = 31 * result + Long.hashCode(sessionTimeoutS);
+        result = 31 * result + Boolean.hashCode(preferOpenSsl);
         return result;
     }
 }
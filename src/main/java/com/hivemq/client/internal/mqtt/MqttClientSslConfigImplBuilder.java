@@ -40,6 +40,9 @@ public abstract class MqttClientSslConfigImplBuilder<B extends MqttClientSslConf
     private @Nullable ImmutableList<String> cipherSuites;
     private @Nullable ImmutableList<String> protocols;
     private long handshakeTimeoutMs = MqttClientSslConfig.DEFAULT_HANDSHAKE_TIMEOUT_MS;
+    private long sessionCacheSize = MqttClientSslConfig.DEFAULT_SESSION_CACHE_SIZE;
+    private long sessionTimeoutS = MqttClientSslConfig.DEFAULT_SESSION_TIMEOUT_S;
+    private boolean preferOpenSsl = MqttClientSslConfig.DEFAULT_PREFER_OPEN_SSL;
 
     MqttClientSslConfigImplBuilder() {}
 
@@ -50,6 +53,9 @@ public abstract class MqttClientSslConfigImplBuilder<B extends MqttClientSslConf
             cipherSuites = sslConfig.getRawCipherSuites();
             protocols = sslConfig.getRawProtocols();
             handshakeTimeoutMs = sslConfig.getHandshakeTimeoutMs();
+            sessionCacheSize = sslConfig.getSessionCacheSize();
+            sessionTimeoutS = sslConfig.getSessionTimeoutS();
+            preferOpenSsl = sslConfig.isPreferOpenSsl();
         }
     }
 
@@ -81,9 +87,33 @@ public abstract class MqttClientSslConfigImplBuilder<B extends MqttClientSslConf
         return self();
     }
 
+    public @NotNull B sessionCacheSize(final long sessionCacheSize) {
+        if (sessionCacheSize < 0) {
+            throw new IllegalArgumentException("Session cache size must not be negative. Found: " + sessionCacheSize);
+        }
+        this.sessionCacheSize = sessionCacheSize;
+        return self();
+    }
+
+    public @NotNull B sessionTimeout(final long timeout, final @Nullable TimeUnit timeUnit) {
+        Checks.notNull(timeUnit, "Time unit");
+        if (timeout < 0) {
+            throw new IllegalArgumentException("Session timeout must not be negative. Found: " + timeout);
+        }
+        final long timeoutS = TimeUnit.SECONDS.convert(timeout, timeUnit);
+        final boolean roundUp = TimeUnit.SECONDS.toNanos(timeoutS) < timeUnit.toNanos(timeout);
+        this.sessionTimeoutS = roundUp ? timeoutS + 1 : timeoutS;
+        return self();
+    }
+
+    public @NotNull B preferOpenSsl(final boolean preferOpenSsl) {
+        this.preferOpenSsl = preferOpenSsl;
+        return self();
+    }
+
     public @NotNull MqttClientSslConfigImpl build() {
-        return new MqttClientSslConfigImpl(
-                keyManagerFactory, trustManagerFactory, cipherSuites, protocols, handshakeTimeoutMs);
+        return new MqttClientSslConfigImpl(keyManagerFactory, trustManagerFactory, cipherSuites, protocols,
+                handshakeTimeoutMs, sessionCacheSize, sessionTimeoutS, preferOpenSsl);
     }
 
     public static class Default extends MqttClientSslConfigImplBuilder<Default> implements MqttClientSslConfigBuilder {
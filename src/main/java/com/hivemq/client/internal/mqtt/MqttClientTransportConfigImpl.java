@@ -17,9 +17,12 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttClient;
 import com.hivemq.client.mqtt.MqttClientSslConfig;
 import com.hivemq.client.mqtt.MqttClientTransportConfig;
+import com.hivemq.client.mqtt.MqttDecoderCumulation;
+import com.hivemq.client.mqtt.MqttKeepAliveMode;
 import com.hivemq.client.mqtt.MqttWebSocketConfig;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -33,23 +36,51 @@ import java.util.Optional;
 public class MqttClientTransportConfigImpl implements MqttClientTransportConfig {
 
     public static final @NotNull MqttClientTransportConfigImpl DEFAULT = new MqttClientTransportConfigImpl(
-            InetSocketAddress.createUnresolved(MqttClient.DEFAULT_SERVER_HOST, MqttClient.DEFAULT_SERVER_PORT), null,
-            null, null);
+            InetSocketAddress.createUnresolved(MqttClient.DEFAULT_SERVER_HOST, MqttClient.DEFAULT_SERVER_PORT),
+            ImmutableList.of(), DEFAULT_HAPPY_EYEBALLS, DEFAULT_CONNECT_ATTEMPT_DELAY_MS, DEFAULT_ASYNC_DNS_RESOLUTION,
+            null, null, null, null,
+            MqttClientSocketConfigImpl.DEFAULT, DEFAULT_DECODER_CUMULATION, DEFAULT_DECODER_DISCARD_AFTER_READS,
+            DEFAULT_MQTT_CONNECT_TIMEOUT_MS, DEFAULT_KEEP_ALIVE_MODE);
 
     private final @NotNull InetSocketAddress serverAddress;
+    private final @NotNull ImmutableList<InetSocketAddress> fallbackServerAddresses;
+    private final boolean happyEyeballs;
+    private final long connectAttemptDelayMs;
+    private final boolean asyncDnsResolution;
+    private final @Nullable String domainSocketPath;
     private final @Nullable InetSocketAddress localAddress;
     private final @Nullable MqttClientSslConfigImpl sslConfig;
     private final @Nullable MqttWebSocketConfigImpl webSocketConfig;
+    private final @NotNull MqttClientSocketConfigImpl socketConfig;
+    private final @NotNull MqttDecoderCumulation decoderCumulation;
+    private final int decoderDiscardAfterReads;
+    private final long mqttConnectTimeoutMs;
+    private final @NotNull MqttKeepAliveMode keepAliveMode;
 
     MqttClientTransportConfigImpl(
-            final @NotNull InetSocketAddress serverAddress, final @Nullable InetSocketAddress localAddress,
-            final @Nullable MqttClientSslConfigImpl sslConfig,
-            final @Nullable MqttWebSocketConfigImpl webSocketConfig) {
+            final @NotNull InetSocketAddress serverAddress,
+            final @NotNull ImmutableList<InetSocketAddress> fallbackServerAddresses, final boolean happyEyeballs,
+            final long connectAttemptDelayMs, final boolean asyncDnsResolution,
+            final @Nullable String domainSocketPath, final @Nullable InetSocketAddress localAddress,
+            final @Nullable MqttClientSslConfigImpl sslConfig, final @Nullable MqttWebSocketConfigImpl webSocketConfig,
+            final @NotNull MqttClientSocketConfigImpl socketConfig,
+            final @NotNull MqttDecoderCumulation decoderCumulation, final int decoderDiscardAfterReads,
+            final long mqttConnectTimeoutMs, final @NotNull MqttKeepAliveMode keepAliveMode) {
 
         this.serverAddress = serverAddress;
+        this.fallbackServerAddresses = fallbackServerAddresses;
+        this.happyEyeballs = happyEyeballs;
+        this.connectAttemptDelayMs = connectAttemptDelayMs;
+        this.asyncDnsResolution = asyncDnsResolution;
+        this.domainSocketPath = domainSocketPath;
         this.localAddress = localAddress;
         this.sslConfig = sslConfig;
         this.webSocketConfig = webSocketConfig;
+        this.socketConfig = socketConfig;
+        this.decoderCumulation = decoderCumulation;
+        this.decoderDiscardAfterReads = decoderDiscardAfterReads;
+        this.mqttConnectTimeoutMs = mqttConnectTimeoutMs;
+        this.keepAliveMode = keepAliveMode;
     }
 
     @Override
@@ -57,6 +88,42 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
         return serverAddress;
     }
 
+    @Override
+    public @NotNull ImmutableList<InetSocketAddress> getFallbackServerAddresses() {
+        return fallbackServerAddresses;
+    }
+
+    @Override
+    public boolean isHappyEyeballs() {
+        return happyEyeballs;
+    }
+
+    @Override
+    public long getConnectAttemptDelayMs() {
+        return connectAttemptDelayMs;
+    }
+
+    @Override
+    public boolean isAsyncDnsResolution() {
+        return asyncDnsResolution;
+    }
+
+    /**
+     * @return whether connection attempts to multiple addresses may be raced.
+     */
+    public boolean isConnectRace() {
+        return (domainSocketPath == null) && (happyEyeballs || !fallbackServerAddresses.isEmpty());
+    }
+
+    @Override
+    public @NotNull Optional<String> getDomainSocketPath() {
+        return Optional.ofNullable(domainSocketPath);
+    }
+
+    public @Nullable String getRawDomainSocketPath() {
+        return domainSocketPath;
+    }
+
     @Override
     public @NotNull Optional<InetSocketAddress> getLocalAddress() {
         return Optional.ofNullable(localAddress);
@@ -84,6 +151,31 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
         return webSocketConfig;
     }
 
+    @Override
+    public @NotNull MqttClientSocketConfigImpl getSocketConfig() {
+        return socketConfig;
+    }
+
+    @Override
+    public @NotNull MqttDecoderCumulation getDecoderCumulation() {
+        return decoderCumulation;
+    }
+
+    @Override
+    public int getDecoderDiscardAfterReads() {
+        return decoderDiscardAfterReads;
+    }
+
+    @Override
+    public long getMqttConnectTimeoutMs() {
+        return mqttConnectTimeoutMs;
+    }
+
+    @Override
+    public @NotNull MqttKeepAliveMode getKeepAliveMode() {
+        return keepAliveMode;
+    }
+
     @Override
     public @NotNull MqttClientTransportConfigImplBuilder.Default extend() {
         return new MqttClientTransportConfigImplBuilder.Default(this);
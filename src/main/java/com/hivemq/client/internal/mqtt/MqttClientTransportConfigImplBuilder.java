@@ -18,17 +18,29 @@
 package com.hivemq.client.internal.mqtt;
 
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttClientSocketConfig;
 import com.hivemq.client.mqtt.MqttClientSslConfig;
 import com.hivemq.client.mqtt.MqttClientTransportConfigBuilder;
+import com.hivemq.client.mqtt.MqttDecoderCumulation;
+import com.hivemq.client.mqtt.MqttKeepAliveMode;
 import com.hivemq.client.mqtt.MqttWebSocketConfig;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import static com.hivemq.client.mqtt.MqttClient.*;
+import static com.hivemq.client.mqtt.MqttClientTransportConfig.DEFAULT_ASYNC_DNS_RESOLUTION;
+import static com.hivemq.client.mqtt.MqttClientTransportConfig.DEFAULT_CONNECT_ATTEMPT_DELAY_MS;
+import static com.hivemq.client.mqtt.MqttClientTransportConfig.DEFAULT_DECODER_CUMULATION;
+import static com.hivemq.client.mqtt.MqttClientTransportConfig.DEFAULT_DECODER_DISCARD_AFTER_READS;
+import static com.hivemq.client.mqtt.MqttClientTransportConfig.DEFAULT_HAPPY_EYEBALLS;
+import static com.hivemq.client.mqtt.MqttClientTransportConfig.DEFAULT_KEEP_ALIVE_MODE;
+import static com.hivemq.client.mqtt.MqttClientTransportConfig.DEFAULT_MQTT_CONNECT_TIMEOUT_MS;
 
 /**
  * @author Silvio Giebl
@@ -38,9 +50,19 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
     private @Nullable InetSocketAddress serverAddress;
     private @NotNull Object serverHost = DEFAULT_SERVER_HOST; // String or InetAddress
     private int serverPort = -1;
+    private @NotNull ImmutableList<InetSocketAddress> fallbackServerAddresses = ImmutableList.of();
+    private boolean happyEyeballs = DEFAULT_HAPPY_EYEBALLS;
+    private long connectAttemptDelayMs = DEFAULT_CONNECT_ATTEMPT_DELAY_MS;
+    private boolean asyncDnsResolution = DEFAULT_ASYNC_DNS_RESOLUTION;
+    private @Nullable String domainSocketPath;
     private @Nullable InetSocketAddress localAddress;
     private @Nullable MqttClientSslConfigImpl sslConfig;
     private @Nullable MqttWebSocketConfigImpl webSocketConfig;
+    private @NotNull MqttClientSocketConfigImpl socketConfig = MqttClientSocketConfigImpl.DEFAULT;
+    private @NotNull MqttDecoderCumulation decoderCumulation = DEFAULT_DECODER_CUMULATION;
+    private int decoderDiscardAfterReads = DEFAULT_DECODER_DISCARD_AFTER_READS;
+    private long mqttConnectTimeoutMs = DEFAULT_MQTT_CONNECT_TIMEOUT_MS;
+    private @NotNull MqttKeepAliveMode keepAliveMode = DEFAULT_KEEP_ALIVE_MODE;
 
     MqttClientTransportConfigImplBuilder() {}
 
@@ -52,15 +74,35 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
         serverAddress = builder.serverAddress;
         serverHost = builder.serverHost;
         serverPort = builder.serverPort;
+        fallbackServerAddresses = builder.fallbackServerAddresses;
+        happyEyeballs = builder.happyEyeballs;
+        connectAttemptDelayMs = builder.connectAttemptDelayMs;
+        asyncDnsResolution = builder.asyncDnsResolution;
+        domainSocketPath = builder.domainSocketPath;
         localAddress = builder.localAddress;
         sslConfig = builder.sslConfig;
         webSocketConfig = builder.webSocketConfig;
+        socketConfig = builder.socketConfig;
+        decoderCumulation = builder.decoderCumulation;
+        decoderDiscardAfterReads = builder.decoderDiscardAfterReads;
+        mqttConnectTimeoutMs = builder.mqttConnectTimeoutMs;
+        keepAliveMode = builder.keepAliveMode;
     }
 
     void set(final @NotNull MqttClientTransportConfigImpl transportConfig) {
         serverAddress = transportConfig.getServerAddress();
+        fallbackServerAddresses = transportConfig.getFallbackServerAddresses();
+        happyEyeballs = transportConfig.isHappyEyeballs();
+        connectAttemptDelayMs = transportConfig.getConnectAttemptDelayMs();
+        asyncDnsResolution = transportConfig.isAsyncDnsResolution();
+        domainSocketPath = transportConfig.getRawDomainSocketPath();
         sslConfig = transportConfig.getRawSslConfig();
         webSocketConfig = transportConfig.getRawWebSocketConfig();
+        socketConfig = transportConfig.getSocketConfig();
+        decoderCumulation = transportConfig.getDecoderCumulation();
+        decoderDiscardAfterReads = transportConfig.getDecoderDiscardAfterReads();
+        mqttConnectTimeoutMs = transportConfig.getMqttConnectTimeoutMs();
+        keepAliveMode = transportConfig.getKeepAliveMode();
     }
 
     abstract @NotNull B self();
@@ -102,6 +144,42 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
         return self();
     }
 
+    public @NotNull B addFallbackServerAddress(final @Nullable InetSocketAddress address) {
+        Checks.notNull(address, "Fallback server address");
+        fallbackServerAddresses = ImmutableList.<InetSocketAddress>builder(fallbackServerAddresses.size() + 1)
+                .addAll(fallbackServerAddresses)
+                .add(address)
+                .build();
+        return self();
+    }
+
+    public @NotNull B happyEyeballs(final boolean happyEyeballs) {
+        this.happyEyeballs = happyEyeballs;
+        return self();
+    }
+
+    public @NotNull B connectAttemptDelay(final long delay, final @Nullable TimeUnit timeUnit) {
+        Checks.notNull(timeUnit, "Time unit");
+        if (delay < 0) {
+            throw new IllegalArgumentException("Connect attempt delay must not be negative. Found: " + delay);
+        }
+        this.connectAttemptDelayMs = TimeUnit.MILLISECONDS.convert(delay, timeUnit);
+        return self();
+    }
+
+    public @NotNull B asyncDnsResolution(final boolean asyncDnsResolution) {
+        this.asyncDnsResolution = asyncDnsResolution;
+        return self();
+    }
+
+    public @NotNull B domainSocketPath(final @Nullable String path) {
+        if ((path != null) && path.isEmpty()) {
+            throw new IllegalArgumentException("Unix domain socket path must not be empty.");
+        }
+        this.domainSocketPath = path;
+        return self();
+    }
+
     public @NotNull B localAddress(final @Nullable InetSocketAddress address) {
         if (address == null) {
             localAddress = null;
@@ -194,6 +272,43 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
         return new MqttWebSocketConfigImplBuilder.Nested<>(webSocketConfig, this::webSocketConfig);
     }
 
+    public @NotNull B socketConfig(final @Nullable MqttClientSocketConfig socketConfig) {
+        this.socketConfig = Checks.notImplemented(socketConfig, MqttClientSocketConfigImpl.class, "Socket config");
+        return self();
+    }
+
+    public @NotNull MqttClientSocketConfigImplBuilder.Nested<B> socketConfig() {
+        return new MqttClientSocketConfigImplBuilder.Nested<>(socketConfig, this::socketConfig);
+    }
+
+    public @NotNull B decoderCumulation(final @Nullable MqttDecoderCumulation decoderCumulation) {
+        this.decoderCumulation = Checks.notNull(decoderCumulation, "Decoder cumulation");
+        return self();
+    }
+
+    public @NotNull B decoderDiscardAfterReads(final int decoderDiscardAfterReads) {
+        if (decoderDiscardAfterReads <= 0) {
+            throw new IllegalArgumentException(
+                    "Decoder discard after reads must be greater than 0. Found: " + decoderDiscardAfterReads);
+        }
+        this.decoderDiscardAfterReads = decoderDiscardAfterReads;
+        return self();
+    }
+
+    public @NotNull B mqttConnectTimeout(final long timeout, final @Nullable TimeUnit timeUnit) {
+        Checks.notNull(timeUnit, "Time unit");
+        if (timeout < 0) {
+            throw new IllegalArgumentException("MQTT connect timeout must not be negative. Found: " + timeout);
+        }
+        this.mqttConnectTimeoutMs = TimeUnit.MILLISECONDS.convert(timeout, timeUnit);
+        return self();
+    }
+
+    public @NotNull B keepAliveMode(final @Nullable MqttKeepAliveMode keepAliveMode) {
+        this.keepAliveMode = Checks.notNull(keepAliveMode, "Keep alive mode");
+        return self();
+    }
+
     private @NotNull InetSocketAddress getServerAddress() {
         if (serverAddress != null) {
             return serverAddress;
@@ -221,7 +336,10 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
     }
 
     @NotNull MqttClientTransportConfigImpl buildTransportConfig() {
-        return new MqttClientTransportConfigImpl(getServerAddress(), localAddress, sslConfig, webSocketConfig);
+        return new MqttClientTransportConfigImpl(getServerAddress(), fallbackServerAddresses, happyEyeballs,
+                connectAttemptDelayMs, asyncDnsResolution, domainSocketPath, localAddress, sslConfig, webSocketConfig,
+                socketConfig, decoderCumulation, decoderDiscardAfterReads, mqttConnectTimeoutMs,
+                keepAliveMode);
     }
 
     public static class Default extends MqttClientTransportConfigImplBuilder<Default>
@@ -27,18 +27,24 @@ import org.jetbrains.annotations.Nullable;
 public class MqttWebSocketConfigImpl implements MqttWebSocketConfig {
 
     static final @NotNull MqttWebSocketConfigImpl DEFAULT =
-            new MqttWebSocketConfigImpl(DEFAULT_SERVER_PATH, DEFAULT_QUERY_STRING, DEFAULT_MQTT_SUBPROTOCOL);
+            new MqttWebSocketConfigImpl(DEFAULT_SERVER_PATH, DEFAULT_QUERY_STRING, DEFAULT_MQTT_SUBPROTOCOL,
+                    DEFAULT_FRAME_COALESCING, DEFAULT_PER_MESSAGE_DEFLATE);
 
     private final @NotNull String serverPath;
     private final @NotNull String queryString;
     private final @NotNull String subprotocol;
+    private final boolean frameCoalescing;
+    private final boolean perMessageDeflate;
 
     MqttWebSocketConfigImpl(
-            final @NotNull String serverPath, final @NotNull String queryString, final @NotNull String subprotocol) {
+            final @NotNull String serverPath, final @NotNull String queryString, final @NotNull String subprotocol,
+            final boolean frameCoalescing, final boolean perMessageDeflate) {
 
         this.serverPath = serverPath;
         this.queryString = queryString;
         this.subprotocol = subprotocol;
+        this.frameCoalescing = frameCoalescing;
+        this.perMessageDeflate = perMessageDeflate;
     }
 
     @Override
@@ -56,6 +62,16 @@ public class MqttWebSocketConfigImpl implements MqttWebSocketConfig {
         return subprotocol;
     }
 
+    @Override
+    public boolean isFrameCoalescing() {
+        return frameCoalescing;
+    }
+
+    @Override
+    public boolean isPerMessageDeflate() {
+        return perMessageDeflate;
+    }
+
     @Override
     public @NotNull MqttWebSocketConfigImplBuilder.Default extend() {
         return new MqttWebSocketConfigImplBuilder.Default(this);
@@ -72,7 +88,8 @@ public class MqttWebSocketConfigImpl implements MqttWebSocketConfig {
         final MqttWebSocketConfigImpl that = (MqttWebSocketConfigImpl) o;
 
         return serverPath.equals(that.serverPath) && queryString.equals(that.queryString) &&
-                subprotocol.equals(that.subprotocol);
+                subprotocol.equals(that.subprotocol) && (frameCoalescing == that.frameCoalescing) &&
+                (perMessageDeflate == that.perMessageDeflate);
     }
 
     @Override
@@ -80,6 +97,8 @@ public class MqttWebSocketConfigImpl implements MqttWebSocketConfig {
         int result = serverPath.hashCode();
         result = 31 * result + queryString.hashCode();
         result = 31 * result + subprotocol.hashCode();
+        result = 31 * result + Boolean.hashCode(frameCoalescing);
+        result = 31 * result + Boolean.hashCode(perMessageDeflate);
         return result;
     }
 }
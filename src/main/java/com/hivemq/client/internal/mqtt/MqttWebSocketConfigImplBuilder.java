@@ -32,6 +32,8 @@ public abstract class MqttWebSocketConfigImplBuilder<B extends MqttWebSocketConf
     private @NotNull String serverPath = MqttWebSocketConfigImpl.DEFAULT_SERVER_PATH;
     private @NotNull String queryString = MqttWebSocketConfigImpl.DEFAULT_QUERY_STRING;
     private @NotNull String subprotocol = MqttWebSocketConfigImpl.DEFAULT_MQTT_SUBPROTOCOL;
+    private boolean frameCoalescing = MqttWebSocketConfigImpl.DEFAULT_FRAME_COALESCING;
+    private boolean perMessageDeflate = MqttWebSocketConfigImpl.DEFAULT_PER_MESSAGE_DEFLATE;
 
     MqttWebSocketConfigImplBuilder() {}
 
@@ -40,6 +42,8 @@ public abstract class MqttWebSocketConfigImplBuilder<B extends MqttWebSocketConf
             serverPath = webSocketConfig.getServerPath();
             queryString = webSocketConfig.getQueryString();
             subprotocol = webSocketConfig.getSubprotocol();
+            frameCoalescing = webSocketConfig.isFrameCoalescing();
+            perMessageDeflate = webSocketConfig.isPerMessageDeflate();
         }
     }
 
@@ -61,8 +65,18 @@ public abstract class MqttWebSocketConfigImplBuilder<B extends MqttWebSocketConf
         return self();
     }
 
+    public @NotNull B frameCoalescing(final boolean frameCoalescing) {
+        this.frameCoalescing = frameCoalescing;
+        return self();
+    }
+
+    public @NotNull B perMessageDeflate(final boolean perMessageDeflate) {
+        this.perMessageDeflate = perMessageDeflate;
+        return self();
+    }
+
     public @NotNull MqttWebSocketConfigImpl build() {
-        return new MqttWebSocketConfigImpl(serverPath, queryString, subprotocol);
+        return new MqttWebSocketConfigImpl(serverPath, queryString, subprotocol, frameCoalescing, perMessageDeflate);
     }
 
     public static class Default extends MqttWebSocketConfigImplBuilder<Default> implements MqttWebSocketConfigBuilder {
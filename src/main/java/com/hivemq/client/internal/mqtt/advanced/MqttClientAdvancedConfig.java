@@ -18,7 +18,9 @@
 package com.hivemq.client.internal.mqtt.advanced;
 
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
+import com.hivemq.client.internal.mqtt.persistence.MqttOfflineBufferConfigImpl;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig;
+import com.hivemq.client.mqtt.persistence.MqttPersistence;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -29,19 +31,31 @@ import java.util.Objects;
  */
 public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
 
-    public static final @NotNull MqttClientAdvancedConfig DEFAULT = new MqttClientAdvancedConfig(false, false, null);
+    public static final @NotNull MqttClientAdvancedConfig DEFAULT =
+            new MqttClientAdvancedConfig(false, false, false, null, null, null, null);
 
     private final boolean allowServerReAuth;
     private final boolean validatePayloadFormat;
+    private final boolean earlySend;
     private final @Nullable MqttClientInterceptors interceptors;
+    private final @Nullable MqttPersistence outgoingPublishPersistence;
+    private final @Nullable MqttPersistence incomingPublishPersistence;
+    private final @Nullable MqttOfflineBufferConfigImpl offlineBuffer;
 
     MqttClientAdvancedConfig(
-            final boolean allowServerReAuth, final boolean validatePayloadFormat,
-            final @Nullable MqttClientInterceptors interceptors) {
+            final boolean allowServerReAuth, final boolean validatePayloadFormat, final boolean earlySend,
+            final @Nullable MqttClientInterceptors interceptors,
+            final @Nullable MqttPersistence outgoingPublishPersistence,
+            final @Nullable MqttPersistence incomingPublishPersistence,
+            final @Nullable MqttOfflineBufferConfigImpl offlineBuffer) {
 
         this.allowServerReAuth = allowServerReAuth;
         this.validatePayloadFormat = validatePayloadFormat;
+        this.earlySend = earlySend;
         this.interceptors = interceptors;
+        this.outgoingPublishPersistence = outgoingPublishPersistence;
+        this.incomingPublishPersistence = incomingPublishPersistence;
+        this.offlineBuffer = offlineBuffer;
     }
 
     @Override
@@ -54,11 +68,31 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         return validatePayloadFormat;
     }
 
+    @Override
+    public boolean isEarlySend() {
+        return earlySend;
+    }
+
     @Override
     public @Nullable MqttClientInterceptors getInterceptors() {
         return interceptors;
     }
 
+    @Override
+    public @Nullable MqttPersistence getOutgoingPublishPersistence() {
+        return outgoingPublishPersistence;
+    }
+
+    @Override
+    public @Nullable MqttPersistence getIncomingPublishPersistence() {
+        return incomingPublishPersistence;
+    }
+
+    @Override
+    public @Nullable MqttOfflineBufferConfigImpl getOfflineBuffer() {
+        return offlineBuffer;
+    }
+
     @Override
     public @NotNull MqttClientAdvancedConfigBuilder.Default extend() {
         return new MqttClientAdvancedConfigBuilder.Default(this);
@@ -75,14 +109,21 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         final MqttClientAdvancedConfig that = (MqttClientAdvancedConfig) o;
 
         return (allowServerReAuth == that.allowServerReAuth) && (validatePayloadFormat == that.validatePayloadFormat) &&
-                Objects.equals(interceptors, that.interceptors);
+                (earlySend == that.earlySend) && Objects.equals(interceptors, that.interceptors) &&
+                Objects.equals(outgoingPublishPersistence, that.outgoingPublishPersistence) &&
+                Objects.equals(incomingPublishPersistence, that.incomingPublishPersistence) &&
+                Objects.equals(offlineBuffer, that.offlineBuffer);
     }
 
     @Override
     public int hashCode() {
         int result = Boolean.hashCode(allowServerReAuth);
         result = 31 * result + Boolean.hashCode(validatePayloadFormat);
+        result = 31 * result + Boolean.hashCode(earlySend);
         result = 31 * result + Objects.hashCode(interceptors);
+        result = 31 * result + Objects.hashCode(outgoingPublishPersistence);
+        result = 31 * result + Objects.hashCode(incomingPublishPersistence);
+        result = 31 * result + Objects.hashCode(offlineBuffer);
         return result;
     }
 }
@@ -19,9 +19,12 @@ package com.hivemq.client.internal.mqtt.advanced;
 
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptorsBuilder;
+import com.hivemq.client.internal.mqtt.persistence.MqttOfflineBufferConfigImpl;
 import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfigBuilder;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
+import com.hivemq.client.mqtt.persistence.MqttOfflineBufferConfig;
+import com.hivemq.client.mqtt.persistence.MqttPersistence;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -34,14 +37,22 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
 
     private boolean allowServerReAuth;
     private boolean validatePayloadFormat;
+    private boolean earlySend;
     private @Nullable MqttClientInterceptors interceptors;
+    private @Nullable MqttPersistence outgoingPublishPersistence;
+    private @Nullable MqttPersistence incomingPublishPersistence;
+    private @Nullable MqttOfflineBufferConfigImpl offlineBuffer;
 
     MqttClientAdvancedConfigBuilder() {}
 
     MqttClientAdvancedConfigBuilder(final @NotNull MqttClientAdvancedConfig advancedConfig) {
         allowServerReAuth = advancedConfig.isAllowServerReAuth();
         validatePayloadFormat = advancedConfig.isValidatePayloadFormat();
+        earlySend = advancedConfig.isEarlySend();
         interceptors = advancedConfig.getInterceptors();
+        outgoingPublishPersistence = advancedConfig.getOutgoingPublishPersistence();
+        incomingPublishPersistence = advancedConfig.getIncomingPublishPersistence();
+        offlineBuffer = advancedConfig.getOfflineBuffer();
     }
 
     abstract @NotNull B self();
@@ -56,6 +67,11 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
         return self();
     }
 
+    public @NotNull B earlySend(final boolean earlySend) {
+        this.earlySend = earlySend;
+        return self();
+    }
+
     public @NotNull B interceptors(final @Nullable Mqtt5ClientInterceptors interceptors) {
         this.interceptors = Checks.notImplementedOrNull(interceptors, MqttClientInterceptors.class, "Interceptors");
         return self();
@@ -65,8 +81,37 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
         return new MqttClientInterceptorsBuilder.Nested<>(interceptors, this::interceptors);
     }
 
+    public @NotNull B outgoingPublishPersistence(final @Nullable MqttPersistence persistence) {
+        checkPersistenceNotShared(persistence, incomingPublishPersistence);
+        outgoingPublishPersistence = persistence;
+        return self();
+    }
+
+    public @NotNull B incomingPublishPersistence(final @Nullable MqttPersistence persistence) {
+        checkPersistenceNotShared(persistence, outgoingPublishPersistence);
+        incomingPublishPersistence = persistence;
+        return self();
+    }
+
+    private static void checkPersistenceNotShared(
+            final @Nullable MqttPersistence persistence, final @Nullable MqttPersistence otherPersistence) {
+
+        if ((persistence != null) && (persistence == otherPersistence)) {
+            throw new IllegalArgumentException(
+                    "Outgoing and incoming publish persistence must not be the same instance, both use packet " +
+                            "identifiers as keys.");
+        }
+    }
+
+    public @NotNull B offlineBuffer(final @Nullable MqttOfflineBufferConfig offlineBuffer) {
+        this.offlineBuffer =
+                Checks.notImplementedOrNull(offlineBuffer, MqttOfflineBufferConfigImpl.class, "Offline buffer config");
+        return self();
+    }
+
     public @NotNull MqttClientAdvancedConfig build() {
-        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, interceptors);
+        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, earlySend, interceptors,
+                outgoingPublishPersistence, incomingPublishPersistence, offlineBuffer);
     }
 
     public static class Default extends MqttClientAdvancedConfigBuilder<Default>
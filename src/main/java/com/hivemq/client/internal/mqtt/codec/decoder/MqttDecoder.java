@@ -18,11 +18,13 @@
 package com.hivemq.client.internal.mqtt.codec.decoder;
 
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnectRestrictions;
+import com.hivemq.client.mqtt.MqttDecoderCumulation;
 import com.hivemq.client.mqtt.exceptions.MqttDecodeException;
 import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
@@ -47,7 +49,10 @@ public class MqttDecoder extends ByteToMessageDecoder {
     private static final int MIN_FIXED_HEADER_LENGTH = 2;
 
     private final @NotNull MqttMessageDecoders decoders;
-    private final @NotNull MqttDecoderContext context;
+    private final @NotNull MqttClientConfig clientConfig;
+    private @NotNull MqttConnectRestrictions restrictions;
+    private @NotNull MqttDecoderContext context;
+    private boolean reset = false;
 
     @Inject
     MqttDecoder(
@@ -55,12 +60,50 @@ public class MqttDecoder extends ByteToMessageDecoder {
             final @NotNull MqttConnect connect) {
 
         this.decoders = decoders;
-        final MqttConnectRestrictions restrictions = connect.getRestrictions();
-        context = new MqttDecoderContext(restrictions.getMaximumPacketSize(), restrictions.getTopicAliasMaximum(),
+        this.clientConfig = clientConfig;
+        final MqttClientTransportConfigImpl transportConfig = clientConfig.getTransportConfig();
+        if (transportConfig.getDecoderCumulation() == MqttDecoderCumulation.COMPOSITE) {
+            setCumulator(COMPOSITE_CUMULATOR);
+        }
+        setDiscardAfterReads(transportConfig.getDecoderDiscardAfterReads());
+        restrictions = connect.getRestrictions();
+        context = createContext(clientConfig, restrictions);
+    }
+
+    private static @NotNull MqttDecoderContext createContext(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnectRestrictions restrictions) {
+
+        return new MqttDecoderContext(restrictions.getMaximumPacketSize(), restrictions.getTopicAliasMaximum(),
                 restrictions.isRequestProblemInformation(), restrictions.isRequestResponseInformation(),
                 clientConfig.getAdvancedConfig().isValidatePayloadFormat(), false, false, false);
     }
 
+    /**
+     * Resets the state of this decoder so that it can be added to the pipeline of a new channel of a reconnect.
+     * <p>
+     * The decoder context (including its topic cache) is only recreated if the restrictions of the Connect message
+     * changed, otherwise only the topic alias mapping is cleared.
+     * <p>
+     * Must only be called after this decoder was removed from the pipeline of the previous channel.
+     *
+     * @param connect the Connect message of the reconnect.
+     */
+    public void reset(final @NotNull MqttConnect connect) {
+        final MqttConnectRestrictions restrictions = connect.getRestrictions();
+        if (restrictions.equals(this.restrictions)) {
+            context.resetTopicAliasMapping();
+        } else {
+            this.restrictions = restrictions;
+            context = createContext(clientConfig, restrictions);
+        }
+        reset = true;
+    }
+
+    @Override
+    public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
+        reset = false;
+    }
+
     @Override
     protected void decode(
             final @NotNull ChannelHandlerContext ctx, final @NotNull ByteBuf in, final @NotNull List<Object> out) {
@@ -120,6 +163,6 @@ public class MqttDecoder extends ByteToMessageDecoder {
 
     @Override
     public boolean isSharable() {
-        return false;
+        return reset;
     }
 }
@@ -18,13 +18,18 @@
 package com.hivemq.client.internal.mqtt.codec.decoder;
 
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
+
 /**
  * @author Silvio Giebl
  */
 public class MqttDecoderContext {
 
+    private static final int TOPIC_CACHE_SIZE = 16; // must be a power of 2
+
     private final int maximumPacketSize;
     private final @Nullable MqttTopicImpl @Nullable [] topicAliasMapping;
     private final boolean problemInformationRequested;
@@ -33,6 +38,7 @@ public class MqttDecoderContext {
     private final boolean directBufferPayload;
     private final boolean directBufferAuth;
     private final boolean directBufferCorrelationData;
+    private @Nullable MqttTopicImpl @Nullable [] topicCache;
 
     MqttDecoderContext(
             final int maximumPacketSize, final int topicAliasMaximum, final boolean problemInformationRequested,
@@ -58,6 +64,25 @@ public class MqttDecoderContext {
         return topicAliasMapping;
     }
 
+    public @Nullable MqttTopicImpl @NotNull [] getTopicCache() {
+        MqttTopicImpl[] topicCache = this.topicCache;
+        if (topicCache == null) {
+            topicCache = new MqttTopicImpl[TOPIC_CACHE_SIZE];
+            this.topicCache = topicCache;
+        }
+        return topicCache;
+    }
+
+    /**
+     * Clears the topic alias mapping, as topic aliases are only valid for a single connection. The topic cache is kept
+     * because it only contains topics which are not bound to a connection.
+     */
+    void resetTopicAliasMapping() {
+        if (topicAliasMapping != null) {
+            Arrays.fill(topicAliasMapping, null);
+        }
+    }
+
     public boolean isProblemInformationRequested() {
         return problemInformationRequested;
     }
@@ -60,7 +60,8 @@ public class Mqtt3PublishDecoder implements MqttMessageDecoder {
             throw remainingLengthTooShort();
         }
 
-        final MqttTopicImpl topic = MqttTopicImpl.decode(in);
+        // MQTT 3 has no topic aliases, so recurring topics are looked up in a cache instead of decoding them again
+        final MqttTopicImpl topic = MqttTopicImpl.decode(in, context.getTopicCache());
         if (topic == null) {
             throw malformedTopic();
         }
@@ -75,6 +76,8 @@ public class Mqtt3PublishDecoder implements MqttMessageDecoder {
             payload.position(0);
         }
 
+        // decoded into the same message model as MQTT 5, as the incoming flows and the QoS handling are shared, the
+        // MQTT 3 views are only created when a publish is delivered to the API
         final MqttPublish publish = Mqtt3PublishView.delegate(topic, payload, qos, retain);
 
         return Mqtt3PublishView.statefulDelegate(publish, packetIdentifier, dup);
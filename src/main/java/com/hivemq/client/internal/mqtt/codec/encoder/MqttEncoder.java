@@ -18,6 +18,7 @@
 package com.hivemq.client.internal.mqtt.codec.encoder;
 
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import com.hivemq.client.internal.mqtt.message.MqttMessage;
 import io.netty.buffer.ByteBuf;
@@ -44,6 +45,7 @@ public class MqttEncoder extends ChannelDuplexHandler {
 
     private boolean inRead = false;
     private boolean pendingFlush = false;
+    private boolean reset = false;
 
     @Inject
     MqttEncoder(final @NotNull MqttMessageEncoders encoders) {
@@ -55,6 +57,23 @@ public class MqttEncoder extends ChannelDuplexHandler {
         context.setMaximumPacketSize(connectionConfig.getSendMaximumPacketSize());
     }
 
+    /**
+     * Resets the state of this encoder so that it can be added to the pipeline of a new channel of a reconnect.
+     * <p>
+     * Must only be called after this encoder was removed from the pipeline of the previous channel.
+     */
+    public void reset() {
+        context.setMaximumPacketSize(MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT);
+        inRead = false;
+        pendingFlush = false;
+        reset = true;
+    }
+
+    @Override
+    public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
+        reset = false;
+    }
+
     @Override
     public void write(
             final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg,
@@ -100,6 +119,6 @@ public class MqttEncoder extends ChannelDuplexHandler {
 
     @Override
     public boolean isSharable() {
-        return false;
+        return reset;
     }
 }
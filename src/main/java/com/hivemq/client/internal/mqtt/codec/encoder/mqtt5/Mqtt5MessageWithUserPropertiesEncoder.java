@@ -301,6 +301,38 @@ abstract class Mqtt5MessageWithUserPropertiesEncoder<M extends MqttMessage.WithU
                     M extends MqttMessageWithUserProperties.WithReason.WithCode.WithId<R>, R extends Mqtt5ReasonCode>
                     extends WithOmissibleCode<M, R> {
 
+                private static final int DEFAULT_REMAINING_LENGTH = 2; // packet identifier (2)
+                private static final int DEFAULT_ENCODED_LENGTH = 2 + DEFAULT_REMAINING_LENGTH;
+
+                @Override
+                protected @NotNull ByteBuf encode(
+                        final @NotNull M message, final @NotNull MqttEncoderContext context) {
+
+                    if (!isDefault(message)) {
+                        return super.encode(message, context);
+                    }
+                    // fast path for the common case with default reason code and without properties
+                    if (DEFAULT_ENCODED_LENGTH > context.getMaximumPacketSize()) {
+                        throw maximumPacketSizeExceeded(message, DEFAULT_ENCODED_LENGTH,
+                                context.getMaximumPacketSize());
+                    }
+                    final ByteBuf out = context.getAllocator().ioBuffer(DEFAULT_ENCODED_LENGTH, DEFAULT_ENCODED_LENGTH);
+                    out.writeByte(getFixedHeader());
+                    out.writeByte(DEFAULT_REMAINING_LENGTH);
+                    out.writeShort(message.getPacketIdentifier());
+                    return out;
+                }
+
+                /**
+                 * @param message the message to encode.
+                 * @return whether the message can be encoded as only its Packet Identifier, because it has the default
+                 *         Reason Code, no Reason String and no User Properties.
+                 */
+                boolean isDefault(final @NotNull M message) {
+                    return (message.getReasonCode() == getDefaultReasonCode()) &&
+                            (message.getRawReasonString() == null) && message.getUserProperties().asList().isEmpty();
+                }
+
                 @Override
                 int additionalRemainingLength(final @NotNull M message) {
                     return 2; // packet identifier (2)
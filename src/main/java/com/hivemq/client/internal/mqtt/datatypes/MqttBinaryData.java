@@ -41,11 +41,8 @@ public final class MqttBinaryData {
      * @return the decoded binary data or null if there are not enough bytes in the byte buffer.
      */
     public static @Nullable byte[] decode(final @NotNull ByteBuf byteBuf) {
-        if (byteBuf.readableBytes() < 2) {
-            return null;
-        }
-        final int length = byteBuf.readUnsignedShort();
-        if (byteBuf.readableBytes() < length) {
+        final int length = decodeLength(byteBuf);
+        if (length < 0) {
             return null;
         }
         final byte[] binary = new byte[length];
@@ -61,11 +58,8 @@ public final class MqttBinaryData {
      * @return the decoded binary data or null if there are not enough bytes in the byte buffer.
      */
     public static @Nullable ByteBuffer decode(final @NotNull ByteBuf byteBuf, final boolean direct) {
-        if (byteBuf.readableBytes() < 2) {
-            return null;
-        }
-        final int length = byteBuf.readUnsignedShort();
-        if (byteBuf.readableBytes() < length) {
+        final int length = decodeLength(byteBuf);
+        if (length < 0) {
             return null;
         }
         final ByteBuffer byteBuffer = ByteBufferUtil.allocate(length, direct);
@@ -74,6 +68,26 @@ public final class MqttBinaryData {
         return byteBuffer;
     }
 
+    /**
+     * Decodes the length of binary data from the given byte buffer at the current reader index and checks if the byte
+     * buffer contains enough bytes for the binary data.
+     * <p>
+     * The binary data itself is not read, so it can be validated directly in the byte buffer before it is copied.
+     *
+     * @param byteBuf the byte buffer to decode from.
+     * @return the length of the binary data or -1 if there are not enough bytes in the byte buffer.
+     */
+    public static int decodeLength(final @NotNull ByteBuf byteBuf) {
+        if (byteBuf.readableBytes() < 2) {
+            return -1;
+        }
+        final int length = byteBuf.readUnsignedShort();
+        if (byteBuf.readableBytes() < length) {
+            return -1;
+        }
+        return length;
+    }
+
     /**
      * Encodes the given byte array as binary data to the given byte buffer at the current writer index.
      * <p>
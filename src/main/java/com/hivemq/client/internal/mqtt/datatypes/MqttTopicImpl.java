@@ -87,6 +87,46 @@ public class MqttTopicImpl extends MqttUtf8StringImpl implements MqttTopic {
         return (binary == null) ? null : of(binary);
     }
 
+    /**
+     * Same function as {@link #decode(ByteBuf)}, but first looks up the Topic Name in the given cache, so recurring
+     * Topic Names are neither copied nor validated again.
+     * <p>
+     * The cache is a direct mapped array of previously decoded Topic Names which is updated by this method. Its length
+     * must be a power of 2.
+     *
+     * @param byteBuf the byte buffer with the UTF-8 encoded data to decode from.
+     * @param cache   the cache of previously decoded Topic Names.
+     * @return the created or cached Topic Name or <code>null</code> if the byte buffer does not contain a valid Topic
+     *         Name.
+     */
+    public static @Nullable MqttTopicImpl decode(
+            final @NotNull ByteBuf byteBuf, final @Nullable MqttTopicImpl @NotNull [] cache) {
+
+        final int length = MqttBinaryData.decodeLength(byteBuf);
+        if (length <= 0) {
+            return null;
+        }
+        final int index = byteBuf.readerIndex();
+        int hash = 0;
+        for (int i = index, end = index + length; i < end; i++) {
+            hash = 31 * hash + byteBuf.getByte(i);
+        }
+        final int cacheIndex = (hash ^ (hash >>> 16)) & (cache.length - 1);
+
+        final MqttTopicImpl cachedTopic = cache[cacheIndex];
+        if ((cachedTopic != null) && cachedTopic.binaryEquals(byteBuf, index, length)) {
+            byteBuf.skipBytes(length);
+            return cachedTopic;
+        }
+        final byte[] binary = new byte[length];
+        byteBuf.readBytes(binary);
+        final MqttTopicImpl topic = of(binary);
+        if (topic != null) {
+            cache[cacheIndex] = topic;
+        }
+        return topic;
+    }
+
     /**
      * Checks if the given byte array with UTF-8 encoded data represents a well-formed Topic Name according to the MQTT
      * specification.
@@ -118,8 +118,13 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
      *         encoded string.
      */
     public static @Nullable MqttUtf8StringImpl decode(final @NotNull ByteBuf byteBuf) {
-        final byte[] binary = MqttBinaryData.decode(byteBuf);
-        return (binary == null) ? null : of(binary);
+        final int length = MqttBinaryData.decodeLength(byteBuf);
+        if ((length < 0) || isWellFormed(byteBuf, byteBuf.readerIndex(), length)) {
+            return null;
+        }
+        final byte[] binary = new byte[length];
+        byteBuf.readBytes(binary);
+        return new MqttUtf8StringImpl(binary);
     }
 
     /**
@@ -150,6 +155,30 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
         return false;
     }
 
+    /**
+     * Same function as {@link #isWellFormed(byte[])}, but checks the UTF-8 encoded data directly in the given byte
+     * buffer without copying it.
+     *
+     * @param byteBuf the byte buffer with UTF-8 encoded data.
+     * @param index   the index of the first byte of the UTF-8 encoded data.
+     * @param length  the length of the UTF-8 encoded data.
+     * @return whether the UTF-8 encoded data represents a well-formed UTF-8 encoded string.
+     */
+    static boolean isWellFormed(final @NotNull ByteBuf byteBuf, final int index, final int length) {
+        final long wellFormed;
+        if (byteBuf.hasArray()) {
+            final int start = byteBuf.arrayOffset() + index;
+            wellFormed = Utf8Util.isWellFormed(byteBuf.array(), start, start + length);
+        } else if (byteBuf.nioBufferCount() == 1) {
+            wellFormed = Utf8Util.isWellFormed(byteBuf.nioBuffer(index, length));
+        } else {
+            final byte[] binary = new byte[length];
+            byteBuf.getBytes(index, binary);
+            wellFormed = Utf8Util.isWellFormed(binary);
+        }
+        return (wellFormed != 0) || (byteBuf.indexOf(index, index + length, (byte) 0) != -1);
+    }
+
     /**
      * Checks if the given UTF-16 encoded Java string is a well-formed UTF-8 encoded string according to the MQTT
      * specification, so
@@ -217,6 +246,7 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
     private @Nullable byte[] binary;
     private @Nullable String string;
     private int conversions;
+    private int hash;
 
     MqttUtf8StringImpl(final @NotNull byte[] binary) {
         this.binary = binary;
@@ -272,6 +302,27 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
         return false;
     }
 
+    /**
+     * Checks if the UTF-8 encoded representation equals the given bytes in the byte buffer.
+     *
+     * @param byteBuf the byte buffer to compare with.
+     * @param index   the index of the first byte to compare.
+     * @param length  the count of bytes to compare.
+     * @return whether the UTF-8 encoded representation equals the bytes in the byte buffer.
+     */
+    boolean binaryEquals(final @NotNull ByteBuf byteBuf, final int index, final int length) {
+        final byte[] binary = toBinary();
+        if (binary.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (binary[i] != byteBuf.getByte(index + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public @NotNull ByteBuffer toByteBuffer() {
         return ByteBuffer.wrap(toBinary()).asReadOnlyBuffer();
@@ -366,12 +417,35 @@ public class MqttUtf8StringImpl implements MqttUtf8String {
         if ((binary != null) && (thatBinary != null)) {
             return Arrays.equals(binary, thatBinary);
         }
+        if ((binary != null) && (thatString != null)) {
+            return Utf8Util.equals(binary, thatString);
+        }
+        if ((string != null) && (thatBinary != null)) {
+            return Utf8Util.equals(thatBinary, string);
+        }
         return toString().equals(that.toString());
     }
 
+    /**
+     * Calculates the same hash code as {@link String#hashCode()} of the UTF-16 encoded representation. Does not convert
+     * from the UTF-8 encoded representation, so that strings used as keys in hash based collections stay binary.
+     *
+     * @return the hash code of this UTF-8 encoded string.
+     */
     @Override
     public int hashCode() {
-        return toString().hashCode();
+        int hash = this.hash;
+        if (hash == 0) {
+            final String string = this.string;
+            if (string != null) {
+                hash = string.hashCode();
+            } else {
+                final byte[] binary = this.binary;
+                hash = (binary != null) ? Utf8Util.hashCode(binary) : toString().hashCode();
+            }
+            this.hash = hash;
+        }
+        return hash;
     }
 
     @Override
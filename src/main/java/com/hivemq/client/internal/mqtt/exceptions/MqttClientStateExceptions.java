@@ -33,5 +33,9 @@ public final class MqttClientStateExceptions {
         return new MqttClientStateException("MQTT client is already connected or connecting.");
     }
 
+    public static @NotNull MqttClientStateException offlineBufferFull() {
+        return new MqttClientStateException("MQTT client is not connected and its offline buffer is full.");
+    }
+
     private MqttClientStateExceptions() {}
 }
@@ -17,6 +17,7 @@
 
 package com.hivemq.client.internal.mqtt.handler;
 
+import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientSslConfigImpl;
 import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
@@ -38,6 +39,7 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 
@@ -56,8 +58,8 @@ import javax.inject.Inject;
 public class MqttChannelInitializer extends ChannelInboundHandlerAdapter {
 
     private final @NotNull MqttClientConfig clientConfig;
-    private final @NotNull MqttConnect connect;
-    private final @NotNull MqttConnAckFlow connAckFlow;
+    private @NotNull MqttConnect connect;
+    private @NotNull MqttConnAckFlow connAckFlow;
 
     private final @NotNull MqttEncoder encoder;
     private final @NotNull MqttConnectHandler connectHandler;
@@ -66,6 +68,9 @@ public class MqttChannelInitializer extends ChannelInboundHandlerAdapter {
 
     private final @NotNull Lazy<MqttWebSocketInitializer> webSocketInitializer;
 
+    private @Nullable Channel channel;
+    private boolean reset = false;
+
     @Inject
     MqttChannelInitializer(
             final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnect connect,
@@ -84,8 +89,41 @@ public class MqttChannelInitializer extends ChannelInboundHandlerAdapter {
         this.webSocketInitializer = webSocketInitializer;
     }
 
+    /**
+     * Checks if the handlers of this initializer can be reused for a new channel, which is the case if the previous
+     * channel (if any) is already deregistered, so that all handlers were removed from its pipeline.
+     *
+     * @return whether the handlers of this initializer can be reused.
+     */
+    public boolean isReusable() {
+        final Channel channel = this.channel;
+        return (channel == null) || (!channel.isOpen() && !channel.isRegistered());
+    }
+
+    /**
+     * Resets this initializer and all handlers it adds so that they can be added to the pipeline of a new channel of a
+     * reconnect.
+     * <p>
+     * Must only be called if {@link #isReusable()} returns <code>true</code>.
+     *
+     * @param connect     the Connect message of the reconnect.
+     * @param connAckFlow the flow of the reconnect.
+     */
+    @CallByThread("Netty EventLoop")
+    public void reset(final @NotNull MqttConnect connect, final @NotNull MqttConnAckFlow connAckFlow) {
+        this.connect = connect;
+        this.connAckFlow = connAckFlow;
+        encoder.reset();
+        connectHandler.reset(connect, connAckFlow);
+        disconnectHandler.reset();
+        channel = null;
+        reset = true;
+    }
+
     @Override
     public void handlerAdded(final ChannelHandlerContext ctx) {
+        channel = ctx.channel();
+        reset = false;
         try {
             initChannel(ctx.channel());
             ctx.pipeline().remove(this);
@@ -97,7 +135,8 @@ public class MqttChannelInitializer extends ChannelInboundHandlerAdapter {
     void initChannel(final @NotNull Channel channel) throws Exception {
         final MqttClientTransportConfigImpl transportConfig = connAckFlow.getTransportConfig();
         final MqttClientSslConfigImpl sslConfig = transportConfig.getRawSslConfig();
-        if (sslConfig != null) {
+        // the SSL handler is already added if the TLS handshake was part of a connect race
+        if ((sslConfig != null) && (channel.pipeline().get(SslUtil.SSL_HANDLER_NAME) == null)) {
             SslUtil.initChannel(channel, sslConfig, transportConfig.getServerAddress());
         }
         final MqttWebSocketConfigImpl webSocketConfig = transportConfig.getRawWebSocketConfig();
@@ -128,6 +167,6 @@ public class MqttChannelInitializer extends ChannelInboundHandlerAdapter {
 
     @Override
     public boolean isSharable() {
-        return false;
+        return reset;
     }
 }
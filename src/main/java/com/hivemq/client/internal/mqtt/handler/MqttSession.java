@@ -23,6 +23,7 @@ import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoder;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingQosHandler;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttOutgoingQosHandler;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubscriptionHandler;
+import com.hivemq.client.internal.mqtt.handler.util.MqttTimerWheel;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.connect.connack.MqttConnAck;
@@ -30,7 +31,6 @@ import com.hivemq.client.mqtt.exceptions.MqttSessionExpiredException;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5ConnAckException;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoop;
-import io.netty.util.concurrent.ScheduledFuture;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -47,7 +47,8 @@ public class MqttSession {
     private final @NotNull MqttIncomingQosHandler incomingQosHandler;
     private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
     private boolean hasSession;
-    private @Nullable ScheduledFuture<?> expireFuture;
+    private boolean earlyStarted;
+    private @Nullable MqttTimerWheel.Timeout expireTimeout;
 
     @Inject
     MqttSession(
@@ -60,6 +61,54 @@ public class MqttSession {
         this.outgoingQosHandler = outgoingQosHandler;
     }
 
+    /**
+     * Starts a new session before the CONNACK message is received, so that queued messages can be sent directly after
+     * the CONNECT message.
+     * <p>
+     * Must only be called if no session is present, as the packet identifiers of resent messages would collide if the
+     * server does not have the session either.
+     *
+     * @param connectionConfig the assumed connection config until the CONNACK message is received.
+     * @param pipeline         the pipeline of the connection.
+     * @param eventLoop        the event loop of the connection.
+     */
+    @CallByThread("Netty EventLoop")
+    public void startEarly(
+            final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull ChannelPipeline pipeline,
+            final @NotNull EventLoop eventLoop) {
+
+        earlyStarted = true;
+
+        addHandlers(pipeline);
+        subscriptionHandler.onSessionStartEarly(connectionConfig, eventLoop);
+        incomingQosHandler.onSessionStartEarly(connectionConfig, eventLoop);
+        outgoingQosHandler.onSessionStartEarly(connectionConfig, eventLoop);
+    }
+
+    /**
+     * Ends a session that was {@link #startEarly started early} if the connection is closed before the CONNACK message
+     * is received.
+     *
+     * @param cause     the cause of the disconnection.
+     * @param eventLoop the event loop of the connection.
+     */
+    @CallByThread("Netty EventLoop")
+    public void abortEarly(final @NotNull Throwable cause, final @NotNull EventLoop eventLoop) {
+        if (earlyStarted) {
+            earlyStarted = false;
+            // execute later to finish any current write before clearing the session state
+            eventLoop.execute(() -> {
+                if (!hasSession) {
+                    endHandlers(cause);
+                }
+            });
+        }
+    }
+
+    public boolean hasSession() {
+        return hasSession;
+    }
+
     @CallByThread("Netty EventLoop")
     public void startOrResume(
             final @NotNull MqttConnAck connAck, final @NotNull MqttClientConnectionConfig connectionConfig,
@@ -70,18 +119,31 @@ public class MqttSession {
             end(new MqttSessionExpiredException(message, new Mqtt5ConnAckException(connAck, message)));
         }
         hasSession = true;
+        incomingQosHandler.restore(connAck.isSessionPresent());
+        subscriptionHandler.setSessionPresent(connAck.isSessionPresent());
 
-        if (expireFuture != null) {
-            expireFuture.cancel(false);
-            expireFuture = null;
+        if (expireTimeout != null) {
+            expireTimeout.cancel();
+            expireTimeout = null;
         }
 
+        if (earlyStarted) {
+            earlyStarted = false;
+            subscriptionHandler.onSessionConfirmed(connectionConfig, eventLoop);
+            incomingQosHandler.onSessionConfirmed(connectionConfig, eventLoop);
+            outgoingQosHandler.onSessionConfirmed(connectionConfig, eventLoop);
+        } else {
+            addHandlers(pipeline);
+            subscriptionHandler.onSessionStartOrResume(connectionConfig, eventLoop);
+            incomingQosHandler.onSessionStartOrResume(connectionConfig, eventLoop);
+            outgoingQosHandler.onSessionStartOrResume(connectionConfig, eventLoop);
+        }
+    }
+
+    private void addHandlers(final @NotNull ChannelPipeline pipeline) {
         pipeline.addAfter(MqttDecoder.NAME, MqttSubscriptionHandler.NAME, subscriptionHandler);
         pipeline.addAfter(MqttDecoder.NAME, MqttIncomingQosHandler.NAME, incomingQosHandler);
         pipeline.addAfter(MqttDecoder.NAME, MqttOutgoingQosHandler.NAME, outgoingQosHandler);
-        subscriptionHandler.onSessionStartOrResume(connectionConfig, eventLoop);
-        incomingQosHandler.onSessionStartOrResume(connectionConfig, eventLoop);
-        outgoingQosHandler.onSessionStartOrResume(connectionConfig, eventLoop);
     }
 
     @CallByThread("Netty EventLoop")
@@ -96,12 +158,12 @@ public class MqttSession {
             eventLoop.execute(
                     () -> end(new MqttSessionExpiredException("Session expired as connection was closed.", cause)));
         } else if (expiryInterval != MqttConnect.NO_SESSION_EXPIRY) {
-            expireFuture = eventLoop.schedule(() -> {
-                if (expireFuture != null) {
-                    expireFuture = null;
+            expireTimeout = MqttTimerWheel.get(eventLoop).schedule(() -> {
+                if (expireTimeout != null) {
+                    expireTimeout = null;
                     end(new MqttSessionExpiredException("Session expired after expiry interval", cause));
                 }
-            }, (long) (TimeUnit.SECONDS.toMillis(expiryInterval) * 1.1), TimeUnit.MILLISECONDS);
+            }, (long) (TimeUnit.SECONDS.toNanos(expiryInterval) * 1.1));
         }
     }
 
@@ -109,9 +171,13 @@ public class MqttSession {
     private void end(final @NotNull Throwable cause) {
         if (hasSession) {
             hasSession = false;
-            outgoingQosHandler.onSessionEnd(cause);
-            incomingQosHandler.onSessionEnd(cause);
-            subscriptionHandler.onSessionEnd(cause);
+            endHandlers(cause);
         }
     }
+
+    private void endHandlers(final @NotNull Throwable cause) {
+        outgoingQosHandler.onSessionEnd(cause);
+        incomingQosHandler.onSessionEnd(cause);
+        subscriptionHandler.onSessionEnd(cause);
+    }
 }
@@ -36,6 +36,15 @@ public abstract class MqttSessionAwareHandler extends MqttConnectionAwareHandler
         hasSession = true;
     }
 
+    public void onSessionStartEarly(
+            final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
+
+        onSessionStartOrResume(connectionConfig, eventLoop);
+    }
+
+    public void onSessionConfirmed(
+            final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {}
+
     public void onSessionEnd(final @NotNull Throwable cause) {
         hasSession = false;
     }
@@ -18,6 +18,8 @@
 package com.hivemq.client.internal.mqtt.handler.connect;
 
 import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.lifecycle.MqttClientConnectTimingsImpl;
+import com.hivemq.client.internal.mqtt.lifecycle.MqttReconnectConcurrencyLimiter;
 import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
 import io.reactivex.SingleObserver;
 import io.reactivex.disposables.Disposable;
@@ -30,10 +32,13 @@ import org.jetbrains.annotations.Nullable;
 public class MqttConnAckFlow {
 
     private final @Nullable SingleObserver<? super Mqtt5ConnAck> observer;
-    private final @NotNull Disposable disposable;
+    private final @NotNull MqttConnAckDisposable disposable;
     private final @NotNull MqttClientTransportConfigImpl transportConfig;
     private final int attempts;
+    private final long reconnectDelayNanos;
+    private final @NotNull MqttClientConnectTimingsImpl connectTimings = new MqttClientConnectTimingsImpl();
     private boolean done;
+    private @Nullable MqttReconnectConcurrencyLimiter reconnectLimiter;
 
     MqttConnAckFlow(
             final @NotNull SingleObserver<? super Mqtt5ConnAck> observer,
@@ -43,10 +48,12 @@ public class MqttConnAckFlow {
         disposable = new MqttConnAckDisposable();
         this.transportConfig = transportConfig;
         attempts = 0;
+        reconnectDelayNanos = 0;
     }
 
     MqttConnAckFlow(
-            final @Nullable MqttConnAckFlow oldFlow, final @NotNull MqttClientTransportConfigImpl transportConfig) {
+            final @Nullable MqttConnAckFlow oldFlow, final @NotNull MqttClientTransportConfigImpl transportConfig,
+            final long reconnectDelayNanos) {
 
         if (oldFlow == null) {
             observer = null;
@@ -58,6 +65,7 @@ public class MqttConnAckFlow {
             attempts = oldFlow.attempts + 1;
         }
         this.transportConfig = transportConfig;
+        this.reconnectDelayNanos = reconnectDelayNanos;
     }
 
     boolean setDone() {
@@ -65,10 +73,24 @@ public class MqttConnAckFlow {
             return false;
         }
         done = true;
+        releaseReconnectPermit();
         return true;
     }
 
+    void setReconnectLimiter(final @NotNull MqttReconnectConcurrencyLimiter reconnectLimiter) {
+        this.reconnectLimiter = reconnectLimiter;
+    }
+
+    void releaseReconnectPermit() {
+        final MqttReconnectConcurrencyLimiter reconnectLimiter = this.reconnectLimiter;
+        if (reconnectLimiter != null) {
+            this.reconnectLimiter = null;
+            reconnectLimiter.release();
+        }
+    }
+
     void onSuccess(final @NotNull Mqtt5ConnAck t) {
+        releaseReconnectPermit();
         if (observer != null) {
             observer.onSuccess(t);
         }
@@ -80,6 +102,16 @@ public class MqttConnAckFlow {
         }
     }
 
+    /**
+     * Sets the connect race of the current connect, so that it is cancelled when the flow is disposed. If the flow is
+     * already disposed, the connect race is cancelled immediately.
+     *
+     * @param connectRace the connect race of the current connect.
+     */
+    void setConnectRace(final @NotNull MqttConnectRace connectRace) {
+        disposable.setConnectRace(connectRace);
+    }
+
     @NotNull Disposable getDisposable() {
         return disposable;
     }
@@ -88,17 +120,37 @@ public class MqttConnAckFlow {
         return transportConfig;
     }
 
+    public @NotNull MqttClientConnectTimingsImpl getConnectTimings() {
+        return connectTimings;
+    }
+
     int getAttempts() {
         return attempts;
     }
 
+    long getReconnectDelayNanos() {
+        return reconnectDelayNanos;
+    }
+
     private static class MqttConnAckDisposable implements Disposable {
 
         private volatile boolean disposed;
+        private volatile @Nullable MqttConnectRace connectRace;
 
         @Override
         public void dispose() {
             disposed = true;
+            final MqttConnectRace connectRace = this.connectRace;
+            if (connectRace != null) {
+                connectRace.cancel();
+            }
+        }
+
+        void setConnectRace(final @NotNull MqttConnectRace connectRace) {
+            this.connectRace = connectRace;
+            if (disposed) {
+                connectRace.cancel();
+            }
         }
 
         @Override
@@ -24,6 +24,7 @@ import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
 import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
 import com.hivemq.client.internal.mqtt.lifecycle.MqttClientDisconnectedContextImpl;
 import com.hivemq.client.internal.mqtt.lifecycle.MqttClientReconnector;
+import com.hivemq.client.internal.mqtt.lifecycle.MqttReconnectConcurrencyLimiter;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.mqtt.exceptions.ConnectionFailedException;
 import com.hivemq.client.mqtt.lifecycle.MqttClientDisconnectedContext;
@@ -31,6 +32,7 @@ import com.hivemq.client.mqtt.lifecycle.MqttClientDisconnectedListener;
 import com.hivemq.client.mqtt.lifecycle.MqttDisconnectSource;
 import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
 import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.EventLoop;
 import io.reactivex.Single;
 import io.reactivex.SingleObserver;
@@ -74,34 +76,84 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
             final @NotNull MqttConnAckFlow flow, final @NotNull EventLoop eventLoop) {
 
         if (flow.getDisposable().isDisposed()) {
-            clientConfig.releaseEventLoop();
-            clientConfig.getRawState().set(DISCONNECTED);
+            connectCancelled(clientConfig, flow);
         } else {
-            final Bootstrap bootstrap = clientConfig.getClientComponent()
-                    .connectionComponentBuilder()
-                    .connect(connect)
-                    .connAckFlow(flow)
-                    .build()
-                    .bootstrap();
-
+            flow.getConnectTimings().onStart(System.nanoTime());
             final MqttClientTransportConfigImpl transportConfig = flow.getTransportConfig();
+            final boolean domainSocket = transportConfig.getRawDomainSocketPath() != null;
+            if (domainSocket && (clientConfig.getEventLoopProvider().getDomainSocketChannelFactory() == null)) {
+                connectFailed(clientConfig, connect, flow, eventLoop, new UnsupportedOperationException(
+                        "Unix domain sockets require the Netty epoll transport, but the " +
+                                clientConfig.getNettyTransport() + " transport is used."));
+                return;
+            }
 
-            bootstrap.group(eventLoop)
-                    .localAddress(transportConfig.getRawLocalAddress())
-                    .connect(transportConfig.getServerAddress())
-                    .addListener(future -> {
-                        final Throwable cause = future.cause();
-                        if (cause != null) {
-                            final ConnectionFailedException e = new ConnectionFailedException(cause);
-                            if (eventLoop.inEventLoop()) {
-                                reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow, eventLoop);
-                            } else {
-                                eventLoop.execute(
-                                        () -> reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow,
-                                                eventLoop));
-                            }
-                        }
-                    });
+            if (clientConfig.getAdvancedConfig().isEarlySend()) {
+                clientConfig.getClientComponent().outgoingQosHandler().onConnecting(connect, eventLoop);
+            }
+
+            final Bootstrap bootstrap =
+                    clientConfig.getClientComponent().connectionComponentCache().bootstrap(connect, flow, eventLoop);
+
+            if (transportConfig.isConnectRace()) {
+                bootstrap.localAddress(transportConfig.getRawLocalAddress());
+                final MqttConnectRace connectRace =
+                        new MqttConnectRace(bootstrap, transportConfig, flow.getConnectTimings(), eventLoop,
+                                cause -> connectFailed(clientConfig, connect, flow, eventLoop, cause),
+                                () -> connectCancelled(clientConfig, flow));
+                connectRace.start();
+                flow.setConnectRace(connectRace);
+            } else {
+                // the remote address of the bootstrap is already set if a Unix domain socket is used
+                final ChannelFuture connectFuture = domainSocket ? bootstrap.connect() :
+                        bootstrap.localAddress(transportConfig.getRawLocalAddress())
+                                .connect(transportConfig.getServerAddress());
+                connectFuture.addListener(future -> {
+                    final Throwable cause = future.cause();
+                    if (cause != null) {
+                        connectFailed(clientConfig, connect, flow, eventLoop, cause);
+                    } else {
+                        flow.getConnectTimings().onTcpConnect(System.nanoTime());
+                    }
+                });
+            }
+        }
+    }
+
+    private static void connectCancelled(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnAckFlow flow) {
+
+        flow.releaseReconnectPermit();
+        clientConfig.releaseEventLoop();
+        clientConfig.getRawState().set(DISCONNECTED);
+    }
+
+    private static void connectLimited(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnect connect,
+            final @NotNull MqttConnAckFlow flow, final @NotNull EventLoop eventLoop,
+            final int maxConcurrentReconnects) {
+
+        final MqttReconnectConcurrencyLimiter reconnectLimiter =
+                clientConfig.getEventLoopProvider().getReconnectLimiter();
+        flow.setReconnectLimiter(reconnectLimiter);
+        reconnectLimiter.acquire(maxConcurrentReconnects, () -> {
+            if (eventLoop.inEventLoop()) {
+                connect(clientConfig, connect, flow, eventLoop);
+            } else {
+                eventLoop.execute(() -> connect(clientConfig, connect, flow, eventLoop));
+            }
+        });
+    }
+
+    private static void connectFailed(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnect connect,
+            final @NotNull MqttConnAckFlow flow, final @NotNull EventLoop eventLoop, final @NotNull Throwable cause) {
+
+        final ConnectionFailedException e = new ConnectionFailedException(cause);
+        if (eventLoop.inEventLoop()) {
+            reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow, eventLoop);
+        } else {
+            eventLoop.execute(() -> reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow, eventLoop));
         }
     }
 
@@ -111,8 +163,8 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
             final @NotNull EventLoop eventLoop) {
 
         if (flow.setDone()) {
-            reconnect(clientConfig, source, cause, connect, flow.getTransportConfig(), flow.getAttempts() + 1, flow,
-                    eventLoop);
+            reconnect(clientConfig, source, cause, connect, flow.getTransportConfig(), flow.getAttempts() + 1,
+                    flow.getReconnectDelayNanos(), flow, eventLoop);
         }
     }
 
@@ -121,17 +173,17 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
             final @NotNull Throwable cause, final @NotNull MqttConnect connect,
             final @NotNull MqttClientTransportConfigImpl transportConfig, final @NotNull EventLoop eventLoop) {
 
-        reconnect(clientConfig, source, cause, connect, transportConfig, 0, null, eventLoop);
+        reconnect(clientConfig, source, cause, connect, transportConfig, 0, 0, null, eventLoop);
     }
 
     private static void reconnect(
             final @NotNull MqttClientConfig clientConfig, final @NotNull MqttDisconnectSource source,
             final @NotNull Throwable cause, final @NotNull MqttConnect connect,
             final @NotNull MqttClientTransportConfigImpl transportConfig, final int attempts,
-            final @Nullable MqttConnAckFlow flow, final @NotNull EventLoop eventLoop) {
+            final long previousDelayNanos, final @Nullable MqttConnAckFlow flow, final @NotNull EventLoop eventLoop) {
 
         final MqttClientReconnector reconnector =
-                new MqttClientReconnector(eventLoop, attempts, connect, transportConfig);
+                new MqttClientReconnector(eventLoop, attempts, previousDelayNanos, connect, transportConfig);
         final MqttClientDisconnectedContext context =
                 MqttClientDisconnectedContextImpl.of(clientConfig, source, cause, reconnector);
 
@@ -150,11 +202,20 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
                     if (reconnector.isReconnect()) {
                         if (clientConfig.getRawState().compareAndSet(DISCONNECTED_RECONNECT, CONNECTING_RECONNECT)) {
 
-                            final MqttConnAckFlow newFlow = new MqttConnAckFlow(flow, reconnector.getTransportConfig());
-                            connect(clientConfig, reconnector.getConnect(), newFlow, eventLoop);
+                            final MqttConnAckFlow newFlow = new MqttConnAckFlow(flow,
+                                    reconnector.getTransportConfig(), reconnector.getDelay(TimeUnit.NANOSECONDS));
+                            final int maxConcurrentReconnects = reconnector.getMaxConcurrentReconnects();
+                            if (maxConcurrentReconnects == 0) {
+                                connect(clientConfig, reconnector.getConnect(), newFlow, eventLoop);
+                            } else {
+                                connectLimited(clientConfig, reconnector.getConnect(), newFlow, eventLoop,
+                                        maxConcurrentReconnects);
+                            }
                         }
 
                     } else if (clientConfig.getRawState().compareAndSet(DISCONNECTED_RECONNECT, DISCONNECTED)) {
+                        clientConfig.getClientComponent().outgoingQosHandler().onDisconnected(eventLoop);
+                        clientConfig.getClientComponent().subscriptionHandler().onDisconnected(eventLoop);
                         clientConfig.releaseEventLoop();
                         if (flow != null) {
                             if (throwable == null) {
@@ -168,6 +229,8 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
             }, reconnector.getDelay(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
         } else {
             clientConfig.getRawState().set(DISCONNECTED);
+            clientConfig.getClientComponent().outgoingQosHandler().onDisconnected(eventLoop);
+            clientConfig.getClientComponent().subscriptionHandler().onDisconnected(eventLoop);
             clientConfig.releaseEventLoop();
             if (flow != null) {
                 flow.onError(cause);
@@ -17,6 +17,7 @@
 
 package com.hivemq.client.internal.mqtt.handler.connect;
 
+import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
@@ -27,18 +28,22 @@ import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
 import com.hivemq.client.internal.mqtt.handler.MqttSession;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
+import com.hivemq.client.internal.mqtt.handler.ping.MqttAdaptiveKeepAlive;
 import com.hivemq.client.internal.mqtt.handler.ping.MqttPingHandler;
 import com.hivemq.client.internal.mqtt.handler.util.MqttTimeoutInboundHandler;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
+import com.hivemq.client.internal.mqtt.lifecycle.MqttClientConnectTimingsImpl;
 import com.hivemq.client.internal.mqtt.lifecycle.MqttClientConnectedContextImpl;
 import com.hivemq.client.internal.mqtt.message.MqttMessage;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnectRestrictions;
 import com.hivemq.client.internal.mqtt.message.connect.connack.MqttConnAck;
 import com.hivemq.client.internal.mqtt.message.connect.connack.MqttConnAckRestrictions;
+import com.hivemq.client.internal.netty.DefaultChannelOutboundHandler;
 import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttClientState;
 import com.hivemq.client.mqtt.MqttVersion;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.lifecycle.MqttClientConnectedContext;
 import com.hivemq.client.mqtt.lifecycle.MqttClientConnectedListener;
 import com.hivemq.client.mqtt.lifecycle.MqttDisconnectSource;
@@ -46,9 +51,13 @@ import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5ConnAckException;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.ssl.SslHandshakeCompletionEvent;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
+import java.net.SocketAddress;
 
 /**
  * Handles the connection to a MQTT Server.
@@ -62,32 +71,73 @@ import javax.inject.Inject;
  * @author Silvio Giebl
  */
 @ConnectionScope
-public class MqttConnectHandler extends MqttTimeoutInboundHandler {
+public class MqttConnectHandler extends MqttTimeoutInboundHandler implements DefaultChannelOutboundHandler {
 
     public static final @NotNull String NAME = "connect";
     private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttConnectHandler.class);
-    private static final int CONNACK_TIMEOUT = 60; // TODO configurable
+    /**
+     * Send maximum that is used for early send until the CONNACK message is received, as the receive maximum of the
+     * server is not known before. It is kept low so that only a few messages are in flight if the server announces a
+     * lower receive maximum or rejects the connection.
+     */
+    public static final int EARLY_SEND_MAXIMUM = 10;
 
-    private final @NotNull MqttConnect connect;
-    private final @NotNull MqttConnAckFlow connAckFlow;
+    private @NotNull MqttConnect connect;
+    private @NotNull MqttConnAckFlow connAckFlow;
     private final @NotNull MqttClientConfig clientConfig;
     private final @NotNull MqttSession session;
+    private final @NotNull MqttEncoder encoder;
     private final @NotNull MqttDecoder decoder;
+    private final @NotNull MqttAdaptiveKeepAlive adaptiveKeepAlive;
 
     private boolean connectCalled = false;
     private long connectFlushTime;
+    private boolean reset = false;
 
     @Inject
     MqttConnectHandler(
             final @NotNull MqttConnect connect, final @NotNull MqttConnAckFlow connAckFlow,
             final @NotNull MqttClientConfig clientConfig, final @NotNull MqttSession session,
-            final @NotNull MqttDecoder decoder) {
+            final @NotNull MqttEncoder encoder, final @NotNull MqttDecoder decoder,
+            final @NotNull MqttAdaptiveKeepAlive adaptiveKeepAlive) {
 
         this.connect = connect;
         this.connAckFlow = connAckFlow;
         this.clientConfig = clientConfig;
         this.session = session;
+        this.encoder = encoder;
         this.decoder = decoder;
+        this.adaptiveKeepAlive = adaptiveKeepAlive;
+    }
+
+    /**
+     * Resets the state of this handler so that it can be added to the pipeline of a new channel of a reconnect.
+     * <p>
+     * Must only be called after the previous channel was closed and deregistered.
+     *
+     * @param connect     the Connect message of the reconnect.
+     * @param connAckFlow the flow of the reconnect.
+     */
+    @CallByThread("Netty EventLoop")
+    public void reset(final @NotNull MqttConnect connect, final @NotNull MqttConnAckFlow connAckFlow) {
+        cancelTimeout();
+        this.connect = connect;
+        this.connAckFlow = connAckFlow;
+        connectCalled = false;
+        connectFlushTime = 0;
+        ctx = null;
+        decoder.reset(connect);
+        reset = true;
+    }
+
+    @Override
+    public void connect(
+            final @NotNull ChannelHandlerContext ctx, final @NotNull SocketAddress remoteAddress,
+            final @Nullable SocketAddress localAddress, final @NotNull ChannelPromise promise) {
+
+        // the bootstrap resolves the server address before connecting the channel
+        connAckFlow.getConnectTimings().onDnsResolution(System.nanoTime());
+        ctx.connect(remoteAddress, localAddress, promise);
     }
 
     @Override
@@ -102,6 +152,7 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
     @Override
     public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
         super.handlerAdded(ctx);
+        reset = false;
 
         if (!connectCalled && ctx.channel().isActive()) {
             connectCalled = true;
@@ -115,6 +166,9 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
      * The MQTT message Decoder is added after the write succeeded as the server is not allowed to send messages before
      * the CONNECT is sent.
      * <p>
+     * If early send is enabled, the session is started with assumed conservative limits directly after the write
+     * succeeded, so that queued messages are sent before the CONNACK is received.
+     * <p>
      * If the write fails, the channel is closed.
      *
      * @param ctx the channel handler context.
@@ -125,12 +179,29 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
                 connect.createStateful(clientConfig.getRawClientIdentifier(), null) : connect).addListener(this);
     }
 
+    @Override
+    public void userEventTriggered(final @NotNull ChannelHandlerContext ctx, final @NotNull Object evt) {
+        if ((evt instanceof SslHandshakeCompletionEvent) && ((SslHandshakeCompletionEvent) evt).isSuccess()) {
+            connAckFlow.getConnectTimings().onTlsHandshake(System.nanoTime());
+        }
+        super.userEventTriggered(ctx, evt);
+    }
+
     @Override
     protected void operationSuccessful(final @NotNull ChannelHandlerContext ctx) {
-        if (connect.getRawEnhancedAuthMechanism() == null) {
+        connAckFlow.getConnectTimings().onConnectFlush(System.nanoTime());
+        if ((connect.getRawEnhancedAuthMechanism() == null) && (getTimeoutMs() > 0)) {
             scheduleTimeout(ctx.channel());
         }
         ctx.pipeline().addAfter(MqttEncoder.NAME, MqttDecoder.NAME, decoder);
+
+        if (clientConfig.getAdvancedConfig().isEarlySend() && (connect.getRawEnhancedAuthMechanism() == null) &&
+                !session.hasSession()) {
+            final Channel channel = ctx.channel();
+            final MqttClientConnectionConfig connectionConfig = createEarlyConnectionConfig(channel);
+            encoder.onConnected(connectionConfig);
+            session.startEarly(connectionConfig, channel.pipeline(), channel.eventLoop());
+        }
     }
 
     @Override
@@ -156,6 +227,7 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
      * @param channel the channel.
      */
     private void readConnAck(final @NotNull MqttConnAck connAck, final @NotNull Channel channel) {
+        final long connAckTime = System.nanoTime();
         if (connAck.getReasonCode().isError()) {
             MqttDisconnectUtil.fireDisconnectEvent(channel, new Mqtt5ConnAckException(connAck,
                             "CONNECT failed as CONNACK contained an Error Code: " + connAck.getReasonCode() + "."),
@@ -166,22 +238,27 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
 
             channel.pipeline().remove(this);
 
-            ((MqttEncoder) channel.pipeline().get(MqttEncoder.NAME)).onConnected(connectionConfig);
+            encoder.onConnected(connectionConfig);
 
             session.startOrResume(connAck, connectionConfig, channel.pipeline(), channel.eventLoop());
 
             final int keepAlive = connectionConfig.getKeepAlive();
             if (keepAlive > 0) {
-                final MqttPingHandler pingHandler = new MqttPingHandler(keepAlive, connectFlushTime, System.nanoTime());
+                final MqttPingHandler pingHandler = new MqttPingHandler(keepAlive,
+                        connectionConfig.getTransportConfig().getKeepAliveMode(), adaptiveKeepAlive, connectFlushTime,
+                        connAckTime);
                 channel.pipeline().addAfter(MqttDecoder.NAME, MqttPingHandler.NAME, pingHandler);
             }
 
             clientConfig.getRawState().set(MqttClientState.CONNECTED);
 
+            final MqttClientConnectTimingsImpl connectTimings = connAckFlow.getConnectTimings();
+            connectTimings.onConnAck(connAckTime);
+
             final ImmutableList<MqttClientConnectedListener> connectedListeners = clientConfig.getConnectedListeners();
             if (!connectedListeners.isEmpty()) {
                 final MqttClientConnectedContext context =
-                        MqttClientConnectedContextImpl.of(clientConfig, connect, connAck);
+                        MqttClientConnectedContextImpl.of(clientConfig, connect, connAck, connectTimings);
                 for (final MqttClientConnectedListener connectedListener : connectedListeners) {
                     try {
                         connectedListener.onConnected(context);
@@ -292,19 +369,61 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
         return connectionConfig;
     }
 
+    /**
+     * Creates the connection config that is assumed until the CONNACK is received if early send is enabled.
+     * <p>
+     * The server limits are not known yet, so the most restrictive ones are assumed: a small send maximum, no topic
+     * aliases, maximum QoS 0, no retain and no wildcard or shared subscriptions. Messages exceeding these limits are
+     * held back until the CONNACK is received.
+     *
+     * @param channel the channel.
+     * @return the assumed connection config.
+     */
+    private @NotNull MqttClientConnectionConfig createEarlyConnectionConfig(final @NotNull Channel channel) {
+        final MqttConnectRestrictions restrictions = connect.getRestrictions();
+
+        // @formatter:off
+        return new MqttClientConnectionConfig(
+                connAckFlow.getTransportConfig(),
+                connect.getKeepAlive(),
+                connect.isCleanStart(),
+                connect.getSessionExpiryInterval() == 0,
+                connect.getSessionExpiryInterval(),
+                connect.getRawSimpleAuth() != null,
+                connect.getRawWillPublish() != null,
+                null,
+                restrictions.getReceiveMaximum(),
+                restrictions.getMaximumPacketSize(),
+                restrictions.getTopicAliasMaximum(),
+                restrictions.isRequestProblemInformation(),
+                restrictions.isRequestResponseInformation(),
+                Math.min(restrictions.getSendMaximum(), EARLY_SEND_MAXIMUM),
+                restrictions.getSendMaximumPacketSize(),
+                0,
+                MqttQos.AT_MOST_ONCE,
+                false,
+                false,
+                false,
+                false,
+                channel);
+        // @formatter:on
+    }
+
     @Override
     protected void onDisconnectEvent(
             final @NotNull ChannelHandlerContext ctx, final @NotNull MqttDisconnectEvent disconnectEvent) {
 
         super.onDisconnectEvent(ctx, disconnectEvent);
 
+        session.abortEarly(disconnectEvent.getCause(), ctx.channel().eventLoop());
+
         MqttConnAckSingle.reconnect(clientConfig, disconnectEvent.getSource(), disconnectEvent.getCause(), connect,
                 connAckFlow, ctx.channel().eventLoop());
     }
 
     @Override
-    protected long getTimeout() {
-        return CONNACK_TIMEOUT;
+    protected long getTimeoutMs() {
+        return connAckFlow.getTransportConfig().getMqttConnectTimeoutMs();
     }
 
     @Override
@@ -316,4 +435,9 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
     protected @NotNull String getTimeoutReasonString() {
         return "Timeout while waiting for CONNACK";
     }
+
+    @Override
+    public boolean isSharable() {
+        return reset;
+    }
 }
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.connect;
+
+import com.hivemq.client.internal.mqtt.MqttClientSslConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.lifecycle.MqttClientConnectTimingsImpl;
+import com.hivemq.client.internal.mqtt.handler.ssl.SslUtil;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoop;
+import io.netty.handler.ssl.SslHandshakeCompletionEvent;
+import io.netty.resolver.AddressResolver;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.Inet6Address;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Races connection attempts to multiple server addresses as described in RFC 8305 (happy eyeballs).
+ * <p>
+ * The addresses are tried in order, the next attempt is started if the previous attempts have not succeeded within the
+ * connection attempt delay or immediately when an attempt fails. An attempt succeeds when the TCP handshake (and the
+ * TLS handshake if configured) is complete. Then all other attempts are cancelled and the channel initializer of the
+ * bootstrap is added to the winning channel. Host names are resolved with the address resolver of the bootstrap.
+ * <p>
+ * The race can be {@link #cancel() cancelled} as long as no attempt has won, then all attempts are closed and no
+ * further attempt is started.
+ * <p>
+ * All methods except {@link #start()} and {@link #cancel()} are called on the event loop.
+ *
+ * @author agent
+ */
+class MqttConnectRace {
+
+    private final @NotNull Bootstrap bootstrap;
+    private final @NotNull MqttClientTransportConfigImpl transportConfig;
+    private final @NotNull MqttClientConnectTimingsImpl connectTimings;
+    private final @NotNull EventLoop eventLoop;
+    private final @NotNull Consumer<Throwable> onFailure;
+    private final @NotNull Runnable onCancelled;
+
+    private final @NotNull ArrayList<InetSocketAddress> addresses = new ArrayList<>();
+    private final @NotNull ArrayList<Attempt> attempts = new ArrayList<>(2);
+    private int nextAttempt;
+    private @Nullable ScheduledFuture<?> delayFuture;
+    private @Nullable Throwable lastCause;
+    private boolean done;
+
+    /**
+     * @param bootstrap       the bootstrap with the event loop, the options and the channel initializer for the winning
+     *                        channel.
+     * @param transportConfig the transport config with the server addresses.
+     * @param connectTimings  records the DNS resolution, the TCP connect and the TLS handshake of the winning attempt.
+     * @param eventLoop       the event loop of the bootstrap.
+     * @param onFailure       called with the cause of the last failed attempt if all attempts failed.
+     * @param onCancelled     called if the race is cancelled before an attempt won or all attempts failed.
+     */
+    MqttConnectRace(
+            final @NotNull Bootstrap bootstrap, final @NotNull MqttClientTransportConfigImpl transportConfig,
+            final @NotNull MqttClientConnectTimingsImpl connectTimings, final @NotNull EventLoop eventLoop,
+            final @NotNull Consumer<Throwable> onFailure, final @NotNull Runnable onCancelled) {
+
+        this.bootstrap = bootstrap;
+        this.transportConfig = transportConfig;
+        this.connectTimings = connectTimings;
+        this.eventLoop = eventLoop;
+        this.onFailure = onFailure;
+        this.onCancelled = onCancelled;
+    }
+
+    void start() {
+        if (eventLoop.inEventLoop()) {
+            @SuppressWarnings("unchecked") final AddressResolver<SocketAddress> resolver =
+                    (AddressResolver<SocketAddress>) bootstrap.config().resolver().getResolver(eventLoop);
+            resolve(resolver, 0);
+        } else {
+            eventLoop.execute(this::start);
+        }
+    }
+
+    /**
+     * Cancels the race if no attempt has won and not all attempts have failed yet. All pending attempts are closed and
+     * the delayed start of the next attempt is cancelled.
+     */
+    void cancel() {
+        if (eventLoop.inEventLoop()) {
+            if (done) {
+                return;
+            }
+            done = true;
+            nextAttempt = addresses.size();
+            cancelDelay();
+            closeAttempts();
+            onCancelled.run();
+        } else {
+            eventLoop.execute(this::cancel);
+        }
+    }
+
+    private void resolve(final @NotNull AddressResolver<SocketAddress> resolver, final int index) {
+        if (done) {
+            return;
+        }
+        final ImmutableList<InetSocketAddress> fallbackServerAddresses = transportConfig.getFallbackServerAddresses();
+        if (index > fallbackServerAddresses.size()) {
+            if (addresses.isEmpty()) {
+                assert lastCause != null;
+                done = true;
+                onFailure.accept(lastCause);
+            } else {
+                connectTimings.onDnsResolution(System.nanoTime());
+                startNextAttempt();
+            }
+            return;
+        }
+        final InetSocketAddress address =
+                (index == 0) ? transportConfig.getServerAddress() : fallbackServerAddresses.get(index - 1);
+        if (!address.isUnresolved()) {
+            addresses.add(address);
+            resolve(resolver, index + 1);
+            return;
+        }
+        resolver.resolveAll(address).addListener(future -> {
+            if (future.isSuccess()) {
+                @SuppressWarnings("unchecked") final List<InetSocketAddress> resolvedAddresses =
+                        (List<InetSocketAddress>) future.getNow();
+                if (transportConfig.isHappyEyeballs()) {
+                    addresses.addAll(interleave(resolvedAddresses));
+                } else {
+                    addresses.add(resolvedAddresses.get(0));
+                }
+            } else {
+                lastCause = future.cause();
+            }
+            resolve(resolver, index + 1);
+        });
+    }
+
+    /**
+     * Orders addresses alternating by address family, starting with the family of the first address which is preferred
+     * by the system's address selection (RFC 8305, section 4).
+     *
+     * @param addresses the resolved addresses in the order of preference.
+     * @return the interleaved addresses.
+     */
+    static @NotNull List<InetSocketAddress> interleave(final @NotNull List<InetSocketAddress> addresses) {
+        final boolean firstIsIpv6 = addresses.get(0).getAddress() instanceof Inet6Address;
+        final ArrayList<InetSocketAddress> preferredFamily = new ArrayList<>(addresses.size());
+        final ArrayList<InetSocketAddress> otherFamily = new ArrayList<>(addresses.size());
+        for (final InetSocketAddress address : addresses) {
+            if ((address.getAddress() instanceof Inet6Address) == firstIsIpv6) {
+                preferredFamily.add(address);
+            } else {
+                otherFamily.add(address);
+            }
+        }
+        final ArrayList<InetSocketAddress> interleaved = new ArrayList<>(addresses.size());
+        for (int i = 0; (i < preferredFamily.size()) || (i < otherFamily.size()); i++) {
+            if (i < preferredFamily.size()) {
+                interleaved.add(preferredFamily.get(i));
+            }
+            if (i < otherFamily.size()) {
+                interleaved.add(otherFamily.get(i));
+            }
+        }
+        return interleaved;
+    }
+
+    private void startNextAttempt() {
+        cancelDelay();
+        if (nextAttempt >= addresses.size()) {
+            return;
+        }
+        final InetSocketAddress address = addresses.get(nextAttempt++);
+        final Attempt attempt = new Attempt(address);
+        attempts.add(attempt);
+        final ChannelFuture connectFuture = bootstrap.clone().handler(attempt).connect(address);
+        final Channel channel = connectFuture.channel();
+        attempt.channel = channel;
+        connectFuture.addListener(future -> {
+            if (!future.isSuccess()) {
+                attemptFailed(attempt, channel, future.cause());
+            } else {
+                attempt.tcpConnectTime = System.nanoTime();
+                if (transportConfig.getRawSslConfig() == null) {
+                    attemptSucceeded(attempt, channel);
+                }
+            }
+        });
+        if (nextAttempt < addresses.size()) {
+            cancelDelay();
+            delayFuture = eventLoop.schedule(
+                    this::startNextAttempt, transportConfig.getConnectAttemptDelayMs(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void cancelDelay() {
+        if (delayFuture != null) {
+            delayFuture.cancel(false);
+            delayFuture = null;
+        }
+    }
+
+    private void closeAttempts() {
+        // cleared before closing, as closing a channel fails its connect future which would remove its attempt
+        final Attempt[] attempts = this.attempts.toArray(new Attempt[0]);
+        this.attempts.clear();
+        for (final Attempt attempt : attempts) {
+            assert attempt.channel != null;
+            attempt.channel.close();
+        }
+    }
+
+    private void attemptFailed(
+            final @NotNull Attempt attempt, final @NotNull Channel channel, final @NotNull Throwable cause) {
+
+        if (!attempts.remove(attempt)) {
+            return;
+        }
+        channel.close();
+        lastCause = cause;
+        if (nextAttempt < addresses.size()) {
+            startNextAttempt();
+        } else if (attempts.isEmpty()) {
+            done = true;
+            onFailure.accept(cause);
+        }
+    }
+
+    private void attemptSucceeded(final @NotNull Attempt attempt, final @NotNull Channel channel) {
+        if (!attempts.remove(attempt)) {
+            return;
+        }
+        done = true;
+        nextAttempt = addresses.size();
+        cancelDelay();
+        connectTimings.onTcpConnect(attempt.tcpConnectTime);
+        if (transportConfig.getRawSslConfig() != null) {
+            connectTimings.onTlsHandshake(System.nanoTime());
+        }
+        closeAttempts();
+        channel.pipeline().remove(attempt);
+        channel.pipeline().addLast(bootstrap.config().handler());
+    }
+
+    private class Attempt extends ChannelInboundHandlerAdapter {
+
+        private final @NotNull InetSocketAddress address;
+        private @Nullable Channel channel;
+        private long tcpConnectTime;
+
+        Attempt(final @NotNull InetSocketAddress address) {
+            this.address = address;
+        }
+
+        @Override
+        public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
+            final MqttClientSslConfigImpl sslConfig = transportConfig.getRawSslConfig();
+            if (sslConfig != null) {
+                try {
+                    SslUtil.initChannel(ctx.channel(), sslConfig, address);
+                } catch (final Throwable t) {
+                    attemptFailed(this, ctx.channel(), t);
+                }
+            }
+        }
+
+        @Override
+        public void userEventTriggered(final @NotNull ChannelHandlerContext ctx, final @NotNull Object evt) {
+            if (evt instanceof SslHandshakeCompletionEvent) {
+                final SslHandshakeCompletionEvent event = (SslHandshakeCompletionEvent) evt;
+                if (event.isSuccess()) {
+                    attemptSucceeded(this, ctx.channel());
+                } else {
+                    attemptFailed(this, ctx.channel(), event.cause());
+                }
+            } else {
+                ctx.fireUserEventTriggered(evt);
+            }
+        }
+
+        @Override
+        public void exceptionCaught(final @NotNull ChannelHandlerContext ctx, final @NotNull Throwable cause) {
+            attemptFailed(this, ctx.channel(), cause);
+        }
+    }
+}
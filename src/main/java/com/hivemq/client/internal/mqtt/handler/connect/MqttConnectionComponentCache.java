@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.connect;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.handler.MqttChannelInitializer;
+import com.hivemq.client.internal.mqtt.ioc.ClientScope;
+import com.hivemq.client.internal.mqtt.ioc.ConnectionComponent;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.EventLoop;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.inject.Inject;
+
+/**
+ * Keeps the {@link ConnectionComponent} of the last connection of a client, so that a reconnect can reuse its
+ * bootstrap and handlers instead of creating a new component. Only the channel is new for a reconnect then.
+ * <p>
+ * The component is only reused if
+ * <ul>
+ * <li>the reconnect is executed on the event loop of the last connection,</li>
+ * <li>the transport config is the same (the bootstrap options and the event loop group can not be changed),</li>
+ * <li>neither enhanced auth (the auth handler is stateful) nor WebSocket (the handshake handler is added per channel)
+ * is used, and</li>
+ * <li>the channel of the last connection is already closed and deregistered.</li>
+ * </ul>
+ * Otherwise a new component is created.
+ *
+ * @author agent
+ */
+@ClientScope
+public class MqttConnectionComponentCache {
+
+    private final @NotNull MqttClientConfig clientConfig;
+
+    private @Nullable ConnectionComponent component;
+    private @Nullable Bootstrap bootstrap;
+    private @Nullable MqttClientTransportConfigImpl transportConfig;
+    private @Nullable EventLoop eventLoop;
+
+    @Inject
+    MqttConnectionComponentCache(final @NotNull MqttClientConfig clientConfig) {
+        this.clientConfig = clientConfig;
+    }
+
+    /**
+     * Returns the bootstrap for a new connection, either by resetting the cached connection component or by creating a
+     * new one.
+     * <p>
+     * Connects of the same client never run concurrently, so the cache is only accessed by one thread at a time. The
+     * cached component is only reset on the event loop, as the handlers of the previous channel were used there.
+     *
+     * @param connect   the Connect message of the connection.
+     * @param flow      the flow of the connection.
+     * @param eventLoop the event loop of the connection.
+     * @return the bootstrap with the event loop and the channel initializer for the connection.
+     */
+    @NotNull Bootstrap bootstrap(
+            final @NotNull MqttConnect connect, final @NotNull MqttConnAckFlow flow,
+            final @NotNull EventLoop eventLoop) {
+
+        final MqttClientTransportConfigImpl transportConfig = flow.getTransportConfig();
+        final boolean reusable =
+                (connect.getRawEnhancedAuthMechanism() == null) && (transportConfig.getRawWebSocketConfig() == null);
+        if (reusable && eventLoop.inEventLoop()) {
+            final Bootstrap bootstrap = reuse(connect, flow, transportConfig, eventLoop);
+            if (bootstrap != null) {
+                return bootstrap;
+            }
+        }
+
+        final ConnectionComponent component = clientConfig.getClientComponent()
+                .connectionComponentBuilder()
+                .connect(connect)
+                .connAckFlow(flow)
+                .build();
+        final Bootstrap bootstrap = component.bootstrap().group(eventLoop);
+        if (reusable) {
+            this.component = component;
+            this.bootstrap = bootstrap;
+            this.transportConfig = transportConfig;
+            this.eventLoop = eventLoop;
+        } else {
+            this.component = null;
+            this.bootstrap = null;
+            this.transportConfig = null;
+            this.eventLoop = null;
+        }
+        return bootstrap;
+    }
+
+    @CallByThread("Netty EventLoop")
+    private @Nullable Bootstrap reuse(
+            final @NotNull MqttConnect connect, final @NotNull MqttConnAckFlow flow,
+            final @NotNull MqttClientTransportConfigImpl transportConfig, final @NotNull EventLoop eventLoop) {
+
+        final ConnectionComponent component = this.component;
+        if ((component == null) || (transportConfig != this.transportConfig) || (eventLoop != this.eventLoop)) {
+            return null;
+        }
+        final MqttChannelInitializer channelInitializer = component.channelInitializer();
+        if (!channelInitializer.isReusable()) {
+            return null;
+        }
+        channelInitializer.reset(connect, flow);
+        return bootstrap;
+    }
+}
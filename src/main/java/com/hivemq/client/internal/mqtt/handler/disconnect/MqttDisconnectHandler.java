@@ -72,6 +72,7 @@ public class MqttDisconnectHandler extends MqttConnectionAwareHandler {
     private final @NotNull MqttClientConfig clientConfig;
     private final @NotNull MqttSession session;
     private @Nullable State state = null;
+    private boolean reset = false;
 
     @Inject
     MqttDisconnectHandler(final @NotNull MqttClientConfig clientConfig, final @NotNull MqttSession session) {
@@ -79,6 +80,23 @@ public class MqttDisconnectHandler extends MqttConnectionAwareHandler {
         this.session = session;
     }
 
+    /**
+     * Resets the state of this handler so that it can be added to the pipeline of a new channel of a reconnect.
+     * <p>
+     * Must only be called after the previous channel was closed and deregistered.
+     */
+    public void reset() {
+        state = null;
+        ctx = null;
+        reset = true;
+    }
+
+    @Override
+    public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
+        super.handlerAdded(ctx);
+        reset = false;
+    }
+
     @Override
     public void channelRead(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
         if (msg instanceof MqttDisconnect) {
@@ -253,7 +271,7 @@ public class MqttDisconnectHandler extends MqttConnectionAwareHandler {
 
     @Override
     public boolean isSharable() {
-        return false;
+        return reset;
     }
 
     private static class State {
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.ping;
+
+import com.hivemq.client.internal.mqtt.ioc.ClientScope;
+import com.hivemq.client.mqtt.MqttKeepAliveMode;
+
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State of the {@link MqttKeepAliveMode#ADAPTIVE adaptive} ping interval of a client.
+ * <p>
+ * The interval grows with every acknowledged ping until a ping is not acknowledged, which usually means that a NAT or
+ * firewall on the path to the server dropped the idle connection. Then the interval is decreased and it does not grow
+ * beyond the longest acknowledged interval anymore. The state is kept across reconnects of the client.
+ *
+ * @author agent
+ */
+@ClientScope
+public class MqttAdaptiveKeepAlive {
+
+    static final long INITIAL_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    static final long MINIMUM_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private long intervalNanos = INITIAL_INTERVAL_NANOS;
+    private long maximumIntervalNanos = Long.MAX_VALUE;
+    private long acknowledgedIntervalNanos = 0;
+
+    @Inject
+    MqttAdaptiveKeepAlive() {}
+
+    /**
+     * Returns the current ping interval.
+     *
+     * @param keepAliveNanos the negotiated keep alive of the connection, the interval never exceeds it.
+     * @return the current ping interval in nanoseconds.
+     */
+    public synchronized long getIntervalNanos(final long keepAliveNanos) {
+        return Math.min(intervalNanos, keepAliveNanos);
+    }
+
+    /**
+     * Called when a ping that was sent after the connection was idle for the given interval was acknowledged.
+     *
+     * @param usedIntervalNanos the used ping interval in nanoseconds.
+     */
+    public synchronized void onPingAcknowledged(final long usedIntervalNanos) {
+        acknowledgedIntervalNanos = Math.max(acknowledgedIntervalNanos, usedIntervalNanos);
+        if (usedIntervalNanos >= intervalNanos) {
+            intervalNanos = Math.min(intervalNanos + intervalNanos / 2, maximumIntervalNanos);
+        }
+    }
+
+    /**
+     * Called when a ping that was sent after the connection was idle for the given interval was not acknowledged.
+     *
+     * @param usedIntervalNanos the used ping interval in nanoseconds.
+     */
+    public synchronized void onPingTimeout(final long usedIntervalNanos) {
+        intervalNanos = Math.max(MINIMUM_INTERVAL_NANOS, usedIntervalNanos / 3 * 2);
+        maximumIntervalNanos =
+                Math.max(intervalNanos, Math.min(acknowledgedIntervalNanos, usedIntervalNanos - 1));
+        acknowledgedIntervalNanos = Math.min(acknowledgedIntervalNanos, maximumIntervalNanos);
+    }
+}
@@ -20,14 +20,15 @@ package com.hivemq.client.internal.mqtt.handler.ping;
 import com.hivemq.client.internal.mqtt.handler.MqttConnectionAwareHandler;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
+import com.hivemq.client.internal.mqtt.handler.util.MqttTimerWheel;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import com.hivemq.client.internal.mqtt.message.ping.MqttPingReq;
 import com.hivemq.client.internal.mqtt.message.ping.MqttPingResp;
 import com.hivemq.client.internal.netty.DefaultChannelOutboundHandler;
+import com.hivemq.client.mqtt.MqttKeepAliveMode;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.util.concurrent.ScheduledFuture;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -36,8 +37,10 @@ import java.util.concurrent.TimeUnit;
 /**
  * MQTT Keep Alive Handling.
  * <ul>
- * <li>Sends a PINGREQ message when no write has been performed for the Keep Alive interval.</li>
- * <li>Disconnects or closes the channel if the PINGRESP message is not received in the timeout.</li>
+ * <li>Sends a PINGREQ message when no write has been performed for the Keep Alive interval (or the adaptive ping
+ * interval if the {@link MqttKeepAliveMode#ADAPTIVE adaptive keep alive mode} is used).</li>
+ * <li>Disconnects or closes the channel if the PINGRESP message (or any message depending on the
+ * {@link MqttKeepAliveMode keep alive mode}) is not received in the timeout.</li>
  * </ul>
  *
  * @author Silvio Giebl
@@ -47,18 +50,33 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
         implements DefaultChannelOutboundHandler, Runnable, ChannelFutureListener {
 
     public static final @NotNull String NAME = "ping";
-    private static final boolean PINGRESP_REQUIRED = false; // TODO configurable
 
     private final long keepAliveNanos;
+    private final boolean pingRespRequired;
+    private final @Nullable MqttAdaptiveKeepAlive adaptiveKeepAlive;
+    private long intervalNanos;
     private long lastFlushTimeNanos;
     private long lastReadTimeNanos;
     private boolean pingReqWritten;
     private boolean pingReqFlushed;
     private boolean messageRead;
-    private @Nullable ScheduledFuture<?> timeoutFuture;
+    private @Nullable MqttTimerWheel.Timeout timeout;
 
-    public MqttPingHandler(final int keepAlive, final long lastFlushTimeNanos, final long lastReadTimeNanos) {
+    public MqttPingHandler(
+            final int keepAlive, final @NotNull MqttKeepAliveMode keepAliveMode,
+            final @NotNull MqttAdaptiveKeepAlive adaptiveKeepAlive, final long lastFlushTimeNanos,
+            final long lastReadTimeNanos) {
+
+        // the timer wheel executes timeouts up to one tick (100 ms) after their deadline
         keepAliveNanos = TimeUnit.SECONDS.toNanos(keepAlive) - TimeUnit.MILLISECONDS.toNanos(100);
+        pingRespRequired = keepAliveMode == MqttKeepAliveMode.PINGRESP_REQUIRED;
+        if (keepAliveMode == MqttKeepAliveMode.ADAPTIVE) {
+            this.adaptiveKeepAlive = adaptiveKeepAlive;
+            intervalNanos = adaptiveKeepAlive.getIntervalNanos(keepAliveNanos);
+        } else {
+            this.adaptiveKeepAlive = null;
+            intervalNanos = keepAliveNanos;
+        }
         this.lastFlushTimeNanos = lastFlushTimeNanos;
         this.lastReadTimeNanos = lastReadTimeNanos;
     }
@@ -81,17 +99,17 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
         if (msg instanceof MqttPingResp) {
             messageRead = true;
         } else {
-            messageRead = !PINGRESP_REQUIRED;
+            messageRead |= !pingRespRequired;
             ctx.fireChannelRead(msg);
         }
     }
 
     private void schedule(final @NotNull ChannelHandlerContext ctx, final long delayNanos) {
-        timeoutFuture = ctx.executor().schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+        timeout = MqttTimerWheel.get(ctx.executor()).schedule(this, delayNanos);
     }
 
     private long nextDelay(final long timeNanos) {
-        return keepAliveNanos - (timeNanos - Math.min(lastReadTimeNanos, lastFlushTimeNanos));
+        return intervalNanos - (timeNanos - Math.min(lastReadTimeNanos, lastFlushTimeNanos));
     }
 
     @Override
@@ -105,9 +123,16 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
                 return;
             }
             if (!messageRead) {
+                if (adaptiveKeepAlive != null) {
+                    adaptiveKeepAlive.onPingTimeout(intervalNanos);
+                }
                 MqttDisconnectUtil.close(ctx.channel(), "Timeout while waiting for PINGRESP");
                 return;
             }
+            if (adaptiveKeepAlive != null) {
+                adaptiveKeepAlive.onPingAcknowledged(intervalNanos);
+                intervalNanos = adaptiveKeepAlive.getIntervalNanos(keepAliveNanos);
+            }
         }
         pingReqFlushed = false;
         messageRead = false;
@@ -118,7 +143,7 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
             schedule(ctx, nextDelayNanos);
         } else {
             pingReqWritten = true;
-            schedule(ctx, keepAliveNanos);
+            schedule(ctx, intervalNanos);
             lastFlushTimeNanos = timeNanos;
             ctx.writeAndFlush(MqttPingReq.INSTANCE).addListener(this);
         }
@@ -135,9 +160,9 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
     protected void onDisconnectEvent(
             final @NotNull ChannelHandlerContext ctx, final @NotNull MqttDisconnectEvent disconnectEvent) {
 
-        if (timeoutFuture != null) {
-            timeoutFuture.cancel(false);
-            timeoutFuture = null;
+        if (timeout != null) {
+            timeout.cancel();
+            timeout = null;
         }
     }
 }
@@ -65,6 +65,13 @@ public class MqttIncomingPublishFlows {
         }
     }
 
+    public void subscribe(final @NotNull ImmutableList<MqttSubscription> subscriptions) {
+        //noinspection ForLoopReplaceableByForEach
+        for (int i = 0; i < subscriptions.size(); i++) {
+            subscribe(subscriptions.get(i).getTopicFilter(), null);
+        }
+    }
+
     void subscribe(final @NotNull MqttTopicFilterImpl topicFilter, final @Nullable MqttSubscribedPublishFlow flow) {
         subscriptionFlows.subscribe(topicFilter, flow);
     }
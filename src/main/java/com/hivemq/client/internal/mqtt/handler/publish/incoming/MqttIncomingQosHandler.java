@@ -21,6 +21,7 @@ import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
 import com.hivemq.client.internal.mqtt.handler.MqttSessionAwareHandler;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
@@ -41,9 +42,11 @@ import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5IncomingQos1I
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5IncomingQos2Interceptor;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
 import com.hivemq.client.mqtt.mqtt5.message.publish.pubcomp.Mqtt5PubCompReasonCode;
+import com.hivemq.client.mqtt.persistence.MqttPersistence;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.EventLoop;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 
@@ -59,13 +62,19 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
             new IntIndex.Spec<>(MqttMessage.WithId::getPacketIdentifier);
 
     private final @NotNull MqttClientConfig clientConfig;
+    private final @Nullable Mqtt5IncomingQos1Interceptor qos1Interceptor;
+    private final @Nullable Mqtt5IncomingQos2Interceptor qos2Interceptor;
     private final @NotNull MqttIncomingPublishFlows incomingPublishFlows;
     private final @NotNull MqttIncomingPublishService incomingPublishService;
+    private final @Nullable MqttIncomingQosPersistence persistence;
 
     private final @NotNull IntIndex<MqttMessage.WithId> messages = new IntIndex<>(INDEX_SPEC);
     // contains StatefulPublish with AT_LEAST_ONCE/EXACTLY_ONCE, MqttPubAck or MqttPubRec
 
     private int receiveMaximum;
+    private boolean restored;
+    private boolean inRead;
+    private boolean syncPending;
 
     @Inject
     MqttIncomingQosHandler(
@@ -73,8 +82,32 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
             final @NotNull MqttIncomingPublishFlows incomingPublishFlows) {
 
         this.clientConfig = clientConfig;
+        final MqttClientInterceptors interceptors = clientConfig.getAdvancedConfig().getInterceptors();
+        qos1Interceptor = (interceptors == null) ? null : interceptors.getIncomingQos1Interceptor();
+        qos2Interceptor = (interceptors == null) ? null : interceptors.getIncomingQos2Interceptor();
         this.incomingPublishFlows = incomingPublishFlows;
         incomingPublishService = new MqttIncomingPublishService(this);
+        final MqttPersistence persistence = clientConfig.getAdvancedConfig().getIncomingPublishPersistence();
+        this.persistence = (persistence == null) ? null : new MqttIncomingQosPersistence(persistence);
+    }
+
+    /**
+     * Restores the persisted PUBREC messages once when the first session starts.
+     *
+     * @param sessionPresent whether the server still has the session the persisted PUBREC messages belong to.
+     */
+    @CallByThread("Netty EventLoop")
+    public void restore(final boolean sessionPresent) {
+        final MqttIncomingQosPersistence persistence = this.persistence;
+        if ((persistence == null) || restored) {
+            return;
+        }
+        restored = true;
+        if (sessionPresent) {
+            persistence.restore(messages::put);
+        } else {
+            persistence.clear();
+        }
     }
 
     @Override
@@ -87,6 +120,7 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
 
     @Override
     public void channelRead(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
+        inRead = true;
         if (msg instanceof MqttStatefulPublish) {
             readPublish(ctx, (MqttStatefulPublish) msg);
         } else if (msg instanceof MqttPubRel) {
@@ -96,6 +130,21 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
         }
     }
 
+    /**
+     * Syncs the persisted PUBREC messages of the read batch once. The encoder defers the flush of the PUBREC messages
+     * written during the read batch until the read batch is complete, so they are only sent after they are durable.
+     */
+    @Override
+    public void channelReadComplete(final @NotNull ChannelHandlerContext ctx) {
+        inRead = false;
+        if (syncPending) {
+            syncPending = false;
+            assert persistence != null;
+            persistence.sync();
+        }
+        ctx.fireChannelReadComplete();
+    }
+
     private void readPublish(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish publish) {
         switch (publish.stateless().getQos()) {
             case AT_MOST_ONCE:
@@ -172,15 +221,23 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
     void ack(final @NotNull MqttStatefulPublish publish) {
         switch (publish.stateless().getQos()) {
             case AT_LEAST_ONCE:
-                final MqttPubAck pubAck = buildPubAck(new MqttPubAckBuilder(publish));
+                final MqttPubAck pubAck = buildPubAck(publish);
                 messages.put(pubAck);
                 if (ctx != null) {
                     writePubAck(ctx, pubAck);
                 }
                 break;
             case EXACTLY_ONCE:
-                final MqttPubRec pubRec = buildPubRec(new MqttPubRecBuilder(publish));
+                final MqttPubRec pubRec = buildPubRec(publish);
                 messages.put(pubRec);
+                if ((persistence != null) && !pubRec.getReasonCode().isError()) {
+                    persistence.putPubRec(pubRec);
+                    if (inRead) {
+                        syncPending = true; // synced once when the read batch is complete
+                    } else {
+                        persistence.sync();
+                    }
+                }
                 if (ctx != null) {
                     writePubRec(ctx, pubRec);
                 }
@@ -212,11 +269,12 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
     private void readPubRel(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubRel pubRel) {
         final MqttMessage.WithId prevMessage = messages.remove(pubRel.getPacketIdentifier());
         if (prevMessage instanceof MqttPubRec) { // normal case
-            writePubComp(ctx, buildPubComp(new MqttPubCompBuilder(pubRel)));
+            if (persistence != null) {
+                persistence.remove(pubRel.getPacketIdentifier());
+            }
+            writePubComp(ctx, buildPubComp(pubRel, MqttPubComp.DEFAULT_REASON_CODE));
         } else if (prevMessage == null) { // may be resent
-            writePubComp(
-                    ctx, buildPubComp(new MqttPubCompBuilder(pubRel).reasonCode(
-                            Mqtt5PubCompReasonCode.PACKET_IDENTIFIER_NOT_FOUND)));
+            writePubComp(ctx, buildPubComp(pubRel, Mqtt5PubCompReasonCode.PACKET_IDENTIFIER_NOT_FOUND));
         } else if ((prevMessage instanceof MqttStatefulPublish) &&
                 (((MqttStatefulPublish) prevMessage).stateless().getQos() ==
                         MqttQos.EXACTLY_ONCE)) { // PubRec not sent yet
@@ -239,38 +297,43 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler
         super.onSessionEnd(cause);
         incomingPublishFlows.clear(cause);
         messages.clear();
+        if (persistence != null) {
+            persistence.clear();
+        }
     }
 
-    private @NotNull MqttPubAck buildPubAck(final @NotNull MqttPubAckBuilder pubAckBuilder) {
-        final MqttClientInterceptors interceptors = clientConfig.getAdvancedConfig().getInterceptors();
-        if (interceptors != null) {
-            final Mqtt5IncomingQos1Interceptor interceptor = interceptors.getIncomingQos1Interceptor();
-            if (interceptor != null) {
-                interceptor.onPublish(clientConfig, pubAckBuilder.getPublish().stateless(), pubAckBuilder);
-            }
+    private @NotNull MqttPubAck buildPubAck(final @NotNull MqttStatefulPublish publish) {
+        final Mqtt5IncomingQos1Interceptor interceptor = qos1Interceptor;
+        if (interceptor == null) { // fast path for the common case without interceptor, no builder needed
+            return new MqttPubAck(publish.getPacketIdentifier(), MqttPubAck.DEFAULT_REASON_CODE, null,
+                    MqttUserPropertiesImpl.NO_USER_PROPERTIES);
         }
+        final MqttPubAckBuilder pubAckBuilder = new MqttPubAckBuilder(publish);
+        interceptor.onPublish(clientConfig, publish.stateless(), pubAckBuilder);
         return pubAckBuilder.build();
     }
 
-    private @NotNull MqttPubRec buildPubRec(final @NotNull MqttPubRecBuilder pubRecBuilder) {
-        final MqttClientInterceptors interceptors = clientConfig.getAdvancedConfig().getInterceptors();
-        if (interceptors != null) {
-            final Mqtt5IncomingQos2Interceptor interceptor = interceptors.getIncomingQos2Interceptor();
-            if (interceptor != null) {
-                interceptor.onPublish(clientConfig, pubRecBuilder.getPublish().stateless(), pubRecBuilder);
-            }
+    private @NotNull MqttPubRec buildPubRec(final @NotNull MqttStatefulPublish publish) {
+        final Mqtt5IncomingQos2Interceptor interceptor = qos2Interceptor;
+        if (interceptor == null) { // fast path for the common case without interceptor, no builder needed
+            return new MqttPubRec(publish.getPacketIdentifier(), MqttPubRec.DEFAULT_REASON_CODE, null,
+                    MqttUserPropertiesImpl.NO_USER_PROPERTIES);
         }
+        final MqttPubRecBuilder pubRecBuilder = new MqttPubRecBuilder(publish);
+        interceptor.onPublish(clientConfig, publish.stateless(), pubRecBuilder);
         return pubRecBuilder.build();
     }
 
-    private @NotNull MqttPubComp buildPubComp(final @NotNull MqttPubCompBuilder pubCompBuilder) {
-        final MqttClientInterceptors interceptors = clientConfig.getAdvancedConfig().getInterceptors();
-        if (interceptors != null) {
-            final Mqtt5IncomingQos2Interceptor interceptor = interceptors.getIncomingQos2Interceptor();
-            if (interceptor != null) {
-                interceptor.onPubRel(clientConfig, pubCompBuilder.getPubRel(), pubCompBuilder);
-            }
+    private @NotNull MqttPubComp buildPubComp(
+            final @NotNull MqttPubRel pubRel, final @NotNull Mqtt5PubCompReasonCode reasonCode) {
+
+        final Mqtt5IncomingQos2Interceptor interceptor = qos2Interceptor;
+        if (interceptor == null) { // fast path for the common case without interceptor, no builder needed
+            return new MqttPubComp(pubRel.getPacketIdentifier(), reasonCode, null,
+                    MqttUserPropertiesImpl.NO_USER_PROPERTIES);
         }
+        final MqttPubCompBuilder pubCompBuilder = new MqttPubCompBuilder(pubRel).reasonCode(reasonCode);
+        interceptor.onPubRel(clientConfig, pubRel, pubCompBuilder);
         return pubCompBuilder.build();
     }
 
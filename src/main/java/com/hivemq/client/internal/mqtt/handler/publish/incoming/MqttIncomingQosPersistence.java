@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubrec.Mqtt5PubRecReasonCode;
+import com.hivemq.client.mqtt.persistence.MqttPersistence;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+
+/**
+ * Stores the packet identifiers of incoming QoS 2 PUBLISH messages that were acknowledged with a PUBREC but not yet
+ * released with a PUBREL in a {@link MqttPersistence}, so that resent PUBLISH messages are not delivered again after a
+ * restart.
+ * <p>
+ * The key is the packet identifier, the value is only the single byte reason code of the PUBREC. Failures of the
+ * persistence are logged and do not affect the flows in memory.
+ *
+ * @author agent
+ */
+class MqttIncomingQosPersistence {
+
+    private static final @NotNull InternalLogger LOGGER =
+            InternalLoggerFactory.getLogger(MqttIncomingQosPersistence.class);
+
+    private final @NotNull MqttPersistence persistence;
+    private final @NotNull ByteBuffer value = ByteBuffer.allocate(1);
+
+    MqttIncomingQosPersistence(final @NotNull MqttPersistence persistence) {
+        this.persistence = persistence;
+    }
+
+    @CallByThread("Netty EventLoop")
+    void putPubRec(final @NotNull MqttPubRec pubRec) {
+        value.put(0, (byte) pubRec.getReasonCode().getCode());
+        try {
+            persistence.put(pubRec.getPacketIdentifier(), value);
+        } catch (final RuntimeException e) {
+            LOGGER.error(
+                    "Could not persist the PUBREC with packet identifier " + pubRec.getPacketIdentifier() + ".", e);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    void remove(final int packetIdentifier) {
+        try {
+            persistence.remove(packetIdentifier);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Could not remove the persisted PUBREC with packet identifier " + packetIdentifier + ".", e);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    void clear() {
+        try {
+            persistence.clear();
+        } catch (final RuntimeException e) {
+            LOGGER.error("Could not clear the persisted state of incoming QoS 2 flows.", e);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    void sync() {
+        try {
+            persistence.sync();
+        } catch (final RuntimeException e) {
+            LOGGER.error("Could not sync the persisted state of incoming QoS 2 flows.", e);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    void restore(final @NotNull Consumer<MqttPubRec> consumer) {
+        try {
+            persistence.forEach((key, value) -> {
+                Mqtt5PubRecReasonCode reasonCode = null;
+                if (value.remaining() == 1) {
+                    reasonCode = Mqtt5PubRecReasonCode.fromCode(value.get(value.position()) & 0xFF);
+                }
+                if (reasonCode == null) {
+                    LOGGER.warn("Restoring corrupt persisted PUBREC with packet identifier {} as success.", key);
+                    reasonCode = Mqtt5PubRecReasonCode.SUCCESS;
+                }
+                consumer.accept(
+                        new MqttPubRec((int) key, reasonCode, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+            });
+        } catch (final RuntimeException e) {
+            LOGGER.error("Could not restore the persisted state of incoming QoS 2 flows.", e);
+        }
+    }
+}
@@ -47,7 +47,7 @@ public class MqttSubscribedPublishFlowable extends FlowableWithSingle<Mqtt5Publi
 
     @Override
     protected void subscribeActual(final @NotNull Subscriber<? super Mqtt5Publish> subscriber) {
-        if (clientConfig.getState().isConnectedOrReconnect()) {
+        if (clientConfig.isConnectedOrEarlySend()) {
             final ClientComponent clientComponent = clientConfig.getClientComponent();
             final MqttIncomingQosHandler incomingQosHandler = clientComponent.incomingQosHandler();
             final MqttSubscriptionHandler subscriptionHandler = clientComponent.subscriptionHandler();
@@ -47,7 +47,7 @@ public class MqttAckSingle extends Single<Mqtt5PublishResult> {
 
     @Override
     protected void subscribeActual(final @NotNull SingleObserver<? super Mqtt5PublishResult> observer) {
-        if (clientConfig.getState().isConnectedOrReconnect()) {
+        if (clientConfig.isConnectedOrEarlySend()) {
             final ClientComponent clientComponent = clientConfig.getClientComponent();
             final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
             final MqttPublishFlowables publishFlowables = outgoingQosHandler.getPublishFlowables();
@@ -48,7 +48,7 @@ public class MqttAckSingleFlowable extends Flowable<Mqtt5PublishResult> {
 
     @Override
     protected void subscribeActual(final @NotNull Subscriber<? super Mqtt5PublishResult> subscriber) {
-        if (clientConfig.getState().isConnectedOrReconnect()) {
+        if (clientConfig.isConnectedOrEarlySend()) {
             final ClientComponent clientComponent = clientConfig.getClientComponent();
             final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
             final MqttPublishFlowables publishFlowables = outgoingQosHandler.getPublishFlowables();
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.persistence.MqttMappedRingBuffer;
+import com.hivemq.client.internal.mqtt.persistence.MqttOfflineBufferConfigImpl;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.persistence.MqttOfflineBufferOverflowPolicy;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * Bounded buffer for outgoing PUBLISH messages while the client is disconnected.
+ * <p>
+ * Messages are kept in memory while they fit into the memory limit, otherwise they are spilled to a memory-mapped
+ * file if a spill directory is configured. Only the payload and properties are spilled, the flows of the messages stay
+ * in memory. The order of the messages is kept across both tiers.
+ *
+ * @author agent
+ */
+class MqttOfflineBuffer {
+
+    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttOfflineBuffer.class);
+
+    private final @NotNull MqttOfflineBufferConfigImpl config;
+    private final @NotNull ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private long memoryBytes;
+    private @Nullable MqttMappedRingBuffer spill;
+
+    MqttOfflineBuffer(final @NotNull MqttOfflineBufferConfigImpl config) {
+        this.config = config;
+    }
+
+    /**
+     * Adds a message to the end of this buffer. If this buffer is full, messages are dropped according to the overflow
+     * policy.
+     *
+     * @param publishWithFlow the message to add.
+     * @param dropped         consumer of the dropped messages, called before this method returns.
+     */
+    @CallByThread("Netty EventLoop")
+    void offer(
+            final @NotNull MqttPublishWithFlow publishWithFlow,
+            final @NotNull Consumer<MqttPublishWithFlow> dropped) {
+
+        final boolean dropOldest = config.getOverflowPolicy() == MqttOfflineBufferOverflowPolicy.DROP_OLDEST;
+        if (entries.size() >= config.getMaximumMessages()) {
+            if (!dropOldest) {
+                dropped.accept(publishWithFlow);
+                return;
+            }
+            final MqttPublishWithFlow oldest = poll(dropped);
+            if (oldest != null) {
+                dropped.accept(oldest);
+            }
+        }
+        while (!add(publishWithFlow)) {
+            final MqttPublishWithFlow oldest = dropOldest ? poll(dropped) : null;
+            if (oldest == null) {
+                dropped.accept(publishWithFlow);
+                return;
+            }
+            dropped.accept(oldest);
+        }
+    }
+
+    private boolean add(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        final MqttPublish publish = publishWithFlow.getPublish();
+        final int size = memorySize(publish);
+        if (memoryBytes + size <= config.getMaximumMemoryBytes()) {
+            memoryBytes += size;
+            entries.offer(new Entry(publishWithFlow, size));
+            return true;
+        }
+        final MqttMappedRingBuffer spill = getSpill();
+        if (spill == null) {
+            return false;
+        }
+        final ByteBuf byteBuf = Unpooled.buffer();
+        MqttOutgoingQosPersistence.encodePublish(publish, byteBuf);
+        if (!spill.offer(byteBuf.nioBuffer())) {
+            return false;
+        }
+        entries.offer(new Entry(publishWithFlow.getAckFlow(), publish.getTopic(), publish.getQos()));
+        return true;
+    }
+
+    private @Nullable MqttMappedRingBuffer getSpill() {
+        MqttMappedRingBuffer spill = this.spill;
+        if (spill == null) {
+            final Path spillDirectory = config.getRawSpillDirectory();
+            if (spillDirectory == null) {
+                return null;
+            }
+            try {
+                spill = MqttMappedRingBuffer.create(spillDirectory, config.getMaximumDiskBytes());
+            } catch (final IOException e) {
+                LOGGER.error("Could not create the spill file of the offline buffer in " + spillDirectory + ".", e);
+                return null;
+            }
+            this.spill = spill;
+        }
+        return spill;
+    }
+
+    /**
+     * Removes the oldest message from this buffer.
+     * <p>
+     * Messages that can not be read from the spill file anymore are discarded. As their payload and properties are
+     * lost, they are passed to the given consumer with a PUBLISH message only containing the topic and QoS, so that
+     * their flows can be completed.
+     *
+     * @param discarded consumer of the discarded messages, called before this method returns.
+     * @return the oldest message or <code>null</code> if this buffer is empty.
+     */
+    @CallByThread("Netty EventLoop")
+    @Nullable MqttPublishWithFlow poll(final @NotNull Consumer<MqttPublishWithFlow> discarded) {
+        Entry entry;
+        while ((entry = entries.poll()) != null) {
+            final MqttPublishWithFlow publishWithFlow = entry.publishWithFlow;
+            if (publishWithFlow != null) {
+                memoryBytes -= entry.size;
+                return publishWithFlow;
+            }
+            final MqttPublish publish = pollSpilled();
+            if (publish != null) {
+                return new MqttPublishWithFlow(publish, entry.ackFlow);
+            }
+            LOGGER.error("Discarding corrupt message from the spill file of the offline buffer.");
+            assert entry.topic != null;
+            discarded.accept(new MqttPublishWithFlow(new MqttPublish(entry.topic, null, entry.qos, false,
+                    MqttPublish.NO_MESSAGE_EXPIRY, null, null, null, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES),
+                    entry.ackFlow));
+        }
+        return null;
+    }
+
+    private @Nullable MqttPublish pollSpilled() {
+        final MqttMappedRingBuffer spill = this.spill;
+        if (spill == null) {
+            return null;
+        }
+        final ByteBuffer value = spill.poll();
+        if (spill.isEmpty()) {
+            closeSpill();
+        }
+        if (value == null) {
+            return null;
+        }
+        final ByteBuf byteBuf = Unpooled.wrappedBuffer(value);
+        byteBuf.skipBytes(1); // type
+        return MqttOutgoingQosPersistence.decodePublish(byteBuf);
+    }
+
+    private void closeSpill() {
+        final MqttMappedRingBuffer spill = this.spill;
+        if (spill != null) {
+            this.spill = null;
+            try {
+                spill.close();
+            } catch (final IOException e) {
+                LOGGER.warn("Could not delete the spill file of the offline buffer.", e);
+            }
+        }
+    }
+
+    /**
+     * @return the QoS of the oldest message or <code>null</code> if this buffer is empty.
+     */
+    @Nullable MqttQos peekQos() {
+        final Entry entry = entries.peek();
+        return (entry == null) ? null : entry.qos;
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    private static int memorySize(final @NotNull MqttPublish publish) {
+        final ByteBuffer payload = publish.getRawPayload();
+        return publish.getTopic().encodedLength() + ((payload == null) ? 0 : payload.remaining());
+    }
+
+    private static class Entry {
+
+        final @Nullable MqttPublishWithFlow publishWithFlow;
+        final @NotNull MqttAckFlow ackFlow;
+        final @Nullable MqttTopicImpl topic;
+        final @NotNull MqttQos qos;
+        final int size;
+
+        Entry(final @NotNull MqttPublishWithFlow publishWithFlow, final int size) {
+            this.publishWithFlow = publishWithFlow;
+            ackFlow = publishWithFlow.getAckFlow();
+            topic = null;
+            qos = publishWithFlow.getPublish().getQos();
+            this.size = size;
+        }
+
+        Entry(final @NotNull MqttAckFlow ackFlow, final @NotNull MqttTopicImpl topic, final @NotNull MqttQos qos) {
+            publishWithFlow = null;
+            this.ackFlow = ackFlow;
+            this.topic = topic;
+            this.qos = qos;
+            size = 0;
+        }
+    }
+}
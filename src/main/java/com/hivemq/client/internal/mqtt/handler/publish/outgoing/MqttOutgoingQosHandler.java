@@ -23,13 +23,16 @@ import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
 import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
 import com.hivemq.client.internal.mqtt.handler.MqttSessionAwareHandler;
+import com.hivemq.client.internal.mqtt.handler.connect.MqttConnectHandler;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttPubRelWithFlow.MqttQos2CompleteWithFlow;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttPubRelWithFlow.MqttQos2IntermediateWithFlow;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubscriptionHandler;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult.MqttQos1Result;
@@ -42,6 +45,7 @@ import com.hivemq.client.internal.mqtt.message.publish.pubcomp.MqttPubComp;
 import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
 import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
 import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRelBuilder;
+import com.hivemq.client.internal.mqtt.persistence.MqttOfflineBufferConfigImpl;
 import com.hivemq.client.internal.netty.ContextFuture;
 import com.hivemq.client.internal.netty.DefaultContextPromise;
 import com.hivemq.client.internal.util.Ranges;
@@ -50,11 +54,13 @@ import com.hivemq.client.internal.util.collections.IntIndex;
 import com.hivemq.client.internal.util.collections.NodeList;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.exceptions.ConnectionClosedException;
+import com.hivemq.client.mqtt.exceptions.MqttDecodeException;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5OutgoingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5OutgoingQos2Interceptor;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5PubAckException;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5PubRecException;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
+import com.hivemq.client.mqtt.persistence.MqttPersistence;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.EventLoop;
@@ -86,7 +92,11 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private static final boolean QOS_2_COMPLETE_RESULT = false; // TODO configurable
 
     private final @NotNull MqttClientConfig clientConfig;
+    private final @Nullable Mqtt5OutgoingQos1Interceptor qos1Interceptor;
+    private final @Nullable Mqtt5OutgoingQos2Interceptor qos2Interceptor;
     private final @NotNull MqttPublishFlowables publishFlowables;
+    private final @Nullable MqttOutgoingQosPersistence persistence;
+    private final @Nullable MqttOfflineBuffer offlineBuffer;
 
     private final @NotNull SpscUnboundedArrayQueue<MqttPublishWithFlow> queue = new SpscUnboundedArrayQueue<>(32);
     private final @NotNull AtomicInteger queuedCounter = new AtomicInteger();
@@ -100,13 +110,22 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private @Nullable MqttTopicAliasMapping topicAliasMapping;
     private @Nullable Subscription subscription;
     private int shrinkRequests;
+    private @Nullable MqttClientConnectionConfig earlyConnectionConfig; // assumed until the CONNACK is received
+    private boolean restored;
 
     @Inject
     MqttOutgoingQosHandler(
             final @NotNull MqttClientConfig clientConfig, final @NotNull MqttPublishFlowables publishFlowables) {
 
         this.clientConfig = clientConfig;
+        final MqttClientInterceptors interceptors = clientConfig.getAdvancedConfig().getInterceptors();
+        qos1Interceptor = (interceptors == null) ? null : interceptors.getOutgoingQos1Interceptor();
+        qos2Interceptor = (interceptors == null) ? null : interceptors.getOutgoingQos2Interceptor();
         this.publishFlowables = publishFlowables;
+        final MqttPersistence persistence = clientConfig.getAdvancedConfig().getOutgoingPublishPersistence();
+        this.persistence = (persistence == null) ? null : new MqttOutgoingQosPersistence(persistence);
+        final MqttOfflineBufferConfigImpl offlineBufferConfig = clientConfig.getAdvancedConfig().getOfflineBuffer();
+        offlineBuffer = (offlineBufferConfig == null) ? null : new MqttOfflineBuffer(offlineBufferConfig);
     }
 
     @Override
@@ -114,12 +133,66 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
 
         super.onSessionStartOrResume(connectionConfig, eventLoop);
+        earlyConnectionConfig = null;
+
+        applyConnectionConfig(connectionConfig);
+        restore();
+
+        pendingIndex.clear();
+        if ((pending.getFirst() != null) || (queuedCounter.get() > 0) || hasOfflineBuffered()) {
+            resendPending = pending.getFirst();
+            eventLoop.execute(this);
+        }
+    }
+
+    @Override
+    public void onSessionStartEarly(
+            final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
+
+        super.onSessionStartEarly(connectionConfig, eventLoop);
+        earlyConnectionConfig = connectionConfig;
+    }
+
+    @Override
+    public void onSessionConfirmed(
+            final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
+
+        super.onSessionConfirmed(connectionConfig, eventLoop);
+        earlyConnectionConfig = null;
+
+        applyConnectionConfig(connectionConfig);
+
+        if ((queuedCounter.get() > 0) || hasOfflineBuffered()) {
+            eventLoop.execute(this);
+        }
+    }
+
+    /**
+     * Starts receiving publishes before the first session is started if early send is enabled, so that publishes are
+     * queued until the session is started early instead of waiting for the first session to start.
+     *
+     * @param connect   the Connect message.
+     * @param eventLoop the event loop of the client.
+     */
+    public void onConnecting(final @NotNull MqttConnect connect, final @NotNull EventLoop eventLoop) {
+        eventLoop.execute(() -> {
+            if (sendMaximum == 0) {
+                applySendMaximum(
+                        Math.min(connect.getRestrictions().getSendMaximum(), MqttConnectHandler.EARLY_SEND_MAXIMUM));
+            }
+        });
+    }
+
+    private void applyConnectionConfig(final @NotNull MqttClientConnectionConfig connectionConfig) {
+        applySendMaximum(connectionConfig.getSendMaximum());
+        topicAliasMapping = connectionConfig.getSendTopicAliasMapping();
+    }
 
-        final int oldSendMaximum = sendMaximum;
+    private void applySendMaximum(final int sendMaximum) {
+        final int oldSendMaximum = this.sendMaximum;
         final int newSendMaximum = Math.min(
-                connectionConfig.getSendMaximum(),
-                UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE - MqttSubscriptionHandler.MAX_SUB_PENDING);
-        sendMaximum = newSendMaximum;
+                sendMaximum, UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE - MqttSubscriptionHandler.MAX_SUB_PENDING);
+        this.sendMaximum = newSendMaximum;
         packetIdentifiers.resize(newSendMaximum);
         if (oldSendMaximum == 0) {
             publishFlowables.flatMap(
@@ -137,13 +210,64 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
                 shrinkRequests = -newRequests;
             }
         }
-        topicAliasMapping = connectionConfig.getSendTopicAliasMapping();
+    }
 
-        pendingIndex.clear();
-        if ((pending.getFirst() != null) || (queuedCounter.get() > 0)) {
-            resendPending = pending.getFirst();
-            eventLoop.execute(this);
+    /**
+     * Restores the flows stored in the persistence once when the first session starts, so they are resent with their
+     * original packet identifiers.
+     */
+    private void restore() {
+        final MqttOutgoingQosPersistence persistence = this.persistence;
+        if ((persistence == null) || restored) {
+            return;
         }
+        restored = true;
+        packetIdentifiers.resize(UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE - MqttSubscriptionHandler.MAX_SUB_PENDING);
+        persistence.restore(new MqttOutgoingQosPersistence.Restorer() {
+
+            private @Nullable MqttRestoredAckFlow ackFlow;
+
+            @Override
+            public void restorePublish(final int packetIdentifier, final @NotNull MqttPublish publish) {
+                if (takePacketIdentifier(packetIdentifier)) {
+                    restorePending(packetIdentifier, new MqttPublishWithFlow(publish, getAckFlow()));
+                }
+            }
+
+            @Override
+            public void restorePubRel(final int packetIdentifier, final @NotNull MqttPubRel pubRel) {
+                if (takePacketIdentifier(packetIdentifier)) {
+                    final MqttQos2IntermediateWithFlow pubRelWithFlow =
+                            new MqttQos2IntermediateWithFlow(pubRel, getAckFlow());
+                    pubRelWithFlow.getAsBoolean(); // there is no subscriber that acknowledges the intermediate result
+                    restorePending(packetIdentifier, pubRelWithFlow);
+                }
+            }
+
+            private @NotNull MqttRestoredAckFlow getAckFlow() {
+                MqttRestoredAckFlow ackFlow = this.ackFlow;
+                if (ackFlow == null) {
+                    ackFlow = new MqttRestoredAckFlow(clientConfig);
+                    this.ackFlow = ackFlow;
+                }
+                ackFlow.add();
+                return ackFlow;
+            }
+        });
+        packetIdentifiers.resize(sendMaximum);
+    }
+
+    private boolean takePacketIdentifier(final int packetIdentifier) {
+        if (packetIdentifiers.takeId(packetIdentifier)) {
+            return true;
+        }
+        LOGGER.warn("Discarding restored flow with unavailable packet identifier {}.", packetIdentifier);
+        return false;
+    }
+
+    private void restorePending(final int packetIdentifier, final @NotNull MqttPubOrRelWithFlow pubOrRelWithFlow) {
+        pubOrRelWithFlow.packetIdentifier = packetIdentifier;
+        pending.add(pubOrRelWithFlow);
     }
 
     @Override
@@ -184,18 +308,37 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         }
     }
 
+    /**
+     * Fails the messages in the offline buffer and the messages kept for early send if the client is disconnected.
+     *
+     * @param eventLoop the event loop of the client.
+     */
+    public void onDisconnected(final @NotNull EventLoop eventLoop) {
+        if ((offlineBuffer != null) || (queuedCounter.get() > 0)) {
+            eventLoop.execute(this);
+        }
+    }
+
     @CallByThread("Netty EventLoop")
     @Override
     public void run() {
         if (!hasSession) {
-            clearQueued(MqttClientStateExceptions.notConnected());
+            // with early send the queued messages are sent as soon as the session is started
+            if (clientConfig.isEarlySendPending()) {
+                return;
+            }
+            if (!bufferOffline()) {
+                clearQueued(MqttClientStateExceptions.notConnected());
+            }
             return;
         }
         final ChannelHandlerContext ctx = this.ctx;
         if (ctx == null) {
+            bufferOffline();
             return;
         }
         final Channel channel = ctx.channel();
+        final MqttOfflineBuffer offlineBuffer = this.offlineBuffer;
         final int maxWrites = sendMaximum - pendingIndex.size();
         int written = 0;
         for (MqttPubOrRelWithFlow pubOrRelWithFlow = resendPending;
@@ -206,23 +349,105 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         }
         int dequeued = 0;
         while ((written < maxWrites) && channel.isWritable()) {
-            final MqttPublishWithFlow publishWithFlow = queue.poll();
+            final boolean fromOfflineBuffer = (offlineBuffer != null) && !offlineBuffer.isEmpty();
+            final MqttClientConnectionConfig earlyConnectionConfig = this.earlyConnectionConfig;
+            if (earlyConnectionConfig != null) {
+                // only publishes within the assumed restrictions are sent before the CONNACK confirmed the session,
+                // the rest (and everything after it to keep the order) is sent after the CONNACK
+                if (fromOfflineBuffer) {
+                    break;
+                }
+                final MqttPublishWithFlow next = queue.peek();
+                if ((next != null) && !isAllowedEarly(next.getPublish(), earlyConnectionConfig)) {
+                    break;
+                }
+            }
+            final MqttPublishWithFlow publishWithFlow =
+                    fromOfflineBuffer ? offlineBuffer.poll(this::discardOffline) : queue.poll();
             if (publishWithFlow == null) {
                 break;
             }
+            if (fromOfflineBuffer) {
+                // the additional credit requested when the message was buffered is returned when it is acknowledged
+                shrinkRequests++;
+            } else {
+                dequeued++;
+            }
             writePublish(ctx, publishWithFlow);
             written++;
-            dequeued++;
         }
         if (written > 0) {
+            if (persistence != null) {
+                persistence.sync();
+            }
             final boolean wasWritable = channel.isWritable();
             ctx.flush();
-            if ((dequeued > 0) && (queuedCounter.addAndGet(-dequeued) > 0) && wasWritable) {
+            final boolean moreQueued = (dequeued > 0) && (queuedCounter.addAndGet(-dequeued) > 0);
+            if ((moreQueued || hasOfflineBuffered()) && wasWritable) {
                 channel.eventLoop().execute(this);
             }
         }
     }
 
+    private static boolean isAllowedEarly(
+            final @NotNull MqttPublish publish, final @NotNull MqttClientConnectionConfig earlyConnectionConfig) {
+
+        return (publish.getQos().getCode() <= earlyConnectionConfig.getMaximumQos().getCode()) &&
+                (!publish.isRetain() || earlyConnectionConfig.isRetainAvailable());
+    }
+
+    /**
+     * Moves the queued messages to the offline buffer while the client is disconnected and reconnects.
+     *
+     * @return whether the messages are buffered.
+     */
+    private boolean bufferOffline() {
+        final MqttOfflineBuffer offlineBuffer = this.offlineBuffer;
+        if ((offlineBuffer == null) || !clientConfig.getState().isConnectedOrReconnect()) {
+            return false;
+        }
+        int buffered = 0;
+        int polled = 0;
+        while (true) {
+            final MqttPublishWithFlow publishWithFlow = queue.poll();
+            if (publishWithFlow == null) {
+                if (queuedCounter.addAndGet(-polled) == 0) {
+                    break;
+                } else {
+                    polled = 0;
+                    continue;
+                }
+            }
+            offlineBuffer.offer(publishWithFlow, this::dropOffline);
+            buffered++;
+            polled++;
+        }
+        if (buffered > 0) {
+            // additional credits so that messages can still be published while disconnected
+            request(buffered);
+        }
+        return true;
+    }
+
+    private void dropOffline(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        failOffline(publishWithFlow, MqttClientStateExceptions.offlineBufferFull());
+    }
+
+    private void discardOffline(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        failOffline(publishWithFlow,
+                new MqttDecodeException("PUBLISH could not be read from the spill file of the offline buffer."));
+    }
+
+    private void failOffline(final @NotNull MqttPublishWithFlow publishWithFlow, final @NotNull Throwable cause) {
+        // the additional credit requested when the message was buffered is returned when it is completed
+        shrinkRequests++;
+        publishWithFlow.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), cause));
+    }
+
+    private boolean hasOfflineBuffered() {
+        return (offlineBuffer != null) && !offlineBuffer.isEmpty();
+    }
+
     @Override
     public void channelWritabilityChanged(final ChannelHandlerContext ctx) {
         final Channel channel = ctx.channel();
@@ -290,6 +515,9 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         publishWithFlow.packetIdentifier = packetIdentifier;
         pendingIndex.put(publishWithFlow);
         pending.add(publishWithFlow);
+        if (persistence != null) {
+            persistence.putPublish(packetIdentifier, publishWithFlow.getPublish());
+        }
 
         writeQos1Or2Publish(
                 ctx,
@@ -405,6 +633,9 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         pubRelWithFlow.packetIdentifier = publishWithFlow.packetIdentifier;
         pendingIndex.put(pubRelWithFlow);
         pending.replace(publishWithFlow, pubRelWithFlow);
+        if (persistence != null) {
+            persistence.putPubRel(pubRelWithFlow.packetIdentifier, pubRelWithFlow.getPubRel());
+        }
     }
 
     private void readPubComp(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubComp pubComp) {
@@ -451,11 +682,14 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
         final int packetIdentifier = oldPending.packetIdentifier;
         packetIdentifiers.returnId(packetIdentifier);
+        if (persistence != null) {
+            persistence.remove(packetIdentifier);
+        }
         if (packetIdentifier > sendMaximum) {
             packetIdentifiers.resize(sendMaximum);
         }
 
-        if (resendPending != null) {
+        if ((resendPending != null) || hasOfflineBuffered()) {
             ctx.channel().eventLoop().execute(this);
         }
     }
@@ -475,6 +709,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     @Override
     public void onSessionEnd(final @NotNull Throwable cause) {
         super.onSessionEnd(cause);
+        earlyConnectionConfig = null;
 
         for (MqttPubOrRelWithFlow current = pending.getFirst(); current != null; current = current.getNext()) {
             packetIdentifiers.returnId(current.packetIdentifier);
@@ -495,11 +730,23 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         pendingIndex.clear();
         pending.clear();
         resendPending = null;
+        if (persistence != null) {
+            persistence.clear();
+        }
 
-        clearQueued(cause);
+        if (!bufferOffline()) {
+            clearQueued(cause);
+        }
     }
 
     private void clearQueued(final @NotNull Throwable cause) {
+        final MqttOfflineBuffer offlineBuffer = this.offlineBuffer;
+        if (offlineBuffer != null) {
+            MqttPublishWithFlow publishWithFlow;
+            while ((publishWithFlow = offlineBuffer.poll(this::discardOffline)) != null) {
+                failOffline(publishWithFlow, cause);
+            }
+        }
         int polled = 0;
         while (true) {
             final MqttPublishWithFlow publishWithFlow = queue.poll();
@@ -521,44 +768,34 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     }
 
     private void onPubAck(final @NotNull MqttPublish publish, final @NotNull MqttPubAck pubAck) {
-        final MqttClientInterceptors interceptors = clientConfig.getAdvancedConfig().getInterceptors();
-        if (interceptors != null) {
-            final Mqtt5OutgoingQos1Interceptor interceptor = interceptors.getOutgoingQos1Interceptor();
-            if (interceptor != null) {
-                interceptor.onPubAck(clientConfig, publish, pubAck);
-            }
+        final Mqtt5OutgoingQos1Interceptor interceptor = qos1Interceptor;
+        if (interceptor != null) {
+            interceptor.onPubAck(clientConfig, publish, pubAck);
         }
     }
 
     private void onPubRecError(final @NotNull MqttPublish publish, final @NotNull MqttPubRec pubRec) {
-        final MqttClientInterceptors interceptors = clientConfig.getAdvancedConfig().getInterceptors();
-        if (interceptors != null) {
-            final Mqtt5OutgoingQos2Interceptor interceptor = interceptors.getOutgoingQos2Interceptor();
-            if (interceptor != null) {
-                interceptor.onPubRecError(clientConfig, publish, pubRec);
-            }
+        final Mqtt5OutgoingQos2Interceptor interceptor = qos2Interceptor;
+        if (interceptor != null) {
+            interceptor.onPubRecError(clientConfig, publish, pubRec);
         }
     }
 
     private @NotNull MqttPubRel buildPubRel(final @NotNull MqttPublish publish, final @NotNull MqttPubRec pubRec) {
-        final MqttPubRelBuilder pubRelBuilder = new MqttPubRelBuilder(pubRec);
-        final MqttClientInterceptors interceptors = clientConfig.getAdvancedConfig().getInterceptors();
-        if (interceptors != null) {
-            final Mqtt5OutgoingQos2Interceptor interceptor = interceptors.getOutgoingQos2Interceptor();
-            if (interceptor != null) {
-                interceptor.onPubRec(clientConfig, publish, pubRec, pubRelBuilder);
-            }
+        final Mqtt5OutgoingQos2Interceptor interceptor = qos2Interceptor;
+        if (interceptor == null) { // fast path for the common case without interceptor, no builder needed
+            return new MqttPubRel(pubRec.getPacketIdentifier(), MqttPubRel.DEFAULT_REASON_CODE, null,
+                    MqttUserPropertiesImpl.NO_USER_PROPERTIES);
         }
+        final MqttPubRelBuilder pubRelBuilder = new MqttPubRelBuilder(pubRec);
+        interceptor.onPubRec(clientConfig, publish, pubRec, pubRelBuilder);
         return pubRelBuilder.build();
     }
 
     private void onPubComp(final @NotNull MqttPubRel pubRel, final @NotNull MqttPubComp pubComp) {
-        final MqttClientInterceptors interceptors = clientConfig.getAdvancedConfig().getInterceptors();
-        if (interceptors != null) {
-            final Mqtt5OutgoingQos2Interceptor interceptor = interceptors.getOutgoingQos2Interceptor();
-            if (interceptor != null) {
-                interceptor.onPubComp(clientConfig, pubRel, pubComp);
-            }
+        final Mqtt5OutgoingQos2Interceptor interceptor = qos2Interceptor;
+        if (interceptor != null) {
+            interceptor.onPubComp(clientConfig, pubRel, pubComp);
         }
     }
 
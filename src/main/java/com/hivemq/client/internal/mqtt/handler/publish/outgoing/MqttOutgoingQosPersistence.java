@@ -0,0 +1,279 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.datatypes.*;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubrel.Mqtt5PubRelReasonCode;
+import com.hivemq.client.mqtt.persistence.MqttPersistence;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Stores the state of outgoing QoS 1 and QoS 2 flows in a {@link MqttPersistence}, keyed by packet identifier.
+ * <p>
+ * A PUBLISH is stored with all its properties except topic aliases, a PUBREL only with its reason code. Failures of
+ * the persistence are logged and do not affect the flows in memory.
+ *
+ * @author agent
+ */
+class MqttOutgoingQosPersistence {
+
+    private static final @NotNull InternalLogger LOGGER =
+            InternalLoggerFactory.getLogger(MqttOutgoingQosPersistence.class);
+
+    private static final byte TYPE_PUBLISH = 1;
+    private static final byte TYPE_PUBREL = 2;
+
+    private static final int FLAG_RETAIN = 1 << 2;
+    private static final int FLAG_PAYLOAD_FORMAT_INDICATOR = 1 << 3;
+    private static final int FLAG_CONTENT_TYPE = 1 << 4;
+    private static final int FLAG_RESPONSE_TOPIC = 1 << 5;
+    private static final int FLAG_CORRELATION_DATA = 1 << 6;
+    private static final int FLAG_PAYLOAD = 1 << 7;
+
+    interface Restorer {
+
+        void restorePublish(int packetIdentifier, @NotNull MqttPublish publish);
+
+        void restorePubRel(int packetIdentifier, @NotNull MqttPubRel pubRel);
+    }
+
+    private final @NotNull MqttPersistence persistence;
+
+    MqttOutgoingQosPersistence(final @NotNull MqttPersistence persistence) {
+        this.persistence = persistence;
+    }
+
+    @CallByThread("Netty EventLoop")
+    void putPublish(final int packetIdentifier, final @NotNull MqttPublish publish) {
+        final ByteBuf byteBuf = Unpooled.buffer();
+        encodePublish(publish, byteBuf);
+        put(packetIdentifier, byteBuf);
+    }
+
+    @CallByThread("Netty EventLoop")
+    void putPubRel(final int packetIdentifier, final @NotNull MqttPubRel pubRel) {
+        final ByteBuf byteBuf = Unpooled.buffer(2);
+        byteBuf.writeByte(TYPE_PUBREL);
+        byteBuf.writeByte(pubRel.getReasonCode().getCode());
+        put(packetIdentifier, byteBuf);
+    }
+
+    private void put(final int packetIdentifier, final @NotNull ByteBuf byteBuf) {
+        try {
+            persistence.put(packetIdentifier, byteBuf.nioBuffer());
+        } catch (final RuntimeException e) {
+            LOGGER.error("Could not persist the state of the outgoing flow with packet identifier " + packetIdentifier +
+                    ".", e);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    void remove(final int packetIdentifier) {
+        try {
+            persistence.remove(packetIdentifier);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Could not remove the persisted state of the outgoing flow with packet identifier " +
+                    packetIdentifier + ".", e);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    void clear() {
+        try {
+            persistence.clear();
+        } catch (final RuntimeException e) {
+            LOGGER.error("Could not clear the persisted state of outgoing flows.", e);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    void sync() {
+        try {
+            persistence.sync();
+        } catch (final RuntimeException e) {
+            LOGGER.error("Could not sync the persisted state of outgoing flows.", e);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    void restore(final @NotNull Restorer restorer) {
+        final ImmutableList.Builder<Long> corruptKeys = ImmutableList.builder();
+        try {
+            persistence.forEach((key, value) -> {
+                final ByteBuf byteBuf = Unpooled.wrappedBuffer(value);
+                final int packetIdentifier = (int) key;
+                final byte type = byteBuf.readByte();
+                if (type == TYPE_PUBLISH) {
+                    final MqttPublish publish = decodePublish(byteBuf);
+                    if (publish != null) {
+                        restorer.restorePublish(packetIdentifier, publish);
+                        return;
+                    }
+                } else if ((type == TYPE_PUBREL) && (byteBuf.readableBytes() == 1)) {
+                    Mqtt5PubRelReasonCode reasonCode = Mqtt5PubRelReasonCode.fromCode(byteBuf.readUnsignedByte());
+                    if (reasonCode == null) {
+                        reasonCode = Mqtt5PubRelReasonCode.SUCCESS;
+                    }
+                    restorer.restorePubRel(packetIdentifier, new MqttPubRel(packetIdentifier, reasonCode, null,
+                            MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+                    return;
+                }
+                corruptKeys.add(key);
+            });
+        } catch (final RuntimeException e) {
+            LOGGER.error("Could not restore the persisted state of outgoing flows.", e);
+        }
+        for (final long key : corruptKeys.build()) {
+            LOGGER.warn("Discarding corrupt persisted state of the outgoing flow with packet identifier {}.", key);
+            remove((int) key);
+        }
+    }
+
+    static void encodePublish(final @NotNull MqttPublish publish, final @NotNull ByteBuf byteBuf) {
+        final Mqtt5PayloadFormatIndicator payloadFormatIndicator = publish.getRawPayloadFormatIndicator();
+        final MqttUtf8StringImpl contentType = publish.getRawContentType();
+        final MqttTopicImpl responseTopic = publish.getRawResponseTopic();
+        final ByteBuffer correlationData = publish.getRawCorrelationData();
+        final ByteBuffer payload = publish.getRawPayload();
+
+        int flags = publish.getQos().getCode();
+        if (publish.isRetain()) {
+            flags |= FLAG_RETAIN;
+        }
+        if (payloadFormatIndicator != null) {
+            flags |= FLAG_PAYLOAD_FORMAT_INDICATOR;
+        }
+        if (contentType != null) {
+            flags |= FLAG_CONTENT_TYPE;
+        }
+        if (responseTopic != null) {
+            flags |= FLAG_RESPONSE_TOPIC;
+        }
+        if (correlationData != null) {
+            flags |= FLAG_CORRELATION_DATA;
+        }
+        if (payload != null) {
+            flags |= FLAG_PAYLOAD;
+        }
+
+        byteBuf.writeByte(TYPE_PUBLISH);
+        byteBuf.writeByte(flags);
+        byteBuf.writeLong(publish.getRawMessageExpiryInterval());
+        publish.getTopic().encode(byteBuf);
+        if (payloadFormatIndicator != null) {
+            byteBuf.writeByte(payloadFormatIndicator.getCode());
+        }
+        if (contentType != null) {
+            contentType.encode(byteBuf);
+        }
+        if (responseTopic != null) {
+            responseTopic.encode(byteBuf);
+        }
+        if (correlationData != null) {
+            MqttBinaryData.encode(correlationData, byteBuf);
+        }
+        final ImmutableList<MqttUserPropertyImpl> userProperties = publish.getUserProperties().asList();
+        byteBuf.writeInt(userProperties.size());
+        for (final MqttUserPropertyImpl userProperty : userProperties) {
+            userProperty.getName().encode(byteBuf);
+            userProperty.getValue().encode(byteBuf);
+        }
+        if (payload != null) {
+            byteBuf.writeInt(payload.remaining());
+            byteBuf.writeBytes(payload.duplicate());
+        }
+    }
+
+    static @Nullable MqttPublish decodePublish(final @NotNull ByteBuf byteBuf) {
+        try {
+            final int flags = byteBuf.readUnsignedByte();
+            final MqttQos qos = MqttQos.fromCode(flags & 0b11);
+            final long messageExpiryInterval = byteBuf.readLong();
+            final MqttTopicImpl topic = MqttTopicImpl.decode(byteBuf);
+            if ((qos == null) || (topic == null)) {
+                return null;
+            }
+            Mqtt5PayloadFormatIndicator payloadFormatIndicator = null;
+            if ((flags & FLAG_PAYLOAD_FORMAT_INDICATOR) != 0) {
+                payloadFormatIndicator = Mqtt5PayloadFormatIndicator.fromCode(byteBuf.readUnsignedByte());
+            }
+            MqttUtf8StringImpl contentType = null;
+            if ((flags & FLAG_CONTENT_TYPE) != 0) {
+                contentType = MqttUtf8StringImpl.decode(byteBuf);
+                if (contentType == null) {
+                    return null;
+                }
+            }
+            MqttTopicImpl responseTopic = null;
+            if ((flags & FLAG_RESPONSE_TOPIC) != 0) {
+                responseTopic = MqttTopicImpl.decode(byteBuf);
+                if (responseTopic == null) {
+                    return null;
+                }
+            }
+            ByteBuffer correlationData = null;
+            if ((flags & FLAG_CORRELATION_DATA) != 0) {
+                correlationData = MqttBinaryData.decode(byteBuf, false);
+                if (correlationData == null) {
+                    return null;
+                }
+            }
+            final int userPropertyCount = byteBuf.readInt();
+            if ((userPropertyCount < 0) || (userPropertyCount > byteBuf.readableBytes())) {
+                return null;
+            }
+            final ImmutableList.Builder<MqttUserPropertyImpl> userProperties = ImmutableList.builder(userPropertyCount);
+            for (int i = 0; i < userPropertyCount; i++) {
+                final MqttUserPropertyImpl userProperty = MqttUserPropertyImpl.decode(byteBuf);
+                if (userProperty == null) {
+                    return null;
+                }
+                userProperties.add(userProperty);
+            }
+            ByteBuffer payload = null;
+            if ((flags & FLAG_PAYLOAD) != 0) {
+                final int payloadLength = byteBuf.readInt();
+                if ((payloadLength < 0) || (payloadLength > byteBuf.readableBytes())) {
+                    return null;
+                }
+                payload = ByteBuffer.allocate(payloadLength);
+                byteBuf.readBytes(payload);
+                payload.flip();
+            }
+            return new MqttPublish(topic, payload, qos, (flags & FLAG_RETAIN) != 0, messageExpiryInterval,
+                    payloadFormatIndicator, contentType, responseTopic, correlationData,
+                    MqttUserPropertiesImpl.of(userProperties.build()));
+        } catch (final IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Flow for QoS 1 and QoS 2 PUBLISH messages that were restored from a persistence after a restart. As there is no
+ * subscriber for these messages any more, errors are only logged.
+ *
+ * @author agent
+ */
+class MqttRestoredAckFlow extends MqttAckFlow {
+
+    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttRestoredAckFlow.class);
+
+    private long remaining;
+
+    MqttRestoredAckFlow(final @NotNull MqttClientConfig clientConfig) {
+        super(clientConfig);
+        init();
+    }
+
+    @CallByThread("Netty EventLoop")
+    void add() {
+        remaining++;
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    void onNext(final @NotNull MqttPublishResult result) {
+        final Throwable error = result.getRawError();
+        if (error != null) {
+            LOGGER.error("Restored " + result.getPublish() + " failed.", error);
+        }
+        if (result.acknowledged()) {
+            acknowledged(1);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    void acknowledged(final long acknowledged) {
+        remaining -= acknowledged;
+        if (remaining == 0) {
+            setDone();
+        }
+    }
+}
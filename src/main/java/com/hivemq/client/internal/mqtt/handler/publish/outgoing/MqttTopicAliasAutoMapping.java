@@ -34,16 +34,20 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
     private static final byte OVERWRITE_COST_MIN = 2;
     private static final byte OVERWRITE_COST_MAX = 126;
     private static final byte OVERWRITE_COST_INC = 2;
-    private static final @NotNull Index.Spec<Entry, String> INDEX_SPEC = new Index.Spec<>(entry -> entry.topic);
+    private static final @NotNull Index.Spec<Entry, MqttTopicImpl> INDEX_SPEC = new Index.Spec<>(entry -> entry.topic);
 
     private final int topicAliasMaximum;
-    private final @NotNull Index<Entry, String> map = new Index<>(INDEX_SPEC);
+    private final @NotNull Index<Entry, MqttTopicImpl> map = new Index<>(INDEX_SPEC);
     private @Nullable Entry lowest; // entry with lowest priority
     private long accessCounter; // strictly incremented
     private byte overwriteTries;
     private byte overwriteCost = OVERWRITE_COST_MIN;
     private byte fullOverwriteTries;
     private byte fullOverwriteCost = OVERWRITE_COST_MIN;
+    // the following counters are only written on the event loop, not volatile to keep the publish path free of memory
+    // barriers, so other threads may read stale values
+    private long hitCount; // number of publishes sent with an already established topic alias
+    private long evictionCount; // number of topic aliases reassigned to a different topic
 
     public MqttTopicAliasAutoMapping(final int topicAliasMaximum) {
         this.topicAliasMaximum = topicAliasMaximum;
@@ -57,11 +61,11 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
     @Override
     public int onPublish(final @NotNull MqttTopicImpl topic) {
         final long accessCounter = ++this.accessCounter;
-        final String topicString = topic.toString();
-        final Entry entry = map.get(topicString);
+        final Entry entry = map.get(topic);
         if (entry != null) { // entry already present
             entry.access(accessCounter);
             if (entry.topicAlias != DEFAULT_NO_TOPIC_ALIAS) {
+                hitCount++;
                 if (overwriteCost > OVERWRITE_COST_MIN) {
                     overwriteCost--;
                 }
@@ -79,7 +83,7 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
             swapNewer(entry, accessCounter);
             return entry.topicAlias; // topic alias is 0 if entry is part of oversize
         }
-        final Entry newEntry = new Entry(topicString, accessCounter);
+        final Entry newEntry = new Entry(topic, accessCounter);
         if (map.size() < topicAliasMaximum + OVERSIZE) {
             if (map.size() < topicAliasMaximum) { // still unused topic aliases available
                 newEntry.setNewTopicAlias(map.size() + 1);
@@ -104,6 +108,7 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
             }
             if (lowest.topicAlias != DEFAULT_NO_TOPIC_ALIAS) {
                 newEntry.setNewTopicAlias(lowest.topicAlias);
+                evictionCount++;
             }
             map.remove(lowest.topic);
             map.put(newEntry);
@@ -140,6 +145,7 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
                 }
                 entry.setNewTopicAlias(higher.topicAlias);
                 higher.topicAlias = DEFAULT_NO_TOPIC_ALIAS;
+                evictionCount++;
             }
             final Entry higherHigher = higher.higher;
             higher.higher = entry;
@@ -163,9 +169,36 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
         }
     }
 
+    /**
+     * @return the number of publishes this mapping was queried for.
+     */
+    public long getPublishCount() {
+        return accessCounter;
+    }
+
+    /**
+     * @return the number of publishes that were sent with an already established topic alias, so without the topic.
+     */
+    @Override
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of times a topic alias was reassigned from one topic to another.
+     */
+    @Override
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
     @Override
     public @NotNull String toString() {
-        final StringBuilder builder = new StringBuilder("{");
+        final StringBuilder builder = new StringBuilder("{publishes=").append(accessCounter)
+                .append(", hits=")
+                .append(hitCount)
+                .append(", evictions=")
+                .append(evictionCount);
         Entry entry = lowest;
         while (entry != null) {
             builder.append("\n  ").append(entry);
@@ -176,14 +209,14 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
 
     static class Entry {
 
-        final @NotNull String topic;
+        final @NotNull MqttTopicImpl topic;
         int topicAlias;
         private long used; // number of accesses, decays over time
         private long access; // stamp when the entry was last accessed
         @Nullable Entry higher; // entry with the next higher priority
         @Nullable Entry lower; // entry with the next lower priority
 
-        Entry(final @NotNull String topic, final long accessCounter) {
+        Entry(final @NotNull MqttTopicImpl topic, final long accessCounter) {
             this.topic = topic;
             topicAlias = DEFAULT_NO_TOPIC_ALIAS;
             used = 1;
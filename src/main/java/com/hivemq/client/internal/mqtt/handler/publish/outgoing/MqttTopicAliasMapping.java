@@ -28,4 +28,8 @@ public interface MqttTopicAliasMapping {
     int getTopicAliasMaximum();
 
     int onPublish(@NotNull MqttTopicImpl topic);
+
+    long getHitCount();
+
+    long getEvictionCount();
 }
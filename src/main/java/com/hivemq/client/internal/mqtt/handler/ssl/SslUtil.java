@@ -25,6 +25,8 @@ import org.jetbrains.annotations.NotNull;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLException;
 import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * @author Christoph Schäbel
@@ -32,7 +34,13 @@ import java.net.InetSocketAddress;
  */
 public final class SslUtil {
 
-    private static final @NotNull String SSL_HANDLER_NAME = "ssl";
+    public static final @NotNull String SSL_HANDLER_NAME = "ssl";
+    /**
+     * SSL contexts are expensive to create (trust and key managers are initialized) and hold the TLS session cache, so
+     * they are shared by all connections with an equal ssl config. Weak keys do not prevent unused configs from being
+     * garbage collected, the SSL contexts therefore must not reference the configs.
+     */
+    private static final @NotNull Map<MqttClientSslConfigImpl, SslContext> SSL_CONTEXT_CACHE = new WeakHashMap<>();
 
     public static void initChannel(
             final @NotNull Channel channel, final @NotNull MqttClientSslConfigImpl sslConfig,
@@ -45,7 +53,18 @@ public final class SslUtil {
             final @NotNull Channel channel, final @NotNull MqttClientSslConfigImpl sslConfig,
             final @NotNull InetSocketAddress address) throws SSLException {
 
-        return createSslContext(sslConfig).newHandler(channel.alloc(), address.getHostString(), address.getPort());
+        return getSslContext(sslConfig).newHandler(channel.alloc(), address.getHostString(), address.getPort());
+    }
+
+    static @NotNull SslContext getSslContext(final @NotNull MqttClientSslConfigImpl sslConfig) throws SSLException {
+        synchronized (SSL_CONTEXT_CACHE) {
+            SslContext sslContext = SSL_CONTEXT_CACHE.get(sslConfig);
+            if (sslContext == null) {
+                sslContext = createSslContext(sslConfig);
+                SSL_CONTEXT_CACHE.put(sslConfig, sslContext);
+            }
+            return sslContext;
+        }
     }
 
     static @NotNull SslContext createSslContext(final @NotNull MqttClientSslConfigImpl sslConfig) throws SSLException {
@@ -53,11 +72,15 @@ public final class SslUtil {
         final ImmutableList<String> protocols = sslConfig.getRawProtocols();
 
         final SslContext sslContext = SslContextBuilder.forClient()
+                .sslProvider(getSslProvider(sslConfig))
                 .trustManager(sslConfig.getRawTrustManagerFactory())
                 .keyManager(sslConfig.getRawKeyManagerFactory())
                 .protocols((protocols == null) ? null : protocols.toArray(new String[0]))
                 .ciphers(sslConfig.getRawCipherSuites(), SupportedCipherSuiteFilter.INSTANCE)
+                .sessionCacheSize(sslConfig.getSessionCacheSize())
+                .sessionTimeout(sslConfig.getSessionTimeoutS())
                 .build();
+        final long handshakeTimeoutMs = sslConfig.getHandshakeTimeoutMs();
 
         return new DelegatingSslContext(sslContext) {
             @Override
@@ -66,10 +89,23 @@ public final class SslUtil {
 
             @Override
             protected void initHandler(@NotNull final SslHandler handler) {
-                handler.setHandshakeTimeoutMillis(sslConfig.getHandshakeTimeoutMs());
+                handler.setHandshakeTimeoutMillis(handshakeTimeoutMs);
             }
         };
     }
 
+    /**
+     * Forces the OpenSSL engine only if it is preferred, otherwise the default provider of Netty is kept.
+     *
+     * @param sslConfig the ssl config.
+     * @return the SSL provider for the ssl config.
+     */
+    static @NotNull SslProvider getSslProvider(final @NotNull MqttClientSslConfigImpl sslConfig) {
+        if (sslConfig.isPreferOpenSsl() && OpenSsl.isAvailable()) {
+            return SslProvider.OPENSSL;
+        }
+        return SslContext.defaultClientProvider();
+    }
+
     private SslUtil() {}
 }
@@ -43,7 +43,7 @@ public class MqttSubAckSingle extends Single<Mqtt5SubAck> {
 
     @Override
     protected void subscribeActual(final @NotNull SingleObserver<? super Mqtt5SubAck> observer) {
-        if (clientConfig.getState().isConnectedOrReconnect()) {
+        if (clientConfig.isConnectedOrEarlySend()) {
             final ClientComponent clientComponent = clientConfig.getClientComponent();
             final MqttSubscriptionHandler subscriptionHandler = clientComponent.subscriptionHandler();
 
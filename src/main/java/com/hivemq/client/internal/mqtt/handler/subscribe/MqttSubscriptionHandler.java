@@ -20,7 +20,9 @@ package com.hivemq.client.internal.mqtt.handler.subscribe;
 import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
 import com.hivemq.client.internal.mqtt.handler.MqttSessionAwareHandler;
@@ -31,6 +33,7 @@ import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import com.hivemq.client.internal.mqtt.message.MqttCommonReasonCode;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttStatefulSubscribe;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
 import com.hivemq.client.internal.mqtt.message.subscribe.suback.MqttSubAck;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttStatefulUnsubscribe;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
@@ -53,6 +56,8 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -69,6 +74,7 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
             new IntIndex.Spec<>(x -> x.getMessage().getPacketIdentifier(), 4);
     public static final int MAX_SUB_PENDING = 10; // TODO configurable
 
+    private final @NotNull MqttClientConfig clientConfig;
     private final @NotNull MqttIncomingPublishFlows incomingPublishFlows;
 
     private final @NotNull ConcurrentLinkedQueue<MqttSubOrUnsubWithFlow> queued = new ConcurrentLinkedQueue<>();
@@ -79,9 +85,16 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
 
     private @Nullable MqttSubOrUnsubWithFlow.Stateful resendPending, currentPending;
     private @Nullable Ranges subscriptionIdentifiers;
+    private final @NotNull Map<MqttTopicFilterImpl, MqttSubscription> subscriptions = new LinkedHashMap<>();
+    private boolean sessionPresent;
+    private @Nullable MqttClientConnectionConfig earlyConnectionConfig; // assumed until the CONNACK is received
 
     @Inject
-    MqttSubscriptionHandler(final @NotNull MqttIncomingPublishFlows incomingPublishFlows) {
+    MqttSubscriptionHandler(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttIncomingPublishFlows incomingPublishFlows) {
+
+        this.clientConfig = clientConfig;
         this.incomingPublishFlows = incomingPublishFlows;
 
         final int maxPacketIdentifier = UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE;
@@ -94,6 +107,7 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
             final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
 
         super.onSessionStartOrResume(connectionConfig, eventLoop);
+        earlyConnectionConfig = null;
         if (connectionConfig.areSubscriptionIdentifiersAvailable() && (subscriptionIdentifiers == null)) {
             subscriptionIdentifiers = new Ranges(1, MqttVariableByteInteger.FOUR_BYTES_MAX_VALUE);
         }
@@ -103,6 +117,74 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
         }
     }
 
+    @Override
+    public void onSessionStartEarly(
+            final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
+
+        super.onSessionStartEarly(connectionConfig, eventLoop);
+        earlyConnectionConfig = connectionConfig;
+    }
+
+    @Override
+    public void onSessionConfirmed(
+            final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
+
+        super.onSessionConfirmed(connectionConfig, eventLoop);
+        earlyConnectionConfig = null;
+        if (connectionConfig.areSubscriptionIdentifiersAvailable() && (subscriptionIdentifiers == null)) {
+            subscriptionIdentifiers = new Ranges(1, MqttVariableByteInteger.FOUR_BYTES_MAX_VALUE);
+        }
+        if (queuedCounter.get() > 0) {
+            eventLoop.execute(this);
+        }
+    }
+
+    /**
+     * Fails the queued messages if the client is disconnected while they were kept for early send.
+     *
+     * @param eventLoop the event loop of the client.
+     */
+    public void onDisconnected(final @NotNull EventLoop eventLoop) {
+        if (queuedCounter.get() > 0) {
+            eventLoop.execute(this);
+        }
+    }
+
+    public void setSessionPresent(final boolean sessionPresent) {
+        this.sessionPresent = sessionPresent;
+    }
+
+    /**
+     * @return a snapshot of the subscriptions acknowledged by the server in the current session.
+     */
+    @CallByThread("Netty EventLoop")
+    public @NotNull ImmutableList<MqttSubscription> getSubscriptions() {
+        return ImmutableList.copyOf(subscriptions.values());
+    }
+
+    /**
+     * Restores previously exported subscriptions locally without sending a SUBSCRIBE packet. This is only possible if
+     * the server resumed the session, as the server then still holds the subscriptions.
+     * <p>
+     * Publishes matching the restored subscriptions are routed to the global publish flows.
+     *
+     * @param subscriptions the subscriptions to restore.
+     * @return whether the subscriptions were restored, false if no session is present.
+     */
+    @CallByThread("Netty EventLoop")
+    public boolean restore(final @NotNull ImmutableList<MqttSubscription> subscriptions) {
+        if (!hasSession || !sessionPresent) {
+            return false;
+        }
+        incomingPublishFlows.subscribe(subscriptions);
+        //noinspection ForLoopReplaceableByForEach
+        for (int i = 0; i < subscriptions.size(); i++) {
+            final MqttSubscription subscription = subscriptions.get(i);
+            this.subscriptions.put(subscription.getTopicFilter(), subscription);
+        }
+        return true;
+    }
+
     public void subscribe(
             final @NotNull MqttSubscribe subscribe, final @NotNull MqttSubscriptionFlow<MqttSubAck> flow) {
 
@@ -126,7 +208,10 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
     @Override
     public void run() {
         if (!hasSession) {
-            clearQueued(MqttClientStateExceptions.notConnected());
+            // with early send the queued messages are sent as soon as the session is started
+            if (!clientConfig.isEarlySendPending()) {
+                clearQueued(MqttClientStateExceptions.notConnected());
+            }
             return;
         }
         final ChannelHandlerContext ctx = this.ctx;
@@ -146,6 +231,16 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
                 queuedCounter.getAndAdd(-removedFromQueue);
                 return;
             }
+            final MqttClientConnectionConfig earlyConnectionConfig = this.earlyConnectionConfig;
+            if (earlyConnectionConfig != null) {
+                // only subscribes within the assumed restrictions are sent before the CONNACK confirmed the session,
+                // the rest (and everything after it to keep the order) is sent after the CONNACK
+                final MqttSubOrUnsubWithFlow next = queued.peek();
+                if ((next != null) && !isAllowedEarly(next, earlyConnectionConfig)) {
+                    queuedCounter.getAndAdd(-removedFromQueue);
+                    return;
+                }
+            }
             final MqttSubOrUnsubWithFlow subOrUnsubWithFlow = queued.poll();
             if (subOrUnsubWithFlow == null) {
                 if (queuedCounter.addAndGet(-removedFromQueue) == 0) {
@@ -165,6 +260,26 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
         }
     }
 
+    private static boolean isAllowedEarly(
+            final @NotNull MqttSubOrUnsubWithFlow subOrUnsubWithFlow,
+            final @NotNull MqttClientConnectionConfig earlyConnectionConfig) {
+
+        if (!(subOrUnsubWithFlow instanceof MqttSubscribeWithFlow)) {
+            return true;
+        }
+        final ImmutableList<MqttSubscription> subscriptions =
+                ((MqttSubscribeWithFlow) subOrUnsubWithFlow).getMessage().getSubscriptions();
+        //noinspection ForLoopReplaceableByForEach
+        for (int i = 0; i < subscriptions.size(); i++) {
+            final MqttTopicFilterImpl topicFilter = subscriptions.get(i).getTopicFilter();
+            if ((topicFilter.containsWildcards() && !earlyConnectionConfig.isWildcardSubscriptionAvailable()) ||
+                    (topicFilter.isShared() && !earlyConnectionConfig.isSharedSubscriptionAvailable())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void writeSubscribeOrUnsubscribe(
             final @NotNull ChannelHandlerContext ctx, final @NotNull MqttSubOrUnsubWithFlow subOrUnsubWithFlow,
             final int packetIdentifier) {
@@ -267,6 +382,15 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
         final boolean allErrors = MqttCommonReasonCode.allErrors(subAck.getReasonCodes());
 
         incomingPublishFlows.subAck(subscribe, subAck, statefulSubscribeWithFlow.getPublishFlow());
+        if (!countNotMatching) {
+            final ImmutableList<MqttSubscription> subscriptions = subscribe.stateless().getSubscriptions();
+            for (int i = 0; i < subscriptions.size(); i++) {
+                if (!reasonCodes.get(i).isError()) {
+                    final MqttSubscription subscription = subscriptions.get(i);
+                    this.subscriptions.put(subscription.getTopicFilter(), subscription);
+                }
+            }
+        }
 
         if (!(countNotMatching || allErrors)) {
             if (!flow.isCancelled()) {
@@ -317,6 +441,13 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
         if ((reasonCodes == Mqtt3UnsubAckView.REASON_CODES_ALL_SUCCESS) || !(countNotMatching || allErrors)) {
 
             incomingPublishFlows.unsubscribe(unsubscribe, unsubAck);
+            final boolean allSuccess = reasonCodes == Mqtt3UnsubAckView.REASON_CODES_ALL_SUCCESS;
+            final ImmutableList<MqttTopicFilterImpl> topicFilters = unsubscribe.stateless().getTopicFilters();
+            for (int i = 0; i < topicFilters.size(); i++) {
+                if (allSuccess || !reasonCodes.get(i).isError()) {
+                    subscriptions.remove(topicFilters.get(i));
+                }
+            }
 
             if (!flow.isCancelled()) {
                 flow.onSuccess(unsubAck);
@@ -370,6 +501,7 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
     @Override
     public void onSessionEnd(final @NotNull Throwable cause) {
         super.onSessionEnd(cause);
+        earlyConnectionConfig = null;
 
         for (MqttSubOrUnsubWithFlow.Stateful current = pending.getFirst(); current != null;
              current = current.getNext()) {
@@ -382,6 +514,8 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
         pending.clear();
         resendPending = null;
         subscriptionIdentifiers = null;
+        subscriptions.clear();
+        sessionPresent = false;
 
         clearQueued(cause);
     }
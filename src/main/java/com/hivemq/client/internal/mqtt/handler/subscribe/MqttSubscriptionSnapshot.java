@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.subscribe;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import io.netty.channel.EventLoop;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Exports and imports the subscription state of a client, so that an application can resubscribe quickly after a
+ * restart.
+ * <p>
+ * If re-subscribing is necessary, the subscriptions are batched into as few SUBSCRIBE packets as the maximum packet
+ * size of the server allows.
+ *
+ * @author agent
+ */
+public final class MqttSubscriptionSnapshot {
+
+    /**
+     * Upper bound for the bytes of a SUBSCRIBE packet without its subscriptions: fixed header (1 byte type and flags,
+     * up to 4 bytes remaining length), packet identifier (2 bytes), properties length (up to 4 bytes) and subscription
+     * identifier (1 byte identifier, up to 4 bytes value).
+     */
+    static final int SUBSCRIBE_OVERHEAD = 1 + 4 + 2 + 4 + 1 + 4;
+
+    public static @NotNull Single<ImmutableList<MqttSubscription>> exportSubscriptions(
+            final @NotNull MqttClientConfig clientConfig) {
+
+        return onEventLoop(clientConfig, MqttSubscriptionHandler::getSubscriptions);
+    }
+
+    public static @NotNull Single<List<Mqtt5SubAck>> importSubscriptions(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull ImmutableList<MqttSubscription> subscriptions,
+            final boolean skipIfSessionPresent) {
+
+        return Single.defer(() -> {
+            if (!clientConfig.getState().isConnectedOrReconnect()) {
+                return Single.error(MqttClientStateExceptions.notConnected());
+            }
+            return onEventLoop(clientConfig, subscriptionHandler -> {
+                if (skipIfSessionPresent && subscriptionHandler.restore(subscriptions)) {
+                    return ImmutableList.<MqttSubscribe>of();
+                }
+                final MqttClientConnectionConfig connectionConfig = clientConfig.getRawConnectionConfig();
+                final int maximumPacketSize = (connectionConfig == null) ?
+                        MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT :
+                        connectionConfig.getSendMaximumPacketSize();
+                return batch(subscriptions, maximumPacketSize);
+            }).flatMap(batches -> Flowable.fromIterable(batches)
+                    .concatMapEager(subscribe -> new MqttSubAckSingle(subscribe, clientConfig).toFlowable())
+                    .toList());
+        });
+    }
+
+    /**
+     * Splits the given subscriptions into SUBSCRIBE messages which each fit into the given maximum packet size. A
+     * single subscription that exceeds the maximum packet size on its own is put into its own SUBSCRIBE message so that
+     * the encoder reports the error.
+     *
+     * @param subscriptions     the subscriptions to split.
+     * @param maximumPacketSize the maximum packet size the server accepts.
+     * @return the SUBSCRIBE messages containing all given subscriptions in the same order.
+     */
+    static @NotNull ImmutableList<MqttSubscribe> batch(
+            final @NotNull ImmutableList<MqttSubscription> subscriptions, final int maximumPacketSize) {
+
+        final ImmutableList.Builder<MqttSubscribe> batches = ImmutableList.builder();
+        ImmutableList.Builder<MqttSubscription> batch = null;
+        int batchSize = 0;
+        //noinspection ForLoopReplaceableByForEach
+        for (int i = 0; i < subscriptions.size(); i++) {
+            final MqttSubscription subscription = subscriptions.get(i);
+            final int encodedLength = subscription.getTopicFilter().encodedLength() + 1; // + subscription options
+            if ((batch != null) && (batchSize + encodedLength > maximumPacketSize)) {
+                batches.add(new MqttSubscribe(batch.build(), MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+                batch = null;
+            }
+            if (batch == null) {
+                batch = ImmutableList.builder();
+                batchSize = SUBSCRIBE_OVERHEAD;
+            }
+            batch.add(subscription);
+            batchSize += encodedLength;
+        }
+        if (batch != null) {
+            batches.add(new MqttSubscribe(batch.build(), MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+        }
+        return batches.build();
+    }
+
+    private static <T> @NotNull Single<T> onEventLoop(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull Function<MqttSubscriptionHandler, T> function) {
+
+        return Single.create(emitter -> {
+            final MqttSubscriptionHandler subscriptionHandler =
+                    clientConfig.getClientComponent().subscriptionHandler();
+            final EventLoop eventLoop = clientConfig.acquireEventLoop();
+            eventLoop.execute(() -> {
+                try {
+                    emitter.onSuccess(function.apply(subscriptionHandler));
+                } catch (final Throwable t) {
+                    emitter.onError(t);
+                } finally {
+                    clientConfig.releaseEventLoop();
+                }
+            });
+        });
+    }
+
+    private MqttSubscriptionSnapshot() {}
+}
@@ -95,7 +95,7 @@ public abstract class MqttTimeoutInboundHandler extends MqttConnectionAwareHandl
             timeoutFuture = null;
             run();
         } else {
-            timeoutFuture = channel.eventLoop().schedule(this, getTimeout(), TimeUnit.SECONDS);
+            timeoutFuture = channel.eventLoop().schedule(this, getTimeoutMs(), TimeUnit.MILLISECONDS);
         }
     }
 
@@ -118,11 +118,11 @@ public abstract class MqttTimeoutInboundHandler extends MqttConnectionAwareHandl
     }
 
     /**
-     * Returns the timeout interval in seconds.
+     * Returns the timeout interval in milliseconds.
      *
-     * @return the timeout interval in seconds.
+     * @return the timeout interval in milliseconds.
      */
-    protected abstract long getTimeout();
+    protected abstract long getTimeoutMs();
 
     /**
      * @return the Reason Code that will be used in the DISCONNECT message if a timeout happens and the channel is still
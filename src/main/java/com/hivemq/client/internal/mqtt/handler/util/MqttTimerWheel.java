@@ -0,0 +1,294 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.util;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timer wheel for the timeouts of all clients that use the same event loop, for example keep alive and session
+ * expiry.
+ * <p>
+ * Scheduling and cancelling a timeout is O(1). Only a single task (the tick) is scheduled on the event loop for the
+ * earliest deadline of the pending timeouts, instead of one scheduled task per timeout in the priority queue of the
+ * event loop. Timeouts are executed on the event loop not before their deadline and at most one tick duration after
+ * it.
+ * <p>
+ * All methods except {@link Timeout#cancel()} must be called on the event loop.
+ *
+ * @author agent
+ */
+public class MqttTimerWheel implements Runnable {
+
+    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttTimerWheel.class);
+    static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    static final int WHEEL_SIZE = 512; // must be a power of 2
+    private static final @NotNull ThreadLocal<MqttTimerWheel> TIMER_WHEELS = new ThreadLocal<>();
+
+    /**
+     * Returns the timer wheel of the given event loop. Must be called on the event loop.
+     * <p>
+     * The timer wheel is cached per thread. If the thread was used by another event loop before (an event loop can run
+     * on a pooled thread of an executor), the cached timer wheel belongs to the other event loop and is replaced.
+     *
+     * @param eventLoop the event loop.
+     * @return the timer wheel of the event loop.
+     */
+    @CallByThread("Netty EventLoop")
+    public static @NotNull MqttTimerWheel get(final @NotNull ScheduledExecutorService eventLoop) {
+        MqttTimerWheel timerWheel = TIMER_WHEELS.get();
+        if ((timerWheel == null) || (timerWheel.eventLoop != eventLoop)) {
+            timerWheel = new MqttTimerWheel(eventLoop, System.nanoTime());
+            TIMER_WHEELS.set(timerWheel);
+        }
+        return timerWheel;
+    }
+
+    private final @NotNull ScheduledExecutorService eventLoop;
+    private final @NotNull Thread thread;
+    private final long startNanos;
+    private final @Nullable Timeout @NotNull [] buckets = new Timeout[WHEEL_SIZE];
+    private final @NotNull ArrayList<Timeout> expired = new ArrayList<>();
+    private long nextTick;
+    private int pending;
+    private long earliestTick = Long.MAX_VALUE; // not after the earliest deadline tick of the pending timeouts
+    private boolean expiring;
+    private @Nullable ScheduledFuture<?> tickFuture;
+    private long scheduledTick;
+
+    MqttTimerWheel(final @NotNull ScheduledExecutorService eventLoop, final long startNanos) {
+        this.eventLoop = eventLoop;
+        thread = Thread.currentThread();
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Schedules the given task to be executed after the given delay.
+     *
+     * @param task       the task to execute.
+     * @param delayNanos the delay in nanoseconds.
+     * @return the timeout which can be used to cancel the execution of the task.
+     */
+    @CallByThread("Netty EventLoop")
+    public @NotNull Timeout schedule(final @NotNull Runnable task, final long delayNanos) {
+        return schedule(task, delayNanos, System.nanoTime());
+    }
+
+    @NotNull Timeout schedule(final @NotNull Runnable task, final long delayNanos, final long timeNanos) {
+        if (pending == 0) {
+            // all buckets are empty, so ticks passed while no timeouts were pending do not need to be processed
+            nextTick = Math.max(nextTick, (timeNanos - startNanos) / TICK_NANOS);
+            earliestTick = Long.MAX_VALUE;
+        }
+        final long deadlineNanos = timeNanos - startNanos + Math.max(delayNanos, 0);
+        final long deadlineTick = Math.max((deadlineNanos + TICK_NANOS - 1) / TICK_NANOS, nextTick);
+        final Timeout timeout = new Timeout(this, task, deadlineTick);
+        link(timeout);
+        pending++;
+        if (deadlineTick < earliestTick) {
+            earliestTick = deadlineTick;
+        }
+        if (!expiring) { // the tick is scheduled after all expired timeouts are executed
+            final ScheduledFuture<?> tickFuture = this.tickFuture;
+            if (tickFuture == null) {
+                scheduleTick(timeNanos);
+            } else if (deadlineTick < scheduledTick) {
+                tickFuture.cancel(false);
+                scheduleTick(timeNanos);
+            }
+        }
+        return timeout;
+    }
+
+    @Override
+    public void run() {
+        tick(System.nanoTime());
+    }
+
+    void tick(final long timeNanos) {
+        tickFuture = null;
+        expire(timeNanos);
+        if (pending > 0) {
+            scheduleTick(timeNanos);
+        }
+    }
+
+    /**
+     * Executes all timeouts whose deadline tick is reached at the given time.
+     *
+     * @param timeNanos the current time in nanoseconds.
+     */
+    void expire(final long timeNanos) {
+        final long currentTick = (timeNanos - startNanos) / TICK_NANOS;
+        // no timeout is due before the earliest deadline tick, so the ticks before it do not need to be processed
+        nextTick = Math.max(nextTick, Math.min(earliestTick, currentTick + 1));
+        expiring = true;
+        while ((nextTick <= currentTick) && (pending > 0)) {
+            final long tick = nextTick++;
+            final int index = (int) (tick & (WHEEL_SIZE - 1));
+            Timeout timeout = buckets[index];
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+                if (timeout.deadlineTick <= tick) {
+                    unlink(timeout);
+                    expired.add(timeout);
+                }
+                timeout = next;
+            }
+            // tasks are executed after unlinking, as they may schedule or cancel timeouts of the same bucket
+            for (int i = 0; i < expired.size(); i++) {
+                expired.get(i).execute();
+            }
+            expired.clear();
+        }
+        expiring = false;
+        if (pending == 0) {
+            nextTick = Math.max(nextTick, currentTick + 1);
+            earliestTick = Long.MAX_VALUE;
+        } else {
+            earliestTick = findEarliestTick();
+        }
+    }
+
+    /**
+     * Finds the earliest deadline tick of the pending timeouts. At most the buckets of one rotation are iterated, as
+     * the search stops at the first bucket that contains a timeout for the current rotation.
+     *
+     * @return the earliest deadline tick of the pending timeouts.
+     */
+    private long findEarliestTick() {
+        long earliestTick = Long.MAX_VALUE;
+        for (long tick = nextTick, end = nextTick + WHEEL_SIZE; tick < end; tick++) {
+            for (Timeout timeout = buckets[(int) (tick & (WHEEL_SIZE - 1))]; timeout != null;
+                 timeout = timeout.next) {
+                if (timeout.deadlineTick <= tick) {
+                    return tick;
+                }
+                earliestTick = Math.min(earliestTick, timeout.deadlineTick);
+            }
+        }
+        return earliestTick;
+    }
+
+    private void scheduleTick(final long timeNanos) {
+        scheduledTick = earliestTick;
+        final long delayNanos = Math.max(startNanos + earliestTick * TICK_NANOS - timeNanos, 0);
+        tickFuture = eventLoop.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void link(final @NotNull Timeout timeout) {
+        final int index = (int) (timeout.deadlineTick & (WHEEL_SIZE - 1));
+        final Timeout head = buckets[index];
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        buckets[index] = timeout;
+        timeout.linked = true;
+    }
+
+    private void unlink(final @NotNull Timeout timeout) {
+        final Timeout prev = timeout.prev;
+        final Timeout next = timeout.next;
+        if (prev == null) {
+            buckets[(int) (timeout.deadlineTick & (WHEEL_SIZE - 1))] = next;
+        } else {
+            prev.next = next;
+        }
+        if (next != null) {
+            next.prev = prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.linked = false;
+        pending--;
+    }
+
+    private void cancel(final @NotNull Timeout timeout) {
+        if (timeout.linked) {
+            unlink(timeout);
+            if ((pending == 0) && (tickFuture != null)) {
+                tickFuture.cancel(false);
+                tickFuture = null;
+            }
+        }
+    }
+
+    int getPending() {
+        return pending;
+    }
+
+    long getEarliestTick() {
+        return earliestTick;
+    }
+
+    /**
+     * A task scheduled on a {@link MqttTimerWheel}.
+     */
+    public static class Timeout {
+
+        private final @NotNull MqttTimerWheel timerWheel;
+        private final @NotNull Runnable task;
+        private final long deadlineTick;
+        private @Nullable Timeout prev;
+        private @Nullable Timeout next;
+        private boolean linked;
+        private volatile boolean cancelled;
+
+        Timeout(final @NotNull MqttTimerWheel timerWheel, final @NotNull Runnable task, final long deadlineTick) {
+            this.timerWheel = timerWheel;
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * Cancels the execution of the task if it has not started yet. Can be called from any thread.
+         */
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            if (Thread.currentThread() == timerWheel.thread) {
+                timerWheel.cancel(this);
+            } else {
+                timerWheel.eventLoop.execute(() -> timerWheel.cancel(this));
+            }
+        }
+
+        private void execute() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (final Throwable t) {
+                LOGGER.error("Unexpected exception thrown by timeout task.", t);
+            }
+        }
+    }
+}
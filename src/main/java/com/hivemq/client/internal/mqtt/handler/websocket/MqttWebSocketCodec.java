@@ -54,7 +54,7 @@ public class MqttWebSocketCodec extends ChannelDuplexHandler {
                 webSocketFrame.release();
                 ctx.close();
             } else if (msg instanceof PingWebSocketFrame) {
-                ctx.channel().writeAndFlush(new PongWebSocketFrame(webSocketFrame.content()));
+                ctx.writeAndFlush(new PongWebSocketFrame(webSocketFrame.content()));
             } else {
                 webSocketFrame.release();
             }
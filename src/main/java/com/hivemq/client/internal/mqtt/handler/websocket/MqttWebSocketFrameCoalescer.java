@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.websocket;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.PromiseNotifier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+
+/**
+ * Coalesces all MQTT packets written until a flush into one buffer, so that the {@link MqttWebSocketCodec} sends them
+ * in a single WebSocket frame.
+ *
+ * @author agent
+ */
+public class MqttWebSocketFrameCoalescer extends ChannelOutboundHandlerAdapter {
+
+    public static final @NotNull String NAME = "ws.coalescer";
+    private static final int MAX_COMPONENTS = 1024;
+
+    private @Nullable CompositeByteBuf pending;
+    private final @NotNull ArrayList<ChannelPromise> pendingPromises = new ArrayList<>();
+
+    @Override
+    public void write(
+            final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg,
+            final @NotNull ChannelPromise promise) {
+
+        if (msg instanceof ByteBuf) {
+            CompositeByteBuf pending = this.pending;
+            if (pending == null) {
+                this.pending = pending = ctx.alloc().compositeBuffer(MAX_COMPONENTS);
+            }
+            pending.addComponent(true, (ByteBuf) msg);
+            if (!promise.isVoid()) {
+                pendingPromises.add(promise);
+            }
+        } else {
+            writePending(ctx);
+            ctx.write(msg, promise);
+        }
+    }
+
+    @Override
+    public void flush(final @NotNull ChannelHandlerContext ctx) {
+        writePending(ctx);
+        ctx.flush();
+    }
+
+    private void writePending(final @NotNull ChannelHandlerContext ctx) {
+        final CompositeByteBuf pending = this.pending;
+        if (pending == null) {
+            return;
+        }
+        this.pending = null;
+        if (pendingPromises.isEmpty()) {
+            ctx.write(pending, ctx.voidPromise());
+        } else {
+            final ChannelPromise[] promises = pendingPromises.toArray(new ChannelPromise[0]);
+            pendingPromises.clear();
+            ctx.write(pending).addListener(new PromiseNotifier<>(promises));
+        }
+    }
+
+    @Override
+    public void handlerRemoved(final @NotNull ChannelHandlerContext ctx) {
+        final CompositeByteBuf pending = this.pending;
+        if (pending != null) {
+            this.pending = null;
+            pending.release();
+            final ClosedChannelException cause = new ClosedChannelException();
+            for (final ChannelPromise promise : pendingPromises) {
+                promise.tryFailure(cause);
+            }
+            pendingPromises.clear();
+        }
+    }
+
+    @Override
+    public boolean isSharable() {
+        return false;
+    }
+}
@@ -21,20 +21,26 @@ import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttWebSocketConfigImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import com.hivemq.client.internal.mqtt.handler.MqttChannelInitializer;
+import com.hivemq.client.internal.mqtt.handler.connect.MqttConnAckFlow;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
+import com.hivemq.client.internal.netty.DefaultChannelOutboundHandler;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.ChannelPromise;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
 import io.netty.handler.codec.http.websocketx.WebSocketVersion;
+import io.netty.handler.codec.http.websocketx.extensions.compression.WebSocketClientCompressionHandler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
+import java.net.SocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 
@@ -42,16 +48,18 @@ import java.net.URISyntaxException;
  * @author Silvio Giebl
  */
 @ConnectionScope
-public class MqttWebSocketInitializer extends ChannelInboundHandlerAdapter {
+public class MqttWebSocketInitializer extends ChannelInboundHandlerAdapter implements DefaultChannelOutboundHandler {
 
     private static final @NotNull String NAME = "ws.init";
     private static final @NotNull String HTTP_CODEC_NAME = "http.codec";
     private static final @NotNull String HTTP_AGGREGATOR_NAME = "http.aggregator";
+    private static final @NotNull String COMPRESSION_NAME = "ws.compression";
 
     private static final @NotNull String WEBSOCKET_URI_SCHEME = "ws";
     private static final @NotNull String WEBSOCKET_TLS_URI_SCHEME = "wss";
 
     private final @NotNull MqttClientConfig clientConfig;
+    private final @NotNull MqttConnAckFlow connAckFlow;
 
     private final @NotNull MqttChannelInitializer mqttChannelInitializer;
     private final @NotNull MqttWebSocketCodec mqttWebSocketCodec;
@@ -60,10 +68,12 @@ public class MqttWebSocketInitializer extends ChannelInboundHandlerAdapter {
 
     @Inject
     MqttWebSocketInitializer(
-            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttChannelInitializer mqttChannelInitializer,
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnAckFlow connAckFlow,
+            final @NotNull MqttChannelInitializer mqttChannelInitializer,
             final @NotNull MqttWebSocketCodec mqttWebSocketCodec) {
 
         this.clientConfig = clientConfig;
+        this.connAckFlow = connAckFlow;
         this.mqttChannelInitializer = mqttChannelInitializer;
         this.mqttWebSocketCodec = mqttWebSocketCodec;
     }
@@ -79,11 +89,26 @@ public class MqttWebSocketInitializer extends ChannelInboundHandlerAdapter {
                 webSocketConfig.getSubprotocol(), true, null, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, true,
                 false);
 
-        channel.pipeline()
-                .addLast(HTTP_CODEC_NAME, new HttpClientCodec())
-                .addLast(HTTP_AGGREGATOR_NAME, new HttpObjectAggregator(65_535))
-                .addLast(NAME, this)
-                .addLast(MqttWebSocketCodec.NAME, mqttWebSocketCodec);
+        final ChannelPipeline pipeline = channel.pipeline();
+        pipeline.addLast(HTTP_CODEC_NAME, new HttpClientCodec())
+                .addLast(HTTP_AGGREGATOR_NAME, new HttpObjectAggregator(65_535));
+        if (webSocketConfig.isPerMessageDeflate()) {
+            pipeline.addLast(COMPRESSION_NAME, WebSocketClientCompressionHandler.INSTANCE);
+        }
+        pipeline.addLast(NAME, this).addLast(MqttWebSocketCodec.NAME, mqttWebSocketCodec);
+        if (webSocketConfig.isFrameCoalescing()) {
+            pipeline.addLast(MqttWebSocketFrameCoalescer.NAME, new MqttWebSocketFrameCoalescer());
+        }
+    }
+
+    @Override
+    public void connect(
+            final @NotNull ChannelHandlerContext ctx, final @NotNull SocketAddress remoteAddress,
+            final @Nullable SocketAddress localAddress, final @NotNull ChannelPromise promise) {
+
+        // the bootstrap resolves the server address before connecting the channel
+        connAckFlow.getConnectTimings().onDnsResolution(System.nanoTime());
+        ctx.connect(remoteAddress, localAddress, promise);
     }
 
     @Override
@@ -105,7 +130,9 @@ public class MqttWebSocketInitializer extends ChannelInboundHandlerAdapter {
                     throw new IllegalStateException(
                             "Must not receive http response if websocket handshake is already finished.");
                 }
+                // removes the http aggregator and codec, only the websocket frame encoder and decoder remain
                 handshaker.finishHandshake(ctx.channel(), response);
+                connAckFlow.getConnectTimings().onWebSocketUpgrade(System.nanoTime());
                 mqttChannelInitializer.initMqtt(ctx.channel());
                 ctx.pipeline().remove(this);
             } finally {
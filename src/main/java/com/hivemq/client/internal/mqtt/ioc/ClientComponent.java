@@ -18,6 +18,7 @@
 package com.hivemq.client.internal.mqtt.ioc;
 
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.handler.connect.MqttConnectionComponentCache;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingQosHandler;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttOutgoingQosHandler;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubscriptionHandler;
@@ -36,6 +37,8 @@ public interface ClientComponent {
 
     @NotNull ConnectionComponent.Builder connectionComponentBuilder();
 
+    @NotNull MqttConnectionComponentCache connectionComponentCache();
+
     @NotNull MqttSubscriptionHandler subscriptionHandler();
 
     @NotNull MqttIncomingQosHandler incomingQosHandler();
@@ -18,6 +18,7 @@
 package com.hivemq.client.internal.mqtt.ioc;
 
 import com.hivemq.client.internal.mqtt.codec.MqttCodecModule;
+import com.hivemq.client.internal.mqtt.handler.MqttChannelInitializer;
 import com.hivemq.client.internal.mqtt.handler.connect.MqttConnAckFlow;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import dagger.BindsInstance;
@@ -26,7 +27,8 @@ import io.netty.bootstrap.Bootstrap;
 import org.jetbrains.annotations.NotNull;
 
 /**
- * Component for a single client connection. A new one is created for each new client connection (also for reconnects).
+ * Component for a single client connection. A new one is created for each new client connection. A reconnect may
+ * reuse the one of the previous connection if only the channel has to be new, see {@code MqttConnectionComponentCache}.
  *
  * @author Silvio Giebl
  */
@@ -36,6 +38,8 @@ public interface ConnectionComponent {
 
     @NotNull Bootstrap bootstrap();
 
+    @NotNull MqttChannelInitializer channelInitializer();
+
     @Subcomponent.Builder
     interface Builder {
 
@@ -17,20 +17,32 @@
 
 package com.hivemq.client.internal.mqtt.ioc;
 
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientSocketConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
 import com.hivemq.client.internal.mqtt.handler.MqttChannelInitializer;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttAuthHandler;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttConnectAuthHandler;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttDisconnectOnAuthHandler;
+import com.hivemq.client.internal.mqtt.handler.connect.MqttConnAckFlow;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.netty.NettyEventLoopProvider;
+import com.hivemq.client.mqtt.MqttClientSocketConfig;
+import com.hivemq.client.mqtt.MqttNettyTransport;
 import dagger.Lazy;
 import dagger.Module;
 import dagger.Provides;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelFactory;
 import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.unix.DomainSocketAddress;
 import org.jetbrains.annotations.NotNull;
 
+import java.net.SocketAddress;
+
 /**
  * @author Silvio Giebl
  */
@@ -38,12 +50,70 @@ import org.jetbrains.annotations.NotNull;
 abstract class ConnectionModule {
 
     @Provides
-    static @NotNull Bootstrap provideBootstrap(final @NotNull MqttChannelInitializer channelInitializer) {
-        return new Bootstrap().channelFactory(NettyEventLoopProvider.INSTANCE.getChannelFactory())
-                .option(ChannelOption.SO_KEEPALIVE, true)
-                .option(ChannelOption.TCP_NODELAY, true)
+    static @NotNull Bootstrap provideBootstrap(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnAckFlow connAckFlow,
+            final @NotNull MqttChannelInitializer channelInitializer) {
+
+        final NettyEventLoopProvider eventLoopProvider = clientConfig.getEventLoopProvider();
+        final MqttClientTransportConfigImpl transportConfig = connAckFlow.getTransportConfig();
+        final MqttClientSocketConfigImpl socketConfig = transportConfig.getSocketConfig();
+
+        final String domainSocketPath = transportConfig.getRawDomainSocketPath();
+        final ChannelFactory<?> channelFactory = (domainSocketPath == null) ? eventLoopProvider.getChannelFactory() :
+                eventLoopProvider.getDomainSocketChannelFactory();
+        assert channelFactory != null : "availability of Unix domain sockets must be checked before";
+
+        final Bootstrap bootstrap = new Bootstrap().channelFactory(channelFactory)
+                .option(ChannelOption.WRITE_BUFFER_WATER_MARK,
+                        new WriteBufferWaterMark(socketConfig.getWriteBufferLowWaterMark(),
+                                socketConfig.getWriteBufferHighWaterMark()))
                 .option(ChannelOption.ALLOCATOR, ByteBufAllocator.DEFAULT)
                 .handler(channelInitializer);
+        if (socketConfig.getSendBufferSize() != MqttClientSocketConfig.DEFAULT_SEND_BUFFER_SIZE) {
+            bootstrap.option(ChannelOption.SO_SNDBUF, socketConfig.getSendBufferSize());
+        }
+        if (socketConfig.getReceiveBufferSize() != MqttClientSocketConfig.DEFAULT_RECEIVE_BUFFER_SIZE) {
+            bootstrap.option(ChannelOption.SO_RCVBUF, socketConfig.getReceiveBufferSize());
+        }
+        if (domainSocketPath != null) {
+            // TCP options do not apply to Unix domain sockets
+            return bootstrap.remoteAddress(EpollDomainSocket.address(domainSocketPath));
+        }
+        bootstrap.option(ChannelOption.SO_KEEPALIVE, socketConfig.isKeepAlive())
+                .option(ChannelOption.TCP_NODELAY, socketConfig.isTcpNoDelay());
+        if (transportConfig.isAsyncDnsResolution()) {
+            bootstrap.resolver(eventLoopProvider.getDnsResolverGroup());
+        }
+        if (eventLoopProvider.getTransport() == MqttNettyTransport.EPOLL) {
+            EpollOptions.apply(bootstrap, socketConfig);
+        }
+        return bootstrap;
+    }
+
+    /**
+     * Epoll specific options are only referenced if the epoll transport is used, as its classes may not be available.
+     */
+    private static class EpollOptions {
+
+        static void apply(final @NotNull Bootstrap bootstrap, final @NotNull MqttClientSocketConfigImpl socketConfig) {
+            if (socketConfig.isTcpQuickAck()) {
+                bootstrap.option(EpollChannelOption.TCP_QUICKACK, true);
+            }
+            if (socketConfig.getTcpUserTimeoutMs() != MqttClientSocketConfig.DEFAULT_TCP_USER_TIMEOUT_MS) {
+                bootstrap.option(EpollChannelOption.TCP_USER_TIMEOUT, socketConfig.getTcpUserTimeoutMs());
+            }
+        }
+    }
+
+    /**
+     * Unix domain socket addresses are only referenced if a domain socket path is configured, as the classes of the
+     * native transports may not be available.
+     */
+    private static class EpollDomainSocket {
+
+        static @NotNull SocketAddress address(final @NotNull String path) {
+            return new DomainSocketAddress(path);
+        }
     }
 
     @Provides
@@ -17,11 +17,13 @@
 
 package com.hivemq.client.internal.mqtt.lifecycle;
 
+import com.hivemq.client.internal.mqtt.lifecycle.mqtt3.Mqtt3ClientDisconnectedContextView;
 import com.hivemq.client.mqtt.lifecycle.MqttClientAutoReconnect;
 import com.hivemq.client.mqtt.lifecycle.MqttClientDisconnectedContext;
-import com.hivemq.client.mqtt.lifecycle.MqttClientReconnector;
+import com.hivemq.client.mqtt.lifecycle.MqttClientReconnectBackoff;
 import com.hivemq.client.mqtt.lifecycle.MqttDisconnectSource;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
@@ -36,27 +38,88 @@ public class MqttClientAutoReconnectImpl implements MqttClientAutoReconnect {
     static final long DEFAULT_MAX_DELAY_NANOS =
             TimeUnit.NANOSECONDS.convert(MqttClientAutoReconnect.DEFAULT_MAX_DELAY_S, TimeUnit.SECONDS);
     public static final @NotNull MqttClientAutoReconnectImpl DEFAULT =
-            new MqttClientAutoReconnectImpl(DEFAULT_START_DELAY_NANOS, DEFAULT_MAX_DELAY_NANOS);
+            new MqttClientAutoReconnectImpl(DEFAULT_START_DELAY_NANOS, DEFAULT_MAX_DELAY_NANOS,
+                    MqttClientReconnectBackoff.EXPONENTIAL, null, 0, 0, 0);
 
     private final long initialDelayNanos;
     private final long maxDelayNanos;
+    private final @NotNull MqttClientReconnectBackoff backoff;
+    private final @Nullable MqttReconnectRateLimiter rateLimiter;
+    private final int circuitBreakerThreshold;
+    private final long circuitBreakerOpenDurationNanos;
+    private final int maxConcurrentReconnects;
+
+    MqttClientAutoReconnectImpl(
+            final long initialDelayNanos, final long maxDelayNanos, final @NotNull MqttClientReconnectBackoff backoff,
+            final @Nullable MqttReconnectRateLimiter rateLimiter, final int circuitBreakerThreshold,
+            final long circuitBreakerOpenDurationNanos, final int maxConcurrentReconnects) {
 
-    MqttClientAutoReconnectImpl(final long initialDelayNanos, final long maxDelayNanos) {
         this.initialDelayNanos = initialDelayNanos;
         this.maxDelayNanos = maxDelayNanos;
+        this.backoff = backoff;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreakerThreshold = circuitBreakerThreshold;
+        this.circuitBreakerOpenDurationNanos = circuitBreakerOpenDurationNanos;
+        this.maxConcurrentReconnects = maxConcurrentReconnects;
     }
 
     @Override
     public void onDisconnected(final @NotNull MqttClientDisconnectedContext context) {
         if (context.getSource() != MqttDisconnectSource.USER) {
-            final MqttClientReconnector reconnector = context.getReconnector();
-            final long delay =
-                    (long) Math.min(initialDelayNanos * Math.pow(2, reconnector.getAttempts()), maxDelayNanos);
-            final long randomDelay = (long) (delay / 4d / Integer.MAX_VALUE * ThreadLocalRandom.current().nextInt());
-            reconnector.reconnect(true).delay(delay + randomDelay, TimeUnit.NANOSECONDS);
+            final MqttClientReconnector reconnector = getReconnector(context);
+            final int attempts = reconnector.getAttempts();
+            long delay;
+            if ((circuitBreakerThreshold > 0) && (attempts >= circuitBreakerThreshold)) {
+                delay = circuitBreakerOpenDurationNanos + jitter(circuitBreakerOpenDurationNanos / 4);
+            } else {
+                delay = backoffDelay(attempts, reconnector.getPreviousDelay(TimeUnit.NANOSECONDS));
+            }
+            if (rateLimiter != null) {
+                delay = rateLimiter.reserve(System.nanoTime(), delay);
+            }
+            reconnector.reconnect(true).delay(delay, TimeUnit.NANOSECONDS);
+            reconnector.maxConcurrentReconnects(maxConcurrentReconnects);
+        }
+    }
+
+    private long backoffDelay(final int attempts, final long previousDelayNanos) {
+        switch (backoff) {
+            case FULL_JITTER:
+                return jitter(exponentialDelay(attempts));
+            case DECORRELATED_JITTER:
+                final long previous = Math.max(previousDelayNanos, initialDelayNanos);
+                final long upper = (previous > maxDelayNanos / 3) ? maxDelayNanos : previous * 3;
+                return Math.min(initialDelayNanos + jitter(upper - initialDelayNanos), maxDelayNanos);
+            default:
+                final long delay = exponentialDelay(attempts);
+                final long randomDelay =
+                        (long) (delay / 4d / Integer.MAX_VALUE * ThreadLocalRandom.current().nextInt());
+                return delay + randomDelay;
         }
     }
 
+    /**
+     * Calculates the initial delay doubled for every attempt with a shift instead of {@link Math#pow(double, double)},
+     * capped at the maximum delay without overflowing.
+     */
+    private long exponentialDelay(final int attempts) {
+        if (attempts >= Long.numberOfLeadingZeros(initialDelayNanos) - 1) {
+            return maxDelayNanos;
+        }
+        return Math.min(initialDelayNanos << attempts, maxDelayNanos);
+    }
+
+    private static long jitter(final long bound) {
+        return (bound <= 0) ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+
+    private static @NotNull MqttClientReconnector getReconnector(final @NotNull MqttClientDisconnectedContext context) {
+        if (context instanceof Mqtt3ClientDisconnectedContextView) {
+            return ((Mqtt3ClientDisconnectedContextView) context).getReconnector().getDelegate();
+        }
+        return ((MqttClientDisconnectedContextImpl) context).getReconnector();
+    }
+
     @Override
     public long getInitialDelay(final @NotNull TimeUnit timeUnit) {
         return timeUnit.convert(initialDelayNanos, TimeUnit.NANOSECONDS);
@@ -67,6 +130,36 @@ public class MqttClientAutoReconnectImpl implements MqttClientAutoReconnect {
         return timeUnit.convert(maxDelayNanos, TimeUnit.NANOSECONDS);
     }
 
+    @Override
+    public @NotNull MqttClientReconnectBackoff getBackoff() {
+        return backoff;
+    }
+
+    @Override
+    public int getRateLimitMaxAttempts() {
+        return (rateLimiter == null) ? 0 : rateLimiter.getMaxAttempts();
+    }
+
+    @Override
+    public long getRateLimitWindow(final @NotNull TimeUnit timeUnit) {
+        return (rateLimiter == null) ? 0 : timeUnit.convert(rateLimiter.getWindowNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int getCircuitBreakerThreshold() {
+        return circuitBreakerThreshold;
+    }
+
+    @Override
+    public long getCircuitBreakerOpenDuration(final @NotNull TimeUnit timeUnit) {
+        return timeUnit.convert(circuitBreakerOpenDurationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int getMaxConcurrentReconnects() {
+        return maxConcurrentReconnects;
+    }
+
     @Override
     public @NotNull MqttClientAutoReconnectImplBuilder.Default extend() {
         return new MqttClientAutoReconnectImplBuilder.Default(this);
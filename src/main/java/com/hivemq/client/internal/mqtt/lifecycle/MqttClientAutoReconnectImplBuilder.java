@@ -19,6 +19,7 @@ package com.hivemq.client.internal.mqtt.lifecycle;
 
 import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.mqtt.lifecycle.MqttClientAutoReconnectBuilder;
+import com.hivemq.client.mqtt.lifecycle.MqttClientReconnectBackoff;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -32,6 +33,12 @@ public abstract class MqttClientAutoReconnectImplBuilder<B extends MqttClientAut
 
     private long initialDelayNanos = MqttClientAutoReconnectImpl.DEFAULT_START_DELAY_NANOS;
     private long maxDelayNanos = MqttClientAutoReconnectImpl.DEFAULT_MAX_DELAY_NANOS;
+    private @NotNull MqttClientReconnectBackoff backoff = MqttClientReconnectBackoff.EXPONENTIAL;
+    private int rateLimitMaxAttempts;
+    private long rateLimitWindowNanos;
+    private int circuitBreakerThreshold;
+    private long circuitBreakerOpenDurationNanos;
+    private int maxConcurrentReconnects;
 
     MqttClientAutoReconnectImplBuilder() {}
 
@@ -39,6 +46,12 @@ public abstract class MqttClientAutoReconnectImplBuilder<B extends MqttClientAut
         if (autoReconnect != null) {
             initialDelayNanos = autoReconnect.getInitialDelay(TimeUnit.NANOSECONDS);
             maxDelayNanos = autoReconnect.getMaxDelay(TimeUnit.NANOSECONDS);
+            backoff = autoReconnect.getBackoff();
+            rateLimitMaxAttempts = autoReconnect.getRateLimitMaxAttempts();
+            rateLimitWindowNanos = autoReconnect.getRateLimitWindow(TimeUnit.NANOSECONDS);
+            circuitBreakerThreshold = autoReconnect.getCircuitBreakerThreshold();
+            circuitBreakerOpenDurationNanos = autoReconnect.getCircuitBreakerOpenDuration(TimeUnit.NANOSECONDS);
+            maxConcurrentReconnects = autoReconnect.getMaxConcurrentReconnects();
         }
     }
 
@@ -62,8 +75,52 @@ public abstract class MqttClientAutoReconnectImplBuilder<B extends MqttClientAut
         return self();
     }
 
+    public @NotNull B backoff(final @Nullable MqttClientReconnectBackoff backoff) {
+        this.backoff = Checks.notNull(backoff, "Backoff");
+        return self();
+    }
+
+    public @NotNull B rateLimit(final int maxAttempts, final long window, final @Nullable TimeUnit timeUnit) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Rate limit max attempts must be positive.");
+        }
+        if (window <= 0) {
+            throw new IllegalArgumentException("Rate limit window must be positive.");
+        }
+        Checks.notNull(timeUnit, "Time unit");
+        this.rateLimitMaxAttempts = maxAttempts;
+        this.rateLimitWindowNanos = TimeUnit.NANOSECONDS.convert(window, timeUnit);
+        return self();
+    }
+
+    public @NotNull B circuitBreaker(
+            final int failureThreshold, final long openDuration, final @Nullable TimeUnit timeUnit) {
+
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("Circuit breaker failure threshold must be positive.");
+        }
+        if (openDuration <= 0) {
+            throw new IllegalArgumentException("Circuit breaker open duration must be positive.");
+        }
+        Checks.notNull(timeUnit, "Time unit");
+        this.circuitBreakerThreshold = failureThreshold;
+        this.circuitBreakerOpenDurationNanos = TimeUnit.NANOSECONDS.convert(openDuration, timeUnit);
+        return self();
+    }
+
+    public @NotNull B maxConcurrentReconnects(final int maxConcurrentReconnects) {
+        if (maxConcurrentReconnects < 0) {
+            throw new IllegalArgumentException("Maximum concurrent reconnects must be positive or zero.");
+        }
+        this.maxConcurrentReconnects = maxConcurrentReconnects;
+        return self();
+    }
+
     public @NotNull MqttClientAutoReconnectImpl build() {
-        return new MqttClientAutoReconnectImpl(initialDelayNanos, maxDelayNanos);
+        final MqttReconnectRateLimiter rateLimiter = (rateLimitMaxAttempts == 0) ? null :
+                new MqttReconnectRateLimiter(rateLimitMaxAttempts, rateLimitWindowNanos);
+        return new MqttClientAutoReconnectImpl(initialDelayNanos, maxDelayNanos, backoff, rateLimiter,
+                circuitBreakerThreshold, circuitBreakerOpenDurationNanos, maxConcurrentReconnects);
     }
 
     public static class Default extends MqttClientAutoReconnectImplBuilder<Default>
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.lifecycle;
+
+import com.hivemq.client.mqtt.lifecycle.MqttClientConnectTimings;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the points in time (as returned by {@link System#nanoTime()}) at which the phases of establishing a
+ * connection ended. The time of a phase is the difference to the end of the last recorded previous phase.
+ * <p>
+ * All record methods are called on the event loop of the connection, the times are read after the connection is
+ * established.
+ *
+ * @author agent
+ */
+public class MqttClientConnectTimingsImpl implements MqttClientConnectTimings {
+
+    private static final int START = 0;
+    private static final int DNS_RESOLUTION = 1;
+    private static final int TCP_CONNECT = 2;
+    private static final int TLS_HANDSHAKE = 3;
+    private static final int WEBSOCKET_UPGRADE = 4;
+    private static final int CONNECT_FLUSH = 5;
+    private static final int CONNACK = 6;
+
+    private final long @NotNull [] times = new long[CONNACK + 1];
+    private final boolean @NotNull [] recorded = new boolean[CONNACK + 1];
+
+    public void onStart(final long nanoTime) {
+        record(START, nanoTime);
+    }
+
+    public void onDnsResolution(final long nanoTime) {
+        record(DNS_RESOLUTION, nanoTime);
+    }
+
+    public void onTcpConnect(final long nanoTime) {
+        record(TCP_CONNECT, nanoTime);
+    }
+
+    public void onTlsHandshake(final long nanoTime) {
+        record(TLS_HANDSHAKE, nanoTime);
+    }
+
+    public void onWebSocketUpgrade(final long nanoTime) {
+        record(WEBSOCKET_UPGRADE, nanoTime);
+    }
+
+    public void onConnectFlush(final long nanoTime) {
+        record(CONNECT_FLUSH, nanoTime);
+    }
+
+    public void onConnAck(final long nanoTime) {
+        record(CONNACK, nanoTime);
+    }
+
+    private void record(final int phase, final long nanoTime) {
+        times[phase] = nanoTime;
+        recorded[phase] = true;
+    }
+
+    private long getTime(final int phase, final @NotNull TimeUnit timeUnit) {
+        if (!recorded[phase]) {
+            return 0;
+        }
+        for (int previous = phase - 1; previous >= START; previous--) {
+            if (recorded[previous]) {
+                return timeUnit.convert(times[phase] - times[previous], TimeUnit.NANOSECONDS);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public long getDnsResolutionTime(final @NotNull TimeUnit timeUnit) {
+        return getTime(DNS_RESOLUTION, timeUnit);
+    }
+
+    @Override
+    public long getTcpConnectTime(final @NotNull TimeUnit timeUnit) {
+        return getTime(TCP_CONNECT, timeUnit);
+    }
+
+    @Override
+    public long getTlsHandshakeTime(final @NotNull TimeUnit timeUnit) {
+        return getTime(TLS_HANDSHAKE, timeUnit);
+    }
+
+    @Override
+    public long getWebSocketUpgradeTime(final @NotNull TimeUnit timeUnit) {
+        return getTime(WEBSOCKET_UPGRADE, timeUnit);
+    }
+
+    @Override
+    public long getConnectFlushTime(final @NotNull TimeUnit timeUnit) {
+        return getTime(CONNECT_FLUSH, timeUnit);
+    }
+
+    @Override
+    public long getConnAckTime(final @NotNull TimeUnit timeUnit) {
+        return getTime(CONNACK, timeUnit);
+    }
+
+    @Override
+    public long getTotalTime(final @NotNull TimeUnit timeUnit) {
+        if (!recorded[START] || !recorded[CONNACK]) {
+            return 0;
+        }
+        return timeUnit.convert(times[CONNACK] - times[START], TimeUnit.NANOSECONDS);
+    }
+}
@@ -33,25 +33,27 @@ public class MqttClientConnectedContextImpl implements Mqtt5ClientConnectedConte
 
     public static @NotNull MqttClientConnectedContext of(
             final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnect connect,
-            final @NotNull MqttConnAck connAck) {
+            final @NotNull MqttConnAck connAck, final @NotNull MqttClientConnectTimingsImpl connectTimings) {
 
         if (clientConfig.getMqttVersion() == MqttVersion.MQTT_3_1_1) {
-            return Mqtt3ClientConnectedContextView.of(clientConfig, connect, connAck);
+            return Mqtt3ClientConnectedContextView.of(clientConfig, connect, connAck, connectTimings);
         }
-        return new MqttClientConnectedContextImpl(clientConfig, connect, connAck);
+        return new MqttClientConnectedContextImpl(clientConfig, connect, connAck, connectTimings);
     }
 
     private final @NotNull MqttClientConfig clientConfig;
     private final @NotNull MqttConnect connect;
     private final @NotNull MqttConnAck connAck;
+    private final @NotNull MqttClientConnectTimingsImpl connectTimings;
 
     private MqttClientConnectedContextImpl(
             final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnect connect,
-            final @NotNull MqttConnAck connAck) {
+            final @NotNull MqttConnAck connAck, final @NotNull MqttClientConnectTimingsImpl connectTimings) {
 
         this.clientConfig = clientConfig;
         this.connect = connect;
         this.connAck = connAck;
+        this.connectTimings = connectTimings;
     }
 
     @Override
@@ -59,6 +61,11 @@ public class MqttClientConnectedContextImpl implements Mqtt5ClientConnectedConte
         return clientConfig;
     }
 
+    @Override
+    public @NotNull MqttClientConnectTimingsImpl getConnectTimings() {
+        return connectTimings;
+    }
+
     @Override
     public @NotNull MqttConnect getConnect() {
         return connect;
@@ -41,18 +41,21 @@ public class MqttClientReconnector implements Mqtt5ClientReconnector {
 
     private final @NotNull EventLoop eventLoop;
     private final int attempts;
+    private final long previousDelayNanos;
     private boolean reconnect;
     private @Nullable CompletableFuture<?> future;
     private long delayNanos;
     private @NotNull MqttClientTransportConfigImpl transportConfig;
     private @NotNull MqttConnect connect;
+    private int maxConcurrentReconnects;
 
     public MqttClientReconnector(
-            final @NotNull EventLoop eventLoop, final int attempts, final @NotNull MqttConnect connect,
-            final @NotNull MqttClientTransportConfigImpl transportConfig) {
+            final @NotNull EventLoop eventLoop, final int attempts, final long previousDelayNanos,
+            final @NotNull MqttConnect connect, final @NotNull MqttClientTransportConfigImpl transportConfig) {
 
         this.eventLoop = eventLoop;
         this.attempts = attempts;
+        this.previousDelayNanos = previousDelayNanos;
         this.connect = connect;
         this.transportConfig = transportConfig;
     }
@@ -114,6 +117,34 @@ public class MqttClientReconnector implements Mqtt5ClientReconnector {
         return timeUnit.convert(delayNanos, TimeUnit.NANOSECONDS);
     }
 
+    /**
+     * Returns the delay of the previous unsuccessful reconnect attempt.
+     *
+     * @param timeUnit the time unit of the returned delay.
+     * @return the previous delay in the given time unit or 0 if this is the first attempt.
+     */
+    public long getPreviousDelay(final @NotNull TimeUnit timeUnit) {
+        checkThread();
+        return timeUnit.convert(previousDelayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Limits how many clients sharing the same event loop provider may reconnect concurrently.
+     *
+     * @param maxConcurrentReconnects the maximum amount of concurrent reconnect attempts, 0 for unlimited.
+     * @return this reconnector.
+     */
+    public @NotNull MqttClientReconnector maxConcurrentReconnects(final int maxConcurrentReconnects) {
+        checkThread();
+        this.maxConcurrentReconnects = maxConcurrentReconnects;
+        return this;
+    }
+
+    public int getMaxConcurrentReconnects() {
+        checkThread();
+        return maxConcurrentReconnects;
+    }
+
     @Override
     public @NotNull MqttClientReconnector transportConfig(final @Nullable MqttClientTransportConfig transportConfig) {
         checkThread();
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.lifecycle;
+
+import com.hivemq.client.internal.annotations.ThreadSafe;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Limits the amount of concurrent reconnect attempts of all clients sharing this limiter.
+ * <p>
+ * Every client passes its own limit, so clients with a lower limit wait while the shared amount of running reconnect
+ * attempts reaches their limit. Waiting reconnect attempts are started in FIFO order, but a waiting reconnect attempt
+ * whose limit is reached does not block reconnect attempts with a higher limit behind it. Reconnect attempts with a
+ * low limit therefore only start when the shared amount drops below their limit.
+ *
+ * @author agent
+ */
+@ThreadSafe
+public class MqttReconnectConcurrencyLimiter {
+
+    private final @NotNull ArrayDeque<Waiting> waiting = new ArrayDeque<>();
+    private int running;
+
+    /**
+     * Runs the given reconnect attempt as soon as less than the given limit of reconnect attempts are running.
+     * <p>
+     * {@link #release()} must be called exactly once after the reconnect attempt finished.
+     *
+     * @param limit     the maximum amount of concurrent reconnect attempts, must be positive.
+     * @param reconnect the reconnect attempt, may be run on the calling thread or on the thread calling {@link
+     *                  #release()}.
+     */
+    public void acquire(final int limit, final @NotNull Runnable reconnect) {
+        synchronized (this) {
+            // all waiting reconnect attempts have reached their limit, so this one does not overtake a startable one
+            if (running >= limit) {
+                waiting.add(new Waiting(limit, reconnect));
+                return;
+            }
+            running++;
+        }
+        reconnect.run();
+    }
+
+    public void release() {
+        synchronized (this) {
+            running--;
+        }
+        while (true) {
+            final Runnable reconnect;
+            synchronized (this) {
+                reconnect = pollStartable();
+                if (reconnect == null) {
+                    return;
+                }
+                running++;
+            }
+            reconnect.run();
+        }
+    }
+
+    /**
+     * Removes the first waiting reconnect attempt whose limit is not reached.
+     *
+     * @return the removed reconnect attempt or <code>null</code> if no waiting reconnect attempt can be started.
+     */
+    private @Nullable Runnable pollStartable() {
+        for (final Iterator<Waiting> iterator = waiting.iterator(); iterator.hasNext(); ) {
+            final Waiting next = iterator.next();
+            if (running < next.limit) {
+                iterator.remove();
+                return next.reconnect;
+            }
+        }
+        return null;
+    }
+
+    synchronized int getRunning() {
+        return running;
+    }
+
+    private static class Waiting {
+
+        final int limit;
+        final @NotNull Runnable reconnect;
+
+        Waiting(final int limit, final @NotNull Runnable reconnect) {
+            this.limit = limit;
+            this.reconnect = reconnect;
+        }
+    }
+}
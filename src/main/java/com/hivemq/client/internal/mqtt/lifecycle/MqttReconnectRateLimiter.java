@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.lifecycle;
+
+import com.hivemq.client.internal.annotations.ThreadSafe;
+
+/**
+ * Fixed window rate limit for reconnect attempts. Each window has a fixed amount of slots. A reconnect attempt that
+ * would fall into a window without free slots is moved to the start of the next window with free slots.
+ *
+ * @author agent
+ */
+@ThreadSafe
+class MqttReconnectRateLimiter {
+
+    private final int maxAttempts;
+    private final long windowNanos;
+    private long window = Long.MIN_VALUE;
+    private int reserved;
+
+    MqttReconnectRateLimiter(final int maxAttempts, final long windowNanos) {
+        this.maxAttempts = maxAttempts;
+        this.windowNanos = windowNanos;
+    }
+
+    /**
+     * Reserves a slot for a reconnect attempt.
+     *
+     * @param nowNanos   the current time in nanoseconds (as returned by {@link System#nanoTime()}).
+     * @param delayNanos the delay of the reconnect attempt in nanoseconds.
+     * @return the delay in nanoseconds until the reserved slot, at least the given delay.
+     */
+    synchronized long reserve(final long nowNanos, final long delayNanos) {
+        final long requestedWindow = Math.floorDiv(nowNanos + delayNanos, windowNanos);
+        if (requestedWindow > window) {
+            window = requestedWindow;
+            reserved = 0;
+        } else if (reserved == maxAttempts) {
+            window++;
+            reserved = 0;
+        }
+        reserved++;
+        return Math.max(delayNanos, window * windowNanos - nowNanos);
+    }
+
+    int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    long getWindowNanos() {
+        return windowNanos;
+    }
+}
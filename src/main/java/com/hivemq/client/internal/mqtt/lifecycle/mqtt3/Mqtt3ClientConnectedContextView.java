@@ -18,6 +18,7 @@
 package com.hivemq.client.internal.mqtt.lifecycle.mqtt3;
 
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.lifecycle.MqttClientConnectTimingsImpl;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.connect.connack.MqttConnAck;
 import com.hivemq.client.internal.mqtt.message.connect.connack.mqtt3.Mqtt3ConnAckView;
@@ -34,23 +35,25 @@ public class Mqtt3ClientConnectedContextView implements Mqtt3ClientConnectedCont
 
     public static @NotNull MqttClientConnectedContext of(
             final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnect connect,
-            final @NotNull MqttConnAck connAck) {
+            final @NotNull MqttConnAck connAck, final @NotNull MqttClientConnectTimingsImpl connectTimings) {
 
-        return new Mqtt3ClientConnectedContextView(
-                new Mqtt3ClientConfigView(clientConfig), Mqtt3ConnectView.of(connect), Mqtt3ConnAckView.of(connAck));
+        return new Mqtt3ClientConnectedContextView(new Mqtt3ClientConfigView(clientConfig),
+                Mqtt3ConnectView.of(connect), Mqtt3ConnAckView.of(connAck), connectTimings);
     }
 
     private final @NotNull Mqtt3ClientConfigView clientConfig;
     private final @NotNull Mqtt3ConnectView connect;
     private final @NotNull Mqtt3ConnAckView connAck;
+    private final @NotNull MqttClientConnectTimingsImpl connectTimings;
 
     private Mqtt3ClientConnectedContextView(
             final @NotNull Mqtt3ClientConfigView clientConfig, final @NotNull Mqtt3ConnectView connect,
-            final @NotNull Mqtt3ConnAckView connAck) {
+            final @NotNull Mqtt3ConnAckView connAck, final @NotNull MqttClientConnectTimingsImpl connectTimings) {
 
         this.clientConfig = clientConfig;
         this.connect = connect;
         this.connAck = connAck;
+        this.connectTimings = connectTimings;
     }
 
     @Override
@@ -58,6 +61,11 @@ public class Mqtt3ClientConnectedContextView implements Mqtt3ClientConnectedCont
         return clientConfig;
     }
 
+    @Override
+    public @NotNull MqttClientConnectTimingsImpl getConnectTimings() {
+        return connectTimings;
+    }
+
     @Override
     public @NotNull Mqtt3ConnectView getConnect() {
         return connect;
@@ -44,6 +44,10 @@ public class Mqtt3ClientReconnectorView implements Mqtt3ClientReconnector {
         this.delegate = delegate;
     }
 
+    public @NotNull MqttClientReconnector getDelegate() {
+        return delegate;
+    }
+
     @Override
     public @NotNull Mqtt3ClientReconnectorView reconnect(final boolean reconnect) {
         delegate.reconnect(reconnect);
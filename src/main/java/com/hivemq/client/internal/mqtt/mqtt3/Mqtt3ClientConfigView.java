@@ -26,6 +26,7 @@ import com.hivemq.client.internal.mqtt.message.publish.mqtt3.Mqtt3PublishView;
 import com.hivemq.client.mqtt.MqttClientExecutorConfig;
 import com.hivemq.client.mqtt.MqttClientState;
 import com.hivemq.client.mqtt.MqttClientTransportConfig;
+import com.hivemq.client.mqtt.MqttNettyTransport;
 import com.hivemq.client.mqtt.MqttVersion;
 import com.hivemq.client.mqtt.datatypes.MqttClientIdentifier;
 import com.hivemq.client.mqtt.lifecycle.MqttClientAutoReconnect;
@@ -72,6 +73,11 @@ public class Mqtt3ClientConfigView implements Mqtt3ClientConfig {
         return delegate.getExecutorConfig();
     }
 
+    @Override
+    public @NotNull MqttNettyTransport getNettyTransport() {
+        return delegate.getNettyTransport();
+    }
+
     @Override
     public @NotNull Optional<MqttClientAutoReconnect> getAutomaticReconnect() {
         return delegate.getAutomaticReconnect();
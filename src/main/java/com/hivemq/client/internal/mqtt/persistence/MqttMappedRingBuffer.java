@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.persistence;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * First-in-first-out queue of binary values in a memory-mapped scratch file of fixed capacity.
+ * <p>
+ * The values are written as <code>[int length][value]</code> records. A record never wraps around the end of the
+ * file: if it does not fit behind the last record, a wrap marker (length -1) is written and the record starts at the
+ * beginning of the file. The file is not meant to survive a restart and is deleted on {@link #close()}.
+ * <p>
+ * Not thread safe.
+ *
+ * @author agent
+ */
+public class MqttMappedRingBuffer implements Closeable {
+
+    public static final int MIN_CAPACITY = 4096;
+    private static final String FILE_PREFIX = "offline-";
+    private static final String FILE_SUFFIX = ".spill";
+    private static final int LENGTH_BYTES = 4;
+    private static final int WRAP_MARKER = -1;
+
+    public static @NotNull MqttMappedRingBuffer create(final @NotNull Path directory, final int capacity)
+            throws IOException {
+
+        Files.createDirectories(directory);
+        final Path path = Files.createTempFile(directory, FILE_PREFIX, FILE_SUFFIX);
+        try (final FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new MqttMappedRingBuffer(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        } catch (final IOException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+    }
+
+    private final @NotNull Path path;
+    private final @NotNull MappedByteBuffer buffer;
+    private final int capacity;
+    private int head;
+    private int tail;
+    private int size;
+
+    private MqttMappedRingBuffer(final @NotNull Path path, final @NotNull MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        capacity = buffer.capacity();
+    }
+
+    /**
+     * Appends a value if there is enough space.
+     *
+     * @param value the value, its position and limit are not changed.
+     * @return whether the value was appended.
+     */
+    public boolean offer(final @NotNull ByteBuffer value) {
+        final int length = value.remaining();
+        final int recordLength = LENGTH_BYTES + length;
+        if ((tail > head) || (size == 0)) {
+            if (capacity - tail < recordLength) {
+                if (head < recordLength) {
+                    return false;
+                }
+                if (capacity - tail >= LENGTH_BYTES) {
+                    buffer.putInt(tail, WRAP_MARKER);
+                }
+                tail = 0;
+            }
+        } else if (head - tail < recordLength) {
+            return false;
+        }
+        buffer.putInt(tail, length);
+        final ByteBuffer slice = buffer.duplicate();
+        slice.position(tail + LENGTH_BYTES);
+        slice.put(value.duplicate());
+        tail += recordLength;
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes the oldest value.
+     *
+     * @return a heap copy of the oldest value or <code>null</code> if this buffer is empty.
+     */
+    public @Nullable ByteBuffer poll() {
+        if (size == 0) {
+            return null;
+        }
+        if (capacity - head < LENGTH_BYTES) {
+            head = 0;
+        }
+        int length = buffer.getInt(head);
+        if (length == WRAP_MARKER) {
+            head = 0;
+            length = buffer.getInt(head);
+        }
+        final ByteBuffer slice = buffer.duplicate();
+        slice.position(head + LENGTH_BYTES).limit(head + LENGTH_BYTES + length);
+        final ByteBuffer value = ByteBuffer.allocate(length);
+        value.put(slice).flip();
+        size--;
+        if (size == 0) {
+            head = 0;
+            tail = 0;
+        } else {
+            head += LENGTH_BYTES + length;
+        }
+        return value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void close() throws IOException {
+        size = 0;
+        head = 0;
+        tail = 0;
+        Files.deleteIfExists(path);
+    }
+}
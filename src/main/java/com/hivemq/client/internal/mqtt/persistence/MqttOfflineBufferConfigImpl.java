@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.persistence;
+
+import com.hivemq.client.mqtt.persistence.MqttOfflineBufferConfig;
+import com.hivemq.client.mqtt.persistence.MqttOfflineBufferOverflowPolicy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * @author agent
+ */
+public class MqttOfflineBufferConfigImpl implements MqttOfflineBufferConfig {
+
+    private final int maximumMessages;
+    private final long maximumMemoryBytes;
+    private final @Nullable Path spillDirectory;
+    private final int maximumDiskBytes;
+    private final @NotNull MqttOfflineBufferOverflowPolicy overflowPolicy;
+
+    MqttOfflineBufferConfigImpl(
+            final int maximumMessages, final long maximumMemoryBytes, final @Nullable Path spillDirectory,
+            final int maximumDiskBytes, final @NotNull MqttOfflineBufferOverflowPolicy overflowPolicy) {
+
+        this.maximumMessages = maximumMessages;
+        this.maximumMemoryBytes = maximumMemoryBytes;
+        this.spillDirectory = spillDirectory;
+        this.maximumDiskBytes = maximumDiskBytes;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @Override
+    public int getMaximumMessages() {
+        return maximumMessages;
+    }
+
+    @Override
+    public long getMaximumMemoryBytes() {
+        return maximumMemoryBytes;
+    }
+
+    @Override
+    public @NotNull Optional<Path> getSpillDirectory() {
+        return Optional.ofNullable(spillDirectory);
+    }
+
+    public @Nullable Path getRawSpillDirectory() {
+        return spillDirectory;
+    }
+
+    @Override
+    public int getMaximumDiskBytes() {
+        return maximumDiskBytes;
+    }
+
+    @Override
+    public @NotNull MqttOfflineBufferOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttOfflineBufferConfigImpl)) {
+            return false;
+        }
+        final MqttOfflineBufferConfigImpl that = (MqttOfflineBufferConfigImpl) o;
+
+        return (maximumMessages == that.maximumMessages) && (maximumMemoryBytes == that.maximumMemoryBytes) &&
+                Objects.equals(spillDirectory, that.spillDirectory) && (maximumDiskBytes == that.maximumDiskBytes) &&
+                (overflowPolicy == that.overflowPolicy);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Integer.hashCode(maximumMessages);
+        result = 31 * result + Long.hashCode(maximumMemoryBytes);
+        result = 31 * result + Objects.hashCode(spillDirectory);
+        result = 31 * result + Integer.hashCode(maximumDiskBytes);
+        result = 31 * result + overflowPolicy.hashCode();
+        return result;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.persistence;
+
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.persistence.MqttOfflineBufferConfig;
+import com.hivemq.client.mqtt.persistence.MqttOfflineBufferConfigBuilder;
+import com.hivemq.client.mqtt.persistence.MqttOfflineBufferOverflowPolicy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+
+/**
+ * @author agent
+ */
+public class MqttOfflineBufferConfigImplBuilder implements MqttOfflineBufferConfigBuilder {
+
+    private int maximumMessages = MqttOfflineBufferConfig.DEFAULT_MAXIMUM_MESSAGES;
+    private long maximumMemoryBytes = MqttOfflineBufferConfig.DEFAULT_MAXIMUM_MEMORY_BYTES;
+    private @Nullable Path spillDirectory;
+    private int maximumDiskBytes = MqttOfflineBufferConfig.DEFAULT_MAXIMUM_DISK_BYTES;
+    private @NotNull MqttOfflineBufferOverflowPolicy overflowPolicy = MqttOfflineBufferConfig.DEFAULT_OVERFLOW_POLICY;
+
+    @Override
+    public @NotNull MqttOfflineBufferConfigImplBuilder maximumMessages(final int maximumMessages) {
+        if (maximumMessages <= 0) {
+            throw new IllegalArgumentException("Maximum messages must be greater than 0. Found: " + maximumMessages);
+        }
+        this.maximumMessages = maximumMessages;
+        return this;
+    }
+
+    @Override
+    public @NotNull MqttOfflineBufferConfigImplBuilder maximumMemoryBytes(final long maximumMemoryBytes) {
+        if (maximumMemoryBytes < 0) {
+            throw new IllegalArgumentException(
+                    "Maximum memory bytes must not be negative. Found: " + maximumMemoryBytes);
+        }
+        this.maximumMemoryBytes = maximumMemoryBytes;
+        return this;
+    }
+
+    @Override
+    public @NotNull MqttOfflineBufferConfigImplBuilder spillDirectory(final @Nullable Path spillDirectory) {
+        this.spillDirectory = spillDirectory;
+        return this;
+    }
+
+    @Override
+    public @NotNull MqttOfflineBufferConfigImplBuilder maximumDiskBytes(final int maximumDiskBytes) {
+        if (maximumDiskBytes < MqttMappedRingBuffer.MIN_CAPACITY) {
+            throw new IllegalArgumentException("Maximum disk bytes must be at least " +
+                    MqttMappedRingBuffer.MIN_CAPACITY + ". Found: " + maximumDiskBytes);
+        }
+        this.maximumDiskBytes = maximumDiskBytes;
+        return this;
+    }
+
+    @Override
+    public @NotNull MqttOfflineBufferConfigImplBuilder overflowPolicy(
+            final @Nullable MqttOfflineBufferOverflowPolicy overflowPolicy) {
+
+        this.overflowPolicy = Checks.notNull(overflowPolicy, "Overflow policy");
+        return this;
+    }
+
+    @Override
+    public @NotNull MqttOfflineBufferConfigImpl build() {
+        return new MqttOfflineBufferConfigImpl(
+                maximumMessages, maximumMemoryBytes, spillDirectory, maximumDiskBytes, overflowPolicy);
+    }
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.persistence;
+
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.mqtt.persistence.MqttPersistence;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of memory-mapped segment files.
+ * <p>
+ * Record layout: record length (int), checksum (int), type (byte), key (long), sequence (long), value. The checksum is
+ * a CRC32 over type, key, sequence and value. A record length of 0 marks the end of a segment. Recovery stops at the
+ * first record with an invalid length or checksum, so a torn write at the end of the log is discarded.
+ * <p>
+ * The sequence is assigned when a key is first put and preserves the order of the keys across replacements and
+ * compaction.
+ *
+ * @author agent
+ */
+public class MqttSegmentLogPersistenceImpl implements MqttPersistence {
+
+    private static final @NotNull InternalLogger LOGGER =
+            InternalLoggerFactory.getLogger(MqttSegmentLogPersistenceImpl.class);
+
+    private static final @NotNull String SEGMENT_PREFIX = "segment-";
+    private static final @NotNull String SEGMENT_SUFFIX = ".log";
+    static final int HEADER_LENGTH = 4 + 4 + 1 + 8 + 8;
+    static final int MIN_SEGMENT_SIZE = 4096;
+    private static final byte TYPE_PUT = 1;
+    private static final byte TYPE_REMOVE = 2;
+    private static final byte TYPE_CLEAR = 3;
+
+    static @NotNull MqttSegmentLogPersistenceImpl open(final @NotNull Path directory, final int segmentSize)
+            throws IOException {
+
+        Files.createDirectories(directory);
+        final MqttSegmentLogPersistenceImpl persistence = new MqttSegmentLogPersistenceImpl(directory, segmentSize);
+        persistence.recover();
+        return persistence;
+    }
+
+    private final @NotNull Path directory;
+    private final int segmentSize;
+    private final @NotNull ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final @NotNull LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>();
+    private final @NotNull CRC32 crc = new CRC32();
+    private @Nullable Segment current;
+    private long nextSegmentId;
+    private long nextSequence;
+    private boolean dirty;
+    private boolean closed;
+
+    private MqttSegmentLogPersistenceImpl(final @NotNull Path directory, final int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    @Override
+    public synchronized void put(final long key, final @NotNull ByteBuffer value) {
+        checkNotClosed();
+        final Entry entry = entries.get(key);
+        final long sequence = (entry == null) ? nextSequence++ : entry.sequence;
+        final Segment segment = append(TYPE_PUT, key, sequence, value);
+        if (entry == null) {
+            entries.put(key, new Entry(sequence, segment, segment.position - value.remaining(), value.remaining()));
+        } else {
+            final Segment oldSegment = entry.segment;
+            entry.segment = segment;
+            entry.valueOffset = segment.position - value.remaining();
+            entry.valueLength = value.remaining();
+            oldSegment.live--;
+        }
+        segment.live++;
+        segment.puts++;
+        cleanUp();
+    }
+
+    @Override
+    public synchronized void remove(final long key) {
+        checkNotClosed();
+        final Entry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        append(TYPE_REMOVE, key, entry.sequence, null);
+        entry.segment.live--;
+        cleanUp();
+    }
+
+    @Override
+    public synchronized void clear() {
+        checkNotClosed();
+        if (entries.isEmpty()) {
+            return;
+        }
+        entries.clear();
+        append(TYPE_CLEAR, 0, 0, null);
+        for (final Segment segment : segments) {
+            segment.live = 0;
+        }
+        cleanUp();
+    }
+
+    @Override
+    public synchronized void forEach(final @NotNull EntryConsumer consumer) {
+        checkNotClosed();
+        for (final Map.Entry<Long, Entry> mapEntry : entries.entrySet()) {
+            final Entry entry = mapEntry.getValue();
+            final ByteBuffer value = entry.segment.buffer.duplicate();
+            value.position(entry.valueOffset).limit(entry.valueOffset + entry.valueLength);
+            consumer.accept(mapEntry.getKey(), value.slice().asReadOnlyBuffer());
+        }
+    }
+
+    @Override
+    public synchronized void sync() {
+        if (!closed) {
+            force();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        sync();
+        closed = true;
+        for (final Segment segment : segments) {
+            closeQuietly(segment);
+        }
+        segments.clear();
+        entries.clear();
+        current = null;
+    }
+
+    int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * @return the position in the current segment up to which the records are forced to the storage device.
+     */
+    int getForcedPosition() {
+        return (current == null) ? 0 : current.forcedPosition;
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new IllegalStateException("Persistence is closed.");
+        }
+    }
+
+    private @NotNull Segment append(
+            final byte type, final long key, final long sequence, final @Nullable ByteBuffer value) {
+
+        final int valueLength = (value == null) ? 0 : value.remaining();
+        final int recordLength = HEADER_LENGTH + valueLength;
+        Segment segment = current;
+        if ((segment == null) || (segment.position + recordLength > segment.buffer.capacity())) {
+            segment = roll(recordLength);
+        }
+        final ByteBuffer buffer = segment.buffer;
+        final int position = segment.position;
+        buffer.put(position + 8, type);
+        buffer.putLong(position + 9, key);
+        buffer.putLong(position + 17, sequence);
+        if (value != null) {
+            final ByteBuffer target = buffer.duplicate();
+            target.position(position + HEADER_LENGTH);
+            target.put(value.duplicate());
+        }
+        buffer.putInt(position + 4, checksum(buffer, position, recordLength));
+        buffer.putInt(position, recordLength);
+        segment.position = position + recordLength;
+        dirty = true;
+        return segment;
+    }
+
+    private void force() {
+        if (dirty) {
+            dirty = false;
+            assert current != null;
+            current.buffer.force();
+            current.forcedPosition = current.position;
+        }
+    }
+
+    private @NotNull Segment roll(final int recordLength) {
+        force();
+        final Segment segment;
+        try {
+            segment = Segment.create(segmentPath(nextSegmentId), Math.max(segmentSize, recordLength));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        nextSegmentId++;
+        segments.addLast(segment);
+        current = segment;
+        return segment;
+    }
+
+    /**
+     * Deletes the oldest segments while none of their values are live. If the oldest segment still has some live
+     * values but at least half of its values are dead, its live values are copied to the current segment first.
+     * <p>
+     * Only the oldest segment is deleted, as later segments may contain remove records for values in older segments.
+     * The current segment is forced before a segment is deleted, as it may contain the copied or replacing records of
+     * the values of the deleted segment.
+     */
+    private void cleanUp() {
+        while (segments.size() > 1) {
+            final Segment oldest = segments.peekFirst();
+            assert oldest != null;
+            if ((oldest.live > 0) && (oldest.live * 2 <= oldest.puts)) {
+                compact(oldest);
+            }
+            if (oldest.live > 0) {
+                break;
+            }
+            force();
+            segments.removeFirst();
+            closeQuietly(oldest);
+            try {
+                Files.deleteIfExists(oldest.path);
+            } catch (final IOException e) {
+                LOGGER.warn("Could not delete segment {}.", oldest.path, e);
+            }
+        }
+    }
+
+    private void compact(final @NotNull Segment oldest) {
+        for (final Map.Entry<Long, Entry> mapEntry : entries.entrySet()) {
+            final Entry entry = mapEntry.getValue();
+            if (entry.segment == oldest) {
+                final ByteBuffer value = oldest.buffer.duplicate();
+                value.position(entry.valueOffset).limit(entry.valueOffset + entry.valueLength);
+                final Segment segment = append(TYPE_PUT, mapEntry.getKey(), entry.sequence, value);
+                entry.segment = segment;
+                entry.valueOffset = segment.position - entry.valueLength;
+                segment.live++;
+                segment.puts++;
+                oldest.live--;
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        final ArrayList<Long> segmentIds = new ArrayList<>();
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*")) {
+            for (final Path path : stream) {
+                final String fileName = path.getFileName().toString();
+                if (fileName.endsWith(SEGMENT_SUFFIX)) {
+                    final int end = fileName.length() - SEGMENT_SUFFIX.length();
+                    try {
+                        segmentIds.add(Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), end)));
+                    } catch (final NumberFormatException ignored) {
+                    }
+                }
+            }
+        }
+        Collections.sort(segmentIds);
+
+        final HashMap<Long, Entry> recovered = new HashMap<>();
+        for (final long segmentId : segmentIds) {
+            final Segment segment = Segment.open(segmentPath(segmentId));
+            segments.addLast(segment);
+            nextSegmentId = segmentId + 1;
+            replay(segment, recovered);
+        }
+
+        final ArrayList<Map.Entry<Long, Entry>> sorted = new ArrayList<>(recovered.entrySet());
+        sorted.sort(Comparator.comparingLong(mapEntry -> mapEntry.getValue().sequence));
+        for (final Map.Entry<Long, Entry> mapEntry : sorted) {
+            final Entry entry = mapEntry.getValue();
+            entries.put(mapEntry.getKey(), entry);
+            entry.segment.live++;
+            nextSequence = Math.max(nextSequence, entry.sequence + 1);
+        }
+
+        current = segments.peekLast();
+        cleanUp();
+    }
+
+    private void replay(final @NotNull Segment segment, final @NotNull HashMap<Long, Entry> recovered) {
+        final ByteBuffer buffer = segment.buffer;
+        final int capacity = buffer.capacity();
+        int position = 0;
+        while (position + HEADER_LENGTH <= capacity) {
+            final int recordLength = buffer.getInt(position);
+            if (recordLength == 0) {
+                break;
+            }
+            if ((recordLength < HEADER_LENGTH) || (position + recordLength > capacity) ||
+                    (buffer.getInt(position + 4) != checksum(buffer, position, recordLength))) {
+                LOGGER.warn("Discarding corrupt records at offset {} of segment {}.", position, segment.path);
+                for (int i = position; i < capacity; i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                break;
+            }
+            final byte type = buffer.get(position + 8);
+            final long key = buffer.getLong(position + 9);
+            final long sequence = buffer.getLong(position + 17);
+            if (type == TYPE_PUT) {
+                recovered.put(
+                        key, new Entry(sequence, segment, position + HEADER_LENGTH, recordLength - HEADER_LENGTH));
+                segment.puts++;
+            } else if (type == TYPE_REMOVE) {
+                recovered.remove(key);
+            } else if (type == TYPE_CLEAR) {
+                recovered.clear();
+            }
+            position += recordLength;
+        }
+        segment.position = position;
+        segment.forcedPosition = position;
+    }
+
+    private int checksum(final @NotNull ByteBuffer buffer, final int position, final int recordLength) {
+        final ByteBuffer checked = buffer.duplicate();
+        checked.position(position + 8).limit(position + recordLength);
+        crc.reset();
+        crc.update(checked);
+        return (int) crc.getValue();
+    }
+
+    private @NotNull Path segmentPath(final long segmentId) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segmentId, SEGMENT_SUFFIX));
+    }
+
+    private static void closeQuietly(final @NotNull Segment segment) {
+        try {
+            segment.channel.close();
+        } catch (final IOException e) {
+            LOGGER.warn("Could not close segment {}.", segment.path, e);
+        }
+    }
+
+    private static class Segment {
+
+        static @NotNull Segment create(final @NotNull Path path, final int size) throws IOException {
+            final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            return new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        static @NotNull Segment open(final @NotNull Path path) throws IOException {
+            final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        }
+
+        final @NotNull Path path;
+        final @NotNull FileChannel channel;
+        final @NotNull MappedByteBuffer buffer;
+        int position;
+        int forcedPosition;
+        int live;
+        int puts;
+
+        private Segment(
+                final @NotNull Path path, final @NotNull FileChannel channel, final @NotNull MappedByteBuffer buffer) {
+
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+
+    private static class Entry {
+
+        final long sequence;
+        @NotNull Segment segment;
+        int valueOffset;
+        int valueLength;
+
+        Entry(final long sequence, final @NotNull Segment segment, final int valueOffset, final int valueLength) {
+            this.sequence = sequence;
+            this.segment = segment;
+            this.valueOffset = valueOffset;
+            this.valueLength = valueLength;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.persistence;
+
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.persistence.MqttSegmentLogPersistenceBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * @author agent
+ */
+public class MqttSegmentLogPersistenceImplBuilder implements MqttSegmentLogPersistenceBuilder {
+
+    private @Nullable Path directory;
+    private int segmentSize = DEFAULT_SEGMENT_SIZE;
+
+    @Override
+    public @NotNull MqttSegmentLogPersistenceImplBuilder directory(final @Nullable Path directory) {
+        this.directory = Checks.notNull(directory, "Directory");
+        return this;
+    }
+
+    @Override
+    public @NotNull MqttSegmentLogPersistenceImplBuilder segmentSize(final int segmentSize) {
+        if (segmentSize < MqttSegmentLogPersistenceImpl.MIN_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Segment size must be at least " +
+                    MqttSegmentLogPersistenceImpl.MIN_SEGMENT_SIZE + " bytes, but was " + segmentSize + ".");
+        }
+        this.segmentSize = segmentSize;
+        return this;
+    }
+
+    @Override
+    public @NotNull MqttSegmentLogPersistenceImpl build() {
+        Checks.state(directory != null, "Directory must be set.");
+        try {
+            return MqttSegmentLogPersistenceImpl.open(directory, segmentSize);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -21,24 +21,38 @@ import com.hivemq.client.internal.annotations.ThreadSafe;
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.lifecycle.MqttReconnectConcurrencyLimiter;
 import com.hivemq.client.internal.util.ClassUtil;
+import com.hivemq.client.mqtt.MqttEventLoopPlacement;
+import com.hivemq.client.mqtt.MqttNettyTransport;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.EventLoop;
 import io.netty.channel.MultithreadEventLoopGroup;
 import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDatagramChannel;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.dns.DnsAddressResolverGroup;
+import io.netty.resolver.dns.DnsServerAddressStreamProviders;
 import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.ThreadPerTaskExecutor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.net.InetSocketAddress;
+import java.util.EnumMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.BiFunction;
 
 /**
@@ -48,96 +62,282 @@ import java.util.function.BiFunction;
 public class NettyEventLoopProvider {
 
     private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(NettyEventLoopProvider.class);
+    /**
+     * Key of the event loop group that uses the default executor, as {@link ConcurrentHashMap} does not allow
+     * <code>null</code> keys.
+     */
+    private static final @NotNull Object DEFAULT_EXECUTOR_KEY = new Object();
 
+    private static final @NotNull EnumMap<MqttNettyTransport, NettyEventLoopProvider> PROVIDERS =
+            new EnumMap<>(MqttNettyTransport.class);
+    /**
+     * Provider of the automatically selected transport: epoll if available, otherwise NIO.
+     */
     public static final @NotNull NettyEventLoopProvider INSTANCE;
 
     static {
+        PROVIDERS.put(MqttNettyTransport.NIO,
+                new NettyEventLoopProvider(MqttNettyTransport.NIO, NioEventLoopGroup::new, NioSocketChannel::new,
+                        NioDatagramChannel::new, null));
         if (ClassUtil.isAvailable("io.netty.channel.epoll.Epoll")) {
-            INSTANCE = EpollHolder.eventLoopProvider();
-        } else {
-            INSTANCE = nioEventLoopProvider();
+            final NettyEventLoopProvider epollProvider = EpollHolder.eventLoopProvider();
+            if (epollProvider != null) {
+                PROVIDERS.put(MqttNettyTransport.EPOLL, epollProvider);
+            }
+        }
+
+        NettyEventLoopProvider provider = PROVIDERS.get(MqttNettyTransport.EPOLL);
+        if (provider == null) {
+            provider = PROVIDERS.get(MqttNettyTransport.NIO);
         }
+        INSTANCE = provider;
+        LOGGER.info("Using Netty {} transport", INSTANCE.transport);
     }
 
-    private static NettyEventLoopProvider nioEventLoopProvider() {
-        return new NettyEventLoopProvider(NioEventLoopGroup::new, NioSocketChannel::new);
+    /**
+     * Returns the provider for the given transport.
+     *
+     * @param transport the transport or <code>null</code> to select the transport automatically.
+     * @return the provider for the given transport or the automatically selected provider if the given transport is
+     *         not available.
+     */
+    public static @NotNull NettyEventLoopProvider get(final @Nullable MqttNettyTransport transport) {
+        if (transport == null) {
+            return INSTANCE;
+        }
+        final NettyEventLoopProvider provider = PROVIDERS.get(transport);
+        if (provider == null) {
+            LOGGER.warn("Netty {} transport is not available. Using {} transport instead", transport,
+                    INSTANCE.transport);
+            return INSTANCE;
+        }
+        return provider;
     }
 
     private static class EpollHolder {
 
-        private static NettyEventLoopProvider eventLoopProvider() {
+        private static @Nullable NettyEventLoopProvider eventLoopProvider() {
             if (Epoll.isAvailable()) {
-                return new NettyEventLoopProvider(EpollEventLoopGroup::new, EpollSocketChannel::new);
-            } else {
-                return nioEventLoopProvider();
+                return new NettyEventLoopProvider(
+                        MqttNettyTransport.EPOLL, EpollEventLoopGroup::new, EpollSocketChannel::new,
+                        EpollDatagramChannel::new, EpollDomainSocketChannel::new);
             }
+            LOGGER.info("Netty epoll transport is not available: {}", Epoll.unavailabilityCause().toString());
+            return null;
         }
     }
 
-    private final @NotNull Map<@Nullable Executor, @NotNull Entry> entries = new HashMap<>();
+    private final @NotNull ConcurrentHashMap<@NotNull Object, @NotNull Entry> entries = new ConcurrentHashMap<>();
     private final @NotNull BiFunction<Integer, Executor, MultithreadEventLoopGroup> eventLoopGroupFactory;
+    private final @NotNull MqttNettyTransport transport;
     private final @NotNull ChannelFactory<?> channelFactory;
+    private final @NotNull ChannelFactory<? extends DatagramChannel> datagramChannelFactory;
+    private final @Nullable ChannelFactory<?> domainSocketChannelFactory;
+    private volatile @Nullable AddressResolverGroup<InetSocketAddress> dnsResolverGroup;
+    private final @NotNull MqttReconnectConcurrencyLimiter reconnectLimiter = new MqttReconnectConcurrencyLimiter();
 
     private NettyEventLoopProvider(
+            final @NotNull MqttNettyTransport transport,
             final @NotNull BiFunction<Integer, Executor, MultithreadEventLoopGroup> eventLoopGroupFactory,
-            final @NotNull ChannelFactory<?> channelFactory) {
+            final @NotNull ChannelFactory<?> channelFactory,
+            final @NotNull ChannelFactory<? extends DatagramChannel> datagramChannelFactory,
+            final @Nullable ChannelFactory<?> domainSocketChannelFactory) {
 
+        this.transport = transport;
         this.eventLoopGroupFactory = eventLoopGroupFactory;
         this.channelFactory = channelFactory;
+        this.datagramChannelFactory = datagramChannelFactory;
+        this.domainSocketChannelFactory = domainSocketChannelFactory;
     }
 
-    public synchronized @NotNull EventLoop acquireEventLoop(final @Nullable Executor executor, final int threadCount) {
-        Entry entry = entries.get(executor);
-        if (entry == null) {
-            final MultithreadEventLoopGroup eventLoopGroup;
-            if (executor == null) {
-                eventLoopGroup = eventLoopGroupFactory.apply(threadCount,
-                        new ThreadPerTaskExecutor(new DefaultThreadFactory("com.hivemq.client.mqtt")));
+    /**
+     * Acquires an event loop of the event loop group that is shared by all clients using the same executor.
+     * <p>
+     * This method does not block on a shared monitor, the event loop group is only created under the lock of its map
+     * bin the first time it is acquired.
+     *
+     * @param executor     the user defined executor or <code>null</code> to use the default executor.
+     * @param threadCount  the user defined amount of threads or {@link
+     *                     MqttClientExecutorConfigImpl#DEFAULT_NETTY_THREADS}.
+     * @param placement    the strategy for selecting the event loop.
+     * @param placementKey the pinned index for {@link MqttEventLoopPlacement#PINNED}, the hash code of the client
+     *                     identifier for {@link MqttEventLoopPlacement#CLIENT_IDENTIFIER_HASH}, ignored otherwise.
+     * @return the acquired event loop, must be released with {@link #releaseEventLoop(Executor, EventLoop)}.
+     */
+    public @NotNull EventLoop acquireEventLoop(
+            final @Nullable Executor executor, final int threadCount, final @NotNull MqttEventLoopPlacement placement,
+            final int placementKey) {
 
-            } else if (executor instanceof MultithreadEventLoopGroup) {
-                eventLoopGroup = (MultithreadEventLoopGroup) executor;
+        final Object key = (executor == null) ? DEFAULT_EXECUTOR_KEY : executor;
+        while (true) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                entry = entries.computeIfAbsent(key, k -> new Entry(createEventLoopGroup(executor, threadCount)));
+            }
+            if (entry.retain()) {
                 if ((threadCount != MqttClientExecutorConfigImpl.DEFAULT_NETTY_THREADS) &&
-                        (eventLoopGroup.executorCount() != threadCount)) {
-                    LOGGER.warn("Tried to use a different amount of Netty threads for the provided event loop. " +
-                            "Using {} threads instead of {}", eventLoopGroup.executorCount(), threadCount);
+                        (entry.eventLoops.length != threadCount)) {
+                    LOGGER.warn("Tried to use a different amount of Netty threads for the same executor. " +
+                            "Using {} threads instead of {}", entry.eventLoops.length, threadCount);
                 }
-            } else {
-                eventLoopGroup = eventLoopGroupFactory.apply(threadCount, executor);
+                return entry.select(placement, placementKey);
             }
-            entry = new Entry(eventLoopGroup);
-            entries.put(executor, entry);
-        } else {
-            if ((threadCount != MqttClientExecutorConfigImpl.DEFAULT_NETTY_THREADS) &&
-                    (entry.eventLoopGroup.executorCount() != threadCount)) {
-                LOGGER.warn("Tried to use a different amount of Netty threads for the same executor. " +
-                        "Using {} threads instead of {}", entry.eventLoopGroup.executorCount(), threadCount);
-            }
-            entry.referenceCount++;
+            // the entry was released concurrently, help removing it before retrying
+            entries.remove(key, entry);
         }
-        return entry.eventLoopGroup.next();
     }
 
-    public synchronized void releaseEventLoop(final @Nullable Executor executor) {
-        final Entry entry = entries.get(executor);
-        if (--entry.referenceCount == 0) {
+    public void releaseEventLoop(final @Nullable Executor executor, final @NotNull EventLoop eventLoop) {
+        final Object key = (executor == null) ? DEFAULT_EXECUTOR_KEY : executor;
+        final Entry entry = entries.get(key);
+        assert entry != null;
+        if (entry.release(eventLoop)) {
+            entries.remove(key, entry);
             if (!(executor instanceof MultithreadEventLoopGroup)) {
                 entry.eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
             }
-            entries.remove(executor);
         }
     }
 
+    private @NotNull MultithreadEventLoopGroup createEventLoopGroup(
+            final @Nullable Executor executor, final int threadCount) {
+
+        if (executor == null) {
+            return eventLoopGroupFactory.apply(
+                    threadCount, new ThreadPerTaskExecutor(new DefaultThreadFactory("com.hivemq.client.mqtt")));
+        }
+        if (executor instanceof MultithreadEventLoopGroup) {
+            return (MultithreadEventLoopGroup) executor;
+        }
+        return eventLoopGroupFactory.apply(threadCount, executor);
+    }
+
+    public @NotNull MqttNettyTransport getTransport() {
+        return transport;
+    }
+
     public @NotNull ChannelFactory<?> getChannelFactory() {
         return channelFactory;
     }
 
+    /**
+     * @return the factory for Unix domain socket channels or <code>null</code> if this transport does not support Unix
+     *         domain sockets.
+     */
+    public @Nullable ChannelFactory<?> getDomainSocketChannelFactory() {
+        return domainSocketChannelFactory;
+    }
+
+    /**
+     * @return the limiter of concurrent reconnect attempts shared by all clients using this transport.
+     */
+    public @NotNull MqttReconnectConcurrencyLimiter getReconnectLimiter() {
+        return reconnectLimiter;
+    }
+
+    /**
+     * Returns the asynchronous DNS resolver group for this transport. It is created lazily and shared by all clients.
+     * The group creates one resolver with a TTL-aware cache per event loop, so the cache is shared by all clients
+     * placed on the same event loop and is discarded together with the event loop. Concurrent lookups of the same host
+     * name are coalesced.
+     *
+     * @return the asynchronous DNS resolver group.
+     */
+    public @NotNull AddressResolverGroup<InetSocketAddress> getDnsResolverGroup() {
+        AddressResolverGroup<InetSocketAddress> dnsResolverGroup = this.dnsResolverGroup;
+        if (dnsResolverGroup == null) {
+            synchronized (this) {
+                dnsResolverGroup = this.dnsResolverGroup;
+                if (dnsResolverGroup == null) {
+                    this.dnsResolverGroup = dnsResolverGroup = new DnsAddressResolverGroup(
+                            datagramChannelFactory, DnsServerAddressStreamProviders.platformDefault());
+                }
+            }
+        }
+        return dnsResolverGroup;
+    }
+
     private static class Entry {
 
+        private static final int RELEASED = -1;
+
         final @NotNull MultithreadEventLoopGroup eventLoopGroup;
-        int referenceCount = 1;
+        final @NotNull EventLoop @NotNull [] eventLoops;
+        /**
+         * Amount of clients currently placed on the event loop with the same index.
+         */
+        private final @NotNull AtomicIntegerArray loads;
+        private final @NotNull AtomicInteger referenceCount = new AtomicInteger();
+        private final @NotNull AtomicInteger nextIndex = new AtomicInteger();
 
         private Entry(final @NotNull MultithreadEventLoopGroup eventLoopGroup) {
             this.eventLoopGroup = eventLoopGroup;
+            final EventLoop[] eventLoops = new EventLoop[eventLoopGroup.executorCount()];
+            int i = 0;
+            for (final EventExecutor eventExecutor : eventLoopGroup) {
+                eventLoops[i++] = (EventLoop) eventExecutor;
+            }
+            this.eventLoops = eventLoops;
+            loads = new AtomicIntegerArray(eventLoops.length);
+        }
+
+        /**
+         * @return whether the entry was retained, <code>false</code> if it was already released.
+         */
+        boolean retain() {
+            while (true) {
+                final int referenceCount = this.referenceCount.get();
+                if (referenceCount == RELEASED) {
+                    return false;
+                }
+                if (this.referenceCount.compareAndSet(referenceCount, referenceCount + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * @return whether the entry was released and the event loop group is not used anymore.
+         */
+        boolean release(final @NotNull EventLoop eventLoop) {
+            for (int i = 0; i < eventLoops.length; i++) {
+                if (eventLoops[i] == eventLoop) {
+                    loads.decrementAndGet(i);
+                    break;
+                }
+            }
+            return (referenceCount.decrementAndGet() == 0) && referenceCount.compareAndSet(0, RELEASED);
+        }
+
+        @NotNull EventLoop select(final @NotNull MqttEventLoopPlacement placement, final int placementKey) {
+            final int index;
+            switch (placement) {
+                case LEAST_LOADED:
+                    index = leastLoadedIndex();
+                    break;
+                case CLIENT_IDENTIFIER_HASH:
+                case PINNED:
+                    index = Math.floorMod(placementKey, eventLoops.length);
+                    break;
+                default:
+                    index = Math.floorMod(nextIndex.getAndIncrement(), eventLoops.length);
+                    break;
+            }
+            loads.incrementAndGet(index);
+            return eventLoops[index];
+        }
+
+        private int leastLoadedIndex() {
+            int index = 0;
+            int minLoad = loads.get(0);
+            for (int i = 1; (i < eventLoops.length) && (minLoad > 0); i++) {
+                final int load = loads.get(i);
+                if (load < minLoad) {
+                    index = i;
+                    minLoad = load;
+                }
+            }
+            return index;
         }
     }
 }
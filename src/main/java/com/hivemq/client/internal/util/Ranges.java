@@ -45,6 +45,45 @@ public class Ranges {
         return id;
     }
 
+    /**
+     * Takes the given id if it is not already taken, for example to restore ids that were taken before a restart.
+     *
+     * @param id the id to take.
+     * @return whether the id was taken, false if the id was already taken or is out of range.
+     */
+    public boolean takeId(final int id) {
+        Range prev = null;
+        Range current = rootRange;
+        while (current != null) {
+            if (id < current.start) {
+                return false;
+            }
+            if (id < current.end) {
+                final Range next = current.next;
+                if (id == current.start) {
+                    current.start++;
+                    if ((current.start == current.end) && (next != null)) {
+                        if (prev == null) {
+                            rootRange = next;
+                        } else {
+                            prev.next = next;
+                        }
+                    }
+                } else if ((id == current.end - 1) && (next != null)) {
+                    current.end--;
+                } else {
+                    current.next =
+                            (next == null) ? new Range(id + 1, current.end) : new Range(id + 1, current.end, next);
+                    current.end = id;
+                }
+                return true;
+            }
+            prev = current;
+            current = current.next;
+        }
+        return false;
+    }
+
     public void returnId(final int id) {
         Range current = rootRange;
         if (id < current.start - 1) {
@@ -19,6 +19,8 @@ package com.hivemq.client.internal.util;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.ByteBuffer;
+
 /**
  * @author Silvio Giebl
  */
@@ -30,10 +32,12 @@ public final class Utf8Util {
     private static final long INVALID_CODE_POINTS = 0b1111_0000L << 56;
 
     public static long isWellFormed(final @NotNull byte[] bytes) {
-        int index = 0;
-        final int end = bytes.length;
-        while (true) {
+        return isWellFormed(bytes, 0, bytes.length);
+    }
 
+    public static long isWellFormed(final @NotNull byte[] bytes, final int start, final int end) {
+        int index = start;
+        while (true) {
             byte byte1;
             do {
                 if (index >= end) {
@@ -41,59 +45,185 @@ public final class Utf8Util {
                 }
             } while ((byte1 = bytes[index++]) >= 0);
 
-            if (byte1 < (byte) 0xE0) { // 2 bytes
-                if (index == end) {
-                    return index + NO_FOLLOWING_BYTE;
+            final int remaining = end - index;
+            final long result = isWellFormedSequence(byte1, (remaining > 0) ? bytes[index] : 0,
+                    (remaining > 1) ? bytes[index + 1] : 0, (remaining > 2) ? bytes[index + 2] : 0, remaining);
+            if (result < 0) {
+                return index - start + result;
+            }
+            index += result;
+        }
+    }
+
+    public static long isWellFormed(final @NotNull ByteBuffer byteBuffer) {
+        final int start = byteBuffer.position();
+        final int end = byteBuffer.limit();
+        if (byteBuffer.hasArray()) {
+            final int arrayOffset = byteBuffer.arrayOffset();
+            return isWellFormed(byteBuffer.array(), arrayOffset + start, arrayOffset + end);
+        }
+        int index = start;
+        while (true) {
+            byte byte1;
+            do {
+                if (index >= end) {
+                    return 0;
                 }
-                if (byte1 < (byte) 0xC2) {
-                    return index + NON_SHORTEST_FORM;
+            } while ((byte1 = byteBuffer.get(index++)) >= 0);
+
+            final int remaining = end - index;
+            final long result = isWellFormedSequence(byte1, (remaining > 0) ? byteBuffer.get(index) : 0,
+                    (remaining > 1) ? byteBuffer.get(index + 1) : 0, (remaining > 2) ? byteBuffer.get(index + 2) : 0,
+                    remaining);
+            if (result < 0) {
+                return index - start + result;
+            }
+            index += result;
+        }
+    }
+
+    /**
+     * Checks if the multi-byte sequence starting with the given lead byte is well-formed.
+     *
+     * @param byte1     the lead byte of the sequence.
+     * @param byte2     the byte after the lead byte, <code>0</code> if not remaining.
+     * @param byte3     the second byte after the lead byte, <code>0</code> if not remaining.
+     * @param byte4     the third byte after the lead byte, <code>0</code> if not remaining.
+     * @param remaining the count of bytes remaining after the lead byte.
+     * @return the count of bytes following the lead byte if the sequence is well-formed, otherwise (negative) the
+     *         error plus the count of bytes following the lead byte up to the malformed byte.
+     */
+    private static long isWellFormedSequence(
+            final byte byte1, final byte byte2, final byte byte3, final byte byte4, final int remaining) {
+
+        if (byte1 < (byte) 0xE0) { // 2 bytes
+            if (remaining < 1) {
+                return NO_FOLLOWING_BYTE;
+            }
+            if (byte1 < (byte) 0xC2) {
+                return NON_SHORTEST_FORM;
+            }
+            if (byte2 > (byte) 0xBF) {
+                return 1 + NO_FOLLOWING_BYTE;
+            }
+            return 1;
+        }
+        if (byte1 < (byte) 0xF0) { // 3 bytes
+            if (remaining < 2) {
+                return NO_FOLLOWING_BYTE;
+            }
+            if (byte2 > (byte) 0xBF) {
+                return 1 + NO_FOLLOWING_BYTE;
+            }
+            if ((byte1 == (byte) 0xE0) && (byte2 < (byte) 0xA0)) {
+                return 1 + NON_SHORTEST_FORM;
+            }
+            if ((byte1 == (byte) 0xED) && (byte2 >= (byte) 0xA0)) {
+                return 1 + UTF_16_SURROGATES;
+            }
+            if (byte3 > (byte) 0xBF) {
+                return 2 + NO_FOLLOWING_BYTE;
+            }
+            return 2;
+        }
+        // 4 bytes
+        if (remaining < 3) {
+            return NO_FOLLOWING_BYTE;
+        }
+        if (byte2 > (byte) 0xBF) {
+            return 1 + NO_FOLLOWING_BYTE;
+        }
+        if ((byte1 == (byte) 0xF0) && (byte2 < (byte) 0x90)) {
+            return 1 + NON_SHORTEST_FORM;
+        }
+        if ((byte1 == (byte) 0xF4) && (byte2 > (byte) 0x8F) || (byte1 > (byte) 0xF4)) {
+            return 1 + INVALID_CODE_POINTS;
+        }
+        if (byte3 > (byte) 0xBF) {
+            return 2 + NO_FOLLOWING_BYTE;
+        }
+        if (byte4 > (byte) 0xBF) {
+            return 3 + NO_FOLLOWING_BYTE;
+        }
+        return 3;
+    }
+
+    /**
+     * Calculates the hash code of the given well-formed UTF-8 encoded data without decoding it to a string.
+     *
+     * @param bytes the well-formed UTF-8 encoded data.
+     * @return the same hash code as {@link String#hashCode()} of the decoded string.
+     */
+    public static int hashCode(final @NotNull byte[] bytes) {
+        int hash = 0;
+        int index = 0;
+        final int end = bytes.length;
+        while (index < end) {
+            final byte byte1 = bytes[index++];
+            if (byte1 >= 0) {
+                hash = 31 * hash + byte1;
+                continue;
+            }
+            if (byte1 < (byte) 0xE0) { // 2 bytes
+                hash = 31 * hash + (((byte1 & 0x1F) << 6) | (bytes[index++] & 0x3F));
+                continue;
+            }
+            if (byte1 < (byte) 0xF0) { // 3 bytes
+                hash = 31 * hash +
+                        (((byte1 & 0x0F) << 12) | ((bytes[index++] & 0x3F) << 6) | (bytes[index++] & 0x3F));
+                continue;
+            }
+            // 4 bytes
+            final int codePoint =
+                    ((byte1 & 0x07) << 18) | ((bytes[index++] & 0x3F) << 12) | ((bytes[index++] & 0x3F) << 6) |
+                            (bytes[index++] & 0x3F);
+            hash = 31 * hash + Character.highSurrogate(codePoint);
+            hash = 31 * hash + Character.lowSurrogate(codePoint);
+        }
+        return hash;
+    }
+
+    /**
+     * Checks if the given well-formed UTF-8 encoded data represents the given string without decoding it to a string.
+     *
+     * @param bytes  the well-formed UTF-8 encoded data.
+     * @param string the UTF-16 encoded string.
+     * @return whether the UTF-8 encoded data represents the string.
+     */
+    public static boolean equals(final @NotNull byte[] bytes, final @NotNull String string) {
+        final int length = string.length();
+        int index = 0;
+        int charIndex = 0;
+        final int end = bytes.length;
+        while (index < end) {
+            if (charIndex >= length) {
+                return false;
+            }
+            final byte byte1 = bytes[index++];
+            if (byte1 >= 0) {
+                if (string.charAt(charIndex++) != byte1) {
+                    return false;
                 }
-                final byte byte2 = bytes[index++];
-                if (byte2 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+            } else if (byte1 < (byte) 0xE0) { // 2 bytes
+                if (string.charAt(charIndex++) != (((byte1 & 0x1F) << 6) | (bytes[index++] & 0x3F))) {
+                    return false;
                 }
             } else if (byte1 < (byte) 0xF0) { // 3 bytes
-                if (index + 1 >= end) {
-                    return index + NO_FOLLOWING_BYTE;
-                }
-                final byte byte2 = bytes[index++];
-                if (byte2 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
-                }
-                if ((byte1 == (byte) 0xE0) && (byte2 < (byte) 0xA0)) {
-                    return index + NON_SHORTEST_FORM;
-                }
-                if ((byte1 == (byte) 0xED) && (byte2 >= (byte) 0xA0)) {
-                    return index + UTF_16_SURROGATES;
-                }
-                final byte byte3 = bytes[index++];
-                if (byte3 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                if (string.charAt(charIndex++) !=
+                        (((byte1 & 0x0F) << 12) | ((bytes[index++] & 0x3F) << 6) | (bytes[index++] & 0x3F))) {
+                    return false;
                 }
             } else { // 4 bytes
-                if (index + 2 >= end) {
-                    return index + NO_FOLLOWING_BYTE;
-                }
-                final byte byte2 = bytes[index++];
-                if (byte2 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
-                }
-                if ((byte1 == (byte) 0xF0) && (byte2 < (byte) 0x90)) {
-                    return index + NON_SHORTEST_FORM;
-                }
-                if ((byte1 == (byte) 0xF4) && (byte2 > (byte) 0x8F) || (byte1 > (byte) 0xF4)) {
-                    return index + INVALID_CODE_POINTS;
-                }
-                final byte byte3 = bytes[index++];
-                if (byte3 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
-                }
-                final byte byte4 = bytes[index++];
-                if (byte4 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                final int codePoint =
+                        ((byte1 & 0x07) << 18) | ((bytes[index++] & 0x3F) << 12) | ((bytes[index++] & 0x3F) << 6) |
+                                (bytes[index++] & 0x3F);
+                if ((charIndex + 1 >= length) || (string.charAt(charIndex++) != Character.highSurrogate(codePoint)) ||
+                        (string.charAt(charIndex++) != Character.lowSurrogate(codePoint))) {
+                    return false;
                 }
             }
         }
+        return charIndex == length;
     }
 
     public static int encodedLength(final @NotNull String string) {
@@ -98,6 +98,16 @@ public interface MqttClientConfig {
      */
     @NotNull MqttClientExecutorConfig getExecutorConfig();
 
+    /**
+     * Returns the transport of Netty (network communication framework) that is used by the client. This is either the
+     * transport {@link MqttClientExecutorConfig#getNettyTransport() configured by the user} if it is available or the
+     * automatically selected transport.
+     *
+     * @return the transport of Netty that is used by the client.
+     * @since 1.2
+     */
+    @NotNull MqttNettyTransport getNettyTransport();
+
     /**
      * @return the optional automatic reconnect strategy of the client.
      * @since 1.1
@@ -57,6 +57,29 @@ public interface MqttClientExecutorConfig {
      */
     @NotNull OptionalInt getNettyThreads();
 
+    /**
+     * The optional user defined transport of Netty (network communication framework). If absent, the transport is
+     * selected automatically: epoll if available, otherwise NIO.
+     *
+     * @return the optional user defined transport of Netty.
+     * @since 1.2
+     */
+    @NotNull Optional<MqttNettyTransport> getNettyTransport();
+
+    /**
+     * @return the strategy for placing clients on the event loops of Netty (network communication framework).
+     * @since 1.2
+     */
+    @NotNull MqttEventLoopPlacement getEventLoopPlacement();
+
+    /**
+     * @return the index of the event loop of Netty (network communication framework) clients are pinned to, present
+     *         only if the {@link #getEventLoopPlacement() event loop placement} is {@link
+     *         MqttEventLoopPlacement#PINNED}.
+     * @since 1.2
+     */
+    @NotNull OptionalInt getPinnedEventLoopIndex();
+
     /**
      * @return the {@link Scheduler} used for executing application specific code, such as callbacks.
      */
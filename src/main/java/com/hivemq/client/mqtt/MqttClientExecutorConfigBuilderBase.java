@@ -55,6 +55,48 @@ public interface MqttClientExecutorConfigBuilderBase<B extends MqttClientExecuto
     @CheckReturnValue
     @NotNull B nettyThreads(int nettyThreads);
 
+    /**
+     * Sets the optional user defined {@link MqttClientExecutorConfig#getNettyTransport() transport of Netty} (network
+     * communication framework).
+     * <p>
+     * If the transport is not available at runtime, the automatically selected transport is used instead.
+     *
+     * @param nettyTransport the user defined transport of Netty or <code>null</code> to select the transport
+     *                       automatically.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B nettyTransport(@Nullable MqttNettyTransport nettyTransport);
+
+    /**
+     * Sets the {@link MqttClientExecutorConfig#getEventLoopPlacement() strategy for placing clients on the event loops
+     * of Netty} (network communication framework).
+     * <p>
+     * {@link MqttEventLoopPlacement#PINNED} pins to the event loop with the index 0 unless a different index is set
+     * with {@link #pinnedEventLoopIndex(int)}.
+     *
+     * @param eventLoopPlacement the strategy for placing clients on the event loops of Netty.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B eventLoopPlacement(@NotNull MqttEventLoopPlacement eventLoopPlacement);
+
+    /**
+     * Pins clients to the event loop of Netty (network communication framework) with the given index and sets the
+     * {@link MqttClientExecutorConfig#getEventLoopPlacement() event loop placement} to {@link
+     * MqttEventLoopPlacement#PINNED}.
+     * <p>
+     * The index is taken modulo the amount of event loops.
+     *
+     * @param pinnedEventLoopIndex the index of the event loop of Netty. Must not be negative.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B pinnedEventLoopIndex(int pinnedEventLoopIndex);
+
     /**
      * Sets the {@link MqttClientExecutorConfig#getApplicationScheduler() scheduler used for executing application
      * specific code}.
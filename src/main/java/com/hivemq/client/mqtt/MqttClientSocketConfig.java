@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.MqttClientSocketConfigImplBuilder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Configuration of the socket options to use by {@link MqttClient MQTT clients}.
+ *
+ * @author agent
+ * @since 1.2
+ */
+@DoNotImplement
+public interface MqttClientSocketConfig {
+
+    /**
+     * The default for disabling Nagle's algorithm (TCP_NODELAY).
+     */
+    boolean DEFAULT_TCP_NO_DELAY = true;
+    /**
+     * The default for enabling TCP keep-alive probes (SO_KEEPALIVE).
+     */
+    boolean DEFAULT_KEEP_ALIVE = true;
+    /**
+     * The default size of the socket send buffer, <code>0</code> means that the default of the operating system is
+     * used.
+     */
+    int DEFAULT_SEND_BUFFER_SIZE = 0;
+    /**
+     * The default size of the socket receive buffer, <code>0</code> means that the default of the operating system is
+     * used.
+     */
+    int DEFAULT_RECEIVE_BUFFER_SIZE = 0;
+    /**
+     * The default low water mark of the write buffer in bytes.
+     */
+    int DEFAULT_WRITE_BUFFER_LOW_WATER_MARK = 32 * 1024;
+    /**
+     * The default high water mark of the write buffer in bytes.
+     */
+    int DEFAULT_WRITE_BUFFER_HIGH_WATER_MARK = 64 * 1024;
+    /**
+     * The default for enabling quick acknowledgements (TCP_QUICKACK).
+     */
+    boolean DEFAULT_TCP_QUICK_ACK = false;
+    /**
+     * The default TCP user timeout in milliseconds (TCP_USER_TIMEOUT), <code>0</code> means that the default of the
+     * operating system is used.
+     */
+    int DEFAULT_TCP_USER_TIMEOUT_MS = 0;
+
+    /**
+     * Creates a builder for a socket configuration.
+     *
+     * @return the created builder for a socket configuration.
+     */
+    static @NotNull MqttClientSocketConfigBuilder builder() {
+        return new MqttClientSocketConfigImplBuilder.Default();
+    }
+
+    /**
+     * @return whether Nagle's algorithm is disabled (TCP_NODELAY).
+     */
+    boolean isTcpNoDelay();
+
+    /**
+     * @return whether TCP keep-alive probes are enabled (SO_KEEPALIVE).
+     */
+    boolean isKeepAlive();
+
+    /**
+     * @return the size of the socket send buffer (SO_SNDBUF), <code>0</code> means that the default of the operating
+     *         system is used.
+     */
+    int getSendBufferSize();
+
+    /**
+     * @return the size of the socket receive buffer (SO_RCVBUF), <code>0</code> means that the default of the operating
+     *         system is used.
+     */
+    int getReceiveBufferSize();
+
+    /**
+     * The low water mark of the write buffer. If the number of bytes queued in the write buffer drops below this mark
+     * after exceeding the {@link #getWriteBufferHighWaterMark() high water mark}, the client resumes sending publishes.
+     *
+     * @return the low water mark of the write buffer in bytes.
+     */
+    int getWriteBufferLowWaterMark();
+
+    /**
+     * The high water mark of the write buffer. If the number of bytes queued in the write buffer exceeds this mark, the
+     * client pauses sending publishes until the {@link #getWriteBufferLowWaterMark() low water mark} is reached.
+     *
+     * @return the high water mark of the write buffer in bytes.
+     */
+    int getWriteBufferHighWaterMark();
+
+    /**
+     * Whether quick acknowledgements are enabled (TCP_QUICKACK).
+     * <p>
+     * Only applied if the {@link MqttNettyTransport#EPOLL epoll transport} is used.
+     *
+     * @return whether quick acknowledgements are enabled.
+     */
+    boolean isTcpQuickAck();
+
+    /**
+     * The maximum time transmitted data may remain unacknowledged before the connection is closed (TCP_USER_TIMEOUT).
+     * <p>
+     * Only applied if the {@link MqttNettyTransport#EPOLL epoll transport} is used.
+     *
+     * @return the TCP user timeout in milliseconds, <code>0</code> means that the default of the operating system is
+     *         used.
+     */
+    int getTcpUserTimeoutMs();
+
+    /**
+     * Creates a builder for extending this socket configuration.
+     *
+     * @return the created builder.
+     */
+    @NotNull MqttClientSocketConfigBuilder extend();
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.CheckReturnValue;
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Builder for a {@link MqttClientSocketConfig}.
+ *
+ * @author agent
+ * @since 1.2
+ */
+@DoNotImplement
+public interface MqttClientSocketConfigBuilder
+        extends MqttClientSocketConfigBuilderBase<MqttClientSocketConfigBuilder> {
+
+    /**
+     * Builds the {@link MqttClientSocketConfig}.
+     *
+     * @return the built {@link MqttClientSocketConfig}.
+     */
+    @CheckReturnValue
+    @NotNull MqttClientSocketConfig build();
+
+    /**
+     * Builder for a {@link MqttClientSocketConfig} that is applied to a parent.
+     *
+     * @param <P> the type of the result when the built {@link MqttClientSocketConfig} is applied to the parent.
+     */
+    @DoNotImplement
+    interface Nested<P> extends MqttClientSocketConfigBuilderBase<Nested<P>> {
+
+        /**
+         * Builds the {@link MqttClientSocketConfig} and applies it to the parent.
+         *
+         * @return the result when the built {@link MqttClientSocketConfig} is applied to the parent.
+         */
+        @NotNull P applySocketConfig();
+    }
+}
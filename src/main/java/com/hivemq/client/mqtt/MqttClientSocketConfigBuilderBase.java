@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.CheckReturnValue;
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder base for a {@link MqttClientSocketConfig}.
+ *
+ * @param <B> the type of the builder.
+ * @author agent
+ * @since 1.2
+ */
+@DoNotImplement
+public interface MqttClientSocketConfigBuilderBase<B extends MqttClientSocketConfigBuilderBase<B>> {
+
+    /**
+     * Sets whether {@link MqttClientSocketConfig#isTcpNoDelay() Nagle's algorithm is disabled}.
+     *
+     * @param tcpNoDelay whether Nagle's algorithm is disabled.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B tcpNoDelay(boolean tcpNoDelay);
+
+    /**
+     * Sets whether {@link MqttClientSocketConfig#isKeepAlive() TCP keep-alive probes are enabled}.
+     *
+     * @param keepAlive whether TCP keep-alive probes are enabled.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B keepAlive(boolean keepAlive);
+
+    /**
+     * Sets the {@link MqttClientSocketConfig#getSendBufferSize() size of the socket send buffer}.
+     * <p>
+     * It must not be negative.
+     *
+     * @param sendBufferSize the size of the socket send buffer or <code>0</code> to use the default of the operating
+     *                       system.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B sendBufferSize(int sendBufferSize);
+
+    /**
+     * Sets the {@link MqttClientSocketConfig#getReceiveBufferSize() size of the socket receive buffer}.
+     * <p>
+     * It must not be negative.
+     *
+     * @param receiveBufferSize the size of the socket receive buffer or <code>0</code> to use the default of the
+     *                          operating system.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B receiveBufferSize(int receiveBufferSize);
+
+    /**
+     * Sets the {@link MqttClientSocketConfig#getWriteBufferLowWaterMark() low} and {@link
+     * MqttClientSocketConfig#getWriteBufferHighWaterMark() high} water mark of the write buffer.
+     * <p>
+     * The low water mark must not be negative and must not be greater than the high water mark.
+     *
+     * @param lowWaterMark  the low water mark of the write buffer in bytes.
+     * @param highWaterMark the high water mark of the write buffer in bytes.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B writeBufferWaterMark(int lowWaterMark, int highWaterMark);
+
+    /**
+     * Sets whether {@link MqttClientSocketConfig#isTcpQuickAck() quick acknowledgements are enabled}.
+     *
+     * @param tcpQuickAck whether quick acknowledgements are enabled.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B tcpQuickAck(boolean tcpQuickAck);
+
+    /**
+     * Sets the {@link MqttClientSocketConfig#getTcpUserTimeoutMs() TCP user timeout}.
+     * <p>
+     * It must not be negative and must not exceed {@link Integer#MAX_VALUE} milliseconds.
+     *
+     * @param timeout  the TCP user timeout or <code>0</code> to use the default of the operating system.
+     * @param timeUnit the time unit of the given timeout.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B tcpUserTimeout(long timeout, @NotNull TimeUnit timeUnit);
+}
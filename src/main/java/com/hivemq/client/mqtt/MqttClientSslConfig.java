@@ -40,6 +40,26 @@ public interface MqttClientSslConfig {
      * The default handshake timeout in milliseconds.
      */
     long DEFAULT_HANDSHAKE_TIMEOUT_MS = 10_000;
+    /**
+     * The default size of the TLS session cache, <code>0</code> means that the default of the SSL provider is used.
+     *
+     * @since 1.2
+     */
+    long DEFAULT_SESSION_CACHE_SIZE = 0;
+    /**
+     * The default timeout of cached TLS sessions in seconds, <code>0</code> means that the default of the SSL provider
+     * is used.
+     *
+     * @since 1.2
+     */
+    long DEFAULT_SESSION_TIMEOUT_S = 0;
+    /**
+     * By default the default SSL engine of Netty (network communication framework) is used: OpenSSL if netty-tcnative
+     * is on the classpath, otherwise the SSL engine of the JDK.
+     *
+     * @since 1.2
+     */
+    boolean DEFAULT_PREFER_OPEN_SSL = false;
 
     /**
      * Creates a builder for a secure transport configuration.
@@ -81,6 +101,34 @@ public interface MqttClientSslConfig {
      */
     long getHandshakeTimeoutMs();
 
+    /**
+     * The maximum count of TLS sessions that are cached for resumption. Cached sessions are shared by all connections
+     * using an equal secure transport configuration, so reconnects can use abbreviated handshakes.
+     *
+     * @return the size of the TLS session cache, <code>0</code> means that the default of the SSL provider is used.
+     * @since 1.2
+     */
+    long getSessionCacheSize();
+
+    /**
+     * @return the timeout of cached TLS sessions in seconds, <code>0</code> means that the default of the SSL provider
+     *         is used.
+     * @since 1.2
+     */
+    long getSessionTimeoutS();
+
+    /**
+     * Whether the OpenSSL engine is preferred over the SSL engine of the JDK. The OpenSSL engine is only available if
+     * netty-tcnative is on the classpath, otherwise the JDK engine is used as fallback.
+     * <p>
+     * If the OpenSSL engine is not preferred, the default SSL engine of Netty (network communication framework) is
+     * used. This is also OpenSSL if netty-tcnative is on the classpath, otherwise the SSL engine of the JDK.
+     *
+     * @return whether the OpenSSL engine is preferred.
+     * @since 1.2
+     */
+    boolean isPreferOpenSsl();
+
     /**
      * Creates a builder for extending this secure transport configuration.
      *
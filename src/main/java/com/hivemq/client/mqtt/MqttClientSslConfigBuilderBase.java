@@ -86,4 +86,36 @@ public interface MqttClientSslConfigBuilderBase<B extends MqttClientSslConfigBui
      */
     @CheckReturnValue
     @NotNull B handshakeTimeout(long timeout, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets the {@link MqttClientSslConfig#getSessionCacheSize() TLS session cache size}.
+     *
+     * @param sessionCacheSize the size of the TLS session cache or <code>0</code> to use the default of the SSL
+     *                         provider.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B sessionCacheSize(long sessionCacheSize);
+
+    /**
+     * Sets the {@link MqttClientSslConfig#getSessionTimeoutS() timeout of cached TLS sessions}.
+     *
+     * @param timeout  the timeout of cached TLS sessions or <code>0</code> to use the default of the SSL provider.
+     * @param timeUnit the time unit of the given timeout (the timeout is rounded up to whole seconds).
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B sessionTimeout(long timeout, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets whether the {@link MqttClientSslConfig#isPreferOpenSsl() OpenSSL engine is preferred}.
+     *
+     * @param preferOpenSsl whether the OpenSSL engine is preferred.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B preferOpenSsl(boolean preferOpenSsl);
 }
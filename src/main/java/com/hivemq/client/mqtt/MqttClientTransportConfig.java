@@ -18,10 +18,12 @@
 package com.hivemq.client.mqtt;
 
 import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.annotations.Immutable;
 import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImplBuilder;
 import org.jetbrains.annotations.NotNull;
 
 import java.net.InetSocketAddress;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -33,6 +35,51 @@ import java.util.Optional;
 @DoNotImplement
 public interface MqttClientTransportConfig {
 
+    /**
+     * The default {@link #getDecoderCumulation() strategy for accumulating received bytes}.
+     *
+     * @since 1.2
+     */
+    @NotNull MqttDecoderCumulation DEFAULT_DECODER_CUMULATION = MqttDecoderCumulation.MERGE;
+    /**
+     * The default {@link #getDecoderDiscardAfterReads() count of reads after which already decoded bytes are
+     * discarded}.
+     *
+     * @since 1.2
+     */
+    int DEFAULT_DECODER_DISCARD_AFTER_READS = 16;
+    /**
+     * The default for whether {@link #isHappyEyeballs() happy eyeballs} is enabled.
+     *
+     * @since 1.2
+     */
+    boolean DEFAULT_HAPPY_EYEBALLS = false;
+    /**
+     * The default {@link #getConnectAttemptDelayMs() delay before starting the next parallel connection attempt} in
+     * milliseconds, as recommended by RFC 8305.
+     *
+     * @since 1.2
+     */
+    long DEFAULT_CONNECT_ATTEMPT_DELAY_MS = 250;
+    /**
+     * The default for whether {@link #isAsyncDnsResolution() asynchronous DNS resolution} is enabled.
+     *
+     * @since 1.2
+     */
+    boolean DEFAULT_ASYNC_DNS_RESOLUTION = false;
+    /**
+     * The default {@link #getMqttConnectTimeoutMs() timeout for receiving the CONNACK message} in milliseconds.
+     *
+     * @since 1.2
+     */
+    long DEFAULT_MQTT_CONNECT_TIMEOUT_MS = 60_000;
+    /**
+     * The default {@link #getKeepAliveMode() keep alive mode}.
+     *
+     * @since 1.2
+     */
+    @NotNull MqttKeepAliveMode DEFAULT_KEEP_ALIVE_MODE = MqttKeepAliveMode.ANY_TRAFFIC;
+
     /**
      * Creates a builder for a transport configuration.
      *
@@ -47,6 +94,54 @@ public interface MqttClientTransportConfig {
      */
     @NotNull InetSocketAddress getServerAddress();
 
+    /**
+     * Fallback server addresses are tried after the {@link #getServerAddress() server address} in the given order.
+     * Connection attempts are raced: the next attempt is started if the previous attempts have not succeeded within the
+     * {@link #getConnectAttemptDelayMs() connection attempt delay} or immediately when an attempt fails.
+     *
+     * @return the fallback server addresses.
+     * @since 1.2
+     */
+    @Immutable @NotNull List<@NotNull InetSocketAddress> getFallbackServerAddresses();
+
+    /**
+     * Happy eyeballs (RFC 8305) resolves all IPv4 and IPv6 addresses of the server hosts, orders them alternating by
+     * address family and races connection attempts to them. The first connection that completes the TCP handshake (and
+     * the TLS handshake if {@link #getSslConfig() secure transport} is used) is used, all other attempts are cancelled.
+     *
+     * @return whether happy eyeballs is enabled.
+     * @since 1.2
+     */
+    boolean isHappyEyeballs();
+
+    /**
+     * @return the delay in milliseconds before starting the next parallel connection attempt if multiple server
+     *         addresses are tried.
+     * @since 1.2
+     */
+    long getConnectAttemptDelayMs();
+
+    /**
+     * Asynchronous DNS resolution queries the name servers of the system with non-blocking I/O on the event loop
+     * instead of using the blocking resolver of the JVM. Results are cached according to their TTL and shared by all
+     * clients on the same event loop. Server hosts are resolved again on every (re)connect, so DNS based failover
+     * works.
+     *
+     * @return whether asynchronous DNS resolution is enabled.
+     * @since 1.2
+     */
+    boolean isAsyncDnsResolution();
+
+    /**
+     * If a Unix domain socket path is set, the client connects to the socket at this path instead of the {@link
+     * #getServerAddress() server address}. The server address is then only used as the host name for TLS and the
+     * WebSocket handshake. Unix domain sockets require the {@link MqttNettyTransport#EPOLL epoll transport}.
+     *
+     * @return the optional path of the Unix domain socket to connect to.
+     * @since 1.2
+     */
+    @NotNull Optional<String> getDomainSocketPath();
+
     /**
      * @return the optional local bind address.
      * @since 1.2
@@ -63,6 +158,37 @@ public interface MqttClientTransportConfig {
      */
     @NotNull Optional<MqttWebSocketConfig> getWebSocketConfig();
 
+    /**
+     * @return the socket configuration.
+     * @since 1.2
+     */
+    @NotNull MqttClientSocketConfig getSocketConfig();
+
+    /**
+     * @return the strategy for accumulating received bytes until a complete MQTT packet can be decoded.
+     * @since 1.2
+     */
+    @NotNull MqttDecoderCumulation getDecoderCumulation();
+
+    /**
+     * @return the count of reads after which already decoded bytes are discarded from the accumulation buffer.
+     * @since 1.2
+     */
+    int getDecoderDiscardAfterReads();
+
+    /**
+     * @return the timeout in milliseconds between sending the CONNECT message and receiving the CONNACK message. If
+     *         the CONNACK message is not received in time, the connection is closed. 0 means no timeout.
+     * @since 1.2
+     */
+    long getMqttConnectTimeoutMs();
+
+    /**
+     * @return the mode of checking the liveness of the connection with the keep alive mechanism.
+     * @since 1.2
+     */
+    @NotNull MqttKeepAliveMode getKeepAliveMode();
+
     /**
      * Creates a builder for extending this transport configuration.
      *
@@ -24,6 +24,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Builder base for a {@link MqttClientTransportConfig}.
@@ -70,6 +71,59 @@ public interface MqttClientTransportConfigBuilderBase<B extends MqttClientTransp
     @CheckReturnValue
     @NotNull B serverPort(int port);
 
+    /**
+     * Adds a {@link MqttClientTransportConfig#getFallbackServerAddresses() fallback server address}.
+     *
+     * @param address the fallback server address.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B addFallbackServerAddress(@NotNull InetSocketAddress address);
+
+    /**
+     * Sets whether {@link MqttClientTransportConfig#isHappyEyeballs() happy eyeballs} is enabled.
+     *
+     * @param happyEyeballs whether happy eyeballs is enabled.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B happyEyeballs(boolean happyEyeballs);
+
+    /**
+     * Sets the {@link MqttClientTransportConfig#getConnectAttemptDelayMs() delay before starting the next parallel
+     * connection attempt}.
+     *
+     * @param delay    the connection attempt delay.
+     * @param timeUnit the time unit of the given delay.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B connectAttemptDelay(long delay, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets whether {@link MqttClientTransportConfig#isAsyncDnsResolution() asynchronous DNS resolution} is enabled.
+     *
+     * @param asyncDnsResolution whether asynchronous DNS resolution is enabled.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B asyncDnsResolution(boolean asyncDnsResolution);
+
+    /**
+     * Sets the optional {@link MqttClientTransportConfig#getDomainSocketPath() path of the Unix domain socket} to
+     * connect to.
+     *
+     * @param path the path of the Unix domain socket or <code>null</code> to connect to the server address via TCP.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B domainSocketPath(@Nullable String path);
+
     /**
      * Sets the optional {@link MqttClientTransportConfig#getLocalAddress() local bind address}.
      * <p>
@@ -177,4 +231,73 @@ public interface MqttClientTransportConfigBuilderBase<B extends MqttClientTransp
      */
     @CheckReturnValue
     @NotNull MqttWebSocketConfigBuilder.Nested<? extends B> webSocketConfig();
+
+    /**
+     * Sets the {@link MqttClientTransportConfig#getSocketConfig() socket configuration}.
+     *
+     * @param socketConfig the socket configuration.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B socketConfig(@NotNull MqttClientSocketConfig socketConfig);
+
+    /**
+     * Fluent counterpart of {@link #socketConfig(MqttClientSocketConfig)}.
+     * <p>
+     * Calling {@link MqttClientSocketConfigBuilder.Nested#applySocketConfig()} on the returned builder has the effect
+     * of extending the current socket configuration.
+     *
+     * @return the fluent builder for the socket configuration.
+     * @see #socketConfig(MqttClientSocketConfig)
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull MqttClientSocketConfigBuilder.Nested<? extends B> socketConfig();
+
+    /**
+     * Sets the {@link MqttClientTransportConfig#getDecoderCumulation() strategy for accumulating received bytes}.
+     *
+     * @param decoderCumulation the strategy for accumulating received bytes.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B decoderCumulation(@NotNull MqttDecoderCumulation decoderCumulation);
+
+    /**
+     * Sets the {@link MqttClientTransportConfig#getDecoderDiscardAfterReads() count of reads after which already
+     * decoded bytes are discarded}.
+     * <p>
+     * It must be greater than 0.
+     *
+     * @param decoderDiscardAfterReads the count of reads after which already decoded bytes are discarded.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B decoderDiscardAfterReads(int decoderDiscardAfterReads);
+
+    /**
+     * Sets the {@link MqttClientTransportConfig#getMqttConnectTimeoutMs() timeout for receiving the CONNACK message}.
+     * <p>
+     * It must not be negative, 0 disables the timeout.
+     *
+     * @param timeout  the timeout for receiving the CONNACK message.
+     * @param timeUnit the time unit of the given timeout.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B mqttConnectTimeout(long timeout, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets the {@link MqttClientTransportConfig#getKeepAliveMode() keep alive mode}.
+     *
+     * @param keepAliveMode the mode of checking the liveness of the connection.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B keepAliveMode(@NotNull MqttKeepAliveMode keepAliveMode);
 }
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt;
+
+/**
+ * Strategies for accumulating received bytes until a complete MQTT packet can be decoded.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public enum MqttDecoderCumulation {
+
+    /**
+     * Received bytes are copied into one contiguous buffer, which is expanded if necessary.
+     * <p>
+     * This is the best choice for small packets, as a packet can be decoded from one contiguous buffer.
+     */
+    MERGE,
+    /**
+     * Received buffers are added as components of a composite buffer without copying them.
+     * <p>
+     * This avoids repeated expansion and copying of the accumulation buffer if large packets are received in many
+     * fragments, but makes decoding of small packets slightly more expensive.
+     */
+    COMPOSITE
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.mqtt;
+
+/**
+ * Strategies for placing {@link MqttClient MQTT clients} on the event loops (threads) of Netty (network communication
+ * framework) that are shared by all clients using the same {@link MqttClientExecutorConfig#getNettyExecutor() executor
+ * for Netty}.
+ * <p>
+ * A client is placed on an event loop when it connects and keeps the event loop until it is disconnected and all its
+ * tasks are finished.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public enum MqttEventLoopPlacement {
+
+    /**
+     * The event loops are assigned in turn.
+     */
+    ROUND_ROBIN,
+    /**
+     * The event loop with the least clients currently placed on it is assigned.
+     */
+    LEAST_LOADED,
+    /**
+     * The event loop is selected by the hash code of the client identifier, so a client with the same identifier is
+     * always placed on the same event loop. If the client identifier is requested from the server, the client is placed
+     * like {@link #LEAST_LOADED}.
+     */
+    CLIENT_IDENTIFIER_HASH,
+    /**
+     * The event loop with the {@link MqttClientExecutorConfig#getPinnedEventLoopIndex() pinned index} (modulo the
+     * amount of event loops) is assigned.
+     */
+    PINNED
+}
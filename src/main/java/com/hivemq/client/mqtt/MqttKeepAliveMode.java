@@ -0,0 +1,53 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.mqtt;
+
+/**
+ * Modes of checking the liveness of a connection with the MQTT keep alive mechanism.
+ * <p>
+ * In all modes a PINGREQ message is only sent if the connection was idle for the ping interval, so no pings are sent
+ * while messages are exchanged.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public enum MqttKeepAliveMode {
+
+    /**
+     * The connection is only considered alive if a PINGRESP message is received after a PINGREQ message was sent.
+     * <p>
+     * The ping interval is the keep alive of the connection.
+     */
+    PINGRESP_REQUIRED,
+    /**
+     * Any message received after a PINGREQ message was sent shows that the connection is alive.
+     * <p>
+     * The ping interval is the keep alive of the connection.
+     */
+    ANY_TRAFFIC,
+    /**
+     * Like {@link #ANY_TRAFFIC}, but the ping interval adapts to the idle timeout of NATs or firewalls on the path to
+     * the server.
+     * <p>
+     * The ping interval starts at 30 seconds (or the keep alive if it is shorter) and grows with every acknowledged
+     * ping up to the keep alive. If no response is received to a ping, the interval is decreased and does not grow
+     * beyond the last acknowledged interval anymore. The discovered interval is kept for reconnects of the same client.
+     */
+    ADAPTIVE
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.mqtt;
+
+/**
+ * Transports (implementations of non-blocking network I/O) of Netty (network communication framework) that can be used
+ * by {@link MqttClient MQTT clients}.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public enum MqttNettyTransport {
+
+    /**
+     * Transport based on Java NIO, available on all platforms.
+     */
+    NIO,
+    /**
+     * Native transport based on Linux epoll, available if netty-transport-native-epoll with the native library for the
+     * architecture of the host is on the classpath. The client depends on the native library for
+     * <code>linux-x86_64</code> only, other architectures fall back to NIO.
+     */
+    EPOLL
+}
@@ -45,6 +45,18 @@ public interface MqttWebSocketConfig {
      * Name Registry</a>
      */
     @NotNull String DEFAULT_MQTT_SUBPROTOCOL = "mqtt";
+    /**
+     * By default every MQTT packet is sent in its own WebSocket frame.
+     *
+     * @since 1.2
+     */
+    boolean DEFAULT_FRAME_COALESCING = false;
+    /**
+     * By default the permessage-deflate extension is not negotiated.
+     *
+     * @since 1.2
+     */
+    boolean DEFAULT_PER_MESSAGE_DEFLATE = false;
 
     /**
      * Creates a builder for a WebSocket configuration.
@@ -70,6 +82,24 @@ public interface MqttWebSocketConfig {
      */
     @NotNull String getSubprotocol();
 
+    /**
+     * Whether all MQTT packets written until a flush are coalesced into a single WebSocket frame. This saves a frame
+     * header and masking per MQTT packet if many small packets are sent at once.
+     *
+     * @return whether MQTT packets are coalesced into WebSocket frames.
+     * @since 1.2
+     */
+    boolean isFrameCoalescing();
+
+    /**
+     * Whether the permessage-deflate extension (RFC 7692) is offered to the server. Compression is only used if the
+     * server accepts the extension.
+     *
+     * @return whether the permessage-deflate extension is offered.
+     * @since 1.2
+     */
+    boolean isPerMessageDeflate();
+
     /**
      * Creates a builder for extending this WebSocket configuration.
      *
@@ -57,4 +57,24 @@ public interface MqttWebSocketConfigBuilderBase<B extends MqttWebSocketConfigBui
      */
     @CheckReturnValue
     @NotNull B subprotocol(@NotNull String subprotocol);
+
+    /**
+     * Sets whether {@link MqttWebSocketConfig#isFrameCoalescing() MQTT packets are coalesced into WebSocket frames}.
+     *
+     * @param frameCoalescing whether MQTT packets are coalesced into WebSocket frames.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B frameCoalescing(boolean frameCoalescing);
+
+    /**
+     * Sets whether the {@link MqttWebSocketConfig#isPerMessageDeflate() permessage-deflate extension is offered}.
+     *
+     * @param perMessageDeflate whether the permessage-deflate extension is offered.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B perMessageDeflate(boolean perMessageDeflate);
 }
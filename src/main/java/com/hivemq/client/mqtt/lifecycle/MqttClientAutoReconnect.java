@@ -27,7 +27,8 @@ import java.util.concurrent.TimeUnit;
  * Automatic reconnect strategy using an exponential backoff with configurable initial and maximum delays.
  * <p>
  * The initial delay will be doubled for every unsuccessful connect attempt. The actual delay will be capped at the
- * maximum delay. Additionally a random delay of +-25% will be added.
+ * maximum delay. Additionally a random delay of +-25% will be added. Other {@link MqttClientReconnectBackoff backoff
+ * families}, a rate limit, a circuit breaker and a limit of concurrent reconnects can be configured.
  *
  * @author Silvio Giebl
  * @since 1.1
@@ -72,6 +73,49 @@ public interface MqttClientAutoReconnect extends MqttClientDisconnectedListener
      */
     long getMaxDelay(@NotNull TimeUnit timeUnit);
 
+    /**
+     * @return the backoff family used to calculate the delay before a reconnect attempt.
+     * @since 1.2
+     */
+    @NotNull MqttClientReconnectBackoff getBackoff();
+
+    /**
+     * @return the maximum amount of reconnect attempts per rate limit window or 0 if no rate limit is set.
+     * @since 1.2
+     */
+    int getRateLimitMaxAttempts();
+
+    /**
+     * Returns the length of the rate limit window.
+     *
+     * @param timeUnit the time unit of the returned window.
+     * @return the window in the given time unit or 0 if no rate limit is set.
+     * @since 1.2
+     */
+    long getRateLimitWindow(@NotNull TimeUnit timeUnit);
+
+    /**
+     * @return the amount of consecutive unsuccessful connect attempts after which the circuit breaker opens or 0 if
+     *         no circuit breaker is set.
+     * @since 1.2
+     */
+    int getCircuitBreakerThreshold();
+
+    /**
+     * Returns the duration the client waits between reconnect attempts while the circuit breaker is open.
+     *
+     * @param timeUnit the time unit of the returned open duration.
+     * @return the open duration in the given time unit or 0 if no circuit breaker is set.
+     * @since 1.2
+     */
+    long getCircuitBreakerOpenDuration(@NotNull TimeUnit timeUnit);
+
+    /**
+     * @return the maximum amount of concurrent reconnect attempts or 0 if unlimited.
+     * @since 1.2
+     */
+    int getMaxConcurrentReconnects();
+
     /**
      * Creates a builder for extending this automatic reconnect strategy.
      *
@@ -55,4 +55,61 @@ public interface MqttClientAutoReconnectBuilderBase<B extends MqttClientAutoReco
      */
     @CheckReturnValue
     @NotNull B maxDelay(final long maxDelay, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets the backoff family used to calculate the delay before a reconnect attempt.
+     * <p>
+     * The default is {@link MqttClientReconnectBackoff#EXPONENTIAL}.
+     *
+     * @param backoff the backoff family.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B backoff(@NotNull MqttClientReconnectBackoff backoff);
+
+    /**
+     * Limits the reconnect attempts of all clients using the built automatic reconnect strategy to the given amount
+     * per fixed time window. Reconnect attempts that exceed the limit are delayed to the next window with free
+     * capacity.
+     * <p>
+     * The max attempts must be positive, the window must be positive.
+     *
+     * @param maxAttempts the maximum amount of reconnect attempts per window.
+     * @param window      the length of the window.
+     * @param timeUnit    the time unit of the given window.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B rateLimit(int maxAttempts, long window, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Enables a circuit breaker which opens after the given amount of consecutive unsuccessful connect attempts. While
+     * the circuit is open, the client tries to reconnect only once per open duration instead of using the backoff.
+     * <p>
+     * The failure threshold must be positive, the open duration must be positive.
+     *
+     * @param failureThreshold the amount of consecutive unsuccessful connect attempts after which the circuit opens.
+     * @param openDuration     the duration the client waits between reconnect attempts while the circuit is open.
+     * @param timeUnit         the time unit of the given open duration.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B circuitBreaker(int failureThreshold, long openDuration, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Limits how many clients may reconnect concurrently. The limit is shared by all clients that use the same Netty
+     * transport in the process. A reconnect attempt that exceeds the limit waits until another reconnect attempt
+     * finished.
+     * <p>
+     * It must be positive or zero, zero means unlimited. The default is unlimited.
+     *
+     * @param maxConcurrentReconnects the maximum amount of concurrent reconnect attempts.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B maxConcurrentReconnects(int maxConcurrentReconnects);
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.mqtt.lifecycle;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Breakdown of the time a client spent in the phases of establishing a connection.
+ * <p>
+ * A phase that was not part of the connection (for example the TLS handshake if no secure transport is used) takes
+ * <code>0</code>. If the connection attempts to multiple server addresses are raced, the TCP connect and TLS handshake
+ * phases are the ones of the winning attempt.
+ *
+ * @author agent
+ * @since 1.2
+ */
+@DoNotImplement
+public interface MqttClientConnectTimings {
+
+    /**
+     * Returns the time until the server address was resolved. This also includes the creation and registration of the
+     * channel.
+     *
+     * @param timeUnit the time unit of the returned time.
+     * @return the time of the DNS resolution phase in the given time unit.
+     */
+    long getDnsResolutionTime(@NotNull TimeUnit timeUnit);
+
+    /**
+     * @param timeUnit the time unit of the returned time.
+     * @return the time of the TCP handshake in the given time unit.
+     */
+    long getTcpConnectTime(@NotNull TimeUnit timeUnit);
+
+    /**
+     * @param timeUnit the time unit of the returned time.
+     * @return the time of the TLS handshake in the given time unit.
+     */
+    long getTlsHandshakeTime(@NotNull TimeUnit timeUnit);
+
+    /**
+     * @param timeUnit the time unit of the returned time.
+     * @return the time of the WebSocket upgrade (HTTP handshake) in the given time unit.
+     */
+    long getWebSocketUpgradeTime(@NotNull TimeUnit timeUnit);
+
+    /**
+     * @param timeUnit the time unit of the returned time.
+     * @return the time until the CONNECT message was written to the socket in the given time unit.
+     */
+    long getConnectFlushTime(@NotNull TimeUnit timeUnit);
+
+    /**
+     * @param timeUnit the time unit of the returned time.
+     * @return the time between writing the CONNECT message and receiving the CONNACK message in the given time unit.
+     */
+    long getConnAckTime(@NotNull TimeUnit timeUnit);
+
+    /**
+     * @param timeUnit the time unit of the returned time.
+     * @return the total time from starting to connect until the CONNACK message was received in the given time unit.
+     */
+    long getTotalTime(@NotNull TimeUnit timeUnit);
+}
@@ -34,4 +34,10 @@ public interface MqttClientConnectedContext {
      * @return the config of the client that is now connected.
      */
     @NotNull MqttClientConfig getClientConfig();
+
+    /**
+     * @return the breakdown of the time spent in the phases of establishing the connection.
+     * @since 1.2
+     */
+    @NotNull MqttClientConnectTimings getConnectTimings();
 }
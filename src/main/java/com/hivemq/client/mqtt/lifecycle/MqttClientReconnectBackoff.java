@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.lifecycle;
+
+/**
+ * Backoff families for the delay of an {@link MqttClientAutoReconnect automatic reconnect}.
+ * <p>
+ * All families are capped at the {@link MqttClientAutoReconnect#getMaxDelay(java.util.concurrent.TimeUnit) maximum
+ * delay}. The jitter spreads the reconnect attempts of many clients that were disconnected at the same time (for
+ * example by a restart of the broker cluster).
+ *
+ * @author agent
+ * @since 1.2
+ */
+public enum MqttClientReconnectBackoff {
+
+    /**
+     * The initial delay is doubled for every unsuccessful connect attempt and a random delay of +-25% is added.
+     */
+    EXPONENTIAL,
+    /**
+     * A random delay between zero and the exponential delay (the initial delay doubled for every unsuccessful connect
+     * attempt).
+     */
+    FULL_JITTER,
+    /**
+     * A random delay between the initial delay and three times the previous delay, so consecutive delays of a client
+     * are not correlated with the delays of other clients.
+     */
+    DECORRELATED_JITTER
+}
@@ -37,12 +37,15 @@ import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscribe;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5SubscribeBuilderBase;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscription;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5Unsubscribe;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5UnsubscribeBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
@@ -221,6 +224,42 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
         return new MqttUnsubscribeBuilder.Send<>(this::unsubscribe);
     }
 
+    /**
+     * Exports the subscriptions of this client which were acknowledged by the broker in the current session.
+     * <p>
+     * The exported subscriptions can be stored by the application and passed to {@link
+     * #importSubscriptions(Collection, boolean)} after a restart.
+     *
+     * @return a {@link CompletableFuture} which completes with a snapshot of the subscriptions of this client.
+     * @since 1.2
+     */
+    @NotNull CompletableFuture<@NotNull List<@NotNull ? extends Mqtt5Subscription>> exportSubscriptions();
+
+    /**
+     * Imports subscriptions previously exported via {@link #exportSubscriptions()}.
+     * <p>
+     * If <code>skipIfSessionPresent</code> is set and the broker resumed the session (the ConnAck message contained the
+     * session present flag), the subscriptions are only restored locally without sending a Subscribe message, as the
+     * broker still holds them. Publish messages matching the restored subscriptions can be consumed via {@link
+     * #publishes(MqttGlobalPublishFilter, Consumer)} with {@link MqttGlobalPublishFilter#SUBSCRIBED}.
+     * <p>
+     * Otherwise the subscriptions are sent in as few Subscribe messages as the maximum packet size of the broker
+     * allows.
+     *
+     * @param subscriptions        the subscriptions to import.
+     * @param skipIfSessionPresent whether sending Subscribe messages is skipped if the session is present.
+     * @return a {@link CompletableFuture} which
+     *         <ul>
+     *         <li>completes normally with the SubAck messages of all sent Subscribe messages (empty if the
+     *         subscriptions were only restored locally) or</li>
+     *         <li>completes exceptionally if an error occurred before a Subscribe message was sent or before a SubAck
+     *         message was received.</li>
+     *         </ul>
+     * @since 1.2
+     */
+    @NotNull CompletableFuture<@NotNull List<@NotNull Mqtt5SubAck>> importSubscriptions(
+            @NotNull Collection<@NotNull ? extends Mqtt5Subscription> subscriptions, boolean skipIfSessionPresent);
+
     /**
      * Publishes the given Publish message.
      *
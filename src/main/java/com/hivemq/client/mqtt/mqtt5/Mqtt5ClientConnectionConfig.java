@@ -54,6 +54,31 @@ public interface Mqtt5ClientConnectionConfig extends MqttClientConnectionConfig
      */
     @NotNull RestrictionsForClient getRestrictionsForClient();
 
+    /**
+     * Returns the number of publishes the client sent with an already established topic alias, so without the topic.
+     * <p>
+     * The value is always <code>0</code> if the {@link RestrictionsForClient#getSendTopicAliasMaximum() send topic
+     * alias maximum} is <code>0</code>. The count is updated on the event loop of the connection without
+     * synchronization, so if it is read on another thread it may not include the most recently sent publishes.
+     *
+     * @return the number of publishes the client sent with an already established topic alias.
+     * @since 1.2
+     */
+    long getSendTopicAliasHitCount();
+
+    /**
+     * Returns the number of times the client reassigned a topic alias from one topic to another.
+     * <p>
+     * A high value compared to the {@link #getSendTopicAliasHitCount() hit count} indicates that the client publishes
+     * to more topics than the {@link RestrictionsForClient#getSendTopicAliasMaximum() send topic alias maximum}. Like
+     * the hit count, the value may not include the most recently sent publishes if it is read on another thread than
+     * the event loop of the connection.
+     *
+     * @return the number of times the client reassigned a topic alias.
+     * @since 1.2
+     */
+    long getSendTopicAliasEvictionCount();
+
     /**
      * Restrictions for messages a {@link Mqtt5Client} receives.
      */
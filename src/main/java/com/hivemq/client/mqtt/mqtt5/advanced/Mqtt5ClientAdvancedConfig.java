@@ -20,6 +20,8 @@ package com.hivemq.client.mqtt.mqtt5.advanced;
 import com.hivemq.client.annotations.DoNotImplement;
 import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
+import com.hivemq.client.mqtt.persistence.MqttOfflineBufferConfig;
+import com.hivemq.client.mqtt.persistence.MqttPersistence;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -59,6 +61,66 @@ public interface Mqtt5ClientAdvancedConfig {
      */
     @Nullable Mqtt5ClientInterceptors getInterceptors();
 
+    /**
+     * Returns whether queued SUBSCRIBE, UNSUBSCRIBE and PUBLISH messages are sent directly after the CONNECT message
+     * without waiting for the CONNACK message.
+     * <p>
+     * If enabled, messages can already be submitted while the client is connecting. They are queued until the CONNECT
+     * message is written.
+     * <p>
+     * Until the CONNACK message is received, the most restrictive limits the server can impose are assumed: a small
+     * send maximum, no topic aliases, maximum QoS 0, no retained messages and no wildcard or shared subscriptions. So
+     * only QoS 0 PUBLISH messages that are not retained, SUBSCRIBE messages without wildcard or shared subscriptions
+     * and UNSUBSCRIBE messages are sent early. The first message that exceeds these limits and all messages queued
+     * after it are held back until the CONNACK message is received. Early send is only used if the client does not
+     * already have a session and no enhanced authentication is used. Messages sent early are failed if the connection
+     * attempt fails.
+     *
+     * @return whether early send is enabled.
+     * @since 1.2
+     */
+    boolean isEarlySend();
+
+    /**
+     * Returns the optional persistence of outgoing QoS 1 and QoS 2 PUBLISH messages that are not acknowledged yet.
+     * <p>
+     * If present, the state of every outgoing QoS 1 and QoS 2 PUBLISH message is stored before the message is sent
+     * and removed when its flow completes. After a restart of the application, the stored messages are restored when
+     * the session starts and are resent with their original packet identifiers.
+     *
+     * @return the optional persistence of outgoing QoS 1 and QoS 2 PUBLISH messages.
+     * @since 1.2
+     */
+    @Nullable MqttPersistence getOutgoingPublishPersistence();
+
+    /**
+     * Returns the optional persistence of the state of incoming QoS 2 PUBLISH messages.
+     * <p>
+     * If present, the packet identifiers of incoming QoS 2 PUBLISH messages that were acknowledged with a PUBREC are
+     * stored until the PUBREL is received. After a restart of the application, resent PUBLISH messages are then not
+     * delivered again if the server still has the session, so exactly once delivery is kept across restarts.
+     * <p>
+     * A different persistence than for {@link #getOutgoingPublishPersistence() outgoing PUBLISH messages} must be
+     * used.
+     *
+     * @return the optional persistence of the state of incoming QoS 2 PUBLISH messages.
+     * @since 1.2
+     */
+    @Nullable MqttPersistence getIncomingPublishPersistence();
+
+    /**
+     * Returns the optional configuration of the buffer for outgoing PUBLISH messages while the client is disconnected
+     * and reconnects.
+     * <p>
+     * If absent, messages that are published while the client reconnects are failed when the session ends. If
+     * present, they are buffered up to the configured limits, also across session ends, and sent as soon as the client
+     * is connected again.
+     *
+     * @return the optional configuration of the offline buffer.
+     * @since 1.2
+     */
+    @Nullable MqttOfflineBufferConfig getOfflineBuffer();
+
     /**
      * Creates a builder for extending this advanced configuration.
      *
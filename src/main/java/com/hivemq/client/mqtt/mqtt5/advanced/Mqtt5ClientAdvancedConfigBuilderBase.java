@@ -21,6 +21,8 @@ import com.hivemq.client.annotations.CheckReturnValue;
 import com.hivemq.client.annotations.DoNotImplement;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptorsBuilder;
+import com.hivemq.client.mqtt.persistence.MqttOfflineBufferConfig;
+import com.hivemq.client.mqtt.persistence.MqttPersistence;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -52,6 +54,54 @@ public interface Mqtt5ClientAdvancedConfigBuilderBase<B extends Mqtt5ClientAdvan
     @CheckReturnValue
     @NotNull B validatePayloadFormat(boolean validatePayloadFormat);
 
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isEarlySend() queued messages are sent before the CONNACK message
+     * is received}.
+     *
+     * @param earlySend whether early send is enabled.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B earlySend(boolean earlySend);
+
+    /**
+     * Sets the optional {@link Mqtt5ClientAdvancedConfig#getOutgoingPublishPersistence() persistence of outgoing QoS 1
+     * and QoS 2 PUBLISH messages}.
+     *
+     * @param persistence the persistence of outgoing QoS 1 and QoS 2 PUBLISH messages or <code>null</code> to keep the
+     *                    messages only in memory.
+     * @return the builder.
+     * @throws IllegalArgumentException if the persistence is already used as the incoming publish persistence.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B outgoingPublishPersistence(@Nullable MqttPersistence persistence);
+
+    /**
+     * Sets the optional {@link Mqtt5ClientAdvancedConfig#getIncomingPublishPersistence() persistence of the state of
+     * incoming QoS 2 PUBLISH messages}.
+     *
+     * @param persistence the persistence of the state of incoming QoS 2 PUBLISH messages or <code>null</code> to keep
+     *                    the state only in memory.
+     * @return the builder.
+     * @throws IllegalArgumentException if the persistence is already used as the outgoing publish persistence.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B incomingPublishPersistence(@Nullable MqttPersistence persistence);
+
+    /**
+     * Sets the optional {@link Mqtt5ClientAdvancedConfig#getOfflineBuffer() configuration of the offline buffer}.
+     *
+     * @param offlineBuffer the configuration of the offline buffer or <code>null</code> to not buffer messages while
+     *                      the client reconnects.
+     * @return the builder.
+     * @since 1.2
+     */
+    @CheckReturnValue
+    @NotNull B offlineBuffer(@Nullable MqttOfflineBufferConfig offlineBuffer);
+
     /**
      * Sets the optional {@link Mqtt5ClientInterceptors collection of interceptors of MQTT messages}.
      *
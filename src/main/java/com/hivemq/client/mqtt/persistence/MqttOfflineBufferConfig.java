@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.persistence;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.persistence.MqttOfflineBufferConfigImplBuilder;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Configuration of the buffer for outgoing PUBLISH messages while the client is disconnected and reconnects.
+ * <p>
+ * Messages are buffered in memory up to {@link #getMaximumMemoryBytes()}. If a spill directory is configured, further
+ * messages are spilled to a memory-mapped file in this directory up to {@link #getMaximumDiskBytes()}. The buffered
+ * messages are sent in order as soon as the client is connected again. If the buffer is full, messages are dropped
+ * according to the {@link #getOverflowPolicy() overflow policy}.
+ *
+ * @author agent
+ * @since 1.2
+ */
+@DoNotImplement
+public interface MqttOfflineBufferConfig {
+
+    /**
+     * The default maximum amount of buffered messages.
+     */
+    int DEFAULT_MAXIMUM_MESSAGES = 100_000;
+    /**
+     * The default maximum amount of bytes of the messages buffered in memory.
+     */
+    long DEFAULT_MAXIMUM_MEMORY_BYTES = 16 * 1024 * 1024;
+    /**
+     * The default maximum size in bytes of the spill file.
+     */
+    int DEFAULT_MAXIMUM_DISK_BYTES = 256 * 1024 * 1024;
+    /**
+     * The default overflow policy.
+     */
+    @NotNull MqttOfflineBufferOverflowPolicy DEFAULT_OVERFLOW_POLICY = MqttOfflineBufferOverflowPolicy.DROP_OLDEST;
+
+    /**
+     * Creates a builder for an offline buffer configuration.
+     *
+     * @return the created builder for an offline buffer configuration.
+     */
+    static @NotNull MqttOfflineBufferConfigBuilder builder() {
+        return new MqttOfflineBufferConfigImplBuilder();
+    }
+
+    /**
+     * @return the maximum amount of buffered messages, in memory and on disk.
+     */
+    int getMaximumMessages();
+
+    /**
+     * Returns the maximum amount of bytes of the messages buffered in memory. The size of a message is approximated by
+     * the size of its topic and payload.
+     *
+     * @return the maximum amount of bytes of the messages buffered in memory.
+     */
+    long getMaximumMemoryBytes();
+
+    /**
+     * @return the optional directory of the spill file. If absent, messages are only buffered in memory.
+     */
+    @NotNull Optional<Path> getSpillDirectory();
+
+    /**
+     * @return the maximum size in bytes of the spill file.
+     */
+    int getMaximumDiskBytes();
+
+    /**
+     * @return the policy that decides which messages are dropped if the buffer is full.
+     */
+    @NotNull MqttOfflineBufferOverflowPolicy getOverflowPolicy();
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.persistence;
+
+import com.hivemq.client.annotations.CheckReturnValue;
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+
+/**
+ * Builder for a {@link MqttOfflineBufferConfig}.
+ *
+ * @author agent
+ * @since 1.2
+ */
+@DoNotImplement
+public interface MqttOfflineBufferConfigBuilder {
+
+    /**
+     * Sets the {@link MqttOfflineBufferConfig#getMaximumMessages() maximum amount of buffered messages}.
+     * <p>
+     * The value must be greater than 0.
+     *
+     * @param maximumMessages the maximum amount of buffered messages.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull MqttOfflineBufferConfigBuilder maximumMessages(int maximumMessages);
+
+    /**
+     * Sets the {@link MqttOfflineBufferConfig#getMaximumMemoryBytes() maximum amount of bytes of the messages buffered
+     * in memory}.
+     * <p>
+     * The value must not be negative. 0 means that all messages are spilled to disk.
+     *
+     * @param maximumMemoryBytes the maximum amount of bytes of the messages buffered in memory.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull MqttOfflineBufferConfigBuilder maximumMemoryBytes(long maximumMemoryBytes);
+
+    /**
+     * Sets the optional {@link MqttOfflineBufferConfig#getSpillDirectory() directory of the spill file}.
+     * <p>
+     * The spill file is created when the first message is spilled and deleted as soon as all spilled messages are
+     * sent. The directory is created if it does not exist.
+     *
+     * @param spillDirectory the directory of the spill file or <code>null</code> to only buffer messages in memory.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull MqttOfflineBufferConfigBuilder spillDirectory(@Nullable Path spillDirectory);
+
+    /**
+     * Sets the {@link MqttOfflineBufferConfig#getMaximumDiskBytes() maximum size in bytes of the spill file}.
+     * <p>
+     * The value must be at least 4096.
+     *
+     * @param maximumDiskBytes the maximum size in bytes of the spill file.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull MqttOfflineBufferConfigBuilder maximumDiskBytes(int maximumDiskBytes);
+
+    /**
+     * Sets the {@link MqttOfflineBufferConfig#getOverflowPolicy() overflow policy}.
+     *
+     * @param overflowPolicy the policy that decides which messages are dropped if the buffer is full.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull MqttOfflineBufferConfigBuilder overflowPolicy(@NotNull MqttOfflineBufferOverflowPolicy overflowPolicy);
+
+    /**
+     * Builds the offline buffer configuration.
+     *
+     * @return the built offline buffer configuration.
+     */
+    @NotNull MqttOfflineBufferConfig build();
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.mqtt.persistence;
+
+/**
+ * Policy that decides which messages are dropped if the offline buffer is full.
+ * <p>
+ * Dropped messages are completed with a {@link com.hivemq.client.mqtt.exceptions.MqttClientStateException
+ * MqttClientStateException}.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public enum MqttOfflineBufferOverflowPolicy {
+
+    /**
+     * The oldest buffered messages are dropped to make room for the new message.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new message is dropped, the buffered messages are kept.
+     */
+    DROP_NEWEST
+}
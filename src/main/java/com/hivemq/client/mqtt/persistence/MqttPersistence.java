@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.mqtt.persistence;
+
+import com.hivemq.client.internal.mqtt.persistence.MqttSegmentLogPersistenceImplBuilder;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+
+/**
+ * Pluggable store for client state that must survive a restart of the application, for example unacknowledged QoS 1
+ * and QoS 2 PUBLISH messages.
+ * <p>
+ * A persistence stores binary values under long keys. All methods of a persistence used by a client are called by the
+ * same thread. A persistence must only be used by one client and for one kind of state.
+ * <p>
+ * Writes do not have to be durable until {@link #sync()} is called. A client calls {@link #sync()} before it sends
+ * messages whose state was put to the persistence, so one sync covers a whole batch of messages.
+ *
+ * @author agent
+ * @since 1.2
+ */
+public interface MqttPersistence extends Closeable {
+
+    /**
+     * Creates a builder for the built-in persistence that stores the values in an append-only log of memory-mapped
+     * segment files.
+     *
+     * @return the created builder for a segment log persistence.
+     */
+    static @NotNull MqttSegmentLogPersistenceBuilder segmentLogBuilder() {
+        return new MqttSegmentLogPersistenceImplBuilder();
+    }
+
+    /**
+     * Stores the value under the key, replacing any previous value.
+     * <p>
+     * The order of a key is defined when the key is first put and does not change when its value is replaced.
+     *
+     * @param key   the key.
+     * @param value the value. The position and limit of the buffer must not be changed.
+     */
+    void put(long key, @NotNull ByteBuffer value);
+
+    /**
+     * Removes the value of the key if present.
+     *
+     * @param key the key.
+     */
+    void remove(long key);
+
+    /**
+     * Removes all values.
+     */
+    void clear();
+
+    /**
+     * Calls the consumer for every stored key and value in the order the keys were first put.
+     *
+     * @param consumer the consumer of the stored keys and values.
+     */
+    void forEach(@NotNull EntryConsumer consumer);
+
+    /**
+     * Makes all previous modifications durable.
+     */
+    void sync();
+
+    /**
+     * Makes all previous modifications durable and releases the resources of this persistence.
+     */
+    @Override
+    void close();
+
+    /**
+     * Consumer of the keys and values of a {@link MqttPersistence}.
+     *
+     * @since 1.2
+     */
+    @FunctionalInterface
+    interface EntryConsumer {
+
+        /**
+         * Consumes a key and its value.
+         *
+         * @param key   the key.
+         * @param value the value. The buffer is only valid during this call.
+         */
+        void accept(long key, @NotNull ByteBuffer value);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.mqtt.persistence;
+
+import com.hivemq.client.annotations.CheckReturnValue;
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+/**
+ * Builder for the built-in {@link MqttPersistence} that stores the values in an append-only log of memory-mapped
+ * segment files.
+ * <p>
+ * Removing or replacing values appends to the log. Segments are deleted when none of their values are live any more,
+ * and the oldest segment is compacted when at least half of its values are dead.
+ *
+ * @author agent
+ * @since 1.2
+ */
+@DoNotImplement
+public interface MqttSegmentLogPersistenceBuilder {
+
+    /**
+     * The default size of a segment file in bytes.
+     */
+    int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * Sets the directory of the segment files.
+     * <p>
+     * It is mandatory to set a directory. The directory is created if it does not exist. The directory must only be
+     * used by one persistence at a time.
+     *
+     * @param directory the directory of the segment files.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull MqttSegmentLogPersistenceBuilder directory(@NotNull Path directory);
+
+    /**
+     * Sets the size of a segment file in bytes.
+     * <p>
+     * Values that do not fit into a segment of this size get a segment of their own.
+     *
+     * @param segmentSize the size of a segment file in bytes.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull MqttSegmentLogPersistenceBuilder segmentSize(int segmentSize);
+
+    /**
+     * Builds the persistence and restores the values stored in the directory.
+     *
+     * @return the built persistence.
+     * @throws java.io.UncheckedIOException if the segment files can not be opened.
+     */
+    @NotNull MqttPersistence build();
+}
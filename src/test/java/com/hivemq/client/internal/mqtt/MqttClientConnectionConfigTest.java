@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasMapping;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class MqttClientConnectionConfigTest {
+
+    @Test
+    void getSendTopicAliasCounts_noTopicAliases_zero() {
+        final MqttClientConnectionConfig connectionConfig = createConnectionConfig(0);
+
+        assertNull(connectionConfig.getSendTopicAliasMapping());
+        assertEquals(0, connectionConfig.getSendTopicAliasHitCount());
+        assertEquals(0, connectionConfig.getSendTopicAliasEvictionCount());
+    }
+
+    @Test
+    void getSendTopicAliasCounts_fromMapping() {
+        final MqttClientConnectionConfig connectionConfig = createConnectionConfig(1);
+        final MqttTopicAliasMapping mapping = connectionConfig.getSendTopicAliasMapping();
+        assertNotNull(mapping);
+
+        mapping.onPublish(MqttTopicImpl.of("a"));
+        mapping.onPublish(MqttTopicImpl.of("a"));
+        mapping.onPublish(MqttTopicImpl.of("a"));
+        assertEquals(2, connectionConfig.getSendTopicAliasHitCount());
+        assertEquals(0, connectionConfig.getSendTopicAliasEvictionCount());
+
+        for (int i = 0; i < 1_000; i++) {
+            mapping.onPublish(MqttTopicImpl.of("b"));
+        }
+        assertEquals(mapping.getHitCount(), connectionConfig.getSendTopicAliasHitCount());
+        assertTrue(connectionConfig.getSendTopicAliasEvictionCount() > 0);
+    }
+
+    private static @NotNull MqttClientConnectionConfig createConnectionConfig(final int sendTopicAliasMaximum) {
+        return new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false,
+                null, 10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10,
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, sendTopicAliasMaximum, MqttQos.EXACTLY_ONCE, true,
+                true, true, true, new EmbeddedChannel());
+    }
+}
@@ -31,7 +31,7 @@ class MqttClientExecutorConfigImplTest {
     void equals() {
         EqualsVerifier.forClass(MqttClientExecutorConfigImpl.class)
                 .withIgnoredAnnotations(NotNull.class) // EqualsVerifier thinks @NotNull Optional is @NotNull
-                .withNonnullFields("applicationScheduler")
+                .withNonnullFields("eventLoopPlacement", "applicationScheduler")
                 .suppress(Warning.STRICT_INHERITANCE)
                 .verify();
     }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.MqttClientSocketConfig;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class MqttClientSocketConfigImplTest {
+
+    @Test
+    void equals() {
+        EqualsVerifier.forClass(MqttClientSocketConfigImpl.class).suppress(Warning.STRICT_INHERITANCE).verify();
+    }
+
+    @Test
+    void builder_default() {
+        assertEquals(MqttClientSocketConfigImpl.DEFAULT, new MqttClientSocketConfigImplBuilder.Default().build());
+    }
+
+    @Test
+    void builder() {
+        final MqttClientSocketConfigImpl socketConfig = new MqttClientSocketConfigImplBuilder.Default() //
+                .tcpNoDelay(false)
+                .keepAlive(false)
+                .sendBufferSize(1 << 20)
+                .receiveBufferSize(1 << 21)
+                .writeBufferWaterMark(1024, 2048)
+                .tcpQuickAck(true)
+                .tcpUserTimeout(30, TimeUnit.SECONDS)
+                .build();
+
+        assertFalse(socketConfig.isTcpNoDelay());
+        assertFalse(socketConfig.isKeepAlive());
+        assertEquals(1 << 20, socketConfig.getSendBufferSize());
+        assertEquals(1 << 21, socketConfig.getReceiveBufferSize());
+        assertEquals(1024, socketConfig.getWriteBufferLowWaterMark());
+        assertEquals(2048, socketConfig.getWriteBufferHighWaterMark());
+        assertTrue(socketConfig.isTcpQuickAck());
+        assertEquals(30_000, socketConfig.getTcpUserTimeoutMs());
+        assertEquals(socketConfig, socketConfig.extend().build());
+    }
+
+    @Test
+    void builder_invalidValues_throw() {
+        final MqttClientSocketConfigImplBuilder.Default builder = new MqttClientSocketConfigImplBuilder.Default();
+        assertThrows(IllegalArgumentException.class, () -> builder.sendBufferSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> builder.receiveBufferSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> builder.writeBufferWaterMark(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> builder.writeBufferWaterMark(10, 9));
+        assertThrows(IllegalArgumentException.class, () -> builder.tcpUserTimeout(-1, TimeUnit.MILLISECONDS));
+        assertThrows(IllegalArgumentException.class, () -> builder.tcpUserTimeout(100, TimeUnit.DAYS));
+    }
+
+    @Test
+    void transportConfig_nested() {
+        final MqttClientTransportConfigImpl transportConfig =
+                new MqttClientTransportConfigImplBuilder.Default().socketConfig()
+                        .sendBufferSize(4096)
+                        .applySocketConfig()
+                        .build();
+
+        assertEquals(4096, transportConfig.getSocketConfig().getSendBufferSize());
+        assertEquals(MqttClientSocketConfig.DEFAULT_TCP_NO_DELAY, transportConfig.getSocketConfig().isTcpNoDelay());
+        assertEquals(MqttClientSocketConfigImpl.DEFAULT, MqttClientTransportConfigImpl.DEFAULT.getSocketConfig());
+    }
+}
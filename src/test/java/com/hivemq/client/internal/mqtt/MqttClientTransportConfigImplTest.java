@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.MqttClientTransportConfig;
+import com.hivemq.client.mqtt.MqttDecoderCumulation;
+import com.hivemq.client.mqtt.MqttKeepAliveMode;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class MqttClientTransportConfigImplTest {
+
+    @Test
+    void decoderOptions_default() {
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default().build();
+        assertEquals(MqttClientTransportConfig.DEFAULT_DECODER_CUMULATION, transportConfig.getDecoderCumulation());
+        assertEquals(MqttClientTransportConfig.DEFAULT_DECODER_DISCARD_AFTER_READS,
+                transportConfig.getDecoderDiscardAfterReads());
+    }
+
+    @Test
+    void decoderOptions_preservedWhenExtended() {
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                .decoderCumulation(MqttDecoderCumulation.COMPOSITE)
+                .decoderDiscardAfterReads(4)
+                .build();
+        final MqttClientTransportConfigImpl extended = transportConfig.extend().serverPort(1884).build();
+        assertEquals(MqttDecoderCumulation.COMPOSITE, extended.getDecoderCumulation());
+        assertEquals(4, extended.getDecoderDiscardAfterReads());
+    }
+
+    @Test
+    void decoderDiscardAfterReads_notPositive_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MqttClientTransportConfigImplBuilder.Default().decoderDiscardAfterReads(0));
+    }
+
+    @Test
+    void connectRaceOptions_default() {
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default().build();
+        assertTrue(transportConfig.getFallbackServerAddresses().isEmpty());
+        assertEquals(MqttClientTransportConfig.DEFAULT_HAPPY_EYEBALLS, transportConfig.isHappyEyeballs());
+        assertEquals(MqttClientTransportConfig.DEFAULT_CONNECT_ATTEMPT_DELAY_MS,
+                transportConfig.getConnectAttemptDelayMs());
+        assertFalse(transportConfig.isConnectRace());
+        assertEquals(MqttClientTransportConfig.DEFAULT_ASYNC_DNS_RESOLUTION, transportConfig.isAsyncDnsResolution());
+    }
+
+    @Test
+    void connectRaceOptions_preservedWhenExtended() {
+        final InetSocketAddress fallback1 = InetSocketAddress.createUnresolved("fallback1", 1883);
+        final InetSocketAddress fallback2 = InetSocketAddress.createUnresolved("fallback2", 1883);
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                .addFallbackServerAddress(fallback1)
+                .addFallbackServerAddress(fallback2)
+                .happyEyeballs(true)
+                .connectAttemptDelay(1, TimeUnit.SECONDS)
+                .asyncDnsResolution(true)
+                .build();
+        final MqttClientTransportConfigImpl extended = transportConfig.extend().serverPort(1884).build();
+        assertEquals(Arrays.asList(fallback1, fallback2), extended.getFallbackServerAddresses());
+        assertTrue(extended.isHappyEyeballs());
+        assertEquals(1000, extended.getConnectAttemptDelayMs());
+        assertTrue(extended.isConnectRace());
+        assertTrue(extended.isAsyncDnsResolution());
+    }
+
+    @Test
+    void connectAttemptDelay_negative_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MqttClientTransportConfigImplBuilder.Default().connectAttemptDelay(-1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void mqttConnectTimeout_default() {
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default().build();
+        assertEquals(
+                MqttClientTransportConfig.DEFAULT_MQTT_CONNECT_TIMEOUT_MS, transportConfig.getMqttConnectTimeoutMs());
+    }
+
+    @Test
+    void mqttConnectTimeout_preservedWhenExtended() {
+        final MqttClientTransportConfigImpl transportConfig =
+                new MqttClientTransportConfigImplBuilder.Default().mqttConnectTimeout(5, TimeUnit.SECONDS).build();
+        final MqttClientTransportConfigImpl extended = transportConfig.extend().serverPort(1884).build();
+        assertEquals(5000, extended.getMqttConnectTimeoutMs());
+    }
+
+    @Test
+    void mqttConnectTimeout_negative_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MqttClientTransportConfigImplBuilder.Default().mqttConnectTimeout(-1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void keepAliveMode_default() {
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default().build();
+        assertEquals(MqttKeepAliveMode.ANY_TRAFFIC, transportConfig.getKeepAliveMode());
+    }
+
+    @Test
+    void keepAliveMode_preservedWhenExtended() {
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                .keepAliveMode(MqttKeepAliveMode.ADAPTIVE)
+                .build();
+        final MqttClientTransportConfigImpl extended = transportConfig.extend().serverPort(1884).build();
+        assertEquals(MqttKeepAliveMode.ADAPTIVE, extended.getKeepAliveMode());
+    }
+
+    @Test
+    void keepAliveMode_null_throws() {
+        assertThrows(NullPointerException.class,
+                () -> new MqttClientTransportConfigImplBuilder.Default().keepAliveMode(null));
+    }
+
+    @Test
+    void domainSocketPath_preservedWhenExtended_disablesConnectRace() {
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                .domainSocketPath("/var/run/mqtt.sock")
+                .happyEyeballs(true)
+                .build();
+        final MqttClientTransportConfigImpl extended = transportConfig.extend().serverPort(1884).build();
+        assertEquals(Optional.of("/var/run/mqtt.sock"), extended.getDomainSocketPath());
+        assertFalse(extended.isConnectRace());
+    }
+
+    @Test
+    void domainSocketPath_empty_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MqttClientTransportConfigImplBuilder.Default().domainSocketPath(""));
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.advanced;
+
+import com.hivemq.client.mqtt.persistence.MqttPersistence;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author agent
+ */
+class MqttClientAdvancedConfigBuilderTest {
+
+    @Test
+    void publishPersistence_differentInstances() {
+        final MqttPersistence outgoing = mock(MqttPersistence.class);
+        final MqttPersistence incoming = mock(MqttPersistence.class);
+
+        final MqttClientAdvancedConfig advancedConfig = new MqttClientAdvancedConfigBuilder.Default()
+                .outgoingPublishPersistence(outgoing)
+                .incomingPublishPersistence(incoming)
+                .build();
+
+        assertSame(outgoing, advancedConfig.getOutgoingPublishPersistence());
+        assertSame(incoming, advancedConfig.getIncomingPublishPersistence());
+    }
+
+    @Test
+    void publishPersistence_sameInstance_throws() {
+        final MqttPersistence persistence = mock(MqttPersistence.class);
+
+        assertThrows(IllegalArgumentException.class, () -> new MqttClientAdvancedConfigBuilder.Default()
+                .outgoingPublishPersistence(persistence)
+                .incomingPublishPersistence(persistence));
+        assertThrows(IllegalArgumentException.class, () -> new MqttClientAdvancedConfigBuilder.Default()
+                .incomingPublishPersistence(persistence)
+                .outgoingPublishPersistence(persistence));
+    }
+}
@@ -81,6 +81,8 @@ public abstract class AbstractMqttDecoderTest {
 
     @SuppressWarnings("NullabilityAnnotations")
     protected EmbeddedChannel channel;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttDecoder decoder;
 
     protected AbstractMqttDecoderTest(
             final @NotNull MqttMessageDecoders decoders, final @NotNull MqttVersion mqttVersion,
@@ -113,8 +115,22 @@ public abstract class AbstractMqttDecoderTest {
                         MqttClientTransportConfigImpl.DEFAULT, MqttClientExecutorConfigImpl.DEFAULT, advancedConfig,
                         MqttClientConfig.ConnectDefaults.of(null, null, null), ImmutableList.of(), ImmutableList.of());
 
+        decoder = new MqttDecoder(decoders, clientConfig, connect);
+        channel = new EmbeddedChannel();
+        channel.pipeline().addLast(decoder).addLast(disconnectHandler);
+    }
+
+    /**
+     * Closes the channel and adds the same decoder to a new channel after resetting it, like a reconnect does.
+     *
+     * @param connect the Connect message of the reconnect.
+     */
+    protected void resetChannel(final @NotNull MqttConnect connect) {
+        channel.close();
+        this.connect = connect;
+        decoder.reset(connect);
         channel = new EmbeddedChannel();
-        channel.pipeline().addLast(new MqttDecoder(decoders, clientConfig, connect)).addLast(disconnectHandler);
+        channel.pipeline().addLast(decoder).addLast(disconnectHandler);
     }
 
     protected void validatePayloadFormat() {
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.codec.decoder;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
+import com.hivemq.client.internal.mqtt.message.ping.MqttPingResp;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttVersion;
+import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelPipelineException;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class MqttDecoderResetTest {
+
+    private final @NotNull MqttDecoder decoder;
+
+    MqttDecoderResetTest() {
+        final MqttClientConfig clientConfig =
+                new MqttClientConfig(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"),
+                        MqttClientTransportConfigImpl.DEFAULT, MqttClientExecutorConfigImpl.DEFAULT,
+                        MqttClientAdvancedConfig.DEFAULT, MqttClientConfig.ConnectDefaults.of(null, null, null),
+                        ImmutableList.of(), ImmutableList.of());
+        final MqttMessageDecoders decoders = new MqttMessageDecoders() {{
+            decoders[Mqtt5MessageType.PINGRESP.getCode()] = AbstractMqttDecoderTest.createPingRespDecoder();
+        }};
+        decoder = new MqttDecoder(decoders, clientConfig, MqttConnect.DEFAULT);
+    }
+
+    @Test
+    void isSharable_onlyBetweenResetAndHandlerAdded() {
+        assertFalse(decoder.isSharable());
+
+        new EmbeddedChannel(decoder).close();
+        assertFalse(decoder.isSharable());
+
+        decoder.reset(MqttConnect.DEFAULT);
+        assertTrue(decoder.isSharable());
+
+        new EmbeddedChannel(decoder).close();
+        assertFalse(decoder.isSharable());
+    }
+
+    @Test
+    void addedToSecondChannel_withoutReset_rejected() {
+        new EmbeddedChannel(decoder).close();
+
+        // added directly, as the initializer of an EmbeddedChannel only logs the exception
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        assertThrows(ChannelPipelineException.class, () -> channel.pipeline().addLast(decoder));
+        channel.close();
+    }
+
+    @Test
+    void addedToSecondChannel_afterReset_decodes() {
+        final EmbeddedChannel channel1 = new EmbeddedChannel(decoder);
+        channel1.writeInbound(Unpooled.wrappedBuffer(new byte[]{(byte) 0b1101_0000, 0}));
+        assertSame(MqttPingResp.INSTANCE, channel1.readInbound());
+        channel1.close();
+
+        decoder.reset(MqttConnect.DEFAULT);
+        final EmbeddedChannel channel2 = new EmbeddedChannel(decoder);
+        assertSame(decoder, channel2.pipeline().get(MqttDecoder.class));
+        channel2.writeInbound(Unpooled.wrappedBuffer(new byte[]{(byte) 0b1101_0000, 0}));
+        assertSame(MqttPingResp.INSTANCE, channel2.readInbound());
+        channel2.close();
+    }
+}
@@ -18,10 +18,12 @@
 package com.hivemq.client.internal.mqtt.codec.decoder.mqtt3;
 
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttMessageDecoders;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnectBuilder;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import com.hivemq.client.mqtt.mqtt3.message.Mqtt3MessageType;
 import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -202,4 +204,64 @@ class Mqtt3PublishDecoderTest extends AbstractMqtt3DecoderTest {
         assertFalse(channel.isOpen());
     }
 
+    @Test
+    void decode_recurringTopic_topicCacheHit() throws Exception {
+        final MqttStatefulPublish publish1 = decodeQos0("Hello/World/Topic", "1");
+        final MqttStatefulPublish publish2 = decodeQos0("Hello/World/Topic", "2");
+
+        assertEquals("Hello/World/Topic", publish2.stateless().getTopic().toString());
+        assertSame(publish1.stateless().getTopic(), publish2.stateless().getTopic());
+        assertArrayEquals("1".getBytes(), publish1.stateless().getPayloadAsBytes());
+        assertArrayEquals("2".getBytes(), publish2.stateless().getPayloadAsBytes());
+    }
+
+    @Test
+    void decode_differentTopic_topicCacheMiss() throws Exception {
+        final MqttStatefulPublish publish1 = decodeQos0("Hello/World/Topic", "1");
+        final MqttStatefulPublish publish2 = decodeQos0("Hello/World/Topix", "2");
+        final MqttStatefulPublish publish3 = decodeQos0("Hello/World", "3");
+
+        assertEquals("Hello/World/Topic", publish1.stateless().getTopic().toString());
+        assertEquals("Hello/World/Topix", publish2.stateless().getTopic().toString());
+        assertEquals("Hello/World", publish3.stateless().getTopic().toString());
+        assertNotSame(publish1.stateless().getTopic(), publish2.stateless().getTopic());
+    }
+
+    @Test
+    void decode_manyTopics_evictedTopicsDecodedAgain() throws Exception {
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 64; i++) {
+                final String topic = "topic/" + i;
+                assertEquals(topic, decodeQos0(topic, "payload").stateless().getTopic().toString());
+            }
+        }
+    }
+
+    @Test
+    void decode_recurringTopicAfterReset_topicCacheKept() throws Exception {
+        final MqttStatefulPublish publish1 = decodeQos0("Hello/World/Topic", "1");
+        resetChannel(connect);
+        final MqttStatefulPublish publish2 = decodeQos0("Hello/World/Topic", "2");
+
+        assertSame(publish1.stateless().getTopic(), publish2.stateless().getTopic());
+    }
+
+    @Test
+    void decode_recurringTopicAfterResetWithOtherRestrictions_topicCacheRecreated() throws Exception {
+        final MqttStatefulPublish publish1 = decodeQos0("Hello/World/Topic", "1");
+        resetChannel(new MqttConnectBuilder.Default().restrictions().receiveMaximum(10).applyRestrictions().build());
+        final MqttStatefulPublish publish2 = decodeQos0("Hello/World/Topic", "2");
+
+        assertEquals(publish1.stateless().getTopic(), publish2.stateless().getTopic());
+        assertNotSame(publish1.stateless().getTopic(), publish2.stateless().getTopic());
+    }
+
+    private @NotNull MqttStatefulPublish decodeQos0(final @NotNull String topic, final @NotNull String payload)
+            throws Exception {
+
+        channel.writeInbound(createWellformedPublish(false, 0, false, 1, topic.getBytes(), payload.getBytes()));
+        final MqttStatefulPublish publish = channel.readInbound();
+        assertNotNull(publish);
+        return publish;
+    }
 }
\ No newline at end of file
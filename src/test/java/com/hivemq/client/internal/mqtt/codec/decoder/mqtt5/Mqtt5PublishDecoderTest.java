@@ -924,6 +924,44 @@ class Mqtt5PublishDecoderTest extends AbstractMqtt5DecoderTest {
         assertEquals(3, publishInternalTopicAliasOnly.getTopicAlias());
     }
 
+    @Test
+    void decode_topicAlias_clearedOnReset() {
+        final byte[] encodedWithTopicName = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                11,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                3,
+                //     topic alias
+                0x23, 0, 3
+        };
+        final MqttStatefulPublish publishInternal = decodeInternal(encodedWithTopicName);
+        assertEquals(3, publishInternal.getTopicAlias());
+
+        resetChannel(connect);
+
+        final byte[] encodedWithTopicAliasOnly = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                6,
+                // variable header
+                //   topic name is empty
+                0, 0,
+                //   properties
+                3,
+                //     topic alias
+                0x23, 0, 3
+        };
+        decodeNok(encodedWithTopicAliasOnly, TOPIC_ALIAS_INVALID);
+    }
+
     @Test
     void decode_topicAliasDuplicate_returnsNull() {
         final byte[] encoded = {
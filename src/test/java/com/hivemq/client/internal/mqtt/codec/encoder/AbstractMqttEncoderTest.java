@@ -20,8 +20,10 @@ package com.hivemq.client.internal.mqtt.codec.encoder;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
 import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.MqttMessage;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.embedded.EmbeddedChannel;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.AfterEach;
@@ -86,6 +88,24 @@ public abstract class AbstractMqttEncoderTest {
         }
     }
 
+    /**
+     * Encodes the given message with the encoder of the channel and checks that it produces the same bytes as the
+     * given reference encoder.
+     *
+     * @param message          the message to encode.
+     * @param referenceEncoder the encoder that produces the expected bytes.
+     */
+    protected void encodeSameAs(
+            final @NotNull MqttMessage message, final @NotNull MqttMessageEncoder<?> referenceEncoder) {
+
+        final ByteBuf reference =
+                referenceEncoder.castAndEncode(message, new MqttEncoderContext(ByteBufAllocator.DEFAULT));
+        final byte[] expected = new byte[reference.readableBytes()];
+        reference.readBytes(expected);
+        reference.release();
+        encode(message, expected);
+    }
+
     protected static @NotNull MqttPingReqEncoder createPingReqEncoder() {
         return new MqttPingReqEncoder();
     }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.codec.encoder;
+
+import io.netty.channel.ChannelPipelineException;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class MqttEncoderResetTest {
+
+    private final @NotNull MqttEncoder encoder = new MqttEncoder(new MqttMessageEncoders() {});
+
+    @Test
+    void isSharable_onlyBetweenResetAndHandlerAdded() {
+        assertFalse(encoder.isSharable());
+
+        new EmbeddedChannel(encoder).close();
+        assertFalse(encoder.isSharable());
+
+        encoder.reset();
+        assertTrue(encoder.isSharable());
+
+        new EmbeddedChannel(encoder).close();
+        assertFalse(encoder.isSharable());
+    }
+
+    @Test
+    void addedToSecondChannel_withoutReset_rejected() {
+        new EmbeddedChannel(encoder).close();
+
+        // added directly, as the initializer of an EmbeddedChannel only logs the exception
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        assertThrows(ChannelPipelineException.class, () -> channel.pipeline().addLast(encoder));
+        channel.close();
+    }
+
+    @Test
+    void addedToSecondChannel_afterReset() {
+        new EmbeddedChannel(encoder).close();
+
+        encoder.reset();
+        final EmbeddedChannel channel = new EmbeddedChannel(encoder);
+        assertSame(encoder, channel.pipeline().get(MqttEncoder.class));
+        channel.close();
+    }
+}
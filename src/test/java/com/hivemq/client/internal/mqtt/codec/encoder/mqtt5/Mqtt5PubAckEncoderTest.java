@@ -32,6 +32,7 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import static com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT;
 import static org.junit.jupiter.params.provider.EnumSource.Mode.EXCLUDE;
@@ -102,6 +103,19 @@ class Mqtt5PubAckEncoderTest extends AbstractMqtt5EncoderWithUserPropertiesTest
         encode(expected, pubAck);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 255, 256, 65_535})
+    void encode_omitReasonCodeSuccess_sameAsFullEncoding(final int packetIdentifier) {
+        final MqttPubAck pubAck = new MqttPubAck(
+                packetIdentifier, Mqtt5PubAckReasonCode.SUCCESS, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+        encodeSameAs(pubAck, new Mqtt5PubAckEncoder() {
+            @Override
+            boolean isDefault(final @NotNull MqttPubAck message) {
+                return false; // always use the full encoding
+            }
+        });
+    }
+
     @ParameterizedTest
     @EnumSource(value = Mqtt5PubAckReasonCode.class, mode = EXCLUDE, names = {"SUCCESS"})
     void encode_doNotOmitNonSuccessReasonCodes(final @NotNull Mqtt5PubAckReasonCode reasonCode) {
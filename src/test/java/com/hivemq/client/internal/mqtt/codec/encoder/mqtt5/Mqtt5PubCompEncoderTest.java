@@ -31,6 +31,7 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import static com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT;
 import static com.hivemq.client.mqtt.mqtt5.message.publish.pubcomp.Mqtt5PubCompReasonCode.PACKET_IDENTIFIER_NOT_FOUND;
@@ -90,6 +91,19 @@ class Mqtt5PubCompEncoderTest extends AbstractMqtt5EncoderWithUserPropertiesTest
         encode(expected, pubComp);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 255, 256, 65_535})
+    void encode_omitReasonCodeSuccess_sameAsFullEncoding(final int packetIdentifier) {
+        final MqttPubComp pubComp =
+                new MqttPubComp(packetIdentifier, SUCCESS, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+        encodeSameAs(pubComp, new Mqtt5PubCompEncoder() {
+            @Override
+            boolean isDefault(final @NotNull MqttPubComp message) {
+                return false; // always use the full encoding
+            }
+        });
+    }
+
     @ParameterizedTest
     @EnumSource(value = Mqtt5PubCompReasonCode.class, mode = EXCLUDE, names = {"SUCCESS"})
     void encode_reasonCodes(final @NotNull Mqtt5PubCompReasonCode reasonCode) {
@@ -29,6 +29,7 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import static com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT;
 import static com.hivemq.client.mqtt.mqtt5.message.publish.pubrec.Mqtt5PubRecReasonCode.SUCCESS;
@@ -86,6 +87,19 @@ class Mqtt5PubRecEncoderTest extends AbstractMqtt5EncoderWithUserPropertiesTest
         encode(expected, pubRec);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 255, 256, 65_535})
+    void encode_omitReasonCodeSuccess_sameAsFullEncoding(final int packetIdentifier) {
+        final MqttPubRec pubRec =
+                new MqttPubRec(packetIdentifier, SUCCESS, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+        encodeSameAs(pubRec, new Mqtt5PubRecEncoder() {
+            @Override
+            boolean isDefault(final @NotNull MqttPubRec message) {
+                return false; // always use the full encoding
+            }
+        });
+    }
+
     @ParameterizedTest
     @EnumSource(value = Mqtt5PubRecReasonCode.class, mode = EXCLUDE, names = {"SUCCESS"})
     void encode_reasonCodes(final @NotNull Mqtt5PubRecReasonCode reasonCode) {
@@ -30,6 +30,7 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import static com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT;
 import static com.hivemq.client.mqtt.mqtt5.message.publish.pubrel.Mqtt5PubRelReasonCode.SUCCESS;
@@ -87,6 +88,19 @@ class Mqtt5PubRelEncoderTest extends AbstractMqtt5EncoderWithUserPropertiesTest
         encode(expected, pubRel);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 255, 256, 65_535})
+    void encode_omitReasonCodeSuccess_sameAsFullEncoding(final int packetIdentifier) {
+        final MqttPubRel pubRel =
+                new MqttPubRel(packetIdentifier, SUCCESS, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+        encodeSameAs(pubRel, new Mqtt5PubRelEncoder() {
+            @Override
+            boolean isDefault(final @NotNull MqttPubRel message) {
+                return false; // always use the full encoding
+            }
+        });
+    }
+
     @ParameterizedTest
     @EnumSource(value = Mqtt5PubRelReasonCode.class, mode = EXCLUDE, names = {"SUCCESS"})
     void encode_reasonCodes(final @NotNull Mqtt5PubRelReasonCode reasonCode) {
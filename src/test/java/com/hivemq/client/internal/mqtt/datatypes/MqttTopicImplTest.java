@@ -132,6 +132,39 @@ class MqttTopicImplTest {
         assertNull(mqtt5Topic);
     }
 
+    @Test
+    void from_byteBufWithCache_reusesRecurringTopic() {
+        final MqttTopicImpl[] cache = new MqttTopicImpl[4];
+        final ByteBuf byteBuf = Unpooled.buffer();
+        MqttBinaryData.encode("abc/def".getBytes(StandardCharsets.UTF_8), byteBuf);
+        MqttBinaryData.encode("abc/deg".getBytes(StandardCharsets.UTF_8), byteBuf);
+        MqttBinaryData.encode("abc/def".getBytes(StandardCharsets.UTF_8), byteBuf);
+
+        final MqttTopicImpl topic1 = MqttTopicImpl.decode(byteBuf, cache);
+        final MqttTopicImpl topic2 = MqttTopicImpl.decode(byteBuf, cache);
+        final MqttTopicImpl topic3 = MqttTopicImpl.decode(byteBuf, cache);
+        assertFalse(byteBuf.isReadable());
+        byteBuf.release();
+
+        assertNotNull(topic1);
+        assertNotNull(topic2);
+        assertEquals("abc/def", topic1.toString());
+        assertEquals("abc/deg", topic2.toString());
+        assertEquals(topic1, topic3);
+    }
+
+    @Test
+    void from_byteBufWithCache_returnsNullForInvalidTopic() {
+        final MqttTopicImpl[] cache = new MqttTopicImpl[4];
+        final ByteBuf byteBuf = Unpooled.buffer();
+        MqttBinaryData.encode("abc/+/def".getBytes(StandardCharsets.UTF_8), byteBuf);
+        MqttBinaryData.encode("abc/+/def".getBytes(StandardCharsets.UTF_8), byteBuf);
+
+        assertNull(MqttTopicImpl.decode(byteBuf, cache));
+        assertNull(MqttTopicImpl.decode(byteBuf, cache));
+        byteBuf.release();
+    }
+
     @Test
     void from_stringWithSingleLevelWildcard_throws() {
         final IllegalArgumentException exception =
@@ -234,6 +234,37 @@ class MqttUtf8StringImplTest {
         assertEquals(string, mqtt5UTF8String.toString());
     }
 
+    @Test
+    void from_directByteBuf() {
+        final String string = "abc\u00E4\u0800def";
+
+        final ByteBuf byteBuf = Unpooled.directBuffer();
+        MqttBinaryData.encode(string.getBytes(StandardCharsets.UTF_8), byteBuf);
+        final MqttUtf8StringImpl mqtt5UTF8String = MqttUtf8StringImpl.decode(byteBuf);
+        byteBuf.release();
+
+        assertNotNull(mqtt5UTF8String);
+        assertEquals(string, mqtt5UTF8String.toString());
+    }
+
+    @Test
+    void from_byteBufWithNullCharacter_returnsNull() {
+        final ByteBuf byteBuf = Unpooled.directBuffer();
+        MqttBinaryData.encode(new byte[]{'a', 'b', 'c', '\0', 'd', 'e', 'f'}, byteBuf);
+        assertNull(MqttUtf8StringImpl.decode(byteBuf));
+        byteBuf.release();
+    }
+
+    @Test
+    void from_byteBufWithUtf16Surrogates_returnsNull() {
+        final ByteBuf byteBuf = Unpooled.buffer();
+        byteBuf.writeByte('x'); // arbitrary offset before the encoded string
+        MqttBinaryData.encode(new byte[]{'a', 'b', 'c', (byte) 0xED, (byte) 0xA0, (byte) 0x80, 'd', 'e', 'f'}, byteBuf);
+        byteBuf.skipBytes(1);
+        assertNull(MqttUtf8StringImpl.decode(byteBuf));
+        byteBuf.release();
+    }
+
     @Test
     void to_byteBuf() {
         final String string = "abcdef";
@@ -389,4 +420,14 @@ class MqttUtf8StringImplTest {
         assertEquals("test".hashCode(), string.hashCode());
         assertEquals("test".hashCode(), binary.hashCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    void hashCode_doesNotConvertBinary() {
+        final byte[] bytes = "t\u00e4st\ud83d\ude00".getBytes(StandardCharsets.UTF_8);
+        final MqttUtf8StringImpl binary = MqttUtf8StringImpl.of(bytes);
+        assertNotNull(binary);
+
+        assertEquals("t\u00e4st\ud83d\ude00".hashCode(), binary.hashCode());
+        assertSame(bytes, binary.toBinary());
+    }
+}
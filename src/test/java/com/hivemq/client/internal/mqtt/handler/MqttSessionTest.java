@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler;
+
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoder;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingQosHandler;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttOutgoingQosHandler;
+import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubscriptionHandler;
+import com.hivemq.client.internal.mqtt.message.connect.connack.MqttConnAck;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.EventLoop;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+class MqttSessionTest {
+
+    private MqttSubscriptionHandler subscriptionHandler;
+    private MqttIncomingQosHandler incomingQosHandler;
+    private MqttOutgoingQosHandler outgoingQosHandler;
+    private MqttSession session;
+    private ChannelPipeline pipeline;
+    private EventLoop eventLoop;
+
+    @BeforeEach
+    void setUp() {
+        subscriptionHandler = mock(MqttSubscriptionHandler.class);
+        incomingQosHandler = mock(MqttIncomingQosHandler.class);
+        outgoingQosHandler = mock(MqttOutgoingQosHandler.class);
+        session = new MqttSession(subscriptionHandler, incomingQosHandler, outgoingQosHandler);
+        pipeline = mock(ChannelPipeline.class);
+        eventLoop = mock(EventLoop.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(eventLoop).execute(any());
+    }
+
+    @Test
+    void startOrResume_addsHandlers() {
+        final MqttClientConnectionConfig connectionConfig = mock(MqttClientConnectionConfig.class);
+
+        session.startOrResume(mock(MqttConnAck.class), connectionConfig, pipeline, eventLoop);
+
+        assertTrue(session.hasSession());
+        verify(pipeline).addAfter(MqttDecoder.NAME, MqttOutgoingQosHandler.NAME, outgoingQosHandler);
+        verify(outgoingQosHandler).onSessionStartOrResume(connectionConfig, eventLoop);
+        verify(outgoingQosHandler, never()).onSessionConfirmed(any(), any());
+    }
+
+    @Test
+    void startEarly_thenConnAck_confirmsWithoutAddingHandlersAgain() {
+        final MqttClientConnectionConfig earlyConfig = mock(MqttClientConnectionConfig.class);
+        final MqttClientConnectionConfig connectionConfig = mock(MqttClientConnectionConfig.class);
+
+        session.startEarly(earlyConfig, pipeline, eventLoop);
+        assertFalse(session.hasSession());
+        verify(subscriptionHandler).onSessionStartEarly(earlyConfig, eventLoop);
+        verify(incomingQosHandler).onSessionStartEarly(earlyConfig, eventLoop);
+        verify(outgoingQosHandler).onSessionStartEarly(earlyConfig, eventLoop);
+
+        session.startOrResume(mock(MqttConnAck.class), connectionConfig, pipeline, eventLoop);
+
+        assertTrue(session.hasSession());
+        verify(pipeline, times(1)).addAfter(
+                eq(MqttDecoder.NAME), eq(MqttOutgoingQosHandler.NAME), eq(outgoingQosHandler));
+        verify(subscriptionHandler).onSessionConfirmed(connectionConfig, eventLoop);
+        verify(incomingQosHandler).onSessionConfirmed(connectionConfig, eventLoop);
+        verify(outgoingQosHandler).onSessionConfirmed(connectionConfig, eventLoop);
+        verify(outgoingQosHandler, never()).onSessionStartOrResume(connectionConfig, eventLoop);
+    }
+
+    @Test
+    void abortEarly_endsHandlers() {
+        final Exception cause = new Exception("test");
+
+        session.startEarly(mock(MqttClientConnectionConfig.class), pipeline, eventLoop);
+        session.abortEarly(cause, eventLoop);
+
+        verify(subscriptionHandler).onSessionEnd(cause);
+        verify(incomingQosHandler).onSessionEnd(cause);
+        verify(outgoingQosHandler).onSessionEnd(cause);
+    }
+
+    @Test
+    void abortEarly_withoutEarlyStart_doesNothing() {
+        session.abortEarly(new Exception("test"), eventLoop);
+
+        verify(eventLoop, never()).execute(any());
+        verify(outgoingQosHandler, never()).onSessionEnd(any());
+    }
+}
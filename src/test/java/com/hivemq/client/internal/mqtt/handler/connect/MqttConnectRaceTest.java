@@ -0,0 +1,212 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.connect;
+
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImplBuilder;
+import com.hivemq.client.internal.mqtt.lifecycle.MqttClientConnectTimingsImpl;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoop;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class MqttConnectRaceTest {
+
+    private @NotNull NioEventLoopGroup eventLoopGroup;
+    private @NotNull EventLoop eventLoop;
+
+    @BeforeEach
+    void setUp() {
+        eventLoopGroup = new NioEventLoopGroup(1);
+        eventLoop = eventLoopGroup.next();
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void interleave() {
+        final InetSocketAddress v4a = new InetSocketAddress("192.0.2.1", 1883);
+        final InetSocketAddress v4b = new InetSocketAddress("192.0.2.2", 1883);
+        final InetSocketAddress v4c = new InetSocketAddress("192.0.2.3", 1883);
+        final InetSocketAddress v6a = new InetSocketAddress("2001:db8::1", 1883);
+        final InetSocketAddress v6b = new InetSocketAddress("2001:db8::2", 1883);
+
+        assertEquals(Arrays.asList(v6a, v4a, v6b, v4b, v4c),
+                MqttConnectRace.interleave(Arrays.asList(v6a, v6b, v4a, v4b, v4c)));
+        assertEquals(Arrays.asList(v4a, v6a, v4b, v6b, v4c),
+                MqttConnectRace.interleave(Arrays.asList(v4a, v4b, v4c, v6a, v6b)));
+        assertEquals(Arrays.asList(v4a, v4b), MqttConnectRace.interleave(Arrays.asList(v4a, v4b)));
+    }
+
+    @Test
+    void start_firstAddressRefused_fallbackWins() throws Exception {
+        final InetAddress loopback = InetAddress.getLoopbackAddress();
+        try (final ServerSocket serverSocket = new ServerSocket(0, 1, loopback)) {
+            final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                    .serverAddress(new InetSocketAddress(loopback, closedPort()))
+                    .addFallbackServerAddress(new InetSocketAddress(loopback, serverSocket.getLocalPort()))
+                    .build();
+
+            final CompletableFuture<Channel> winner = new CompletableFuture<>();
+            new MqttConnectRace(bootstrap(winner), transportConfig, new MqttClientConnectTimingsImpl(), eventLoop,
+                    winner::completeExceptionally, () -> {}).start();
+
+            final Channel channel = winner.get(10, TimeUnit.SECONDS);
+            assertEquals(serverSocket.getLocalPort(), ((InetSocketAddress) channel.remoteAddress()).getPort());
+            channel.close();
+        }
+    }
+
+    @Test
+    void start_allAddressesRefused_fails() throws Exception {
+        final InetAddress loopback = InetAddress.getLoopbackAddress();
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                .serverAddress(new InetSocketAddress(loopback, closedPort()))
+                .addFallbackServerAddress(new InetSocketAddress(loopback, closedPort()))
+                .build();
+
+        final CompletableFuture<Channel> winner = new CompletableFuture<>();
+        new MqttConnectRace(bootstrap(winner), transportConfig, new MqttClientConnectTimingsImpl(), eventLoop,
+                winner::completeExceptionally, () -> {}).start();
+
+        assertThrows(ExecutionException.class, () -> winner.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancel_pendingAttempts_closed() throws Exception {
+        final InetAddress loopback = InetAddress.getLoopbackAddress();
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                .serverAddress(new InetSocketAddress(loopback, closedPort()))
+                .addFallbackServerAddress(new InetSocketAddress(loopback, closedPort()))
+                .connectAttemptDelay(10, TimeUnit.MILLISECONDS)
+                .build();
+
+        final BlockingQueue<Channel> channels = new LinkedBlockingQueue<>();
+        final CompletableFuture<Channel> winner = new CompletableFuture<>();
+        final CompletableFuture<Void> cancelled = new CompletableFuture<>();
+        final MqttConnectRace race = new MqttConnectRace(pendingBootstrap(winner, channels), transportConfig,
+                new MqttClientConnectTimingsImpl(), eventLoop, winner::completeExceptionally,
+                () -> cancelled.complete(null));
+        race.start();
+        final Channel channel1 = channels.poll(10, TimeUnit.SECONDS);
+        final Channel channel2 = channels.poll(10, TimeUnit.SECONDS);
+        assertNotNull(channel1);
+        assertNotNull(channel2);
+
+        race.cancel();
+        cancelled.get(10, TimeUnit.SECONDS);
+        channel1.closeFuture().get(10, TimeUnit.SECONDS);
+        channel2.closeFuture().get(10, TimeUnit.SECONDS);
+        assertFalse(winner.isDone());
+    }
+
+    @Test
+    void cancel_beforeAttemptDelay_noFurtherAttempt() throws Exception {
+        final InetAddress loopback = InetAddress.getLoopbackAddress();
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                .serverAddress(new InetSocketAddress(loopback, closedPort()))
+                .addFallbackServerAddress(new InetSocketAddress(loopback, closedPort()))
+                .connectAttemptDelay(200, TimeUnit.MILLISECONDS)
+                .build();
+
+        final BlockingQueue<Channel> channels = new LinkedBlockingQueue<>();
+        final CompletableFuture<Channel> winner = new CompletableFuture<>();
+        final CompletableFuture<Void> cancelled = new CompletableFuture<>();
+        final MqttConnectRace race = new MqttConnectRace(pendingBootstrap(winner, channels), transportConfig,
+                new MqttClientConnectTimingsImpl(), eventLoop, winner::completeExceptionally,
+                () -> cancelled.complete(null));
+        race.start();
+        final Channel channel = channels.poll(10, TimeUnit.SECONDS);
+        assertNotNull(channel);
+
+        race.cancel();
+        cancelled.get(10, TimeUnit.SECONDS);
+        channel.closeFuture().get(10, TimeUnit.SECONDS);
+        assertNull(channels.poll(400, TimeUnit.MILLISECONDS));
+        assertFalse(winner.isDone());
+    }
+
+    private @NotNull Bootstrap bootstrap(final @NotNull CompletableFuture<Channel> winner) {
+        return winnerHandler(new Bootstrap().channel(NioSocketChannel.class), winner);
+    }
+
+    private @NotNull Bootstrap winnerHandler(
+            final @NotNull Bootstrap bootstrap, final @NotNull CompletableFuture<Channel> winner) {
+
+        return bootstrap.group(eventLoop)
+                .handler(new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
+                        winner.complete(ctx.channel());
+                    }
+                });
+    }
+
+    /**
+     * Creates a bootstrap whose channels never complete the TCP connect, so that the attempts stay pending.
+     */
+    private @NotNull Bootstrap pendingBootstrap(
+            final @NotNull CompletableFuture<Channel> winner, final @NotNull BlockingQueue<Channel> channels) {
+
+        return winnerHandler(new Bootstrap().channelFactory((ChannelFactory<Channel>) () -> {
+            final Channel channel = new NioSocketChannel() {
+                @Override
+                protected boolean doConnect(final SocketAddress remoteAddress, final SocketAddress localAddress) {
+                    return false;
+                }
+            };
+            channels.add(channel);
+            return channel;
+        }), winner);
+    }
+
+    private static int closedPort() throws IOException {
+        try (final ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return serverSocket.getLocalPort();
+        }
+    }
+}
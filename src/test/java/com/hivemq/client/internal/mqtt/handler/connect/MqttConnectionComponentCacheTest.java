@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.connect;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImplBuilder;
+import com.hivemq.client.internal.mqtt.handler.MqttChannelInitializer;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.ioc.ConnectionComponent;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
+import com.hivemq.client.mqtt.mqtt5.auth.Mqtt5EnhancedAuthMechanism;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.EventLoop;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+class MqttConnectionComponentCacheTest {
+
+    private final @NotNull MqttConnect connect = MqttConnect.DEFAULT;
+    private final @NotNull EventLoop eventLoop = mock(EventLoop.class);
+    private final @NotNull ConnectionComponent.Builder componentBuilder = mock(ConnectionComponent.Builder.class);
+    private final @NotNull MqttChannelInitializer channelInitializer1 = mock(MqttChannelInitializer.class);
+    private final @NotNull MqttChannelInitializer channelInitializer2 = mock(MqttChannelInitializer.class);
+    private @NotNull MqttConnectionComponentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        final ConnectionComponent component1 = mockComponent(channelInitializer1);
+        final ConnectionComponent component2 = mockComponent(channelInitializer2);
+        when(componentBuilder.connect(any())).thenReturn(componentBuilder);
+        when(componentBuilder.connAckFlow(any())).thenReturn(componentBuilder);
+        when(componentBuilder.build()).thenReturn(component1, component2);
+        final ClientComponent clientComponent = mock(ClientComponent.class);
+        when(clientComponent.connectionComponentBuilder()).thenReturn(componentBuilder);
+        final MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+        when(clientConfig.getClientComponent()).thenReturn(clientComponent);
+
+        when(eventLoop.inEventLoop()).thenReturn(true);
+        when(channelInitializer1.isReusable()).thenReturn(true);
+        cache = new MqttConnectionComponentCache(clientConfig);
+    }
+
+    private static @NotNull ConnectionComponent mockComponent(
+            final @NotNull MqttChannelInitializer channelInitializer) {
+
+        final ConnectionComponent component = mock(ConnectionComponent.class);
+        when(component.bootstrap()).thenReturn(new Bootstrap());
+        when(component.channelInitializer()).thenReturn(channelInitializer);
+        return component;
+    }
+
+    @Test
+    void bootstrap_reconnect_componentReused() {
+        final Bootstrap bootstrap1 = cache.bootstrap(connect, flow(MqttClientTransportConfigImpl.DEFAULT), eventLoop);
+        assertSame(eventLoop, bootstrap1.config().group());
+
+        final MqttConnAckFlow flow2 = flow(MqttClientTransportConfigImpl.DEFAULT);
+        final Bootstrap bootstrap2 = cache.bootstrap(connect, flow2, eventLoop);
+
+        assertSame(bootstrap1, bootstrap2);
+        verify(componentBuilder, times(1)).build();
+        verify(channelInitializer1).reset(connect, flow2);
+    }
+
+    @Test
+    void bootstrap_reconnectNotOnEventLoop_newComponent() {
+        final Bootstrap bootstrap1 = cache.bootstrap(connect, flow(MqttClientTransportConfigImpl.DEFAULT), eventLoop);
+
+        when(eventLoop.inEventLoop()).thenReturn(false);
+        final Bootstrap bootstrap2 = cache.bootstrap(connect, flow(MqttClientTransportConfigImpl.DEFAULT), eventLoop);
+
+        assertNotSame(bootstrap1, bootstrap2);
+        verify(componentBuilder, times(2)).build();
+        verify(channelInitializer1, never()).reset(any(), any());
+    }
+
+    @Test
+    void bootstrap_reconnectOnOtherEventLoop_newComponent() {
+        final Bootstrap bootstrap1 = cache.bootstrap(connect, flow(MqttClientTransportConfigImpl.DEFAULT), eventLoop);
+
+        final EventLoop eventLoop2 = mock(EventLoop.class);
+        when(eventLoop2.inEventLoop()).thenReturn(true);
+        final Bootstrap bootstrap2 = cache.bootstrap(connect, flow(MqttClientTransportConfigImpl.DEFAULT), eventLoop2);
+
+        assertNotSame(bootstrap1, bootstrap2);
+        assertSame(eventLoop2, bootstrap2.config().group());
+        verify(channelInitializer1, never()).reset(any(), any());
+    }
+
+    @Test
+    void bootstrap_reconnectWithOtherTransportConfig_newComponent() {
+        final Bootstrap bootstrap1 = cache.bootstrap(connect, flow(MqttClientTransportConfigImpl.DEFAULT), eventLoop);
+
+        final MqttClientTransportConfigImpl transportConfig2 =
+                new MqttClientTransportConfigImplBuilder.Default().serverPort(1884).build();
+        final Bootstrap bootstrap2 = cache.bootstrap(connect, flow(transportConfig2), eventLoop);
+
+        assertNotSame(bootstrap1, bootstrap2);
+        verify(channelInitializer1, never()).reset(any(), any());
+    }
+
+    @Test
+    void bootstrap_reconnectWhileChannelNotDeregistered_newComponent() {
+        when(channelInitializer1.isReusable()).thenReturn(false);
+        final Bootstrap bootstrap1 = cache.bootstrap(connect, flow(MqttClientTransportConfigImpl.DEFAULT), eventLoop);
+        final Bootstrap bootstrap2 = cache.bootstrap(connect, flow(MqttClientTransportConfigImpl.DEFAULT), eventLoop);
+
+        assertNotSame(bootstrap1, bootstrap2);
+        verify(channelInitializer1, never()).reset(any(), any());
+    }
+
+    @Test
+    void bootstrap_enhancedAuth_notCached() {
+        final MqttConnect authConnect = new MqttConnect(connect.getKeepAlive(), connect.isCleanStart(),
+                connect.getSessionExpiryInterval(), connect.getRestrictions(), null,
+                mock(Mqtt5EnhancedAuthMechanism.class), null, connect.getUserProperties());
+        final Bootstrap bootstrap1 =
+                cache.bootstrap(authConnect, flow(MqttClientTransportConfigImpl.DEFAULT), eventLoop);
+        final Bootstrap bootstrap2 = cache.bootstrap(connect, flow(MqttClientTransportConfigImpl.DEFAULT), eventLoop);
+
+        assertNotSame(bootstrap1, bootstrap2);
+        verify(channelInitializer1, never()).reset(any(), any());
+    }
+
+    private static @NotNull MqttConnAckFlow flow(final @NotNull MqttClientTransportConfigImpl transportConfig) {
+        return new MqttConnAckFlow(null, transportConfig, 0);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.connect;
+
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.exceptions.MqttClientStateException;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5AsyncClient;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5Client;
+import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests early send end-to-end against a minimal server on a local socket.
+ *
+ * @author agent
+ */
+class MqttEarlySendTest {
+
+    private static final int CONNECT = 0x10;
+    private static final int PUBLISH_QOS_0 = 0x30;
+    private static final int PUBLISH_QOS_1 = 0x32;
+    private static final int SUBSCRIBE = 0x82;
+
+    @Test
+    void earlySend_subscribeAndPublishWrittenBeforeConnAck() throws Exception {
+        try (final ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            serverSocket.setSoTimeout(10_000);
+            final Mqtt5AsyncClient client = createClient(serverSocket.getLocalPort(), true);
+
+            final CompletableFuture<Mqtt5ConnAck> connAckFuture = client.connect();
+            // submitted while the client is connecting
+            final CompletableFuture<Mqtt5SubAck> subAckFuture = client.subscribeWith().topicFilter("test").send();
+            final CompletableFuture<Mqtt5PublishResult> publishResultFuture =
+                    client.publishWith().topic("test").qos(MqttQos.AT_MOST_ONCE).send();
+
+            try (final Socket socket = serverSocket.accept()) {
+                socket.setSoTimeout(10_000);
+                final InputStream in = socket.getInputStream();
+                final OutputStream out = socket.getOutputStream();
+
+                assertEquals(CONNECT, readPacket(in)[0] & 0xFF);
+                int subscribePacketIdentifier = -1;
+                boolean published = false;
+                for (int i = 0; i < 2; i++) {
+                    final byte[] packet = readPacket(in);
+                    if ((packet[0] & 0xFF) == SUBSCRIBE) {
+                        subscribePacketIdentifier = readUnsignedShort(packet, 1);
+                    } else {
+                        assertEquals(PUBLISH_QOS_0, packet[0] & 0xFF);
+                        published = true;
+                    }
+                }
+                assertNotEquals(-1, subscribePacketIdentifier);
+                assertTrue(published);
+                assertFalse(connAckFuture.isDone());
+
+                writeConnAck(out);
+                writeSubAck(out, subscribePacketIdentifier);
+
+                connAckFuture.get(10, TimeUnit.SECONDS);
+                assertEquals(1, subAckFuture.get(10, TimeUnit.SECONDS).getReasonCodes().size());
+                assertFalse(publishResultFuture.get(10, TimeUnit.SECONDS).getError().isPresent());
+            }
+        }
+    }
+
+    @Test
+    void earlySend_messagesExceedingAssumedRestrictions_heldBackUntilConnAck() throws Exception {
+        try (final ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            serverSocket.setSoTimeout(10_000);
+            final Mqtt5AsyncClient client = createClient(serverSocket.getLocalPort(), true);
+
+            final CompletableFuture<Mqtt5ConnAck> connAckFuture = client.connect();
+            // submitted while the client is connecting
+            final CompletableFuture<Mqtt5SubAck> subAckFuture = client.subscribeWith().topicFilter("test/#").send();
+            final CompletableFuture<Mqtt5PublishResult> publishResultFuture =
+                    client.publishWith().topic("test").qos(MqttQos.AT_LEAST_ONCE).send();
+
+            try (final Socket socket = serverSocket.accept()) {
+                socket.setSoTimeout(10_000);
+                final InputStream in = socket.getInputStream();
+                final OutputStream out = socket.getOutputStream();
+
+                assertEquals(CONNECT, readPacket(in)[0] & 0xFF);
+                socket.setSoTimeout(500);
+                assertThrows(SocketTimeoutException.class, in::read);
+                socket.setSoTimeout(10_000);
+
+                writeConnAck(out);
+                int subscribePacketIdentifier = -1;
+                int publishPacketIdentifier = -1;
+                for (int i = 0; i < 2; i++) {
+                    final byte[] packet = readPacket(in);
+                    if ((packet[0] & 0xFF) == SUBSCRIBE) {
+                        subscribePacketIdentifier = readUnsignedShort(packet, 1);
+                    } else {
+                        assertEquals(PUBLISH_QOS_1, packet[0] & 0xFF);
+                        final int topicLength = readUnsignedShort(packet, 1);
+                        publishPacketIdentifier = readUnsignedShort(packet, 3 + topicLength);
+                    }
+                }
+                assertNotEquals(-1, subscribePacketIdentifier);
+                assertNotEquals(-1, publishPacketIdentifier);
+                writeSubAck(out, subscribePacketIdentifier);
+                out.write(new byte[]{
+                        0x40, 0x02, (byte) (publishPacketIdentifier >> 8), (byte) publishPacketIdentifier
+                });
+                out.flush();
+
+                connAckFuture.get(10, TimeUnit.SECONDS);
+                assertEquals(1, subAckFuture.get(10, TimeUnit.SECONDS).getReasonCodes().size());
+                assertFalse(publishResultFuture.get(10, TimeUnit.SECONDS).getError().isPresent());
+            }
+        }
+    }
+
+    @Test
+    void earlySendDisabled_subscribeWhileConnecting_fails() throws Exception {
+        try (final ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final Mqtt5AsyncClient client = createClient(serverSocket.getLocalPort(), false);
+
+            client.connect();
+            final CompletableFuture<Mqtt5SubAck> subAckFuture = client.subscribeWith().topicFilter("test").send();
+
+            final ExecutionException exception =
+                    assertThrows(ExecutionException.class, () -> subAckFuture.get(10, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof MqttClientStateException);
+        }
+    }
+
+    @Test
+    void earlySend_connectionRefused_queuedMessagesFail() throws Exception {
+        final int port;
+        try (final ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = serverSocket.getLocalPort();
+        }
+        final Mqtt5AsyncClient client = createClient(port, true);
+
+        final CompletableFuture<Mqtt5ConnAck> connAckFuture = client.connect();
+        final CompletableFuture<Mqtt5SubAck> subAckFuture = client.subscribeWith().topicFilter("test").send();
+        final CompletableFuture<Mqtt5PublishResult> publishResultFuture =
+                client.publishWith().topic("test").qos(MqttQos.AT_LEAST_ONCE).send();
+
+        assertThrows(ExecutionException.class, () -> connAckFuture.get(10, TimeUnit.SECONDS));
+        final ExecutionException subscribeException =
+                assertThrows(ExecutionException.class, () -> subAckFuture.get(10, TimeUnit.SECONDS));
+        assertTrue(subscribeException.getCause() instanceof MqttClientStateException);
+        final ExecutionException publishException =
+                assertThrows(ExecutionException.class, () -> publishResultFuture.get(10, TimeUnit.SECONDS));
+        assertTrue(publishException.getCause() instanceof MqttClientStateException);
+    }
+
+    private static @NotNull Mqtt5AsyncClient createClient(final int port, final boolean earlySend) {
+        return Mqtt5Client.builder()
+                .identifier("test")
+                .serverAddress(new InetSocketAddress(InetAddress.getLoopbackAddress(), port))
+                .advancedConfig()
+                .earlySend(earlySend)
+                .applyAdvancedConfig()
+                .buildAsync();
+    }
+
+    private static void writeConnAck(final @NotNull OutputStream out) throws IOException {
+        out.write(new byte[]{0x20, 0x03, 0x00, 0x00, 0x00});
+        out.flush();
+    }
+
+    private static void writeSubAck(final @NotNull OutputStream out, final int packetIdentifier) throws IOException {
+        out.write(new byte[]{(byte) 0x90, 0x04, (byte) (packetIdentifier >> 8), (byte) packetIdentifier, 0x00, 0x01});
+        out.flush();
+    }
+
+    /**
+     * Reads a MQTT packet.
+     *
+     * @param in the input stream to read from.
+     * @return the fixed header byte followed by the remaining bytes of the packet.
+     * @throws IOException if reading failed.
+     */
+    private static @NotNull byte[] readPacket(final @NotNull InputStream in) throws IOException {
+        final int fixedHeader = readByte(in);
+        int remainingLength = 0;
+        int shift = 0;
+        int encodedByte;
+        do {
+            encodedByte = readByte(in);
+            remainingLength |= (encodedByte & 0x7F) << shift;
+            shift += 7;
+        } while ((encodedByte & 0x80) != 0);
+        final byte[] packet = new byte[1 + remainingLength];
+        packet[0] = (byte) fixedHeader;
+        int read = 1;
+        while (read < packet.length) {
+            final int n = in.read(packet, read, packet.length - read);
+            if (n == -1) {
+                throw new IOException("end of stream");
+            }
+            read += n;
+        }
+        return packet;
+    }
+
+    private static int readByte(final @NotNull InputStream in) throws IOException {
+        final int b = in.read();
+        if (b == -1) {
+            throw new IOException("end of stream");
+        }
+        return b;
+    }
+
+    private static int readUnsignedShort(final @NotNull byte[] bytes, final int index) {
+        return ((bytes[index] & 0xFF) << 8) | (bytes[index + 1] & 0xFF);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.ping;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hivemq.client.internal.mqtt.handler.ping.MqttAdaptiveKeepAlive.INITIAL_INTERVAL_NANOS;
+import static com.hivemq.client.internal.mqtt.handler.ping.MqttAdaptiveKeepAlive.MINIMUM_INTERVAL_NANOS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author agent
+ */
+class MqttAdaptiveKeepAliveTest {
+
+    private static final long KEEP_ALIVE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    @Test
+    void getIntervalNanos_limitedByKeepAlive() {
+        final MqttAdaptiveKeepAlive adaptiveKeepAlive = new MqttAdaptiveKeepAlive();
+        assertEquals(INITIAL_INTERVAL_NANOS, adaptiveKeepAlive.getIntervalNanos(KEEP_ALIVE_NANOS));
+        assertEquals(TimeUnit.SECONDS.toNanos(10), adaptiveKeepAlive.getIntervalNanos(TimeUnit.SECONDS.toNanos(10)));
+    }
+
+    @Test
+    void onPingAcknowledged_growsInterval() {
+        final MqttAdaptiveKeepAlive adaptiveKeepAlive = new MqttAdaptiveKeepAlive();
+        adaptiveKeepAlive.onPingAcknowledged(adaptiveKeepAlive.getIntervalNanos(KEEP_ALIVE_NANOS));
+        assertEquals(TimeUnit.SECONDS.toNanos(45), adaptiveKeepAlive.getIntervalNanos(KEEP_ALIVE_NANOS));
+        adaptiveKeepAlive.onPingAcknowledged(adaptiveKeepAlive.getIntervalNanos(KEEP_ALIVE_NANOS));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(67_500), adaptiveKeepAlive.getIntervalNanos(KEEP_ALIVE_NANOS));
+    }
+
+    @Test
+    void onPingAcknowledged_shorterInterval_doesNotGrowInterval() {
+        final MqttAdaptiveKeepAlive adaptiveKeepAlive = new MqttAdaptiveKeepAlive();
+        adaptiveKeepAlive.onPingAcknowledged(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(INITIAL_INTERVAL_NANOS, adaptiveKeepAlive.getIntervalNanos(KEEP_ALIVE_NANOS));
+    }
+
+    @Test
+    void onPingTimeout_shrinksIntervalAndLimitsGrowthToAcknowledgedInterval() {
+        final MqttAdaptiveKeepAlive adaptiveKeepAlive = new MqttAdaptiveKeepAlive();
+        adaptiveKeepAlive.onPingAcknowledged(TimeUnit.SECONDS.toNanos(30));
+        adaptiveKeepAlive.onPingTimeout(TimeUnit.SECONDS.toNanos(45));
+        assertEquals(TimeUnit.SECONDS.toNanos(30), adaptiveKeepAlive.getIntervalNanos(KEEP_ALIVE_NANOS));
+        for (int i = 0; i < 5; i++) {
+            adaptiveKeepAlive.onPingAcknowledged(adaptiveKeepAlive.getIntervalNanos(KEEP_ALIVE_NANOS));
+        }
+        assertEquals(TimeUnit.SECONDS.toNanos(30), adaptiveKeepAlive.getIntervalNanos(KEEP_ALIVE_NANOS));
+    }
+
+    @Test
+    void onPingTimeout_notBelowMinimum() {
+        final MqttAdaptiveKeepAlive adaptiveKeepAlive = new MqttAdaptiveKeepAlive();
+        for (int i = 0; i < 10; i++) {
+            adaptiveKeepAlive.onPingTimeout(adaptiveKeepAlive.getIntervalNanos(KEEP_ALIVE_NANOS));
+        }
+        assertEquals(MINIMUM_INTERVAL_NANOS, adaptiveKeepAlive.getIntervalNanos(KEEP_ALIVE_NANOS));
+    }
+}
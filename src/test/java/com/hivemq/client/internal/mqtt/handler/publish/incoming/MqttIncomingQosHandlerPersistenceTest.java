@@ -0,0 +1,181 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.pubcomp.MqttPubComp;
+import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
+import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.exceptions.ConnectionClosedException;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubcomp.Mqtt5PubCompReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubrel.Mqtt5PubRelReasonCode;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent
+ */
+class MqttIncomingQosHandlerPersistenceTest {
+
+    private final @NotNull MqttTestPersistence persistence = new MqttTestPersistence();
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull MqttIncomingQosHandler handler;
+
+    MqttIncomingQosHandlerPersistenceTest() {
+        final MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+        when(clientConfig.getAdvancedConfig()).thenReturn(
+                new MqttClientAdvancedConfigBuilder.Default().incomingPublishPersistence(persistence).build());
+        handler = new MqttIncomingQosHandler(
+                clientConfig, new MqttIncomingPublishFlows(new MqttSubscriptionFlowTree()));
+        channel.pipeline().addLast(handler);
+        handler.onSessionStartOrResume(
+                new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false,
+                        null, 10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10,
+                        MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, MqttQos.EXACTLY_ONCE, true, true, true,
+                        true, channel), channel.eventLoop());
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.close();
+    }
+
+    @Test
+    void pubRec_persistedAndSyncedOncePerReadBatch() {
+        channel.writeInbound(publish(1, false), publish(2, false));
+
+        assertPubRec(1, channel.readOutbound());
+        assertPubRec(2, channel.readOutbound());
+        assertNull(channel.readOutbound());
+        assertTrue(persistence.values.containsKey(1L));
+        assertTrue(persistence.values.containsKey(2L));
+        assertEquals(1, persistence.syncs);
+    }
+
+    @Test
+    void pubRec_outsideOfRead_syncedImmediately() {
+        handler.ack(publish(1, false));
+
+        assertPubRec(1, channel.readOutbound());
+        assertTrue(persistence.values.containsKey(1L));
+        assertEquals(1, persistence.syncs);
+    }
+
+    @Test
+    void pubRel_removesPersistedPubRec() {
+        channel.writeInbound(publish(1, false), publish(2, false));
+        channel.readOutbound();
+        channel.readOutbound();
+
+        channel.writeInbound(pubRel(1));
+
+        assertPubComp(1, Mqtt5PubCompReasonCode.SUCCESS, channel.readOutbound());
+        assertFalse(persistence.values.containsKey(1L));
+        assertTrue(persistence.values.containsKey(2L));
+    }
+
+    @Test
+    void sessionEnd_clearsPersistence() {
+        channel.writeInbound(publish(1, false));
+        assertFalse(persistence.values.isEmpty());
+
+        handler.onSessionEnd(new ConnectionClosedException("closed"));
+
+        assertTrue(persistence.values.isEmpty());
+    }
+
+    @Test
+    void restore_sessionPresent() {
+        persistence.put(5, ByteBuffer.wrap(new byte[]{0}));
+
+        handler.restore(true);
+
+        // a resent PUBLISH is not delivered again, but the PUBREC is resent
+        channel.writeInbound(publish(5, true));
+        assertPubRec(5, channel.readOutbound());
+        assertEquals(0, persistence.syncs);
+
+        channel.writeInbound(pubRel(5));
+        assertPubComp(5, Mqtt5PubCompReasonCode.SUCCESS, channel.readOutbound());
+        assertTrue(persistence.values.isEmpty());
+    }
+
+    @Test
+    void restore_sessionNotPresent_clearsPersistence() {
+        persistence.put(5, ByteBuffer.wrap(new byte[]{0}));
+
+        handler.restore(false);
+
+        assertTrue(persistence.values.isEmpty());
+        channel.writeInbound(pubRel(5));
+        assertPubComp(5, Mqtt5PubCompReasonCode.PACKET_IDENTIFIER_NOT_FOUND, channel.readOutbound());
+    }
+
+    @Test
+    void restore_onlyOnce() {
+        handler.restore(true);
+        persistence.put(5, ByteBuffer.wrap(new byte[]{0}));
+
+        handler.restore(false);
+
+        assertTrue(persistence.values.containsKey(5L));
+    }
+
+    private static @NotNull MqttStatefulPublish publish(final int packetIdentifier, final boolean dup) {
+        return new MqttPublishBuilder.Default().topic("t")
+                .qos(MqttQos.EXACTLY_ONCE)
+                .build()
+                .createStateful(packetIdentifier, dup, MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS,
+                        MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+    }
+
+    private static @NotNull MqttPubRel pubRel(final int packetIdentifier) {
+        return new MqttPubRel(
+                packetIdentifier, Mqtt5PubRelReasonCode.SUCCESS, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+    }
+
+    private static void assertPubRec(final int packetIdentifier, final @NotNull Object message) {
+        assertTrue(message instanceof MqttPubRec);
+        assertEquals(packetIdentifier, ((MqttPubRec) message).getPacketIdentifier());
+    }
+
+    private static void assertPubComp(
+            final int packetIdentifier, final @NotNull Mqtt5PubCompReasonCode reasonCode,
+            final @NotNull Object message) {
+
+        assertTrue(message instanceof MqttPubComp);
+        assertEquals(packetIdentifier, ((MqttPubComp) message).getPacketIdentifier());
+        assertEquals(reasonCode, ((MqttPubComp) message).getReasonCode());
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.MqttMessageWithUserProperties;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.internal.mqtt.message.publish.pubcomp.MqttPubComp;
+import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
+import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5IncomingQos1Interceptor;
+import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5IncomingQos2Interceptor;
+import com.hivemq.client.mqtt.mqtt5.message.publish.puback.Mqtt5PubAckBuilder;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubcomp.Mqtt5PubCompBuilder;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubcomp.Mqtt5PubCompReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubrec.Mqtt5PubRecBuilder;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubrel.Mqtt5PubRelReasonCode;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+class MqttIncomingQosHandlerTest {
+
+    private final @NotNull MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+
+    @AfterEach
+    void tearDown() {
+        channel.close();
+    }
+
+    @Test
+    void ack_withoutInterceptors_defaultAcknowledgements() {
+        createHandler(MqttClientAdvancedConfig.DEFAULT);
+
+        channel.writeInbound(publish(1, MqttQos.AT_LEAST_ONCE), publish(2, MqttQos.EXACTLY_ONCE));
+        final MqttPubAck pubAck = channel.readOutbound();
+        assertEquals(1, pubAck.getPacketIdentifier());
+        assertEquals(MqttPubAck.DEFAULT_REASON_CODE, pubAck.getReasonCode());
+        assertNoProperties(pubAck);
+        final MqttPubRec pubRec = channel.readOutbound();
+        assertEquals(2, pubRec.getPacketIdentifier());
+        assertEquals(MqttPubRec.DEFAULT_REASON_CODE, pubRec.getReasonCode());
+        assertNoProperties(pubRec);
+
+        channel.writeInbound(pubRel(2), pubRel(3));
+        final MqttPubComp pubComp = channel.readOutbound();
+        assertEquals(2, pubComp.getPacketIdentifier());
+        assertEquals(MqttPubComp.DEFAULT_REASON_CODE, pubComp.getReasonCode());
+        assertNoProperties(pubComp);
+        final MqttPubComp pubCompNotFound = channel.readOutbound();
+        assertEquals(3, pubCompNotFound.getPacketIdentifier());
+        assertEquals(Mqtt5PubCompReasonCode.PACKET_IDENTIFIER_NOT_FOUND, pubCompNotFound.getReasonCode());
+        assertNoProperties(pubCompNotFound);
+    }
+
+    @Test
+    void ack_withInterceptors_interceptorsApplied() {
+        final Mqtt5IncomingQos1Interceptor qos1Interceptor = mock(Mqtt5IncomingQos1Interceptor.class);
+        final Mqtt5IncomingQos2Interceptor qos2Interceptor = mock(Mqtt5IncomingQos2Interceptor.class);
+        doAnswer(invocation -> {
+            invocation.<Mqtt5PubAckBuilder>getArgument(2).reasonString("puback");
+            return null;
+        }).when(qos1Interceptor).onPublish(any(), any(), any());
+        doAnswer(invocation -> {
+            invocation.<Mqtt5PubRecBuilder>getArgument(2).reasonString("pubrec");
+            return null;
+        }).when(qos2Interceptor).onPublish(any(), any(), any());
+        doAnswer(invocation -> {
+            invocation.<Mqtt5PubCompBuilder>getArgument(2).reasonString("pubcomp");
+            return null;
+        }).when(qos2Interceptor).onPubRel(any(), any(), any());
+        createHandler(new MqttClientAdvancedConfigBuilder.Default().interceptors()
+                .incomingQos1Interceptor(qos1Interceptor)
+                .incomingQos2Interceptor(qos2Interceptor)
+                .applyInterceptors()
+                .build());
+
+        final MqttStatefulPublish publish1 = publish(1, MqttQos.AT_LEAST_ONCE);
+        final MqttStatefulPublish publish2 = publish(2, MqttQos.EXACTLY_ONCE);
+        channel.writeInbound(publish1, publish2);
+        verify(qos1Interceptor).onPublish(eq(clientConfig), eq(publish1.stateless()), any());
+        verify(qos2Interceptor).onPublish(eq(clientConfig), eq(publish2.stateless()), any());
+        assertReasonString("puback", channel.readOutbound());
+        assertReasonString("pubrec", channel.readOutbound());
+
+        final MqttPubRel pubRel = pubRel(2);
+        channel.writeInbound(pubRel, pubRel(3));
+        verify(qos2Interceptor).onPubRel(eq(clientConfig), same(pubRel), any());
+        final MqttPubComp pubComp = channel.readOutbound();
+        assertEquals(MqttPubComp.DEFAULT_REASON_CODE, pubComp.getReasonCode());
+        assertReasonString("pubcomp", pubComp);
+        final MqttPubComp pubCompNotFound = channel.readOutbound();
+        assertEquals(Mqtt5PubCompReasonCode.PACKET_IDENTIFIER_NOT_FOUND, pubCompNotFound.getReasonCode());
+        assertReasonString("pubcomp", pubCompNotFound);
+    }
+
+    private void createHandler(final @NotNull MqttClientAdvancedConfig advancedConfig) {
+        when(clientConfig.getAdvancedConfig()).thenReturn(advancedConfig);
+        final MqttIncomingQosHandler handler =
+                new MqttIncomingQosHandler(clientConfig, new MqttIncomingPublishFlows(new MqttSubscriptionFlowTree()));
+        channel.pipeline().addLast(handler);
+        handler.onSessionStartOrResume(
+                new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false,
+                        null, 10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10,
+                        MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, MqttQos.EXACTLY_ONCE, true, true, true,
+                        true, channel), channel.eventLoop());
+    }
+
+    private static @NotNull MqttStatefulPublish publish(final int packetIdentifier, final @NotNull MqttQos qos) {
+        return new MqttPublishBuilder.Default().topic("t")
+                .qos(qos)
+                .build()
+                .createStateful(packetIdentifier, false, MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS,
+                        MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+    }
+
+    private static @NotNull MqttPubRel pubRel(final int packetIdentifier) {
+        return new MqttPubRel(
+                packetIdentifier, Mqtt5PubRelReasonCode.SUCCESS, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+    }
+
+    private static void assertNoProperties(final @NotNull MqttMessageWithUserProperties.WithReason message) {
+        assertNull(message.getRawReasonString());
+        assertTrue(message.getUserProperties().asList().isEmpty());
+    }
+
+    private static void assertReasonString(
+            final @NotNull String expected, final @NotNull MqttMessageWithUserProperties.WithReason message) {
+
+        assertNotNull(message.getRawReasonString());
+        assertEquals(expected, message.getRawReasonString().toString());
+    }
+}
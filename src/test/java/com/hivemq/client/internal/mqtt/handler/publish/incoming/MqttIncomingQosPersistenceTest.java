@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubrec.Mqtt5PubRecReasonCode;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class MqttIncomingQosPersistenceTest {
+
+    private final @NotNull MqttTestPersistence store = new MqttTestPersistence();
+    private final @NotNull MqttIncomingQosPersistence persistence = new MqttIncomingQosPersistence(store);
+
+    @Test
+    void restore_putPubRecs() {
+        persistence.putPubRec(pubRec(3, Mqtt5PubRecReasonCode.SUCCESS));
+        persistence.putPubRec(pubRec(1, Mqtt5PubRecReasonCode.NO_MATCHING_SUBSCRIBERS));
+
+        final List<MqttPubRec> restored = restore();
+        assertEquals(2, restored.size());
+        assertEquals(3, restored.get(0).getPacketIdentifier());
+        assertEquals(Mqtt5PubRecReasonCode.SUCCESS, restored.get(0).getReasonCode());
+        assertEquals(1, restored.get(1).getPacketIdentifier());
+        assertEquals(Mqtt5PubRecReasonCode.NO_MATCHING_SUBSCRIBERS, restored.get(1).getReasonCode());
+    }
+
+    @Test
+    void restore_corruptValue_restoredAsSuccess() {
+        store.put(7, ByteBuffer.wrap(new byte[]{1, 2}));
+
+        final List<MqttPubRec> restored = restore();
+        assertEquals(1, restored.size());
+        assertEquals(7, restored.get(0).getPacketIdentifier());
+        assertEquals(Mqtt5PubRecReasonCode.SUCCESS, restored.get(0).getReasonCode());
+    }
+
+    @Test
+    void remove() {
+        persistence.putPubRec(pubRec(1, Mqtt5PubRecReasonCode.SUCCESS));
+        persistence.putPubRec(pubRec(2, Mqtt5PubRecReasonCode.SUCCESS));
+        persistence.remove(1);
+        persistence.remove(5);
+
+        final List<MqttPubRec> restored = restore();
+        assertEquals(1, restored.size());
+        assertEquals(2, restored.get(0).getPacketIdentifier());
+    }
+
+    @Test
+    void clear() {
+        persistence.putPubRec(pubRec(1, Mqtt5PubRecReasonCode.SUCCESS));
+        persistence.putPubRec(pubRec(2, Mqtt5PubRecReasonCode.SUCCESS));
+        persistence.clear();
+
+        assertTrue(restore().isEmpty());
+    }
+
+    @Test
+    void sync() {
+        persistence.putPubRec(pubRec(1, Mqtt5PubRecReasonCode.SUCCESS));
+        assertEquals(0, store.syncs);
+        persistence.sync();
+        assertEquals(1, store.syncs);
+    }
+
+    private @NotNull List<MqttPubRec> restore() {
+        final List<MqttPubRec> restored = new ArrayList<>();
+        persistence.restore(restored::add);
+        return restored;
+    }
+
+    private static @NotNull MqttPubRec pubRec(
+            final int packetIdentifier, final @NotNull Mqtt5PubRecReasonCode reasonCode) {
+        return new MqttPubRec(packetIdentifier, reasonCode, null, MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+    }
+}
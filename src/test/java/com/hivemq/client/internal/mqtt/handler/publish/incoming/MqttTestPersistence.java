@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.mqtt.persistence.MqttPersistence;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Persistence that keeps the values in memory and counts the syncs.
+ *
+ * @author agent
+ */
+class MqttTestPersistence implements MqttPersistence {
+
+    final @NotNull Map<Long, ByteBuffer> values = new LinkedHashMap<>();
+    int syncs;
+
+    @Override
+    public void put(final long key, final @NotNull ByteBuffer value) {
+        final ByteBuffer copy = ByteBuffer.allocate(value.remaining());
+        copy.put(value.duplicate()).flip();
+        values.put(key, copy);
+    }
+
+    @Override
+    public void remove(final long key) {
+        values.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        values.clear();
+    }
+
+    @Override
+    public void forEach(final @NotNull EntryConsumer consumer) {
+        values.forEach((key, value) -> consumer.accept(key, value.duplicate()));
+    }
+
+    @Override
+    public void sync() {
+        syncs++;
+    }
+
+    @Override
+    public void close() {}
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.persistence.MqttOfflineBufferConfigImpl;
+import com.hivemq.client.internal.mqtt.persistence.MqttOfflineBufferConfigImplBuilder;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.persistence.MqttOfflineBufferOverflowPolicy;
+import io.netty.channel.EventLoop;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author agent
+ */
+class MqttOfflineBufferTest {
+
+    @TempDir
+    Path directory;
+
+    private final @NotNull MqttTestAckFlow ackFlow =
+            new MqttTestAckFlow(MqttTestAckFlow.clientConfig(mock(EventLoop.class)));
+    private final @NotNull List<MqttPublishWithFlow> dropped = new ArrayList<>();
+
+    @Test
+    void offer_maximumMessages_dropOldest() {
+        final MqttOfflineBuffer buffer = new MqttOfflineBuffer(
+                config().maximumMessages(2).overflowPolicy(MqttOfflineBufferOverflowPolicy.DROP_OLDEST).build());
+
+        buffer.offer(publish("1"), dropped::add);
+        buffer.offer(publish("2"), dropped::add);
+        buffer.offer(publish("3"), dropped::add);
+
+        assertEquals(1, dropped.size());
+        assertEquals("1", payload(dropped.get(0)));
+        assertEquals("2", payload(poll(buffer)));
+        assertEquals("3", payload(poll(buffer)));
+        assertNull(buffer.poll(dropped::add));
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    void offer_maximumMessages_dropNewest() {
+        final MqttOfflineBuffer buffer = new MqttOfflineBuffer(
+                config().maximumMessages(2).overflowPolicy(MqttOfflineBufferOverflowPolicy.DROP_NEWEST).build());
+
+        buffer.offer(publish("1"), dropped::add);
+        buffer.offer(publish("2"), dropped::add);
+        buffer.offer(publish("3"), dropped::add);
+
+        assertEquals(1, dropped.size());
+        assertEquals("3", payload(dropped.get(0)));
+        assertEquals("1", payload(poll(buffer)));
+        assertEquals("2", payload(poll(buffer)));
+        assertNull(buffer.poll(dropped::add));
+    }
+
+    @Test
+    void offer_maximumMessages_freedByPoll() {
+        final MqttOfflineBuffer buffer = new MqttOfflineBuffer(
+                config().maximumMessages(1).overflowPolicy(MqttOfflineBufferOverflowPolicy.DROP_NEWEST).build());
+
+        buffer.offer(publish("1"), dropped::add);
+        assertEquals("1", payload(poll(buffer)));
+        buffer.offer(publish("2"), dropped::add);
+        assertEquals("2", payload(poll(buffer)));
+        assertTrue(dropped.isEmpty());
+    }
+
+    @Test
+    void offer_maximumMemoryBytes_dropOldest() {
+        // topic "t" is encoded with 3 bytes, so each message takes 8 bytes
+        final MqttOfflineBuffer buffer = new MqttOfflineBuffer(config().maximumMemoryBytes(20)
+                .overflowPolicy(MqttOfflineBufferOverflowPolicy.DROP_OLDEST)
+                .build());
+
+        buffer.offer(publish("11111"), dropped::add);
+        buffer.offer(publish("22222"), dropped::add);
+        buffer.offer(publish("33333"), dropped::add);
+
+        assertEquals(1, dropped.size());
+        assertEquals("11111", payload(dropped.get(0)));
+        assertEquals("22222", payload(poll(buffer)));
+        assertEquals("33333", payload(poll(buffer)));
+        assertNull(buffer.poll(dropped::add));
+    }
+
+    @Test
+    void offer_maximumMemoryBytes_dropNewest() {
+        final MqttOfflineBuffer buffer = new MqttOfflineBuffer(config().maximumMemoryBytes(20)
+                .overflowPolicy(MqttOfflineBufferOverflowPolicy.DROP_NEWEST)
+                .build());
+
+        buffer.offer(publish("11111"), dropped::add);
+        buffer.offer(publish("22222"), dropped::add);
+        buffer.offer(publish("33333"), dropped::add);
+
+        assertEquals(1, dropped.size());
+        assertEquals("33333", payload(dropped.get(0)));
+        assertEquals("11111", payload(poll(buffer)));
+        assertEquals("22222", payload(poll(buffer)));
+        assertNull(buffer.poll(dropped::add));
+    }
+
+    @Test
+    void offer_memoryThenSpill_keepsOrder() throws IOException {
+        final MqttOfflineBuffer buffer = new MqttOfflineBuffer(
+                config().maximumMemoryBytes(20).spillDirectory(directory).maximumDiskBytes(4096).build());
+
+        buffer.offer(publish("11111"), dropped::add);
+        buffer.offer(publish("22222"), dropped::add);
+        assertEquals(0, spillFiles().size());
+        buffer.offer(publish("33333", MqttQos.EXACTLY_ONCE), dropped::add);
+        buffer.offer(publish("44444"), dropped::add);
+        assertEquals(1, spillFiles().size());
+
+        assertEquals("11111", payload(poll(buffer)));
+        // memory is freed, but the next message must still not overtake the spilled ones
+        buffer.offer(publish("55555"), dropped::add);
+        assertEquals("22222", payload(poll(buffer)));
+        assertEquals(MqttQos.EXACTLY_ONCE, buffer.peekQos());
+        final MqttPublishWithFlow spilled = poll(buffer);
+        assertEquals("33333", payload(spilled));
+        assertEquals("t", spilled.getPublish().getTopic().toString());
+        assertEquals(MqttQos.EXACTLY_ONCE, spilled.getPublish().getQos());
+        assertSame(ackFlow, spilled.getAckFlow());
+        assertEquals("44444", payload(poll(buffer)));
+        assertEquals(0, spillFiles().size());
+        assertEquals("55555", payload(poll(buffer)));
+        assertNull(buffer.poll(dropped::add));
+        assertTrue(dropped.isEmpty());
+    }
+
+    @Test
+    void offer_spillFull_dropOldest() {
+        final MqttOfflineBuffer buffer = new MqttOfflineBuffer(config().maximumMemoryBytes(0)
+                .spillDirectory(directory)
+                .maximumDiskBytes(4096)
+                .overflowPolicy(MqttOfflineBufferOverflowPolicy.DROP_OLDEST)
+                .build());
+
+        final String payload = String.join("", Collections.nCopies(1500, "x"));
+        buffer.offer(publish("1" + payload), dropped::add);
+        buffer.offer(publish("2" + payload), dropped::add);
+        buffer.offer(publish("3" + payload), dropped::add);
+
+        assertEquals(1, dropped.size());
+        assertEquals("1" + payload, payload(dropped.get(0)));
+        assertEquals("2" + payload, payload(poll(buffer)));
+        assertEquals("3" + payload, payload(poll(buffer)));
+        assertNull(buffer.poll(dropped::add));
+    }
+
+    @Test
+    void poll_corruptSpilledMessage_isDiscarded() throws IOException {
+        final MqttOfflineBuffer buffer = new MqttOfflineBuffer(
+                config().maximumMemoryBytes(0).spillDirectory(directory).maximumDiskBytes(4096).build());
+
+        buffer.offer(publish("1", MqttQos.AT_LEAST_ONCE), dropped::add);
+        buffer.offer(publish("2"), dropped::add);
+        // invalid QoS in the flags of the first record: [int length][byte type][byte flags]
+        try (final FileChannel channel = FileChannel.open(spillFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), 5);
+        }
+
+        final List<MqttPublishWithFlow> discarded = new ArrayList<>();
+        assertEquals("2", payload(buffer.poll(discarded::add)));
+        assertEquals(1, discarded.size());
+        final MqttPublish discardedPublish = discarded.get(0).getPublish();
+        assertEquals("t", discardedPublish.getTopic().toString());
+        assertEquals(MqttQos.AT_LEAST_ONCE, discardedPublish.getQos());
+        assertSame(ackFlow, discarded.get(0).getAckFlow());
+        assertNull(buffer.poll(discarded::add));
+        assertTrue(buffer.isEmpty());
+    }
+
+    private static @NotNull MqttOfflineBufferConfigImplBuilder config() {
+        return new MqttOfflineBufferConfigImplBuilder();
+    }
+
+    private @NotNull MqttPublishWithFlow publish(final @NotNull String payload) {
+        return publish(payload, MqttQos.AT_MOST_ONCE);
+    }
+
+    private @NotNull MqttPublishWithFlow publish(final @NotNull String payload, final @NotNull MqttQos qos) {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("t")
+                .qos(qos)
+                .payload(payload.getBytes(StandardCharsets.UTF_8))
+                .build();
+        return new MqttPublishWithFlow(publish, ackFlow);
+    }
+
+    private @NotNull MqttPublishWithFlow poll(final @NotNull MqttOfflineBuffer buffer) {
+        final MqttPublishWithFlow publishWithFlow = buffer.poll(dropped::add);
+        assertNotNull(publishWithFlow);
+        return publishWithFlow;
+    }
+
+    private static @NotNull String payload(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        return new String(publishWithFlow.getPublish().getPayloadAsBytes(), StandardCharsets.UTF_8);
+    }
+
+    private @NotNull List<Path> spillFiles() throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".spill")).collect(Collectors.toList());
+        }
+    }
+}
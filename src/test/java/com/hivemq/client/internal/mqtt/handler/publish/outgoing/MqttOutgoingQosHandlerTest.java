@@ -0,0 +1,243 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.internal.mqtt.message.publish.pubcomp.MqttPubComp;
+import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
+import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
+import com.hivemq.client.internal.mqtt.persistence.MqttOfflineBufferConfigImplBuilder;
+import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.exceptions.ConnectionClosedException;
+import com.hivemq.client.mqtt.exceptions.MqttClientStateException;
+import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5OutgoingQos1Interceptor;
+import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5OutgoingQos2Interceptor;
+import com.hivemq.client.mqtt.mqtt5.message.publish.puback.Mqtt5PubAckReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubcomp.Mqtt5PubCompReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubrec.Mqtt5PubRecReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.pubrel.Mqtt5PubRelBuilder;
+import com.hivemq.client.mqtt.persistence.MqttOfflineBufferOverflowPolicy;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+class MqttOutgoingQosHandlerTest {
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull MqttClientConfig clientConfig = MqttTestAckFlow.clientConfig(channel.eventLoop());
+    private final @NotNull MqttTestAckFlow ackFlow = new MqttTestAckFlow(clientConfig);
+    private final @NotNull Subscription subscription = mock(Subscription.class);
+    private final @NotNull MqttClientConnectionConfig connectionConfig =
+            new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false, null,
+                    10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10,
+                    MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, MqttQos.EXACTLY_ONCE, true, true, true, true,
+                    channel);
+
+    @AfterEach
+    void tearDown() {
+        channel.close();
+    }
+
+    @Test
+    void offlineBuffer_drainedInOrderOnReconnect() {
+        final MqttOutgoingQosHandler handler = createHandlerWithOfflineBuffer();
+        handler.onNext(publish("1"));
+        handler.onNext(publish("2"));
+        handler.onNext(publish("3"));
+        channel.runPendingTasks();
+
+        // the oldest message is dropped as only 2 messages fit into the offline buffer
+        assertEquals(1, ackFlow.results.size());
+        assertEquals("1", payload(ackFlow.results.get(0).getPublish()));
+        assertTrue(ackFlow.results.get(0).getRawError() instanceof MqttClientStateException);
+        // 3 credits for the buffered messages, 1 credit returned for the dropped message
+        verify(subscription).request(2);
+        assertNull(channel.readOutbound());
+
+        handler.onSessionStartOrResume(connectionConfig, channel.eventLoop());
+        channel.runPendingTasks();
+
+        final MqttStatefulPublish publish2 = channel.readOutbound();
+        final MqttStatefulPublish publish3 = channel.readOutbound();
+        assertEquals("2", payload(publish2.stateless()));
+        assertEquals("3", payload(publish3.stateless()));
+        assertNull(channel.readOutbound());
+        assertEquals(3, ackFlow.results.size());
+        assertNull(ackFlow.results.get(1).getRawError());
+        assertNull(ackFlow.results.get(2).getRawError());
+
+        // the ack flows return a credit for each completed message, the additional credits for the buffered messages
+        // are taken back, so 3 credits were requested in total for the 3 messages
+        handler.request(3);
+        verify(subscription).request(1);
+        verifyNoMoreInteractions(subscription);
+    }
+
+    @Test
+    void offlineBuffer_failedWhenNotReconnecting() {
+        final MqttOutgoingQosHandler handler = createHandlerWithOfflineBuffer();
+        handler.onNext(publish("1"));
+        handler.onNext(publish("2"));
+        channel.runPendingTasks();
+        verify(subscription).request(2);
+        assertTrue(ackFlow.results.isEmpty());
+
+        when(clientConfig.getState()).thenReturn(MqttClientState.DISCONNECTED);
+        handler.onDisconnected(channel.eventLoop());
+        channel.runPendingTasks();
+
+        assertEquals(2, ackFlow.results.size());
+        for (final MqttPublishResult result : ackFlow.results) {
+            assertTrue(result.getRawError() instanceof MqttClientStateException);
+        }
+        assertNull(channel.readOutbound());
+
+        handler.request(2);
+        verify(subscription).request(2);
+        verifyNoMoreInteractions(subscription);
+    }
+
+    @Test
+    void ack_withoutInterceptors_defaultPubRel() {
+        final MqttOutgoingQosHandler handler = createConnectedHandler(MqttClientAdvancedConfig.DEFAULT);
+        final MqttStatefulPublish publish = send(handler, MqttQos.EXACTLY_ONCE);
+
+        channel.writeInbound(new MqttPubRec(publish.getPacketIdentifier(), Mqtt5PubRecReasonCode.SUCCESS, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+
+        final MqttPubRel pubRel = channel.readOutbound();
+        assertEquals(publish.getPacketIdentifier(), pubRel.getPacketIdentifier());
+        assertEquals(MqttPubRel.DEFAULT_REASON_CODE, pubRel.getReasonCode());
+        assertNull(pubRel.getRawReasonString());
+        assertTrue(pubRel.getUserProperties().asList().isEmpty());
+    }
+
+    @Test
+    void ack_withInterceptors_interceptorsCalled() {
+        final Mqtt5OutgoingQos1Interceptor qos1Interceptor = mock(Mqtt5OutgoingQos1Interceptor.class);
+        final Mqtt5OutgoingQos2Interceptor qos2Interceptor = mock(Mqtt5OutgoingQos2Interceptor.class);
+        doAnswer(invocation -> {
+            invocation.<Mqtt5PubRelBuilder>getArgument(3).reasonString("intercepted");
+            return null;
+        }).when(qos2Interceptor).onPubRec(any(), any(), any(), any());
+        final MqttOutgoingQosHandler handler = createConnectedHandler(new MqttClientAdvancedConfigBuilder.Default()
+                .interceptors()
+                .outgoingQos1Interceptor(qos1Interceptor)
+                .outgoingQos2Interceptor(qos2Interceptor)
+                .applyInterceptors()
+                .build());
+
+        final MqttStatefulPublish publish1 = send(handler, MqttQos.AT_LEAST_ONCE);
+        final MqttPubAck pubAck = new MqttPubAck(publish1.getPacketIdentifier(), Mqtt5PubAckReasonCode.SUCCESS, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+        channel.writeInbound(pubAck);
+        verify(qos1Interceptor).onPubAck(clientConfig, publish1.stateless(), pubAck);
+
+        final MqttStatefulPublish publish2 = send(handler, MqttQos.EXACTLY_ONCE);
+        final MqttPubRec pubRec = new MqttPubRec(publish2.getPacketIdentifier(), Mqtt5PubRecReasonCode.SUCCESS, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+        channel.writeInbound(pubRec);
+        verify(qos2Interceptor).onPubRec(eq(clientConfig), eq(publish2.stateless()), eq(pubRec), any());
+
+        final MqttPubRel pubRel = channel.readOutbound();
+        assertNotNull(pubRel.getRawReasonString());
+        assertEquals("intercepted", pubRel.getRawReasonString().toString());
+
+        final MqttPubComp pubComp = new MqttPubComp(publish2.getPacketIdentifier(), Mqtt5PubCompReasonCode.SUCCESS,
+                null, MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+        channel.writeInbound(pubComp);
+        verify(qos2Interceptor).onPubComp(clientConfig, pubRel, pubComp);
+        verifyNoMoreInteractions(qos1Interceptor, qos2Interceptor);
+    }
+
+    private @NotNull MqttOutgoingQosHandler createConnectedHandler(
+            final @NotNull MqttClientAdvancedConfig advancedConfig) {
+
+        when(clientConfig.getAdvancedConfig()).thenReturn(advancedConfig);
+        when(clientConfig.getState()).thenReturn(MqttClientState.CONNECTED);
+
+        final MqttOutgoingQosHandler handler = new MqttOutgoingQosHandler(clientConfig, new MqttPublishFlowables());
+        channel.pipeline().addLast(handler);
+        handler.onSessionStartOrResume(connectionConfig, channel.eventLoop());
+        handler.onSubscribe(subscription);
+        return handler;
+    }
+
+    private @NotNull MqttStatefulPublish send(
+            final @NotNull MqttOutgoingQosHandler handler, final @NotNull MqttQos qos) {
+
+        handler.onNext(new MqttPublishWithFlow(new MqttPublishBuilder.Default().topic("t").qos(qos).build(), ackFlow));
+        channel.runPendingTasks();
+        final MqttStatefulPublish publish = channel.readOutbound();
+        assertNotNull(publish);
+        return publish;
+    }
+
+    private @NotNull MqttOutgoingQosHandler createHandlerWithOfflineBuffer() {
+        final MqttClientAdvancedConfig advancedConfig = new MqttClientAdvancedConfigBuilder.Default().offlineBuffer(
+                new MqttOfflineBufferConfigImplBuilder().maximumMessages(2)
+                        .overflowPolicy(MqttOfflineBufferOverflowPolicy.DROP_OLDEST)
+                        .build()).build();
+        when(clientConfig.getAdvancedConfig()).thenReturn(advancedConfig);
+        when(clientConfig.getState()).thenReturn(MqttClientState.CONNECTED);
+
+        final MqttOutgoingQosHandler handler = new MqttOutgoingQosHandler(clientConfig, new MqttPublishFlowables());
+        channel.pipeline().addLast(handler);
+        handler.onSessionStartOrResume(connectionConfig, channel.eventLoop());
+        // observe the credits requested from the publish flowables
+        handler.onSubscribe(subscription);
+
+        when(clientConfig.getState()).thenReturn(MqttClientState.DISCONNECTED_RECONNECT);
+        handler.onSessionEnd(new ConnectionClosedException("closed"));
+        return handler;
+    }
+
+    private @NotNull MqttPublishWithFlow publish(final @NotNull String payload) {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("t")
+                .qos(MqttQos.AT_MOST_ONCE)
+                .payload(payload.getBytes(StandardCharsets.UTF_8))
+                .build();
+        return new MqttPublishWithFlow(publish, ackFlow);
+    }
+
+    private static @NotNull String payload(final @NotNull MqttPublish publish) {
+        return new String(publish.getPayloadAsBytes(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import io.netty.channel.EventLoop;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ack flow that records the results of its messages.
+ *
+ * @author agent
+ */
+class MqttTestAckFlow extends MqttAckFlow {
+
+    static @NotNull MqttClientConfig clientConfig(final @NotNull EventLoop eventLoop) {
+        final MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+        when(clientConfig.acquireEventLoop()).thenReturn(eventLoop);
+        return clientConfig;
+    }
+
+    final @NotNull List<MqttPublishResult> results = new ArrayList<>();
+
+    MqttTestAckFlow(final @NotNull MqttClientConfig clientConfig) {
+        super(clientConfig);
+    }
+
+    @Override
+    void onNext(final @NotNull MqttPublishResult result) {
+        results.add(result);
+    }
+
+    @Override
+    void acknowledged(final long acknowledged) {}
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class MqttTopicAliasAutoMappingTest {
+
+    @Test
+    void onPublish_binaryAndStringTopicShareAlias() {
+        final MqttTopicAliasAutoMapping mapping = new MqttTopicAliasAutoMapping(2);
+
+        final int topicAlias = mapping.onPublish(MqttTopicImpl.of("test/topic"));
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, topicAlias);
+
+        final MqttTopicImpl binaryTopic = MqttTopicImpl.of("test/topic".getBytes(StandardCharsets.UTF_8));
+        assertNotNull(binaryTopic);
+        assertEquals(1, mapping.onPublish(binaryTopic));
+
+        assertEquals(2, mapping.getPublishCount());
+        assertEquals(1, mapping.getHitCount());
+        assertEquals(0, mapping.getEvictionCount());
+    }
+
+    @Test
+    void onPublish_countsHitsAndEvictions() {
+        final MqttTopicAliasAutoMapping mapping = new MqttTopicAliasAutoMapping(1);
+
+        for (int i = 0; i < 10; i++) {
+            mapping.onPublish(MqttTopicImpl.of("a"));
+        }
+        assertEquals(9, mapping.getHitCount());
+        assertEquals(0, mapping.getEvictionCount());
+
+        for (int i = 0; i < 1_000; i++) {
+            mapping.onPublish(MqttTopicImpl.of("b"));
+        }
+        assertEquals(1_010, mapping.getPublishCount());
+        assertTrue(mapping.getEvictionCount() > 0);
+        assertEquals(1, mapping.onPublish(MqttTopicImpl.of("b")));
+        assertEquals(DEFAULT_NO_TOPIC_ALIAS, mapping.onPublish(MqttTopicImpl.of("a")));
+    }
+}
@@ -21,6 +21,8 @@ import com.hivemq.client.internal.mqtt.MqttClientSslConfigImplBuilder;
 import com.hivemq.client.internal.util.collections.ImmutableList;
 import io.netty.channel.Channel;
 import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslProvider;
 import org.jetbrains.annotations.NotNull;
@@ -34,6 +36,7 @@ import javax.net.ssl.TrustManagerFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -173,6 +176,36 @@ class SslUtilTest {
                 .getEnabledCipherSuites());
     }
 
+    @Test
+    void getSslContext_sharedForEqualConfigs() throws Exception {
+        final MqttClientSslConfigImpl sslConfig1 =
+                new MqttClientSslConfigImplBuilder.Default().handshakeTimeout(1, TimeUnit.SECONDS).build();
+        final MqttClientSslConfigImpl sslConfig2 =
+                new MqttClientSslConfigImplBuilder.Default().handshakeTimeout(1, TimeUnit.SECONDS).build();
+        final MqttClientSslConfigImpl sslConfig3 =
+                new MqttClientSslConfigImplBuilder.Default().handshakeTimeout(2, TimeUnit.SECONDS).build();
+
+        assertSame(SslUtil.getSslContext(sslConfig1), SslUtil.getSslContext(sslConfig1));
+        assertSame(SslUtil.getSslContext(sslConfig1), SslUtil.getSslContext(sslConfig2));
+        assertNotSame(SslUtil.getSslContext(sslConfig1), SslUtil.getSslContext(sslConfig3));
+    }
+
+    @Test
+    void getSslProvider_notPreferOpenSsl_defaultProvider() {
+        final MqttClientSslConfigImpl sslConfig = new MqttClientSslConfigImplBuilder.Default().build();
+
+        assertEquals(SslContext.defaultClientProvider(), SslUtil.getSslProvider(sslConfig));
+    }
+
+    @Test
+    void getSslProvider_preferOpenSsl() {
+        final MqttClientSslConfigImpl sslConfig =
+                new MqttClientSslConfigImplBuilder.Default().preferOpenSsl(true).build();
+
+        assertEquals(OpenSsl.isAvailable() ? SslProvider.OPENSSL : SslContext.defaultClientProvider(),
+                SslUtil.getSslProvider(sslConfig));
+    }
+
     private List<String> getEnabledProtocols() throws Exception {
         final SSLContext context = SSLContext.getInstance("TLS");
         context.init(null, null, null);
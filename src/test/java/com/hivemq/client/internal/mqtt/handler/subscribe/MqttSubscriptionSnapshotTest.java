@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.handler.subscribe;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5RetainHandling;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * @author agent
+ */
+class MqttSubscriptionSnapshotTest {
+
+    @Test
+    void batch_allFitIntoOnePacket() {
+        final ImmutableList<MqttSubscription> subscriptions = subscriptions(10);
+
+        final ImmutableList<MqttSubscribe> batches = MqttSubscriptionSnapshot.batch(subscriptions, 1024);
+
+        assertEquals(1, batches.size());
+        assertEquals(subscriptions, batches.get(0).getSubscriptions());
+    }
+
+    @Test
+    void batch_splitAtMaximumPacketSize() {
+        final ImmutableList<MqttSubscription> subscriptions = subscriptions(10);
+        // each topic filter "topic/N" encodes to 2 + 7 bytes, plus 1 byte subscription options
+        final int maximumPacketSize = MqttSubscriptionSnapshot.SUBSCRIBE_OVERHEAD + 3 * 10;
+
+        final ImmutableList<MqttSubscribe> batches = MqttSubscriptionSnapshot.batch(subscriptions, maximumPacketSize);
+
+        assertEquals(4, batches.size());
+        assertEquals(3, batches.get(0).getSubscriptions().size());
+        assertEquals(3, batches.get(1).getSubscriptions().size());
+        assertEquals(3, batches.get(2).getSubscriptions().size());
+        assertEquals(1, batches.get(3).getSubscriptions().size());
+        int index = 0;
+        for (final MqttSubscribe batch : batches) {
+            for (final MqttSubscription subscription : batch.getSubscriptions()) {
+                assertSame(subscriptions.get(index++), subscription);
+            }
+        }
+    }
+
+    @Test
+    void batch_tooLargeSubscription_ownPacket() {
+        final ImmutableList<MqttSubscription> subscriptions = subscriptions(3);
+
+        final ImmutableList<MqttSubscribe> batches = MqttSubscriptionSnapshot.batch(subscriptions, 1);
+
+        assertEquals(3, batches.size());
+    }
+
+    @Test
+    void batch_empty() {
+        assertEquals(0, MqttSubscriptionSnapshot.batch(ImmutableList.of(), 1024).size());
+    }
+
+    private static @NotNull ImmutableList<MqttSubscription> subscriptions(final int count) {
+        final ImmutableList.Builder<MqttSubscription> builder = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            builder.add(new MqttSubscription(MqttTopicFilterImpl.of("topic/" + i), MqttQos.AT_LEAST_ONCE, false,
+                    Mqtt5RetainHandling.SEND, false));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.hivemq.client.internal.mqtt.handler.util.MqttTimerWheel.TICK_NANOS;
+import static com.hivemq.client.internal.mqtt.handler.util.MqttTimerWheel.WHEEL_SIZE;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class MqttTimerWheelTest {
+
+    private final @NotNull TickRecorder eventLoop = new TickRecorder();
+    private final @NotNull MqttTimerWheel timerWheel = new MqttTimerWheel(eventLoop, 0);
+    private final @NotNull List<String> executed = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        eventLoop.shutdownNow();
+    }
+
+    @Test
+    void get_sameEventLoop_sameTimerWheel() {
+        assertSame(MqttTimerWheel.get(eventLoop), MqttTimerWheel.get(eventLoop));
+    }
+
+    @Test
+    void get_otherEventLoopOnSameThread_ownTimerWheel() {
+        final TickRecorder otherEventLoop = new TickRecorder();
+        try {
+            final MqttTimerWheel timerWheel = MqttTimerWheel.get(eventLoop);
+            final MqttTimerWheel otherTimerWheel = MqttTimerWheel.get(otherEventLoop);
+            assertNotSame(timerWheel, otherTimerWheel);
+            assertSame(otherTimerWheel, MqttTimerWheel.get(otherEventLoop));
+
+            otherTimerWheel.schedule(() -> executed.add("a"), 250_000_000);
+            assertTrue(eventLoop.delays.isEmpty());
+            assertEquals(1, otherEventLoop.delays.size());
+        } finally {
+            otherEventLoop.shutdownNow();
+        }
+    }
+
+    @Test
+    void schedule_executedNotBeforeDeadline() {
+        timerWheel.schedule(() -> executed.add("a"), 250_000_000, 0);
+
+        timerWheel.expire(3 * TICK_NANOS - 1);
+        assertTrue(executed.isEmpty());
+        timerWheel.expire(3 * TICK_NANOS);
+        assertEquals(1, executed.size());
+        assertEquals(0, timerWheel.getPending());
+    }
+
+    @Test
+    void schedule_firstTimeout_schedulesTickForDeadline() {
+        timerWheel.schedule(() -> executed.add("a"), 250_000_000, 0);
+        timerWheel.schedule(() -> executed.add("b"), 550_000_000, 0);
+
+        assertEquals(1, eventLoop.delays.size());
+        assertEquals(3 * TICK_NANOS, (long) eventLoop.delays.get(0));
+    }
+
+    @Test
+    void schedule_earlierTimeout_reschedulesTick() {
+        timerWheel.schedule(() -> executed.add("a"), 550_000_000, 0);
+        timerWheel.schedule(() -> executed.add("b"), 250_000_000, 0);
+
+        assertEquals(2, eventLoop.delays.size());
+        assertEquals(6 * TICK_NANOS, (long) eventLoop.delays.get(0));
+        assertEquals(3 * TICK_NANOS, (long) eventLoop.delays.get(1));
+        assertTrue(eventLoop.futures.get(0).isCancelled());
+        assertFalse(eventLoop.futures.get(1).isCancelled());
+    }
+
+    @Test
+    void tick_schedulesNextTickForEarliestDeadline() {
+        timerWheel.schedule(() -> executed.add("a"), 250_000_000, 0);
+        timerWheel.schedule(() -> executed.add("b"), 5_000_000_000L, 0);
+
+        timerWheel.tick(3 * TICK_NANOS);
+        assertEquals(1, executed.size());
+        // no tick is scheduled for the 47 ticks without a due timeout
+        assertEquals(2, eventLoop.delays.size());
+        assertEquals(47 * TICK_NANOS, (long) eventLoop.delays.get(1));
+        assertEquals(50, timerWheel.getEarliestTick());
+
+        timerWheel.tick(50 * TICK_NANOS);
+        assertEquals(2, executed.size());
+        assertEquals(2, eventLoop.delays.size());
+    }
+
+    @Test
+    void tick_beyondOneRotation_schedulesTickForDeadline() {
+        final long delay = 2 * WHEEL_SIZE * TICK_NANOS;
+        timerWheel.schedule(() -> executed.add("a"), TICK_NANOS, 0);
+        timerWheel.schedule(() -> executed.add("b"), delay, 0);
+
+        timerWheel.tick(TICK_NANOS);
+        assertEquals(1, executed.size());
+        assertEquals(2 * WHEEL_SIZE, timerWheel.getEarliestTick());
+        assertEquals(delay - TICK_NANOS, (long) eventLoop.delays.get(1));
+    }
+
+    @Test
+    void schedule_beyondOneRotation_executedAfterDeadline() {
+        final long delay = WHEEL_SIZE * TICK_NANOS + TICK_NANOS / 2;
+        timerWheel.schedule(() -> executed.add("a"), delay, 0);
+
+        timerWheel.expire(WHEEL_SIZE * TICK_NANOS);
+        assertTrue(executed.isEmpty());
+        timerWheel.expire((WHEEL_SIZE + 1) * TICK_NANOS);
+        assertEquals(1, executed.size());
+    }
+
+    @Test
+    void cancel_notExecuted() {
+        final MqttTimerWheel.Timeout timeout = timerWheel.schedule(() -> executed.add("a"), TICK_NANOS, 0);
+        timerWheel.schedule(() -> executed.add("b"), TICK_NANOS, 0);
+
+        timeout.cancel();
+        assertEquals(1, timerWheel.getPending());
+        timerWheel.expire(TICK_NANOS);
+        assertEquals(1, executed.size());
+        assertEquals("b", executed.get(0));
+    }
+
+    @Test
+    void expire_taskSchedulesTimeout_executedOnNextTick() {
+        timerWheel.schedule(() -> {
+            executed.add("a");
+            timerWheel.schedule(() -> executed.add("b"), 0, TICK_NANOS);
+        }, TICK_NANOS, 0);
+
+        timerWheel.expire(TICK_NANOS);
+        assertEquals(1, executed.size());
+        timerWheel.expire(2 * TICK_NANOS);
+        assertEquals(2, executed.size());
+    }
+
+    @Test
+    void schedule_afterIdle_deadlineRelativeToNow() {
+        final long idle = 10 * WHEEL_SIZE * TICK_NANOS;
+        timerWheel.schedule(() -> executed.add("a"), TICK_NANOS, idle);
+
+        timerWheel.expire(idle);
+        assertTrue(executed.isEmpty());
+        timerWheel.expire(idle + TICK_NANOS);
+        assertEquals(1, executed.size());
+    }
+
+    private static class TickRecorder extends ScheduledThreadPoolExecutor {
+
+        final @NotNull List<Long> delays = new ArrayList<>();
+        final @NotNull List<ScheduledFuture<?>> futures = new ArrayList<>();
+
+        TickRecorder() {
+            super(1);
+        }
+
+        @Override
+        public @NotNull ScheduledFuture<?> schedule(
+                final @NotNull Runnable command, final long delay, final @NotNull TimeUnit unit) {
+
+            delays.add(unit.toNanos(delay));
+            final ScheduledFuture<?> future = super.schedule(() -> {}, 1, TimeUnit.DAYS);
+            futures.add(future);
+            return future;
+        }
+    }
+}
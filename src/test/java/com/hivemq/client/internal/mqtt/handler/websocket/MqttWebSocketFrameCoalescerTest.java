@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.websocket;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class MqttWebSocketFrameCoalescerTest {
+
+    @Test
+    void write_coalescedUntilFlush() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new MqttWebSocketFrameCoalescer());
+
+        final ChannelFuture future1 = channel.write(Unpooled.wrappedBuffer(new byte[]{1, 2}));
+        channel.write(Unpooled.wrappedBuffer(new byte[]{3}), channel.voidPromise());
+        final ChannelFuture future2 = channel.write(Unpooled.wrappedBuffer(new byte[]{4, 5, 6}));
+        assertNull(channel.readOutbound());
+        assertFalse(future1.isDone());
+
+        channel.flush();
+
+        final ByteBuf buffer = channel.readOutbound();
+        assertEquals(Unpooled.wrappedBuffer(new byte[]{1, 2, 3, 4, 5, 6}), buffer);
+        buffer.release();
+        assertNull(channel.readOutbound());
+        assertTrue(future1.isSuccess());
+        assertTrue(future2.isSuccess());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    void write_nonByteBuf_keepsOrder() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new MqttWebSocketFrameCoalescer());
+
+        channel.write(Unpooled.wrappedBuffer(new byte[]{1}));
+        channel.writeAndFlush("other");
+
+        final ByteBuf buffer = channel.readOutbound();
+        assertEquals(1, buffer.readableBytes());
+        buffer.release();
+        assertEquals("other", channel.readOutbound());
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    void close_releasesPending() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new MqttWebSocketFrameCoalescer());
+        final ByteBuf buffer = Unpooled.buffer().writeByte(1);
+
+        final ChannelFuture future = channel.write(buffer);
+        channel.close();
+
+        assertEquals(0, buffer.refCnt());
+        assertFalse(future.isSuccess());
+        assertNull(channel.readOutbound());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.handler.websocket;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttWebSocketConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttWebSocketConfigImplBuilder;
+import com.hivemq.client.internal.mqtt.handler.MqttChannelInitializer;
+import com.hivemq.client.internal.mqtt.handler.connect.MqttConnAckFlow;
+import com.hivemq.client.internal.mqtt.lifecycle.MqttClientConnectTimingsImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketFrameDecoder;
+import io.netty.handler.codec.http.websocketx.WebSocketFrameEncoder;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author agent
+ */
+class MqttWebSocketInitializerTest {
+
+    private static final @NotNull Pattern KEY_PATTERN =
+            Pattern.compile("sec-websocket-key: *([^\r\n]+)", Pattern.CASE_INSENSITIVE);
+
+    @Test
+    void handshake_onlyFrameCodecsRemain() throws Exception {
+        final MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+        when(clientConfig.getTransportConfig()).thenReturn(MqttClientTransportConfigImpl.DEFAULT);
+        when(clientConfig.getServerHost()).thenReturn("localhost");
+        when(clientConfig.getServerPort()).thenReturn(8080);
+        final MqttConnAckFlow connAckFlow = mock(MqttConnAckFlow.class);
+        when(connAckFlow.getConnectTimings()).thenReturn(new MqttClientConnectTimingsImpl());
+        final MqttChannelInitializer mqttChannelInitializer = mock(MqttChannelInitializer.class);
+        final MqttWebSocketInitializer webSocketInitializer = new MqttWebSocketInitializer(
+                clientConfig, connAckFlow, mqttChannelInitializer, new MqttWebSocketCodec());
+        final MqttWebSocketConfigImpl webSocketConfig = new MqttWebSocketConfigImplBuilder.Default().build();
+
+        final EmbeddedChannel channel = new EmbeddedChannel(false, false);
+        webSocketInitializer.initChannel(channel, webSocketConfig);
+        channel.register();
+
+        final ByteBuf request = channel.readOutbound();
+        final Matcher matcher = KEY_PATTERN.matcher(request.toString(StandardCharsets.US_ASCII));
+        request.release();
+        assertTrue(matcher.find());
+        final String accept = Base64.getEncoder()
+                .encodeToString(MessageDigest.getInstance("SHA-1")
+                        .digest((matcher.group(1).trim() + "258EAFA5-E914-47DA-95CA-C5AB0DC85B11").getBytes(
+                                StandardCharsets.US_ASCII)));
+        channel.writeInbound(Unpooled.copiedBuffer("HTTP/1.1 101 Switching Protocols\r\n" + //
+                "Upgrade: websocket\r\n" + //
+                "Connection: Upgrade\r\n" + //
+                "Sec-WebSocket-Accept: " + accept + "\r\n" + //
+                "Sec-WebSocket-Protocol: mqtt\r\n\r\n", StandardCharsets.US_ASCII));
+        channel.runPendingTasks();
+
+        verify(mqttChannelInitializer).initMqtt(channel);
+        final ChannelPipeline pipeline = channel.pipeline();
+        assertNull(pipeline.get(HttpClientCodec.class));
+        assertNull(pipeline.get(HttpObjectAggregator.class));
+        assertNull(pipeline.get(MqttWebSocketInitializer.class));
+        assertNotNull(pipeline.get(WebSocketFrameEncoder.class));
+        assertNotNull(pipeline.get(WebSocketFrameDecoder.class));
+        assertNotNull(pipeline.get(MqttWebSocketCodec.class));
+
+        channel.writeOutbound(Unpooled.wrappedBuffer(new byte[]{0x20, 0x02, 0x00, 0x00}));
+        final ByteBuf frame = channel.readOutbound();
+        assertNotNull(frame);
+        frame.release();
+
+        channel.writeInbound(new BinaryWebSocketFrame(Unpooled.wrappedBuffer(new byte[]{0x20, 0x02, 0x00, 0x00})));
+        final ByteBuf content = channel.readInbound();
+        assertEquals(4, content.readableBytes());
+        content.release();
+        channel.finishAndReleaseAll();
+    }
+}
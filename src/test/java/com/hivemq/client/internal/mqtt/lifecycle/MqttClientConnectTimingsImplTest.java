@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.lifecycle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author agent
+ */
+class MqttClientConnectTimingsImplTest {
+
+    @Test
+    void allPhasesRecorded() {
+        final MqttClientConnectTimingsImpl timings = new MqttClientConnectTimingsImpl();
+        timings.onStart(1_000);
+        timings.onDnsResolution(3_000);
+        timings.onTcpConnect(6_000);
+        timings.onTlsHandshake(10_000);
+        timings.onWebSocketUpgrade(15_000);
+        timings.onConnectFlush(21_000);
+        timings.onConnAck(28_000);
+
+        assertEquals(2, timings.getDnsResolutionTime(TimeUnit.MICROSECONDS));
+        assertEquals(3, timings.getTcpConnectTime(TimeUnit.MICROSECONDS));
+        assertEquals(4, timings.getTlsHandshakeTime(TimeUnit.MICROSECONDS));
+        assertEquals(5, timings.getWebSocketUpgradeTime(TimeUnit.MICROSECONDS));
+        assertEquals(6, timings.getConnectFlushTime(TimeUnit.MICROSECONDS));
+        assertEquals(7, timings.getConnAckTime(TimeUnit.MICROSECONDS));
+        assertEquals(27, timings.getTotalTime(TimeUnit.MICROSECONDS));
+    }
+
+    @Test
+    void missingPhases_zero_andCountedToNextPhase() {
+        final MqttClientConnectTimingsImpl timings = new MqttClientConnectTimingsImpl();
+        timings.onStart(1_000);
+        timings.onDnsResolution(3_000);
+        timings.onTcpConnect(6_000);
+        timings.onConnectFlush(10_000);
+        timings.onConnAck(15_000);
+
+        assertEquals(0, timings.getTlsHandshakeTime(TimeUnit.MICROSECONDS));
+        assertEquals(0, timings.getWebSocketUpgradeTime(TimeUnit.MICROSECONDS));
+        assertEquals(4, timings.getConnectFlushTime(TimeUnit.MICROSECONDS));
+        assertEquals(14, timings.getTotalTime(TimeUnit.MICROSECONDS));
+    }
+
+    @Test
+    void notConnected_totalZero() {
+        final MqttClientConnectTimingsImpl timings = new MqttClientConnectTimingsImpl();
+        timings.onStart(1_000);
+        timings.onDnsResolution(3_000);
+
+        assertEquals(2, timings.getDnsResolutionTime(TimeUnit.MICROSECONDS));
+        assertEquals(0, timings.getConnAckTime(TimeUnit.MICROSECONDS));
+        assertEquals(0, timings.getTotalTime(TimeUnit.MICROSECONDS));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.lifecycle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author agent
+ */
+class MqttReconnectConcurrencyLimiterTest {
+
+    @Test
+    void acquire_belowLimit_runsImmediately() {
+        final MqttReconnectConcurrencyLimiter limiter = new MqttReconnectConcurrencyLimiter();
+        final List<Integer> started = new ArrayList<>();
+
+        limiter.acquire(2, () -> started.add(1));
+        limiter.acquire(2, () -> started.add(2));
+
+        assertEquals(Arrays.asList(1, 2), started);
+        assertEquals(2, limiter.getRunning());
+    }
+
+    @Test
+    void acquire_limitReached_waitsForRelease() {
+        final MqttReconnectConcurrencyLimiter limiter = new MqttReconnectConcurrencyLimiter();
+        final List<Integer> started = new ArrayList<>();
+
+        limiter.acquire(1, () -> started.add(1));
+        limiter.acquire(1, () -> started.add(2));
+        limiter.acquire(1, () -> started.add(3));
+        assertEquals(Arrays.asList(1), started);
+
+        limiter.release();
+        assertEquals(Arrays.asList(1, 2), started);
+        limiter.release();
+        assertEquals(Arrays.asList(1, 2, 3), started);
+        limiter.release();
+        assertEquals(0, limiter.getRunning());
+    }
+
+    @Test
+    void acquire_differentLimits_sharedCount() {
+        final MqttReconnectConcurrencyLimiter limiter = new MqttReconnectConcurrencyLimiter();
+        final List<Integer> started = new ArrayList<>();
+
+        limiter.acquire(2, () -> started.add(1));
+        limiter.acquire(2, () -> started.add(2));
+        limiter.acquire(1, () -> started.add(3));
+        limiter.acquire(2, () -> started.add(4));
+        assertEquals(Arrays.asList(1, 2), started);
+
+        limiter.release();
+        assertEquals(Arrays.asList(1, 2, 4), started); // 3 is skipped as its limit is still reached
+        limiter.release();
+        assertEquals(Arrays.asList(1, 2, 4), started);
+        limiter.release();
+        assertEquals(Arrays.asList(1, 2, 4, 3), started);
+        assertEquals(1, limiter.getRunning());
+    }
+
+    @Test
+    void acquire_lowLimitWaiting_higherLimitNotBlocked() {
+        final MqttReconnectConcurrencyLimiter limiter = new MqttReconnectConcurrencyLimiter();
+        final List<Integer> started = new ArrayList<>();
+
+        limiter.acquire(3, () -> started.add(1));
+        limiter.acquire(1, () -> started.add(2)); // waits, its limit is reached
+        limiter.acquire(3, () -> started.add(3)); // runs although 2 waits before it
+        assertEquals(Arrays.asList(1, 3), started);
+        assertEquals(2, limiter.getRunning());
+
+        limiter.release();
+        limiter.release();
+        assertEquals(Arrays.asList(1, 3, 2), started);
+        assertEquals(1, limiter.getRunning());
+    }
+
+    @Test
+    void release_startsWaitingInFifoOrder() {
+        final MqttReconnectConcurrencyLimiter limiter = new MqttReconnectConcurrencyLimiter();
+        final List<Integer> started = new ArrayList<>();
+
+        limiter.acquire(2, () -> started.add(1));
+        limiter.acquire(2, () -> started.add(2));
+        limiter.acquire(3, () -> started.add(3));
+        limiter.acquire(3, () -> started.add(4));
+        limiter.acquire(3, () -> started.add(5));
+        assertEquals(Arrays.asList(1, 2, 3), started);
+
+        limiter.release();
+        assertEquals(Arrays.asList(1, 2, 3, 4), started);
+        limiter.release();
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), started);
+    }
+}
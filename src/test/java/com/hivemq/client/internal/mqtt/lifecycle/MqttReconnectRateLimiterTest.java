@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.lifecycle;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author agent
+ */
+class MqttReconnectRateLimiterTest {
+
+    @Test
+    void reserve_withinLimit_delayUnchanged() {
+        final MqttReconnectRateLimiter rateLimiter = new MqttReconnectRateLimiter(3, 1000);
+
+        assertEquals(100, rateLimiter.reserve(0, 100));
+        assertEquals(200, rateLimiter.reserve(0, 200));
+        assertEquals(300, rateLimiter.reserve(0, 300));
+    }
+
+    @Test
+    void reserve_exceedsLimit_movedToNextWindow() {
+        final MqttReconnectRateLimiter rateLimiter = new MqttReconnectRateLimiter(2, 1000);
+
+        assertEquals(100, rateLimiter.reserve(0, 100));
+        assertEquals(100, rateLimiter.reserve(0, 100));
+        assertEquals(1000, rateLimiter.reserve(0, 100));
+        assertEquals(1000, rateLimiter.reserve(0, 100));
+        assertEquals(2000, rateLimiter.reserve(0, 100));
+    }
+
+    @Test
+    void reserve_laterWindow_resetsSlots() {
+        final MqttReconnectRateLimiter rateLimiter = new MqttReconnectRateLimiter(1, 1000);
+
+        assertEquals(100, rateLimiter.reserve(0, 100));
+        assertEquals(1500, rateLimiter.reserve(0, 1500));
+        assertEquals(500, rateLimiter.reserve(2000, 500));
+    }
+
+    @Test
+    void reserve_earlierThanReservedWindow_movedToReservedWindow() {
+        final MqttReconnectRateLimiter rateLimiter = new MqttReconnectRateLimiter(2, 1000);
+
+        assertEquals(5500, rateLimiter.reserve(0, 5500));
+        assertEquals(5000, rateLimiter.reserve(0, 100));
+        assertEquals(6000, rateLimiter.reserve(0, 100));
+    }
+
+    @Test
+    void reserve_negativeNanoTime() {
+        final MqttReconnectRateLimiter rateLimiter = new MqttReconnectRateLimiter(1, 1000);
+
+        assertEquals(100, rateLimiter.reserve(-1500, 100));
+        assertEquals(500, rateLimiter.reserve(-1500, 100));
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.hivemq.client.internal.mqtt.persistence;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class MqttMappedRingBufferTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void offer_poll_inOrder() throws IOException {
+        final MqttMappedRingBuffer ringBuffer = MqttMappedRingBuffer.create(directory, 4096);
+        assertTrue(ringBuffer.offer(value("a")));
+        assertTrue(ringBuffer.offer(value("bb")));
+        assertTrue(ringBuffer.offer(value("ccc")));
+        assertEquals(3, ringBuffer.size());
+
+        assertEquals("a", string(ringBuffer.poll()));
+        assertEquals("bb", string(ringBuffer.poll()));
+        assertEquals("ccc", string(ringBuffer.poll()));
+        assertNull(ringBuffer.poll());
+        assertTrue(ringBuffer.isEmpty());
+        ringBuffer.close();
+    }
+
+    @Test
+    void offer_doesNotChangeValue() throws IOException {
+        final MqttMappedRingBuffer ringBuffer = MqttMappedRingBuffer.create(directory, 4096);
+        final ByteBuffer value = value("abc");
+        assertTrue(ringBuffer.offer(value));
+        assertEquals(0, value.position());
+        assertEquals(3, value.limit());
+        ringBuffer.close();
+    }
+
+    @Test
+    void offer_full_returnsFalse() throws IOException {
+        final MqttMappedRingBuffer ringBuffer = MqttMappedRingBuffer.create(directory, 4096);
+        assertTrue(ringBuffer.offer(ByteBuffer.allocate(2000)));
+        assertTrue(ringBuffer.offer(ByteBuffer.allocate(2000)));
+        assertFalse(ringBuffer.offer(ByteBuffer.allocate(100)));
+        assertFalse(ringBuffer.offer(ByteBuffer.allocate(5000)));
+        assertEquals(2, ringBuffer.size());
+        ringBuffer.close();
+    }
+
+    @Test
+    void offer_wrapsAround() throws IOException {
+        final MqttMappedRingBuffer ringBuffer = MqttMappedRingBuffer.create(directory, 4096);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(ringBuffer.offer(filled(1500, i)));
+            assertTrue(ringBuffer.offer(filled(1000, i + 1)));
+            assertEquals(filled(1500, i), ringBuffer.poll());
+            assertEquals(filled(1000, i + 1), ringBuffer.poll());
+        }
+        assertTrue(ringBuffer.isEmpty());
+        ringBuffer.close();
+    }
+
+    @Test
+    void offer_afterPoll_reusesFreedSpaceAtStart() throws IOException {
+        final MqttMappedRingBuffer ringBuffer = MqttMappedRingBuffer.create(directory, 4096);
+        assertTrue(ringBuffer.offer(filled(2000, 1)));
+        assertTrue(ringBuffer.offer(filled(1500, 2)));
+        assertFalse(ringBuffer.offer(filled(1000, 3)));
+
+        assertEquals(filled(2000, 1), ringBuffer.poll());
+        assertTrue(ringBuffer.offer(filled(1000, 3)));
+        assertTrue(ringBuffer.offer(filled(900, 4)));
+        assertFalse(ringBuffer.offer(filled(200, 5)));
+
+        assertEquals(filled(1500, 2), ringBuffer.poll());
+        assertEquals(filled(1000, 3), ringBuffer.poll());
+        assertEquals(filled(900, 4), ringBuffer.poll());
+        assertNull(ringBuffer.poll());
+        ringBuffer.close();
+    }
+
+    @Test
+    void close_deletesFile() throws IOException {
+        final MqttMappedRingBuffer ringBuffer = MqttMappedRingBuffer.create(directory, 4096);
+        assertEquals(1, files());
+        ringBuffer.close();
+        assertEquals(0, files());
+    }
+
+    private long files() throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static @NotNull ByteBuffer value(final @NotNull String string) {
+        return ByteBuffer.wrap(string.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static @NotNull ByteBuffer filled(final int length, final int b) {
+        final byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) b);
+        return ByteBuffer.wrap(bytes);
+    }
+
+    private static @Nullable String string(final @Nullable ByteBuffer value) {
+        if (value == null) {
+            return null;
+        }
+        final byte[] bytes = new byte[value.remaining()];
+        value.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.mqtt.persistence;
+
+import com.hivemq.client.mqtt.persistence.MqttPersistence;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent
+ */
+class MqttSegmentLogPersistenceImplTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void put_forEach_inOrderOfFirstPut() {
+        try (final MqttPersistence persistence = open(4096)) {
+            persistence.put(3, value("a"));
+            persistence.put(1, value("b"));
+            persistence.put(2, value("c"));
+            persistence.put(3, value("d"));
+
+            assertEquals(Arrays.asList("3=d", "1=b", "2=c"), entries(persistence));
+        }
+    }
+
+    @Test
+    void reopen_restoresValuesAndOrder() {
+        try (final MqttPersistence persistence = open(4096)) {
+            persistence.put(3, value("a"));
+            persistence.put(1, value("b"));
+            persistence.put(2, value("c"));
+            persistence.remove(1);
+            persistence.put(3, value("d"));
+        }
+        try (final MqttPersistence persistence = open(4096)) {
+            assertEquals(Arrays.asList("3=d", "2=c"), entries(persistence));
+            persistence.put(4, value("e"));
+        }
+        try (final MqttPersistence persistence = open(4096)) {
+            assertEquals(Arrays.asList("3=d", "2=c", "4=e"), entries(persistence));
+        }
+    }
+
+    @Test
+    void clear() {
+        try (final MqttPersistence persistence = open(4096)) {
+            persistence.put(1, value("a"));
+            persistence.put(2, value("b"));
+            persistence.clear();
+            persistence.put(3, value("c"));
+        }
+        try (final MqttPersistence persistence = open(4096)) {
+            assertEquals(Collections.singletonList("3=c"), entries(persistence));
+        }
+    }
+
+    @Test
+    void remove_deletesSegmentsWithoutLiveValues() throws IOException {
+        try (final MqttSegmentLogPersistenceImpl persistence = open(4096)) {
+            for (int i = 0; i < 20; i++) {
+                persistence.put(i, largeValue(i));
+            }
+            assertTrue(persistence.getSegmentCount() > 2);
+            for (int i = 0; i < 20; i++) {
+                persistence.remove(i);
+            }
+            assertEquals(1, persistence.getSegmentCount());
+        }
+        assertEquals(1, segmentFiles().size());
+        try (final MqttPersistence persistence = open(4096)) {
+            assertTrue(entries(persistence).isEmpty());
+        }
+    }
+
+    @Test
+    void compaction_keepsLiveValuesAndOrder() throws IOException {
+        try (final MqttSegmentLogPersistenceImpl persistence = open(4096)) {
+            for (int i = 0; i < 40; i++) {
+                persistence.put(i, largeValue(i));
+            }
+            for (int i = 1; i < 40; i++) {
+                persistence.remove(i);
+            }
+            assertEquals(Collections.singletonList("0=" + largeString(0)), entries(persistence));
+            assertTrue(persistence.getSegmentCount() <= 2);
+            persistence.put(40, largeValue(40));
+        }
+        assertTrue(segmentFiles().size() <= 2);
+        try (final MqttPersistence persistence = open(4096)) {
+            assertEquals(Arrays.asList("0=" + largeString(0), "40=" + largeString(40)), entries(persistence));
+        }
+    }
+
+    @Test
+    void compaction_lostUnforcedTail_keepsValuesOfDeletedSegment() throws IOException {
+        final Path logDirectory = directory.resolve("log");
+        final Path crashedDirectory = directory.resolve("crashed");
+        try (final MqttSegmentLogPersistenceImpl persistence = open(logDirectory, 4096)) {
+            for (int i = 0; i < 4; i++) {
+                persistence.put(i, largeValue(i));
+            }
+            assertEquals(2, persistence.getSegmentCount());
+            // replacing the values of the first segment compacts it into the current segment and deletes it
+            persistence.put(0, value("a"));
+            persistence.put(1, value("b"));
+            assertEquals(1, persistence.getSegmentCount());
+
+            // simulate an OS crash: everything after the forced position of the current segment is lost
+            Files.createDirectories(crashedDirectory);
+            final List<Path> segmentFiles = segmentFiles(logDirectory);
+            assertEquals(1, segmentFiles.size());
+            final Path crashedSegment = crashedDirectory.resolve(segmentFiles.get(0).getFileName());
+            Files.copy(segmentFiles.get(0), crashedSegment);
+            try (final FileChannel channel = FileChannel.open(crashedSegment, StandardOpenOption.WRITE)) {
+                final int forcedPosition = persistence.getForcedPosition();
+                channel.write(ByteBuffer.allocate((int) channel.size() - forcedPosition), forcedPosition);
+            }
+        }
+        try (final MqttPersistence persistence = open(crashedDirectory, 4096)) {
+            assertEquals(Arrays.asList("0=a", "1=b", "2=" + largeString(2), "3=" + largeString(3)),
+                    entries(persistence));
+        }
+    }
+
+    @Test
+    void recover_discardsTornRecordAtEnd() throws IOException {
+        try (final MqttPersistence persistence = open(4096)) {
+            persistence.put(1, value("a"));
+            persistence.put(2, value("b"));
+        }
+        final Path segment = segmentFiles().get(0);
+        final int tornOffset = 2 * (MqttSegmentLogPersistenceImpl.HEADER_LENGTH + 1);
+        try (final FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            final ByteBuffer garbage = ByteBuffer.allocate(8);
+            garbage.putInt(100).putInt(42).flip();
+            channel.write(garbage, tornOffset);
+        }
+        try (final MqttPersistence persistence = open(4096)) {
+            assertEquals(Arrays.asList("1=a", "2=b"), entries(persistence));
+            persistence.put(3, value("c"));
+        }
+        try (final MqttPersistence persistence = open(4096)) {
+            assertEquals(Arrays.asList("1=a", "2=b", "3=c"), entries(persistence));
+        }
+    }
+
+    @Test
+    void put_valueLargerThanSegment() {
+        final String large = String.join("", Collections.nCopies(1000, "0123456789"));
+        try (final MqttPersistence persistence = open(4096)) {
+            persistence.put(1, value(large));
+        }
+        try (final MqttPersistence persistence = open(4096)) {
+            assertEquals(Collections.singletonList("1=" + large), entries(persistence));
+        }
+    }
+
+    @Test
+    void closed_throws() {
+        final MqttPersistence persistence = open(4096);
+        persistence.close();
+        assertThrows(IllegalStateException.class, () -> persistence.put(1, value("a")));
+    }
+
+    @Test
+    void builder_segmentSizeTooSmall_throws() {
+        assertThrows(IllegalArgumentException.class, () -> MqttPersistence.segmentLogBuilder().segmentSize(100));
+    }
+
+    @Test
+    void builder_directoryNotSet_throws() {
+        assertThrows(IllegalStateException.class, () -> MqttPersistence.segmentLogBuilder().build());
+    }
+
+    private @NotNull MqttSegmentLogPersistenceImpl open(final int segmentSize) {
+        return open(directory, segmentSize);
+    }
+
+    private static @NotNull MqttSegmentLogPersistenceImpl open(final @NotNull Path directory, final int segmentSize) {
+        return new MqttSegmentLogPersistenceImplBuilder().directory(directory).segmentSize(segmentSize).build();
+    }
+
+    private @NotNull List<Path> segmentFiles() throws IOException {
+        return segmentFiles(directory);
+    }
+
+    private static @NotNull List<Path> segmentFiles(final @NotNull Path directory) throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static @NotNull List<String> entries(final @NotNull MqttPersistence persistence) {
+        final List<String> entries = new ArrayList<>();
+        persistence.forEach((key, value) -> {
+            final byte[] bytes = new byte[value.remaining()];
+            value.get(bytes);
+            entries.add(key + "=" + new String(bytes, StandardCharsets.UTF_8));
+        });
+        return entries;
+    }
+
+    private static @NotNull ByteBuffer value(final @NotNull String string) {
+        return ByteBuffer.wrap(string.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static @NotNull ByteBuffer largeValue(final int i) {
+        return value(largeString(i));
+    }
+
+    private static @NotNull String largeString(final int i) {
+        final StringBuilder builder = new StringBuilder();
+        while (builder.length() < 1000) {
+            builder.append(i).append('-');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2018 dc-square and the HiveMQ MQTT Client Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.mqtt.MqttEventLoopPlacement;
+import com.hivemq.client.mqtt.MqttNettyTransport;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoop;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerDomainSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.util.concurrent.EventExecutor;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author agent
+ */
+class NettyEventLoopProviderTest {
+
+    @Test
+    void get_null_returnsAutomaticallySelected() {
+        assertSame(NettyEventLoopProvider.INSTANCE, NettyEventLoopProvider.get(null));
+    }
+
+    @Test
+    void get_nio() {
+        final NettyEventLoopProvider provider = NettyEventLoopProvider.get(MqttNettyTransport.NIO);
+        assertEquals(MqttNettyTransport.NIO, provider.getTransport());
+        final Channel channel = provider.getChannelFactory().newChannel();
+        assertTrue(channel instanceof NioSocketChannel);
+        channel.unsafe().closeForcibly();
+    }
+
+    @Test
+    void get_epoll_fallsBackToAutomaticallySelectedIfNotAvailable() {
+        final NettyEventLoopProvider provider = NettyEventLoopProvider.get(MqttNettyTransport.EPOLL);
+        if (Epoll.isAvailable()) {
+            assertEquals(MqttNettyTransport.EPOLL, provider.getTransport());
+        } else {
+            assertSame(NettyEventLoopProvider.INSTANCE, provider);
+        }
+    }
+
+    @Test
+    void getDomainSocketChannelFactory_nio_notSupported() {
+        assertNull(NettyEventLoopProvider.get(MqttNettyTransport.NIO).getDomainSocketChannelFactory());
+    }
+
+    @Test
+    void getDomainSocketChannelFactory_epoll_connectsToLocalServer(final @TempDir @NotNull Path tempDir)
+            throws Exception {
+
+        assumeTrue(Epoll.isAvailable());
+        final NettyEventLoopProvider provider = NettyEventLoopProvider.get(MqttNettyTransport.EPOLL);
+        final ChannelFactory<?> channelFactory = provider.getDomainSocketChannelFactory();
+        assertNotNull(channelFactory);
+
+        final DomainSocketAddress address = new DomainSocketAddress(tempDir.resolve("broker.sock").toFile());
+        final EpollEventLoopGroup eventLoopGroup = new EpollEventLoopGroup(1);
+        try {
+            new ServerBootstrap().group(eventLoopGroup)
+                    .channel(EpollServerDomainSocketChannel.class)
+                    .childHandler(new ChannelInboundHandlerAdapter())
+                    .bind(address)
+                    .sync();
+            final Channel channel = new Bootstrap().group(eventLoopGroup)
+                    .channelFactory(channelFactory)
+                    .handler(new ChannelInboundHandlerAdapter())
+                    .connect(address)
+                    .sync()
+                    .channel();
+            assertTrue(channel.isActive());
+            channel.close().sync();
+        } finally {
+            eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Test
+    void getDnsResolverGroup_shared() {
+        final NettyEventLoopProvider provider = NettyEventLoopProvider.get(MqttNettyTransport.NIO);
+        assertSame(provider.getDnsResolverGroup(), provider.getDnsResolverGroup());
+    }
+
+    @Test
+    void acquireEventLoop_roundRobin() {
+        final NioEventLoopGroup eventLoopGroup = new NioEventLoopGroup(3);
+        final List<EventExecutor> eventLoops = eventLoops(eventLoopGroup);
+        final NettyEventLoopProvider provider = NettyEventLoopProvider.get(MqttNettyTransport.NIO);
+
+        for (int i = 0; i < 6; i++) {
+            assertSame(eventLoops.get(i % 3),
+                    provider.acquireEventLoop(eventLoopGroup, 0, MqttEventLoopPlacement.ROUND_ROBIN, 0));
+        }
+        for (int i = 0; i < 6; i++) {
+            provider.releaseEventLoop(eventLoopGroup, (EventLoop) eventLoops.get(i % 3));
+        }
+        eventLoopGroup.shutdownGracefully();
+    }
+
+    @Test
+    void acquireEventLoop_leastLoaded() {
+        final NioEventLoopGroup eventLoopGroup = new NioEventLoopGroup(3);
+        final List<EventExecutor> eventLoops = eventLoops(eventLoopGroup);
+        final NettyEventLoopProvider provider = NettyEventLoopProvider.get(MqttNettyTransport.NIO);
+
+        final EventLoop eventLoop0 = provider.acquireEventLoop(eventLoopGroup, 0, MqttEventLoopPlacement.PINNED, 0);
+        final EventLoop eventLoop1 = provider.acquireEventLoop(eventLoopGroup, 0, MqttEventLoopPlacement.PINNED, 1);
+        final EventLoop eventLoop2 =
+                provider.acquireEventLoop(eventLoopGroup, 0, MqttEventLoopPlacement.LEAST_LOADED, 0);
+        assertSame(eventLoops.get(0), eventLoop0);
+        assertSame(eventLoops.get(1), eventLoop1);
+        assertSame(eventLoops.get(2), eventLoop2);
+
+        provider.releaseEventLoop(eventLoopGroup, eventLoop1);
+        assertSame(eventLoop1, provider.acquireEventLoop(eventLoopGroup, 0, MqttEventLoopPlacement.LEAST_LOADED, 0));
+
+        provider.releaseEventLoop(eventLoopGroup, eventLoop0);
+        provider.releaseEventLoop(eventLoopGroup, eventLoop1);
+        provider.releaseEventLoop(eventLoopGroup, eventLoop2);
+        eventLoopGroup.shutdownGracefully();
+    }
+
+    @Test
+    void acquireEventLoop_pinned_moduloEventLoopCount() {
+        final NioEventLoopGroup eventLoopGroup = new NioEventLoopGroup(3);
+        final List<EventExecutor> eventLoops = eventLoops(eventLoopGroup);
+        final NettyEventLoopProvider provider = NettyEventLoopProvider.get(MqttNettyTransport.NIO);
+
+        final EventLoop eventLoop = provider.acquireEventLoop(eventLoopGroup, 0, MqttEventLoopPlacement.PINNED, 4);
+        assertSame(eventLoops.get(1), eventLoop);
+        provider.releaseEventLoop(eventLoopGroup, eventLoop);
+        eventLoopGroup.shutdownGracefully();
+    }
+
+    @Test
+    void releaseEventLoop_defaultExecutor_shutsDownAfterLastRelease() {
+        final NettyEventLoopProvider provider = NettyEventLoopProvider.get(MqttNettyTransport.NIO);
+
+        final EventLoop eventLoop1 = provider.acquireEventLoop(null, 2, MqttEventLoopPlacement.ROUND_ROBIN, 0);
+        final EventLoop eventLoop2 = provider.acquireEventLoop(null, 2, MqttEventLoopPlacement.ROUND_ROBIN, 0);
+        assertSame(eventLoop1.parent(), eventLoop2.parent());
+
+        provider.releaseEventLoop(null, eventLoop1);
+        assertFalse(eventLoop1.parent().isShuttingDown());
+        provider.releaseEventLoop(null, eventLoop2);
+        assertTrue(eventLoop1.parent().isShuttingDown());
+
+        final EventLoop eventLoop3 = provider.acquireEventLoop(null, 2, MqttEventLoopPlacement.ROUND_ROBIN, 0);
+        assertNotSame(eventLoop1.parent(), eventLoop3.parent());
+        provider.releaseEventLoop(null, eventLoop3);
+    }
+
+    private static @NotNull List<EventExecutor> eventLoops(final @NotNull NioEventLoopGroup eventLoopGroup) {
+        final List<EventExecutor> eventLoops = new ArrayList<>();
+        eventLoopGroup.forEach(eventLoops::add);
+        return eventLoops;
+    }
+}
@@ -22,8 +22,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author Silvio Giebl
@@ -100,4 +99,33 @@ class RangesTest {
         assertEquals(count, ranges.resize(5));
     }
 
-}
\ No newline at end of file
+    @Test
+    void takeId() {
+        final Ranges ranges = new Ranges(0, 10);
+        assertTrue(ranges.takeId(0));
+        assertTrue(ranges.takeId(5));
+        assertTrue(ranges.takeId(10));
+        assertFalse(ranges.takeId(5));
+        assertFalse(ranges.takeId(11));
+        for (final int id : new int[]{1, 2, 3, 4, 6, 7, 8, 9}) {
+            assertEquals(id, ranges.getId());
+        }
+        assertEquals(-1, ranges.getId());
+        ranges.returnId(5);
+        assertEquals(5, ranges.getId());
+    }
+
+    @Test
+    void takeId_afterGetId() {
+        final Ranges ranges = new Ranges(1, 10);
+        assertEquals(1, ranges.getId());
+        assertEquals(2, ranges.getId());
+        ranges.returnId(1);
+        assertTrue(ranges.takeId(1));
+        assertFalse(ranges.takeId(2));
+        assertTrue(ranges.takeId(4));
+        assertTrue(ranges.takeId(3));
+        assertEquals(5, ranges.getId());
+        assertEquals(0, ranges.resize(10));
+    }
+}
@@ -18,12 +18,14 @@
 package com.hivemq.client.internal.util;
 
 import com.google.common.base.Utf8;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Random;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author Silvio Giebl
@@ -44,6 +46,26 @@ class Utf8UtilTest {
         }
     }
 
+    @Test
+    void isWellFormed_byteBuffer() {
+        final Random random = new Random();
+        final byte[] bytes = new byte[100];
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        for (int i = 0; i < 10_000; i++) {
+            random.nextBytes(bytes);
+            final boolean expected = Utf8.isWellFormed(bytes, 10, 80);
+
+            final ByteBuffer heap = ByteBuffer.wrap(bytes, 10, 80).slice();
+            assertEquals(expected, Utf8Util.isWellFormed(heap) == 0);
+
+            direct.clear();
+            direct.put(bytes).position(10).limit(90);
+            assertEquals(expected, Utf8Util.isWellFormed(direct) == 0);
+
+            assertEquals(expected, Utf8Util.isWellFormed(bytes, 10, 90) == 0);
+        }
+    }
+
     @Test
     void encodedLength() {
         final Random random = new Random();
@@ -54,4 +76,58 @@ class Utf8UtilTest {
             assertEquals(Utf8.encodedLength(string), Utf8Util.encodedLength(string));
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void hashCode_sameAsString() {
+        final Random random = new Random();
+        for (int i = 0; i < 10_000; i++) {
+            final String string = randomString(random);
+            assertEquals(string.hashCode(), Utf8Util.hashCode(string.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Test
+    void equals() {
+        final Random random = new Random();
+        for (int i = 0; i < 10_000; i++) {
+            final String string = randomString(random);
+            final String other = randomString(random);
+            final byte[] binary = string.getBytes(StandardCharsets.UTF_8);
+            assertTrue(Utf8Util.equals(binary, string));
+            assertEquals(string.equals(other), Utf8Util.equals(binary, other));
+        }
+    }
+
+    @Test
+    void equals_prefix() {
+        final String string = "abc\u00e4\u20ac\ud83d\ude00";
+        final byte[] binary = string.getBytes(StandardCharsets.UTF_8);
+        assertTrue(Utf8Util.equals(binary, string));
+        assertFalse(Utf8Util.equals(binary, string.substring(0, string.length() - 1)));
+        assertFalse(Utf8Util.equals(binary, string.substring(0, string.length() - 2)));
+        assertFalse(Utf8Util.equals(binary, string + "a"));
+        assertFalse(Utf8Util.equals(binary, ""));
+        assertTrue(Utf8Util.equals(new byte[0], ""));
+    }
+
+    private static @NotNull String randomString(final @NotNull Random random) {
+        final StringBuilder builder = new StringBuilder();
+        final int length = random.nextInt(20);
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    builder.appendCodePoint(random.nextInt(0x80));
+                    break;
+                case 1:
+                    builder.appendCodePoint(0x80 + random.nextInt(0x800 - 0x80));
+                    break;
+                case 2:
+                    builder.appendCodePoint(0xE000 + random.nextInt(0x10000 - 0xE000));
+                    break;
+                default:
+                    builder.appendCodePoint(0x10000 + random.nextInt(0x110000 - 0x10000));
+            }
+        }
+        return builder.toString();
+    }
+}
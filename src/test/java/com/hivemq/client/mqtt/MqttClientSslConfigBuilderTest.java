@@ -20,6 +20,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -65,4 +66,34 @@ class MqttClientSslConfigBuilderTest {
         assertNotNull(sslConfig.getProtocols());
         assertFalse(sslConfig.getProtocols().isPresent());
     }
+
+    @Test
+    void session_default() {
+        final MqttClientSslConfig sslConfig = MqttClientSslConfig.builder().build();
+
+        assertEquals(MqttClientSslConfig.DEFAULT_SESSION_CACHE_SIZE, sslConfig.getSessionCacheSize());
+        assertEquals(MqttClientSslConfig.DEFAULT_SESSION_TIMEOUT_S, sslConfig.getSessionTimeoutS());
+        assertFalse(sslConfig.isPreferOpenSsl());
+    }
+
+    @Test
+    void session_simple() {
+        final MqttClientSslConfig sslConfig = MqttClientSslConfig.builder()
+                .sessionCacheSize(1000)
+                .sessionTimeout(1500, TimeUnit.MILLISECONDS)
+                .preferOpenSsl(true)
+                .build();
+
+        assertEquals(1000, sslConfig.getSessionCacheSize());
+        assertEquals(2, sslConfig.getSessionTimeoutS());
+        assertTrue(sslConfig.isPreferOpenSsl());
+        assertEquals(sslConfig, sslConfig.extend().build());
+    }
+
+    @Test
+    void session_negative_throws() {
+        assertThrows(IllegalArgumentException.class, () -> MqttClientSslConfig.builder().sessionCacheSize(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> MqttClientSslConfig.builder().sessionTimeout(-1, TimeUnit.SECONDS));
+    }
 }